@@ -1,5 +1,6 @@
 package masera.deviajesearches.clients;
 
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import masera.deviajesearches.configs.HotelbedsConfig;
@@ -7,6 +8,7 @@ import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest;
 import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.CountriesResponse;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.HotelContentResponse;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.HotelDto;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.accommodations.AccommodationResponse;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.boards.BoardsResponse;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.categories.CategoriesResponse;
@@ -16,13 +18,16 @@ import masera.deviajesearches.dtos.amadeus.response.hotelbeds.facilities.Facilit
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.facilities.FacilityGroupsResponse;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.terminals.TerminalsResponse;
 import masera.deviajesearches.utils.ErrorHandler;
+import masera.deviajesearches.utils.JsonStreamParser;
 import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
 import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 /**
@@ -39,6 +44,10 @@ public class HotelClient {
 
   private final ErrorHandler errorHandler;
 
+  private final JsonStreamParser jsonStreamParser;
+
+  private final HotelbedsRateLimiter rateLimiter;
+
   private static final String AVAILABILITY_ENDPOINT = "/hotel-api/1.0/hotels";
 
   private static final String CONTENT_ENDPOINT = "/hotel-content-api/1.0/hotels";
@@ -56,14 +65,14 @@ public class HotelClient {
   public Mono<HotelSearchResponse> searchHotels(HotelSearchRequest request) {
     log.info("Buscando hoteles en Hotelbeds con destino: {}", request.getDestination().getCode());
 
-    return webClient
+    return rateLimiter.limit(Mono.defer(() -> webClient
             .post()
             .uri(hotelbedsConfig.getBaseUrl() + AVAILABILITY_ENDPOINT)
             .contentType(MediaType.APPLICATION_JSON)
             .headers(this::addHotelbedsHeaders)
             .bodyValue(request)
             .retrieve()
-            .bodyToMono(HotelSearchResponse.class)
+            .bodyToMono(HotelSearchResponse.class)))
             .doOnSuccess(response -> log.info("Búsqueda de hoteles completada exitosamente"))
             .onErrorResume(WebClientResponseException.class, e -> {
               log.error("Error al buscar ofertas de hoteles - Status: {}, Body: {}",
@@ -72,6 +81,36 @@ public class HotelClient {
             });
   }
 
+  /**
+   * Busca hoteles disponibles en modo streaming.
+   * Cada hotel se emite apenas se termina de leer, sin esperar el cuerpo completo.
+   *
+   * @param request parámetros de búsqueda de hoteles
+   * @return Flux con los hoteles disponibles en el orden de la respuesta
+   */
+  public Flux<HotelSearchResponse.Hotel> streamHotels(HotelSearchRequest request) {
+    log.info("Buscando en streaming hoteles en Hotelbeds con destino: {}",
+            request.getDestination().getCode());
+
+    Flux<DataBuffer> body = rateLimiter.limit(Flux.defer(() -> webClient
+            .post()
+            .uri(hotelbedsConfig.getBaseUrl() + AVAILABILITY_ENDPOINT)
+            .contentType(MediaType.APPLICATION_JSON)
+            .headers(this::addHotelbedsHeaders)
+            .bodyValue(request)
+            .retrieve()
+            .bodyToFlux(DataBuffer.class)));
+
+    return jsonStreamParser.parseArray(body, List.of("hotels", "hotels"),
+                    HotelSearchResponse.Hotel.class)
+            .doOnComplete(() -> log.info("Búsqueda de hoteles completada exitosamente"))
+            .onErrorResume(WebClientResponseException.class, e -> {
+              log.error("Error al buscar ofertas de hoteles - Status: {}, Body: {}",
+                      e.getStatusCode(), e.getResponseBodyAsString());
+              throw errorHandler.handleHotelBedsError(e);
+            });
+  }
+
   /**
    * Obtiene hoteles desde la API de contenido de Hotelbeds.
    *
@@ -88,11 +127,11 @@ public class HotelClient {
 
     String uri = buildUriWithParams(from, to, language, lastUpdateTime, CONTENT_ENDPOINT);
 
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(HotelContentResponse.class)
+            .bodyToMono(HotelContentResponse.class)))
             .doOnSuccess(response -> log.info("Contenido de hoteles obtenido exitosamente"))
             .doOnError(error -> log.error("Error al obtener contenido de hoteles: {}",
                     error.getMessage()))
@@ -103,6 +142,41 @@ public class HotelClient {
             });
   }
 
+  /**
+   * Obtiene hoteles desde la API de contenido de Hotelbeds en modo streaming.
+   * Cada hotel se emite apenas se termina de leer, sin esperar el cuerpo completo.
+   *
+   * @param from índice inicial
+   * @param to índice final
+   * @param language idioma
+   * @param lastUpdateTime (Opcional) fecha de última actualización
+   * @return Flux con los hoteles de la página
+   */
+  public Flux<HotelDto> streamHotelContent(
+          int from, int to, String language, String lastUpdateTime) {
+
+    log.info("Obteniendo en streaming hoteles desde {} hasta {} en idioma {}",
+            from, to, language);
+
+    String uri = buildUriWithParams(from, to, language, lastUpdateTime, CONTENT_ENDPOINT);
+
+    Flux<DataBuffer> body = rateLimiter.limit(Flux.defer(() -> webClient.get()
+            .uri(hotelbedsConfig.getBaseUrl() + uri)
+            .headers(this::addHotelbedsHeaders)
+            .retrieve()
+            .bodyToFlux(DataBuffer.class)));
+
+    return jsonStreamParser.parseArray(body, List.of("hotels"), HotelDto.class)
+            .doOnComplete(() -> log.info("Contenido de hoteles obtenido exitosamente"))
+            .doOnError(error -> log.error("Error al obtener contenido de hoteles: {}",
+                    error.getMessage()))
+            .onErrorResume(WebClientResponseException.class, e -> {
+              log.error("Error al buscar el contenido de hoteles - Status: {}, Body: {}",
+                      e.getStatusCode(), e.getResponseBodyAsString());
+              throw errorHandler.handleHotelBedsError(e);
+            });
+  }
+
   /**
    * Obtiene países desde la API de contenido de Hotelbeds.
    *
@@ -119,11 +193,11 @@ public class HotelClient {
     String uri = buildUriWithParams(
             from, to, language, lastUpdateTime, LOCATIONS_ENDPOINT + "/countries");
 
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(CountriesResponse.class)
+            .bodyToMono(CountriesResponse.class)))
             .doOnSuccess(response -> log.info("Países obtenidos exitosamente"))
             .doOnError(error -> log.error("Error al obtener países: {}", error.getMessage()))
             .onErrorResume(WebClientResponseException.class, e -> {
@@ -147,11 +221,11 @@ public class HotelClient {
     String uri = buildUriWithParams(
             from, to, language, lastUpdateTime, LOCATIONS_ENDPOINT + "/destinations");
 
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(DestinationsResponse.class)
+            .bodyToMono(DestinationsResponse.class)))
             .doOnSuccess(response -> log.info("Destinos obtenidos exitosamente"))
             .doOnError(error -> log.error("Error al obtener destinos: {}", error.getMessage()))
             .onErrorResume(WebClientResponseException.class, e -> {
@@ -174,11 +248,11 @@ public class HotelClient {
     String uri = buildUriWithParams(
             from, to, language, lastUpdateTime, BASE_ENDPOINT + "/types/accommodations");
 
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(AccommodationResponse.class)
+            .bodyToMono(AccommodationResponse.class)))
             .doOnSuccess(response -> log.info("Tipos de alojamientos obtenidos exitosamente"))
             .doOnError(error -> log.error(
                     "Error al obtener tipos de alojamientos: {}", error.getMessage()))
@@ -205,11 +279,11 @@ public class HotelClient {
     String uri = buildUriWithParams(
             from, to, language, lastUpdateTime, BASE_ENDPOINT + "/types/boards");
 
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(BoardsResponse.class)
+            .bodyToMono(BoardsResponse.class)))
             .doOnSuccess(response ->
                     log.info("Regímenes de alimentos obtenidos exitosamente"))
             .doOnError(error -> log.error(
@@ -236,11 +310,11 @@ public class HotelClient {
     String uri = buildUriWithParams(
             from, to, language, lastUpdateTime, BASE_ENDPOINT + "/types/categories");
 
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(CategoriesResponse.class)
+            .bodyToMono(CategoriesResponse.class)))
             .doOnSuccess(response ->
                     log.info("Categorías de hoteles obtenidos exitosamente"))
             .doOnError(error -> log.error(
@@ -268,11 +342,11 @@ public class HotelClient {
     String uri = buildUriWithParams(
             from, to, language, lastUpdateTime, BASE_ENDPOINT + "/types/facilities");
 
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(FacilitiesResponse.class)
+            .bodyToMono(FacilitiesResponse.class)))
             .doOnSuccess(response ->
                     log.info("Instalaciones de hoteles obtenidos exitosamente"))
             .doOnError(error -> log.error(
@@ -300,11 +374,11 @@ public class HotelClient {
     String uri = buildUriWithParams(
             from, to, language, lastUpdateTime, BASE_ENDPOINT + "/types/facilitygroups");
 
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(FacilityGroupsResponse.class)
+            .bodyToMono(FacilityGroupsResponse.class)))
             .doOnSuccess(response ->
                     log.info("Grupos de instalaciones de hoteles obtenidos exitosamente"))
             .doOnError(error -> log.error(
@@ -331,11 +405,11 @@ public class HotelClient {
 
     String uri = buildUriWithParams(
             from, to, language, lastUpdateTime, BASE_ENDPOINT + "/types/chains");
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(ChainsResponse.class)
+            .bodyToMono(ChainsResponse.class)))
             .doOnSuccess(response -> log.info("Cadenas hoteleras obtenidas exitosamente"))
             .doOnError(error -> log.error(
                     "Error al obtener cadenas hoteleras: {}", error.getMessage()))
@@ -360,11 +434,11 @@ public class HotelClient {
 
     String uri = buildUriWithParams(
             from, to, language, lastUpdateTime, BASE_ENDPOINT + "/types/terminals");
-    return webClient.get()
+    return rateLimiter.limit(Mono.defer(() -> webClient.get()
             .uri(hotelbedsConfig.getBaseUrl() + uri)
             .headers(this::addHotelbedsHeaders)
             .retrieve()
-            .bodyToMono(TerminalsResponse.class)
+            .bodyToMono(TerminalsResponse.class)))
             .doOnSuccess(response -> log.info("Terminales obtenidas exitosamente"))
             .doOnError(error -> log.error(
                     "Error al obtener las terminales: {}", error.getMessage()))
@@ -373,6 +447,14 @@ public class HotelClient {
             });
   }
 
+  /**
+   * Agrega las cabeceras de autenticación de Hotelbeds.
+   * La firma incluye el segundo actual y vence enseguida, por eso cada llamada se arma
+   * dentro de un defer: el limitador puede demorarla o reintentarla, y cada suscripción
+   * debe firmar de nuevo.
+   *
+   * @param headers cabeceras de la solicitud
+   */
   private void addHotelbedsHeaders(HttpHeaders headers) {
     long timestamp = System.currentTimeMillis() / 1000;
     String signature = DigestUtils.sha256Hex(hotelbedsConfig.getApiKey()
@@ -0,0 +1,331 @@
+package masera.deviajesearches.clients;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.configs.RateLimitConfig;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.util.retry.Retry;
+
+/**
+ * Limitador compartido por todas las llamadas a la API de Hotelbeds.
+ * Combina un token bucket, que acota la cantidad de llamadas por segundo, con una
+ * ventana de concurrencia adaptativa: crece de a una llamada por ventana completa
+ * mientras las respuestas son rápidas y se reduce a la mitad ante un 429, un 503 o
+ * una latencia excesiva. Cuando Hotelbeds indica Retry-After se pausan todas las
+ * llamadas durante ese tiempo y la llamada rechazada se reintenta.
+ */
+@Component
+@Slf4j
+public class HotelbedsRateLimiter {
+
+  private final RateLimitConfig config;
+
+  private final Counter throttledCounter;
+
+  private final Deque<Waiter> waiters = new ArrayDeque<>();
+
+  private double window;
+
+  private int inFlight;
+
+  private long lastDecreaseNanos;
+
+  private double tokens;
+
+  private long lastRefillNanos;
+
+  private long pausedUntilNanos;
+
+  /**
+   * Constructor del limitador.
+   *
+   * @param config configuración del limitador
+   * @param meterRegistry registro de métricas
+   */
+  public HotelbedsRateLimiter(RateLimitConfig config, MeterRegistry meterRegistry) {
+    this.config = config;
+    this.window = Math.max(config.getMinConcurrency(),
+            Math.min(config.getMaxConcurrency(), config.getInitialConcurrency()));
+    this.tokens = config.getBurst();
+    this.lastRefillNanos = System.nanoTime();
+    this.lastDecreaseNanos = lastRefillNanos;
+    this.pausedUntilNanos = lastRefillNanos;
+
+    Gauge.builder("hotelbeds.client.concurrency.limit", this, HotelbedsRateLimiter::getWindow)
+            .description("Ventana de concurrencia actual hacia Hotelbeds")
+            .register(meterRegistry);
+    Gauge.builder("hotelbeds.client.inflight", this, HotelbedsRateLimiter::getInFlight)
+            .description("Llamadas a Hotelbeds en curso")
+            .register(meterRegistry);
+    this.throttledCounter = Counter.builder("hotelbeds.client.throttled")
+            .description("Respuestas 429 o 503 recibidas de Hotelbeds")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Ejecuta una llamada respetando el límite de llamadas y la ventana de concurrencia.
+   * La llamada debe ser diferida, ya que se vuelve a suscribir en cada reintento.
+   *
+   * @param call llamada a Hotelbeds
+   * @param <T> tipo de la respuesta
+   * @return Mono con la respuesta
+   */
+  public <T> Mono<T> limit(Mono<T> call) {
+    return Mono.defer(() -> acquire()
+                    .flatMap(permit -> call
+                            .doOnSuccess(value -> permit.release(null))
+                            .doOnError(permit::release)
+                            .doOnCancel(permit::cancel)))
+            .retryWhen(retrySpec());
+  }
+
+  /**
+   * Ejecuta una llamada en streaming respetando el límite de llamadas y la ventana de
+   * concurrencia. El permiso se libera con el primer elemento de la respuesta: la latencia
+   * de Hotelbeds es la que tarda en empezar a responder, y el resto de la lectura depende
+   * del ritmo de quien consume el Flux, así que no debe ocupar la ventana ni contar como
+   * una respuesta lenta.
+   *
+   * @param call llamada a Hotelbeds
+   * @param <T> tipo de los elementos de la respuesta
+   * @return Flux con la respuesta
+   */
+  public <T> Flux<T> limit(Flux<T> call) {
+    return Flux.defer(() -> acquire()
+                    .flatMapMany(permit -> call
+                            .doOnNext(value -> permit.release(null))
+                            .doOnComplete(() -> permit.release(null))
+                            .doOnError(permit::release)
+                            .doOnCancel(permit::cancel)))
+            .retryWhen(retrySpec());
+  }
+
+  private Retry retrySpec() {
+    return Retry.max(config.getMaxRetries())
+            .filter(this::isThrottled)
+            .doBeforeRetry(signal -> log.warn("Hotelbeds limitó la llamada, reintento {} de {}",
+                    signal.totalRetries() + 1, config.getMaxRetries()));
+  }
+
+  /**
+   * Obtiene un lugar en la ventana de concurrencia y luego un token del bucket.
+   *
+   * @return Mono con el permiso obtenido
+   */
+  private Mono<Permit> acquire() {
+    return Mono.<Permit>create(sink -> {
+      Waiter waiter = new Waiter(sink);
+      sink.onCancel(() -> cancelWaiter(waiter));
+      enqueue(waiter);
+    }).flatMap(permit -> {
+      long waitNanos = reserveToken();
+      if (waitNanos <= 0) {
+        return Mono.just(permit);
+      }
+      return Mono.delay(Duration.ofNanos(waitNanos))
+              .thenReturn(permit)
+              .doOnCancel(permit::cancel);
+    }).doOnNext(Permit::start);
+  }
+
+  private void enqueue(Waiter waiter) {
+    boolean granted;
+    synchronized (this) {
+      granted = waiters.isEmpty() && inFlight < (int) window;
+      if (granted) {
+        inFlight++;
+      } else {
+        waiters.addLast(waiter);
+      }
+    }
+    if (granted) {
+      waiter.grant();
+    }
+  }
+
+  private void cancelWaiter(Waiter waiter) {
+    if (waiter.done.compareAndSet(false, true)) {
+      synchronized (this) {
+        waiters.remove(waiter);
+      }
+    }
+  }
+
+  /**
+   * Reserva un token del bucket.
+   * El saldo puede quedar negativo: cada llamada espera a que se repongan los tokens
+   * que reservaron las anteriores, o a que termine la pausa pedida por Hotelbeds.
+   *
+   * @return nanosegundos a esperar antes de realizar la llamada
+   */
+  private synchronized long reserveToken() {
+    long now = System.nanoTime();
+    double rate = config.getRequestsPerSecond();
+    tokens = Math.min(config.getBurst(), tokens + (now - lastRefillNanos) * rate / 1e9);
+    lastRefillNanos = now;
+    tokens -= 1;
+
+    long tokenWait = tokens >= 0 ? 0 : (long) (-tokens / rate * 1e9);
+    return Math.max(tokenWait, pausedUntilNanos - now);
+  }
+
+  private void onRelease(Permit permit, Throwable error, boolean adjust) {
+    long now = System.nanoTime();
+    long latencyNanos = now - permit.startNanos;
+    boolean throttled = isThrottled(error);
+    boolean slow = latencyNanos > TimeUnit.MILLISECONDS.toNanos(
+            config.getLatencyThresholdMillis());
+
+    if (throttled) {
+      throttledCounter.increment();
+    }
+
+    List<Waiter> granted = new ArrayList<>();
+    synchronized (this) {
+      inFlight--;
+
+      if (throttled) {
+        pausedUntilNanos = Math.max(pausedUntilNanos, now + retryAfterNanos(error));
+      }
+
+      if (adjust && (throttled || slow)) {
+        // Solo se reduce una vez por las llamadas que salieron antes de la última reducción
+        if (permit.startNanos > lastDecreaseNanos) {
+          window = Math.max(config.getMinConcurrency(), window * config.getDecreaseFactor());
+          lastDecreaseNanos = now;
+          log.warn("Congestión en Hotelbeds ({}), ventana de concurrencia reducida a {}",
+                  throttled ? "limitada" : "lenta", (int) window);
+        }
+      } else if (adjust && error == null) {
+        window = Math.min(config.getMaxConcurrency(), window + 1.0 / window);
+      }
+
+      while (!waiters.isEmpty() && inFlight < (int) window) {
+        inFlight++;
+        granted.add(waiters.pollFirst());
+      }
+    }
+
+    for (Waiter waiter : granted) {
+      waiter.grant();
+    }
+  }
+
+  private boolean isThrottled(Throwable error) {
+    if (error instanceof WebClientResponseException e) {
+      int status = e.getStatusCode().value();
+      return status == HttpStatus.TOO_MANY_REQUESTS.value()
+              || status == HttpStatus.SERVICE_UNAVAILABLE.value();
+    }
+    return false;
+  }
+
+  /**
+   * Obtiene la pausa indicada por la cabecera Retry-After, en segundos o como fecha HTTP.
+   *
+   * @param error respuesta de error de Hotelbeds
+   * @return nanosegundos de pausa
+   */
+  private long retryAfterNanos(Throwable error) {
+    long defaultNanos = TimeUnit.MILLISECONDS.toNanos(config.getDefaultRetryAfterMillis());
+    if (!(error instanceof WebClientResponseException e)) {
+      return defaultNanos;
+    }
+
+    String retryAfter = e.getHeaders().getFirst(HttpHeaders.RETRY_AFTER);
+    if (retryAfter == null || retryAfter.isBlank()) {
+      return defaultNanos;
+    }
+
+    try {
+      return TimeUnit.SECONDS.toNanos(Long.parseLong(retryAfter.trim()));
+    } catch (NumberFormatException ignored) {
+      // No es una cantidad de segundos, se intenta como fecha HTTP
+    }
+    try {
+      ZonedDateTime until = ZonedDateTime.parse(retryAfter.trim(),
+              DateTimeFormatter.RFC_1123_DATE_TIME);
+      return Math.max(0, Duration.between(ZonedDateTime.now(), until).toNanos());
+    } catch (DateTimeParseException ex) {
+      log.warn("Cabecera Retry-After inválida de Hotelbeds: {}", retryAfter);
+      return defaultNanos;
+    }
+  }
+
+  private synchronized double getWindow() {
+    return window;
+  }
+
+  private synchronized double getInFlight() {
+    return inFlight;
+  }
+
+  /**
+   * Llamada en espera de un lugar en la ventana de concurrencia.
+   */
+  private class Waiter {
+
+    private final MonoSink<Permit> sink;
+
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    Waiter(MonoSink<Permit> sink) {
+      this.sink = sink;
+    }
+
+    void grant() {
+      Permit permit = new Permit();
+      if (done.compareAndSet(false, true)) {
+        sink.success(permit);
+      } else {
+        // La llamada se canceló mientras esperaba, el lugar se devuelve
+        permit.cancel();
+      }
+    }
+  }
+
+  /**
+   * Lugar ocupado en la ventana de concurrencia por una llamada en curso.
+   */
+  private class Permit {
+
+    private final AtomicBoolean released = new AtomicBoolean();
+
+    private volatile long startNanos = System.nanoTime();
+
+    // La latencia se mide desde que la llamada sale, sin contar la espera de tokens
+    void start() {
+      startNanos = System.nanoTime();
+    }
+
+    void release(Throwable error) {
+      if (released.compareAndSet(false, true)) {
+        onRelease(this, error, true);
+      }
+    }
+
+    void cancel() {
+      if (released.compareAndSet(false, true)) {
+        onRelease(this, null, false);
+      }
+    }
+  }
+}
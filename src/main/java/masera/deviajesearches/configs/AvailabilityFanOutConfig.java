@@ -0,0 +1,21 @@
+package masera.deviajesearches.configs;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las búsquedas de disponibilidad en varios destinos.
+ */
+@Configuration
+@Getter
+public class AvailabilityFanOutConfig {
+
+  // Cantidad máxima de destinos de una misma búsqueda consultados a la vez en Hotelbeds
+  @Value("${hotels.availability-fan-out.max-concurrency:4}")
+  private int maxConcurrency;
+
+  // Tiempo máximo de espera de cada destino, los que lo superan quedan fuera del resultado
+  @Value("${hotels.availability-fan-out.leg-timeout-ms:8000}")
+  private long legTimeoutMillis;
+}
@@ -0,0 +1,37 @@
+package masera.deviajesearches.configs;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de las cachés en memoria de respuestas.
+ */
+@Configuration
+@Getter
+public class CacheConfig {
+
+  // Tamaño máximo de la caché de detalles de hoteles, medido sobre el JSON de cada detalle
+  @Value("${hotels.detail-cache.max-bytes:67108864}")
+  private long detailCacheMaxBytes;
+
+  // Vencimiento de seguridad de los detalles en caché, que se invalidan al reescribirse
+  @Value("${hotels.detail-cache.ttl-seconds:3600}")
+  private long detailCacheTtlSeconds;
+
+  // Tiempo durante el que se reutiliza una respuesta de disponibilidad de Hotelbeds
+  @Value("${hotels.availability-cache.ttl-seconds:60}")
+  private long availabilityCacheTtlSeconds;
+
+  // Tamaño máximo de la caché de disponibilidad, medido en tarifas guardadas
+  @Value("${hotels.availability-cache.max-rates:200000}")
+  private long availabilityCacheMaxRates;
+
+  // Tiempo sin consultarse tras el que se descarta un resultado de disponibilidad paginado
+  @Value("${hotels.availability-results.ttl-seconds:900}")
+  private long availabilityResultsTtlSeconds;
+
+  // Tamaño máximo de los resultados de disponibilidad paginados, medido en tarifas
+  @Value("${hotels.availability-results.max-rates:300000}")
+  private long availabilityResultsMaxRates;
+}
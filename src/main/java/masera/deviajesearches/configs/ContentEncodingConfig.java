@@ -0,0 +1,25 @@
+package masera.deviajesearches.configs;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración de la codificación binaria de las columnas JSON de hoteles.
+ */
+@Configuration
+@Getter
+public class ContentEncodingConfig {
+
+  // Guarda las columnas JSON de cada hotel empaquetadas en Smile en lugar de texto
+  @Value("${hotels.content-encoding.packed:false}")
+  private boolean packed;
+
+  // Comprime con Deflate el contenido empaquetado
+  @Value("${hotels.content-encoding.compressed:true}")
+  private boolean compressed;
+
+  // Cantidad de hoteles que la migración reescribe por lote y por transacción
+  @Value("${hotels.content-encoding.migration-batch-size:500}")
+  private int migrationBatchSize;
+}
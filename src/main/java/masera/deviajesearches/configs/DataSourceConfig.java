@@ -0,0 +1,114 @@
+package masera.deviajesearches.configs;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Configuración de los pools de conexiones cuando hay una réplica de lectura.
+ * Crea un pool para el primario y otro para la réplica, cada uno con su tamaño y
+ * sus métricas etiquetadas por nombre de pool, y los expone detrás de un único
+ * DataSource que elige el pool según la transacción en curso.
+ * Sin la propiedad datasource.replica.url se usa el DataSource de Spring Boot.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.url")
+public class DataSourceConfig {
+
+  @Value("${spring.datasource.url}")
+  private String primaryUrl;
+
+  @Value("${spring.datasource.username}")
+  private String primaryUsername;
+
+  @Value("${spring.datasource.password}")
+  private String primaryPassword;
+
+  @Value("${spring.datasource.driver-class-name}")
+  private String driverClassName;
+
+  @Value("${datasource.primary.max-pool-size:10}")
+  private int primaryMaxPoolSize;
+
+  @Value("${datasource.replica.url}")
+  private String replicaUrl;
+
+  @Value("${datasource.replica.username:${spring.datasource.username}}")
+  private String replicaUsername;
+
+  @Value("${datasource.replica.password:${spring.datasource.password}}")
+  private String replicaPassword;
+
+  @Value("${datasource.replica.max-pool-size:10}")
+  private int replicaMaxPoolSize;
+
+  /**
+   * Pool de conexiones del primario, usado por la ingesta y toda escritura.
+   *
+   * @param meterRegistry registro de métricas
+   * @return el pool primario.
+   */
+  @Bean(name = "primaryDataSource", destroyMethod = "close")
+  public HikariDataSource primaryDataSource(MeterRegistry meterRegistry) {
+    return pool(ReplicaRoutingDataSource.PRIMARY, primaryUrl, primaryUsername,
+            primaryPassword, primaryMaxPoolSize, false, meterRegistry);
+  }
+
+  /**
+   * Pool de conexiones de la réplica, usado por las consultas de los usuarios.
+   *
+   * @param meterRegistry registro de métricas
+   * @return el pool de la réplica.
+   */
+  @Bean(name = "replicaDataSource", destroyMethod = "close")
+  public HikariDataSource replicaDataSource(MeterRegistry meterRegistry) {
+    return pool(ReplicaRoutingDataSource.REPLICA, replicaUrl, replicaUsername,
+            replicaPassword, replicaMaxPoolSize, true, meterRegistry);
+  }
+
+  /**
+   * DataSource de la aplicación, que reparte las conexiones entre ambos pools.
+   *
+   * @param primaryDataSource pool primario
+   * @param replicaDataSource pool de la réplica
+   * @return el DataSource de la aplicación.
+   */
+  @Bean
+  @Primary
+  public DataSource dataSource(
+          @Qualifier("primaryDataSource") DataSource primaryDataSource,
+          @Qualifier("replicaDataSource") DataSource replicaDataSource) {
+    ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+    routing.setTargetDataSources(Map.of(
+            ReplicaRoutingDataSource.PRIMARY, primaryDataSource,
+            ReplicaRoutingDataSource.REPLICA, replicaDataSource));
+    routing.setDefaultTargetDataSource(primaryDataSource);
+    routing.afterPropertiesSet();
+    // La conexión real se pide recién en la primera sentencia, con la transacción ya registrada
+    return new LazyConnectionDataSourceProxy(routing);
+  }
+
+  private HikariDataSource pool(String name, String url, String username, String password,
+                                int maxPoolSize, boolean readOnly, MeterRegistry meterRegistry) {
+    HikariConfig config = new HikariConfig();
+    config.setPoolName(name);
+    config.setJdbcUrl(url);
+    config.setUsername(username);
+    config.setPassword(password);
+    config.setDriverClassName(driverClassName);
+    config.setMaximumPoolSize(maxPoolSize);
+    config.setReadOnly(readOnly);
+    config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+    return new HikariDataSource(config);
+  }
+}
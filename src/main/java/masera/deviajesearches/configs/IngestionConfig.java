@@ -0,0 +1,114 @@
+package masera.deviajesearches.configs;
+
+import java.util.List;
+import java.util.concurrent.Executor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configuración de la ingesta masiva de contenido de Hotelbeds.
+ */
+@Configuration
+@Getter
+public class IngestionConfig {
+
+  // Cantidad de hoteles solicitados por página a la API de contenido
+  @Value("${hotelbeds.ingestion.page-size:1000}")
+  private int pageSize;
+
+  // Cantidad de páginas que se descargan en paralelo
+  @Value("${hotelbeds.ingestion.concurrency:4}")
+  private int concurrency;
+
+  // Cantidad de hoteles escritos por lote y por transacción
+  @Value("${hotelbeds.ingestion.batch-size:500}")
+  private int batchSize;
+
+  // Identificador de esta instancia como dueña de los trabajos de ingesta, por defecto al azar
+  @Value("${hotelbeds.ingestion.instance-id:#{T(java.util.UUID).randomUUID().toString()}}")
+  private String instanceId;
+
+  // Segundos sin latido tras los cuales otra instancia puede retomar un trabajo en ejecución
+  @Value("${hotelbeds.ingestion.lease-seconds:120}")
+  private long leaseSeconds;
+
+  // Cantidad de tipos de contenido que se cargan en paralelo durante el arranque
+  @Value("${hotelbeds.bootstrap.concurrency:8}")
+  private int bootstrapConcurrency;
+
+  // Idiomas en los que se guarda el contenido de hoteles, el primero es el principal
+  @Value("${hotelbeds.content.languages:CAS}")
+  private List<String> languages;
+
+  /**
+   * Idioma principal del contenido, en el que se guardan los datos base de cada hotel.
+   *
+   * @return el idioma principal.
+   */
+  public String getPrimaryLanguage() {
+    return languages.get(0);
+  }
+
+  /**
+   * Ejecutor para las cargas de contenido que se realizan en paralelo.
+   *
+   * @return el ejecutor de cargas de contenido.
+   */
+  @Bean("contentLoadExecutor")
+  public Executor contentLoadExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(bootstrapConcurrency);
+    executor.setMaxPoolSize(bootstrapConcurrency);
+    executor.setThreadNamePrefix("content-load-");
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Ejecutor de un solo hilo para la regeneración completa de los detalles de hoteles.
+   *
+   * @return el ejecutor de regeneración de detalles.
+   */
+  @Bean("detailDocumentExecutor")
+  public Executor detailDocumentExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setThreadNamePrefix("detail-document-");
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Ejecutor de un solo hilo para la recarga de los diccionarios de referencia.
+   *
+   * @return el ejecutor de recarga de diccionarios.
+   */
+  @Bean("referenceDictionaryExecutor")
+  public Executor referenceDictionaryExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setThreadNamePrefix("reference-dictionary-");
+    executor.initialize();
+    return executor;
+  }
+
+  /**
+   * Ejecutor de un solo hilo para la migración de hoteles al contenido empaquetado.
+   *
+   * @return el ejecutor de la migración de contenido.
+   */
+  @Bean("contentMigrationExecutor")
+  public Executor contentMigrationExecutor() {
+    ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+    executor.setCorePoolSize(1);
+    executor.setMaxPoolSize(1);
+    executor.setThreadNamePrefix("content-migration-");
+    executor.initialize();
+    return executor;
+  }
+}
@@ -0,0 +1,45 @@
+package masera.deviajesearches.configs;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del limitador de llamadas a la API de Hotelbeds.
+ */
+@Configuration
+@Getter
+public class RateLimitConfig {
+
+  // Cantidad sostenida de llamadas por segundo permitidas
+  @Value("${hotelbeds.rate-limit.requests-per-second:8}")
+  private double requestsPerSecond;
+
+  // Cantidad de llamadas que pueden salir juntas tras un período sin tráfico
+  @Value("${hotelbeds.rate-limit.burst:8}")
+  private int burst;
+
+  @Value("${hotelbeds.rate-limit.initial-concurrency:4}")
+  private int initialConcurrency;
+
+  @Value("${hotelbeds.rate-limit.min-concurrency:1}")
+  private int minConcurrency;
+
+  @Value("${hotelbeds.rate-limit.max-concurrency:16}")
+  private int maxConcurrency;
+
+  // Factor por el que se multiplica la ventana de concurrencia ante congestión
+  @Value("${hotelbeds.rate-limit.decrease-factor:0.5}")
+  private double decreaseFactor;
+
+  // Latencia a partir de la cual una llamada se considera señal de congestión
+  @Value("${hotelbeds.rate-limit.latency-threshold-ms:10000}")
+  private long latencyThresholdMillis;
+
+  // Pausa aplicada ante un 429 o 503 que no trae la cabecera Retry-After
+  @Value("${hotelbeds.rate-limit.default-retry-after-ms:1000}")
+  private long defaultRetryAfterMillis;
+
+  @Value("${hotelbeds.rate-limit.max-retries:3}")
+  private int maxRetries;
+}
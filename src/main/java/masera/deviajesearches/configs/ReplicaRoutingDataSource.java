@@ -0,0 +1,22 @@
+package masera.deviajesearches.configs;
+
+import masera.deviajesearches.utils.ReplicaReads;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * DataSource que obtiene las conexiones del pool de la réplica para las lecturas
+ * abiertas con {@link ReplicaReads} y del pool primario para todo lo demás.
+ * Debe usarse detrás de un LazyConnectionDataSourceProxy, ya que la transacción
+ * recién queda registrada después de pedir la conexión.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+  static final String PRIMARY = "primary";
+
+  static final String REPLICA = "replica";
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    return ReplicaReads.isReplicaTransaction() ? REPLICA : PRIMARY;
+  }
+}
@@ -0,0 +1,12 @@
+package masera.deviajesearches.configs;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita la ejecución de tareas programadas.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
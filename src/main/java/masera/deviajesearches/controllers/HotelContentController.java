@@ -1,12 +1,24 @@
 package masera.deviajesearches.controllers;
 
 import java.util.List;
+import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import masera.deviajesearches.dtos.amadeus.response.CityDto;
+import masera.deviajesearches.dtos.amadeus.response.ContentBootstrapDto;
 import masera.deviajesearches.dtos.amadeus.response.CountryDto;
+import masera.deviajesearches.dtos.amadeus.response.HotelCatalogPageDto;
+import masera.deviajesearches.dtos.amadeus.response.IngestionJobDto;
+import masera.deviajesearches.dtos.amadeus.response.SyncWatermarkDto;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.services.interfaces.ContentBootstrapService;
+import masera.deviajesearches.services.interfaces.ContentSyncService;
 import masera.deviajesearches.services.interfaces.HotelContentService;
+import masera.deviajesearches.services.interfaces.HotelIngestionService;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
@@ -22,6 +34,12 @@ public class HotelContentController {
 
   private final HotelContentService hotelContentService;
 
+  private final HotelIngestionService hotelIngestionService;
+
+  private final ContentSyncService contentSyncService;
+
+  private final ContentBootstrapService contentBootstrapService;
+
   /**
    * Carga hoteles desde la API de Hotelbeds.
    * Si se proporciona lastUpdateTime, obtiene solo las actualizaciones.
@@ -47,6 +65,56 @@ public class HotelContentController {
     return ResponseEntity.ok(message + " en idioma " + language);
   }
 
+  /**
+   * Inicia en segundo plano la ingesta de todo el catálogo de hoteles.
+   * Se recorren todas las páginas de la API de contenido, descargando varias en paralelo.
+   *
+   * @param language (Opcional) idioma, por defecto todos los idiomas configurados
+   * @param lastUpdateTime (Opcional) fecha de última actualización en formato YYYY-MM-DD
+   * @return estado inicial del trabajo de ingesta
+   */
+  @PostMapping("/hotels/ingestion")
+  public ResponseEntity<IngestionJobDto> startHotelIngestion(
+          @RequestParam(required = false) String language,
+          @RequestParam(required = false) String lastUpdateTime) {
+
+    IngestionJobDto job = hotelIngestionService.startHotelIngestion(language, lastUpdateTime);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+  }
+
+  /**
+   * Retoma un trabajo de ingesta fallido o interrumpido desde la última página persistida.
+   *
+   * @param jobId identificador del trabajo
+   * @return estado del trabajo retomado
+   */
+  @PostMapping("/hotels/ingestion/{jobId}/resume")
+  public ResponseEntity<IngestionJobDto> resumeHotelIngestion(@PathVariable String jobId) {
+    IngestionJobDto job = hotelIngestionService.resumeHotelIngestion(jobId);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+  }
+
+  /**
+   * Obtiene el estado de un trabajo de ingesta de hoteles.
+   *
+   * @param jobId identificador del trabajo
+   * @return páginas procesadas, hoteles por segundo y tiempo estimado restante
+   */
+  @GetMapping("/hotels/ingestion/{jobId}")
+  public ResponseEntity<IngestionJobDto> getHotelIngestion(@PathVariable String jobId) {
+    return ResponseEntity.ok(hotelIngestionService.getJob(jobId));
+  }
+
+  /**
+   * Obtiene el estado de todos los trabajos de ingesta de hoteles.
+   *
+   * @return lista de trabajos de ingesta
+   */
+  @GetMapping("/hotels/ingestion")
+  public ResponseEntity<List<IngestionJobDto>> getHotelIngestions() {
+    return ResponseEntity.ok(hotelIngestionService.getJobs());
+  }
+
   /**
    * Carga países desde la API de Hotelbeds.
    *
@@ -263,6 +331,55 @@ public class HotelContentController {
     return ResponseEntity.ok(message);
   }
 
+  /**
+   * Inicia en segundo plano la carga de todo el contenido de referencia.
+   * Los tipos independientes se cargan en paralelo y los dependientes
+   * comienzan apenas terminan los tipos que necesitan. El catálogo de hoteles
+   * se delega en un trabajo de ingesta.
+   *
+   * @param language idioma (por defecto CAS)
+   * @param includeHotels si también se carga el catálogo de hoteles (por defecto false)
+   * @return estado inicial de la carga
+   */
+  @PostMapping("/bootstrap")
+  public ResponseEntity<ContentBootstrapDto> bootstrapContent(
+          @RequestParam(defaultValue = "CAS") String language,
+          @RequestParam(defaultValue = "false") boolean includeHotels) {
+    ContentBootstrapDto bootstrap = contentBootstrapService.bootstrap(language, includeHotels);
+    return ResponseEntity.status(HttpStatus.ACCEPTED).body(bootstrap);
+  }
+
+  /**
+   * Obtiene el estado de la última carga inicial de contenido.
+   *
+   * @return estado de la carga y de cada tipo de contenido
+   */
+  @GetMapping("/bootstrap")
+  public ResponseEntity<ContentBootstrapDto> getBootstrap() {
+    return ResponseEntity.ok(contentBootstrapService.getBootstrap());
+  }
+
+  /**
+   * Sincroniza los cambios de todos los tipos de contenido desde su última marca.
+   * Es la misma operación que se ejecuta de forma programada.
+   *
+   * @return registros recibidos, guardados y descartados por tipo de contenido
+   */
+  @PostMapping("/sync")
+  public ResponseEntity<Map<ContentType, PageLoadResult>> syncContent() {
+    return ResponseEntity.ok(contentSyncService.syncAll());
+  }
+
+  /**
+   * Obtiene las marcas de sincronización de cada tipo de contenido.
+   *
+   * @return lista de marcas de sincronización
+   */
+  @GetMapping("/sync/watermarks")
+  public ResponseEntity<List<SyncWatermarkDto>> getSyncWatermarks() {
+    return ResponseEntity.ok(contentSyncService.getWatermarks());
+  }
+
   /**
    * Obtiene todos los países guardados en la base de datos.
    *
@@ -274,6 +391,30 @@ public class HotelContentController {
     return ResponseEntity.ok(countries);
   }
 
+  /**
+   * Recorre el catálogo de hoteles por páginas, filtrando opcionalmente por destino,
+   * país, cadena o categoría. Cada respuesta incluye el cursor de la página siguiente.
+   *
+   * @param destinationCode (Opcional) código de destino
+   * @param countryCode (Opcional) código de país
+   * @param chainCode (Opcional) código de cadena
+   * @param categoryCode (Opcional) código de categoría
+   * @param after (Opcional) cursor devuelto por la página anterior
+   * @param limit (Opcional) hoteles por página, por defecto 100 y como máximo 1000
+   * @return página de hoteles
+   */
+  @GetMapping("/hotels")
+  public ResponseEntity<HotelCatalogPageDto> getHotelCatalog(
+          @RequestParam(required = false) String destinationCode,
+          @RequestParam(required = false) String countryCode,
+          @RequestParam(required = false) String chainCode,
+          @RequestParam(required = false) String categoryCode,
+          @RequestParam(required = false) String after,
+          @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(hotelContentService.getHotelCatalog(
+            destinationCode, countryCode, chainCode, categoryCode, after, limit));
+  }
+
   /**
    * Endpoint para buscar destinos de hoteles.
    *
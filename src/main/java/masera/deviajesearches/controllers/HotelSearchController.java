@@ -1,19 +1,28 @@
 package masera.deviajesearches.controllers;
 
 import jakarta.validation.Valid;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.dtos.amadeus.request.AvailabilityPageRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelDetailsRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelFilterRequest;
 import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest;
-import masera.deviajesearches.dtos.amadeus.response.HotelResponseDto;
+import masera.deviajesearches.dtos.amadeus.request.MultiDestinationSearchRequest;
+import masera.deviajesearches.dtos.amadeus.response.AvailabilityPageDto;
 import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse;
+import masera.deviajesearches.dtos.amadeus.response.MultiDestinationSearchResponse;
 import masera.deviajesearches.services.interfaces.HotelSearchService;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
 
 /**
  * Controlador para la búsqueda de hoteles.
@@ -40,15 +49,113 @@ public class HotelSearchController {
     return ResponseEntity.ok(response);
   }
 
+  /**
+   * Obtiene detalles de varios hoteles en una sola llamada, por ejemplo para
+   * mostrar las tarjetas de un resultado de búsqueda.
+   *
+   * @param request códigos de hotel e idioma
+   * @return detalles de los hoteles encontrados y códigos no encontrados
+   */
+  @PostMapping("/details")
+  public ResponseEntity<byte[]> getHotelDetails(
+          @Valid @RequestBody HotelDetailsRequest request) {
+    byte[] response = hotelSearchService.getHotelDetails(request);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(response);
+  }
+
+  /**
+   * Busca hoteles en varios destinos o zonas a la vez y devuelve un único resultado
+   * combinado, marcado como parcial si algún destino no respondió a tiempo.
+   *
+   * @param request criterios de búsqueda comunes y destinos a buscar
+   * @return hoteles combinados y el resultado de cada destino
+   */
+  @PostMapping("/multi")
+  public ResponseEntity<MultiDestinationSearchResponse> searchHotels(
+          @Valid @RequestBody MultiDestinationSearchRequest request) {
+    return ResponseEntity.ok(hotelSearchService.searchHotels(request));
+  }
+
+  /**
+   * Busca hoteles y los envía uno a uno apenas se leen de la respuesta de Hotelbeds,
+   * como NDJSON o como eventos SSE según el encabezado Accept.
+   *
+   * @param request solicitud de búsqueda de hoteles
+   * @return flujo de hoteles disponibles
+   */
+  @PostMapping(value = "/stream",
+          produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  public Flux<HotelSearchResponse.Hotel> streamHotels(
+          @Valid @RequestBody HotelSearchRequest request) {
+    return hotelSearchService.streamHotels(request);
+  }
+
+  /**
+   * Busca hoteles disponibles y devuelve la primera página ordenada, sin habitaciones.
+   * El resultado queda guardado en el servidor para recorrer las páginas siguientes.
+   *
+   * @param request búsqueda, criterio de orden (PRICE, CATEGORY o DISTANCE) y tamaño de página
+   * @return primera página de hoteles disponibles
+   */
+  @PostMapping("/results")
+  public ResponseEntity<AvailabilityPageDto> searchHotelsPage(
+          @Valid @RequestBody AvailabilityPageRequest request) {
+    return ResponseEntity.ok(hotelSearchService.searchHotelsPage(request));
+  }
+
+  /**
+   * Obtiene la página siguiente de un resultado de disponibilidad.
+   *
+   * @param cursor cursor recibido en la página anterior
+   * @return página de hoteles disponibles
+   */
+  @GetMapping("/results")
+  public ResponseEntity<AvailabilityPageDto> getHotelsPage(@RequestParam String cursor) {
+    return ResponseEntity.ok(hotelSearchService.getHotelsPage(cursor));
+  }
+
+  /**
+   * Obtiene las habitaciones y tarifas de un hotel de un resultado de disponibilidad.
+   *
+   * @param resultId identificador del resultado
+   * @param hotelCode código del hotel
+   * @return hotel con sus habitaciones y tarifas
+   */
+  @GetMapping("/results/{resultId}/hotels/{hotelCode}")
+  public ResponseEntity<HotelSearchResponse.Hotel> getAvailableHotel(
+          @PathVariable String resultId,
+          @PathVariable String hotelCode) {
+    return ResponseEntity.ok(hotelSearchService.getAvailableHotel(resultId, hotelCode));
+  }
+
+  /**
+   * Filtra los hoteles de un destino por categoría, cadena, régimen, segmento y
+   * facilities, por ejemplo para acotar los hoteles antes de consultar disponibilidad.
+   *
+   * @param request destino y filtros a aplicar
+   * @return códigos de los hoteles que cumplen los filtros
+   */
+  @PostMapping("/filter")
+  public ResponseEntity<List<String>> filterHotels(
+          @Valid @RequestBody HotelFilterRequest request) {
+    return ResponseEntity.ok(hotelSearchService.filterHotels(request));
+  }
+
   /**
    * Obtiene detalles de un hotel específico.
    *
    * @param hotelCode código del hotel
+   * @param language (Opcional) idioma de los textos, por ejemplo CAS o ENG
+   * @param fields (Opcional) campos opcionales a incluir, por ejemplo images,facilities
    * @return detalles del hotel
    */
   @GetMapping("/{hotelCode}")
-  public ResponseEntity<HotelResponseDto> getHotelDetails(@PathVariable String hotelCode) {
-    HotelResponseDto hotel = hotelSearchService.getHotelDetails(hotelCode);
-    return ResponseEntity.ok(hotel);
+  public ResponseEntity<byte[]> getHotelDetails(
+          @PathVariable String hotelCode,
+          @RequestParam(required = false) String language,
+          @RequestParam(required = false) List<String> fields) {
+    // El detalle ya está serializado, se escribe tal cual sin pasar por Jackson
+    byte[] hotel = hotelSearchService.getHotelDetails(hotelCode, language, fields);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(hotel);
   }
 }
@@ -0,0 +1,36 @@
+package masera.deviajesearches.dtos.amadeus.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa la solicitud de la primera página de resultados de disponibilidad.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityPageRequest {
+
+  @Valid
+  @NotNull
+  private HotelSearchRequest search;
+
+  // PRICE, CATEGORY o DISTANCE, por defecto PRICE
+  private String sort;
+
+  // Punto de referencia, obligatorio para ordenar por DISTANCE
+  private Double latitude;
+
+  private Double longitude;
+
+  @Min(1)
+  @Max(100)
+  private Integer pageSize;
+}
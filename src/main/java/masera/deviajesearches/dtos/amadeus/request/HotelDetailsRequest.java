@@ -0,0 +1,25 @@
+package masera.deviajesearches.dtos.amadeus.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa la solicitud del detalle de varios hoteles a la vez.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelDetailsRequest {
+
+  @NotEmpty
+  @Size(max = 200)
+  private List<String> hotelCodes;
+
+  private String language;
+}
@@ -0,0 +1,60 @@
+package masera.deviajesearches.dtos.amadeus.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa la solicitud para filtrar los hoteles de un destino por su
+ * contenido guardado, antes de consultar disponibilidad.
+ * Dentro de cada lista alcanza con que el hotel cumpla uno de los valores, salvo
+ * en las facilities, que deben estar todas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelFilterRequest {
+
+  @NotBlank
+  private String destinationCode;
+
+  private List<String> categoryCodes;
+
+  private List<String> chainCodes;
+
+  private List<String> boardCodes;
+
+  private List<Integer> segmentCodes;
+
+  @Valid
+  @Size(max = 20)
+  private List<FacilityFilter> facilities;
+
+  @Min(1)
+  @Max(5000)
+  private Integer limit;
+
+  /**
+   * Representa una facility que el hotel debe ofrecer.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  public static class FacilityFilter {
+    @NotNull
+    private Integer facilityCode;
+
+    @NotNull
+    private Integer facilityGroupCode;
+  }
+}
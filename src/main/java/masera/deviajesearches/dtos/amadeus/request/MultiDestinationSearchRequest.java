@@ -0,0 +1,61 @@
+package masera.deviajesearches.dtos.amadeus.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa la solicitud de búsqueda de hoteles en varios destinos o zonas
+ * a la vez, por ejemplo una región formada por varias ciudades cercanas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MultiDestinationSearchRequest {
+
+  @Valid
+  @NotNull
+  private HotelSearchRequest.Stay stay;
+
+  @Valid
+  @NotNull
+  private List<HotelSearchRequest.Occupancy> occupancies;
+
+  @Valid
+  @NotEmpty
+  @Size(max = 20)
+  private List<HotelSearchRequest.Destination> destinations;
+
+  private HotelSearchRequest.Filter filter;
+
+  private Boolean dailyRate;
+
+  private String language;
+
+  private String currency;
+
+  /**
+   * Arma la solicitud de búsqueda de uno de los destinos.
+   *
+   * @param destination destino a buscar
+   * @return solicitud de búsqueda del destino
+   */
+  public HotelSearchRequest toSearch(HotelSearchRequest.Destination destination) {
+    return HotelSearchRequest.builder()
+            .stay(stay)
+            .occupancies(occupancies)
+            .destination(destination)
+            .filter(filter)
+            .dailyRate(dailyRate)
+            .language(language)
+            .currency(currency)
+            .build();
+  }
+}
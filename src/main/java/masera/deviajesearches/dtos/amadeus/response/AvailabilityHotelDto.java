@@ -0,0 +1,47 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import java.math.BigDecimal;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa un hotel disponible dentro de una página de resultados,
+ * sin sus habitaciones ni tarifas.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityHotelDto {
+
+  private String code;
+
+  private String name;
+
+  private String categoryCode;
+
+  private String categoryName;
+
+  private String destinationCode;
+
+  private Integer zoneCode;
+
+  private String zoneName;
+
+  private Double latitude;
+
+  private Double longitude;
+
+  private BigDecimal minRate;
+
+  private BigDecimal maxRate;
+
+  private String currency;
+
+  private Integer roomCount;
+
+  // Distancia al punto de referencia, solo al ordenar por DISTANCE
+  private Double distanceKm;
+}
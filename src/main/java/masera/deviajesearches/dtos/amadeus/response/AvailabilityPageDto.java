@@ -0,0 +1,31 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa una página de resultados de disponibilidad ordenados.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AvailabilityPageDto {
+
+  // Identificador del resultado guardado, para obtener las habitaciones de un hotel
+  private String resultId;
+
+  private Integer total;
+
+  private String checkIn;
+
+  private String checkOut;
+
+  private List<AvailabilityHotelDto> hotels;
+
+  // Cursor a enviar para obtener la página siguiente, null en la última página
+  private String nextCursor;
+}
@@ -0,0 +1,34 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.enums.IngestionJobStatus;
+
+/**
+ * DTO que representa el resultado de la carga de un tipo de contenido durante el arranque.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BootstrapStepDto {
+
+  private ContentType contentType;
+
+  private IngestionJobStatus status;
+
+  private Integer count;
+
+  // Registros descartados por no tener datos obligatorios
+  private Integer rejected;
+
+  private Long durationMillis;
+
+  // Trabajo de ingesta que continúa la carga de hoteles en segundo plano
+  private String ingestionJobId;
+
+  private String error;
+}
@@ -0,0 +1,32 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import masera.deviajesearches.enums.IngestionJobStatus;
+
+/**
+ * DTO que representa el estado de la carga inicial de todo el contenido.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ContentBootstrapDto {
+
+  private String language;
+
+  private IngestionJobStatus status;
+
+  private LocalDateTime startedAt;
+
+  private LocalDateTime finishedAt;
+
+  // Tiempo transcurrido hasta ahora, o total si ya finalizó
+  private Long totalMillis;
+
+  private List<BootstrapStepDto> steps;
+}
@@ -0,0 +1,22 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa una página del catálogo de hoteles.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelCatalogPageDto {
+
+  private List<HotelSummaryDto> hotels;
+
+  // Código a enviar como after para obtener la página siguiente, null en la última página
+  private String nextCursor;
+}
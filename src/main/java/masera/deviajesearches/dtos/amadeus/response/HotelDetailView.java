@@ -0,0 +1,39 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Vista de serialización del detalle de un hotel.
+ * Los campos que no requieren enriquecimiento se guardan como el JSON original
+ * de la base de datos y se copian tal cual a la salida, sin convertirlos en
+ * objetos. El resto del detalle se serializa desde el DTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelDetailView {
+
+  @JsonUnwrapped
+  private HotelResponseDto detail;
+
+  @JsonRawValue
+  private String images;
+
+  @JsonRawValue
+  private String phones;
+
+  @JsonRawValue
+  private String interestPoints;
+
+  @JsonRawValue
+  private String wildcards;
+
+  @JsonRawValue
+  private String issues;
+}
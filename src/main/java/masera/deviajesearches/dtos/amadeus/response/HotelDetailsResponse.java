@@ -0,0 +1,24 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import com.fasterxml.jackson.databind.util.RawValue;
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa el detalle de varios hoteles, en el orden solicitado.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelDetailsResponse {
+
+  // Detalles ya serializados, con la forma de HotelResponseDto
+  private List<RawValue> hotels;
+
+  // Códigos solicitados que no corresponden a ningún hotel
+  private List<String> notFound;
+}
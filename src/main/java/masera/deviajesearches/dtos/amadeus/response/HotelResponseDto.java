@@ -21,7 +21,7 @@ import masera.deviajesearches.dtos.amadeus.response.hotelbeds.segments.SegmentDt
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class HotelResponseDto {
 
   private String code;
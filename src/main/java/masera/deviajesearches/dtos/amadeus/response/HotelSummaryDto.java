@@ -0,0 +1,36 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO que representa los datos básicos de un hotel, sin su contenido extenso.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelSummaryDto {
+
+  private String code;
+
+  private String name;
+
+  private String countryCode;
+
+  private String destinationCode;
+
+  private String categoryCode;
+
+  private String chainCode;
+
+  private String city;
+
+  private Double latitude;
+
+  private Double longitude;
+
+  private Integer ranking;
+}
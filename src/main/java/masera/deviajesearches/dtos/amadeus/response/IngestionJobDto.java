@@ -0,0 +1,47 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import masera.deviajesearches.enums.IngestionJobStatus;
+
+/**
+ * DTO que representa el estado de un trabajo de ingesta de hoteles.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestionJobDto {
+
+  private String jobId;
+
+  private IngestionJobStatus status;
+
+  private String language;
+
+  private String lastUpdateTime;
+
+  private Integer pageSize;
+
+  private Integer totalHotels;
+
+  private Integer totalPages;
+
+  private Integer pagesDone;
+
+  private Integer hotelsSaved;
+
+  private Double hotelsPerSecond;
+
+  // Tiempo estimado restante en segundos
+  private Long etaSeconds;
+
+  private LocalDateTime startedAt;
+
+  private LocalDateTime finishedAt;
+
+  private String error;
+}
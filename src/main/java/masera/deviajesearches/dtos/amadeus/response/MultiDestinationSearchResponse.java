@@ -0,0 +1,44 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import masera.deviajesearches.enums.SearchLegStatus;
+
+/**
+ * DTO que representa el resultado combinado de una búsqueda de hoteles en varios
+ * destinos, con un hotel por código aunque aparezca en más de un destino.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MultiDestinationSearchResponse {
+
+  private HotelSearchResponse.HotelsResponse hotels;
+
+  // true si algún destino no respondió y sus hoteles no están incluidos
+  private boolean partial;
+
+  private List<Leg> destinations;
+
+  /**
+   * Representa el resultado de la búsqueda de uno de los destinos.
+   */
+  @Data
+  @NoArgsConstructor
+  @AllArgsConstructor
+  @Builder
+  public static class Leg {
+
+    private String code;
+
+    private String zoneCode;
+
+    private SearchLegStatus status;
+
+    private Integer hotels;
+  }
+}
@@ -0,0 +1,28 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import masera.deviajesearches.enums.ContentType;
+
+/**
+ * DTO que representa la marca de sincronización de un tipo de contenido.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncWatermarkDto {
+
+  private ContentType contentType;
+
+  private String lastUpdateTime;
+
+  private LocalDateTime lastSyncAt;
+
+  private Integer lastSyncCount;
+
+  private Integer lastSyncRejected;
+}
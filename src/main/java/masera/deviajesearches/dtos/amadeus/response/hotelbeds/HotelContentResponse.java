@@ -11,5 +11,12 @@ import lombok.Data;
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class HotelContentResponse {
 
+  private Integer from;
+
+  private Integer to;
+
+  // Cantidad total de hoteles disponibles para los filtros de la consulta
+  private Integer total;
+
   private List<HotelDto> hotels;
 }
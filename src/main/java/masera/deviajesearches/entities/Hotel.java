@@ -3,6 +3,7 @@ package masera.deviajesearches.entities;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.Lob;
 import jakarta.persistence.Table;
 import java.time.LocalDateTime;
@@ -15,7 +16,18 @@ import lombok.NoArgsConstructor;
  * Entidad que representa un hotel.
  */
 @Entity
-@Table(name = "hotels")
+@Table(name = "hotels", indexes = {
+    // Cubre los filtros por destino, categoría y cadena sin leer las filas
+    @Index(name = "idx_hotels_destination",
+            columnList = "destination_code, category_code, chain_code"),
+    // Recorrido del catálogo por filtro en orden de código
+    @Index(name = "idx_hotels_destination_code", columnList = "destination_code, code"),
+    @Index(name = "idx_hotels_country_code", columnList = "country_code, code"),
+    @Index(name = "idx_hotels_chain_code", columnList = "chain_code, code"),
+    @Index(name = "idx_hotels_category_code", columnList = "category_code, code"),
+    // Hoteles pendientes de indexar sus relaciones, en orden de código
+    @Index(name = "idx_hotels_relations_indexed", columnList = "relations_indexed, code")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -111,4 +123,15 @@ public class Hotel {
   private String s2c;
 
   private Integer ranking;
+
+  // Huella del contenido recibido, permite omitir reescrituras sin cambios
+  private Long contentHash;
+
+  // Verdadero cuando sus relaciones con regímenes, segmentos y facilities ya fueron indexadas
+  private Boolean relationsIndexed;
+
+  // Columnas JSON codificadas en Smile, reemplaza a las columnas de texto cuando está presente
+  @Lob
+  @Column(columnDefinition = "LONGBLOB")
+  private byte[] packedContent;
 }
@@ -0,0 +1,33 @@
+package masera.deviajesearches.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad que relaciona un hotel con cada uno de sus regímenes de alimentos.
+ */
+@Entity
+@Table(name = "hotel_boards", indexes = {
+    @Index(name = "idx_hotel_boards_hotel", columnList = "hotel_code, board_code"),
+    @Index(name = "idx_hotel_boards_board", columnList = "board_code, hotel_code")
+})
+@IdClass(HotelBoardId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelBoard {
+
+  @Id
+  private String hotelCode;
+
+  @Id
+  private String boardCode;
+}
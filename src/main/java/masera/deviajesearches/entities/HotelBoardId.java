@@ -0,0 +1,19 @@
+package masera.deviajesearches.entities;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase que representa la clave primaria compuesta de la entidad HotelBoard.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelBoardId implements Serializable {
+
+  private String hotelCode;
+
+  private String boardCode;
+}
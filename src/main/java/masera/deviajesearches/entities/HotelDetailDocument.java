@@ -0,0 +1,44 @@
+package masera.deviajesearches.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad que representa el detalle de un hotel ya armado y listo para responder.
+ * Se genera durante la ingesta, de modo que la consulta del detalle es una sola
+ * lectura por clave primaria.
+ */
+@Entity
+@Table(name = "hotel_detail_documents")
+@IdClass(HotelDetailDocumentId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelDetailDocument {
+
+  @Id
+  private String hotelCode;
+
+  @Id
+  @Column(length = 3)
+  private String language;
+
+  // HotelResponseDto serializado
+  @Lob
+  @Column(columnDefinition = "JSON")
+  private String document;
+
+  private Long contentHash;
+
+  private LocalDateTime builtAt;
+}
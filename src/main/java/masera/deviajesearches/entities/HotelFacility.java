@@ -0,0 +1,38 @@
+package masera.deviajesearches.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad que relaciona un hotel con cada una de sus facilities.
+ * La clave primaria empieza por el hotel y resuelve el reemplazo de las facilities de un
+ * hotel; el índice empieza por la facility y resuelve los filtros leyendo solo el índice.
+ */
+@Entity
+@Table(name = "hotel_facilities", indexes = {
+    @Index(name = "idx_hotel_facilities_facility",
+            columnList = "facility_group_code, facility_code, hotel_code")
+})
+@IdClass(HotelFacilityId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelFacility {
+
+  @Id
+  private String hotelCode;
+
+  @Id
+  private Integer facilityGroupCode;
+
+  @Id
+  private Integer facilityCode;
+}
@@ -0,0 +1,21 @@
+package masera.deviajesearches.entities;
+
+import java.io.Serializable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Clase que representa la clave primaria compuesta de la entidad HotelFacility.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelFacilityId implements Serializable {
+
+  private String hotelCode;
+
+  private Integer facilityGroupCode;
+
+  private Integer facilityCode;
+}
@@ -0,0 +1,33 @@
+package masera.deviajesearches.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad que relaciona un hotel con cada uno de sus segmentos.
+ */
+@Entity
+@Table(name = "hotel_segments", indexes = {
+    @Index(name = "idx_hotel_segments_hotel", columnList = "hotel_code, segment_code"),
+    @Index(name = "idx_hotel_segments_segment", columnList = "segment_code, hotel_code")
+})
+@IdClass(HotelSegmentId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelSegment {
+
+  @Id
+  private String hotelCode;
+
+  @Id
+  private Integer segmentCode;
+}
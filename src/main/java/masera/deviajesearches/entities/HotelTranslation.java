@@ -0,0 +1,55 @@
+package masera.deviajesearches.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad que representa los textos traducibles de un hotel en un idioma.
+ */
+@Entity
+@Table(name = "hotel_translations")
+@IdClass(HotelTranslationId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotelTranslation {
+
+  @Id
+  private String hotelCode;
+
+  @Id
+  @Column(length = 3)
+  private String language;
+
+  private String name;
+
+  @Column(columnDefinition = "TEXT")
+  private String description;
+
+  private String address;
+
+  private String city;
+
+  @Lob
+  @Column(columnDefinition = "JSON")
+  private String rooms;
+
+  @Lob
+  @Column(columnDefinition = "JSON")
+  private String interestPoints;
+
+  private LocalDateTime lastUpdated;
+
+  // Huella del contenido recibido, permite omitir reescrituras sin cambios
+  private Long contentHash;
+}
@@ -0,0 +1,61 @@
+package masera.deviajesearches.entities;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import masera.deviajesearches.enums.IngestionJobStatus;
+
+/**
+ * Entidad que representa un trabajo de ingesta del catálogo de hoteles.
+ */
+@Entity
+@Table(name = "ingestion_jobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestionJob {
+
+  @Id
+  private String jobId;
+
+  @Enumerated(EnumType.STRING)
+  private IngestionJobStatus status;
+
+  // Idiomas separados por coma
+  private String languages;
+
+  private String lastUpdateTime;
+
+  private Integer pageSize;
+
+  private Integer totalHotels;
+
+  private Integer totalPages;
+
+  private Integer pagesDone;
+
+  private Integer hotelsSaved;
+
+  private LocalDateTime startedAt;
+
+  private LocalDateTime finishedAt;
+
+  // Instancia que ejecuta el trabajo
+  @Column(length = 100)
+  private String owner;
+
+  // Último latido de la instancia dueña, vencido el plazo otra instancia puede tomarlo
+  private LocalDateTime heartbeatAt;
+
+  @Column(length = 1000)
+  private String error;
+}
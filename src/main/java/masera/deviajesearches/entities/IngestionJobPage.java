@@ -0,0 +1,35 @@
+package masera.deviajesearches.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Entidad que representa una página ya persistida de un trabajo de ingesta.
+ * Sirve como punto de control para retomar el trabajo sin repetir páginas.
+ */
+@Entity
+@Table(name = "ingestion_job_pages")
+@IdClass(IngestionJobPageId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IngestionJobPage {
+
+  @Id
+  private String jobId;
+
+  @Id
+  private Integer page;
+
+  private Integer hotelsSaved;
+
+  private LocalDateTime committedAt;
+}
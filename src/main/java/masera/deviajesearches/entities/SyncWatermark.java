@@ -0,0 +1,39 @@
+package masera.deviajesearches.entities;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import masera.deviajesearches.enums.ContentType;
+
+/**
+ * Entidad que representa la marca de última sincronización de un tipo de contenido.
+ */
+@Entity
+@Table(name = "sync_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncWatermark {
+
+  @Id
+  @Enumerated(EnumType.STRING)
+  private ContentType contentType;
+
+  // Fecha (YYYY-MM-DD) desde la que se pedirán cambios en la próxima sincronización
+  private String lastUpdateTime;
+
+  private LocalDateTime lastSyncAt;
+
+  private Integer lastSyncCount;
+
+  // Registros descartados en la última sincronización por no tener datos obligatorios
+  private Integer lastSyncRejected;
+}
@@ -0,0 +1,86 @@
+package masera.deviajesearches.enums;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse.Hotel;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Criterios de orden de los resultados de disponibilidad.
+ * Los empates se resuelven por código de hotel, para que las páginas sean estables.
+ */
+public enum AvailabilitySort {
+
+  // Tarifa mínima ascendente
+  PRICE,
+
+  // Categoría descendente y, dentro de cada categoría, tarifa mínima ascendente
+  CATEGORY,
+
+  // Distancia ascendente a un punto de referencia
+  DISTANCE;
+
+  private static final double EARTH_RADIUS_KM = 6371.0;
+
+  /**
+   * Obtiene el criterio de orden a partir de su nombre, sin distinguir mayúsculas.
+   *
+   * @param parameter (Opcional) nombre del criterio, por defecto PRICE
+   * @return criterio de orden
+   */
+  public static AvailabilitySort fromParameter(String parameter) {
+    if (parameter == null || parameter.isBlank()) {
+      return PRICE;
+    }
+    for (AvailabilitySort sort : values()) {
+      if (sort.name().equalsIgnoreCase(parameter.trim())) {
+        return sort;
+      }
+    }
+    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+            "Criterio de orden desconocido: " + parameter);
+  }
+
+  /**
+   * Arma el comparador de hoteles para este criterio.
+   *
+   * @param latitude latitud de referencia, solo para DISTANCE
+   * @param longitude longitud de referencia, solo para DISTANCE
+   * @return comparador de hoteles
+   */
+  public Comparator<Hotel> comparator(Double latitude, Double longitude) {
+    Comparator<Hotel> byPrice = Comparator.comparing(Hotel::getMinRate,
+            Comparator.nullsLast(Comparator.<BigDecimal>naturalOrder()));
+    Comparator<Hotel> comparator = switch (this) {
+      case PRICE -> byPrice;
+      case CATEGORY -> Comparator.comparing(Hotel::getCategoryCode,
+              Comparator.nullsLast(Comparator.<String>reverseOrder())).thenComparing(byPrice);
+      case DISTANCE -> Comparator.comparingDouble(
+              (Hotel hotel) -> distanceKm(hotel, latitude, longitude));
+    };
+    return comparator.thenComparing(Hotel::getCode,
+            Comparator.nullsLast(Comparator.<String>naturalOrder()));
+  }
+
+  /**
+   * Calcula la distancia en kilómetros entre un hotel y un punto de referencia.
+   *
+   * @param hotel hotel con coordenadas
+   * @param latitude latitud de referencia
+   * @param longitude longitud de referencia
+   * @return distancia en kilómetros, o infinito si el hotel no tiene coordenadas
+   */
+  public static double distanceKm(Hotel hotel, Double latitude, Double longitude) {
+    if (hotel.getLatitude() == null || hotel.getLongitude() == null
+            || latitude == null || longitude == null) {
+      return Double.POSITIVE_INFINITY;
+    }
+    double dLat = Math.toRadians(hotel.getLatitude() - latitude);
+    double dLon = Math.toRadians(hotel.getLongitude() - longitude);
+    double a = Math.pow(Math.sin(dLat / 2), 2)
+            + Math.cos(Math.toRadians(latitude)) * Math.cos(Math.toRadians(hotel.getLatitude()))
+            * Math.pow(Math.sin(dLon / 2), 2);
+    return 2 * EARTH_RADIUS_KM * Math.asin(Math.sqrt(a));
+  }
+}
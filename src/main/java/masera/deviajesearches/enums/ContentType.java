@@ -0,0 +1,45 @@
+package masera.deviajesearches.enums;
+
+import java.util.List;
+import lombok.Getter;
+
+/**
+ * Tipos de contenido que se sincronizan desde la API de contenido de Hotelbeds.
+ * El orden de declaración respeta las dependencias entre tipos
+ * (por ejemplo, los países se cargan antes que los destinos).
+ */
+@Getter
+public enum ContentType {
+
+  COUNTRIES,
+
+  // Cada destino resuelve su país al guardarse
+  DESTINATIONS(COUNTRIES),
+
+  ACCOMMODATIONS,
+
+  BOARDS,
+
+  CATEGORIES,
+
+  FACILITIES,
+
+  FACILITY_GROUPS,
+
+  CHAINS,
+
+  TERMINALS,
+
+  // Los documentos de detalle de cada hotel se arman con los diccionarios de referencia
+  HOTELS(DESTINATIONS, ACCOMMODATIONS, BOARDS, CATEGORIES, FACILITIES, FACILITY_GROUPS,
+          CHAINS, TERMINALS);
+
+  /**
+   * Tipos de contenido que deben estar cargados antes que este.
+   */
+  private final List<ContentType> dependencies;
+
+  ContentType(ContentType... dependencies) {
+    this.dependencies = List.of(dependencies);
+  }
+}
@@ -0,0 +1,87 @@
+package masera.deviajesearches.enums;
+
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+import lombok.AccessLevel;
+import lombok.Getter;
+import masera.deviajesearches.dtos.amadeus.response.HotelResponseDto;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Campos opcionales del detalle de un hotel que se pueden pedir por separado.
+ * Cada uno corresponde a una columna JSON de la tabla hotels.
+ */
+@Getter
+public enum HotelDetailField {
+
+  IMAGES("images", "images", dto -> dto.setImages(null)),
+
+  FACILITIES("facilities", "facilities", dto -> dto.setFacilities(null)),
+
+  ROOMS("rooms", "rooms", dto -> dto.setRooms(null)),
+
+  PHONES("phones", "phones", dto -> dto.setPhones(null)),
+
+  INTEREST_POINTS("interestPoints", "interest_points", dto -> dto.setInterestPoints(null)),
+
+  SEGMENTS("segments", "segment_codes", dto -> dto.setSegments(null)),
+
+  TERMINALS("terminals", "terminals", dto -> dto.setTerminals(null)),
+
+  WILDCARDS("wildcards", "wildcards", dto -> dto.setWildcards(null)),
+
+  ISSUES("issues", "issues", dto -> dto.setIssues(null));
+
+  // Nombre del campo en el parámetro fields y en la respuesta
+  private final String parameter;
+
+  private final String column;
+
+  @Getter(AccessLevel.NONE)
+  private final Consumer<HotelResponseDto> remover;
+
+  HotelDetailField(String parameter, String column, Consumer<HotelResponseDto> remover) {
+    this.parameter = parameter;
+    this.column = column;
+    this.remover = remover;
+  }
+
+  /**
+   * Quita este campo del detalle de un hotel.
+   *
+   * @param dto detalle del hotel
+   */
+  public void removeFrom(HotelResponseDto dto) {
+    remover.accept(dto);
+  }
+
+  /**
+   * Convierte los valores del parámetro fields en campos.
+   *
+   * @param parameters nombres de los campos pedidos
+   * @return campos pedidos
+   */
+  public static Set<HotelDetailField> fromParameters(Collection<String> parameters) {
+    Set<HotelDetailField> fields = EnumSet.noneOf(HotelDetailField.class);
+    for (String parameter : parameters) {
+      if (parameter == null || parameter.isBlank()) {
+        continue;
+      }
+      fields.add(fromParameter(parameter.trim()));
+    }
+    return fields;
+  }
+
+  private static HotelDetailField fromParameter(String parameter) {
+    for (HotelDetailField field : values()) {
+      if (field.parameter.equalsIgnoreCase(parameter)) {
+        return field;
+      }
+    }
+    throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+            "Campo de detalle de hotel desconocido: " + parameter);
+  }
+}
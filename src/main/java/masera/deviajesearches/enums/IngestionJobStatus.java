@@ -0,0 +1,16 @@
+package masera.deviajesearches.enums;
+
+/**
+ * Estados posibles de un trabajo o paso de ingesta de contenido.
+ */
+public enum IngestionJobStatus {
+
+  RUNNING,
+
+  COMPLETED,
+
+  FAILED,
+
+  // No se ejecutó porque falló alguna de sus dependencias
+  SKIPPED
+}
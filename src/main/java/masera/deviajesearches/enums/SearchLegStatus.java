@@ -0,0 +1,15 @@
+package masera.deviajesearches.enums;
+
+/**
+ * Resultado de la búsqueda de disponibilidad de un destino dentro de una búsqueda
+ * en varios destinos.
+ */
+public enum SearchLegStatus {
+
+  COMPLETED,
+
+  // No respondió dentro del tiempo máximo de espera
+  TIMEOUT,
+
+  FAILED
+}
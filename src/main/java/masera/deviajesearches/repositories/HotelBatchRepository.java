@@ -0,0 +1,809 @@
+package masera.deviajesearches.repositories;
+
+import java.sql.DatabaseMetaData;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.configs.IngestionConfig;
+import masera.deviajesearches.entities.FacilityId;
+import masera.deviajesearches.entities.Hotel;
+import masera.deviajesearches.entities.HotelDetailDocument;
+import masera.deviajesearches.entities.HotelTranslation;
+import masera.deviajesearches.utils.HotelContentCodec;
+import masera.deviajesearches.utils.dtos.BatchWriteResult;
+import masera.deviajesearches.utils.dtos.HotelRelations;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Repositorio de escritura masiva de hoteles, sus traducciones y sus detalles
+ * armados mediante JDBC.
+ * Inserta o actualiza páginas completas de hoteles en lotes de varias filas,
+ * evitando la lectura previa y el dirty-checking de Hibernate por cada hotel.
+ * Los hoteles cuya huella de contenido no cambió no se vuelven a escribir.
+ * Con el empaquetado activo, las columnas JSON de cada hotel se escriben en una sola
+ * columna binaria, conservando las guardadas que no llegan en la carga. Junto con
+ * cada hotel escrito se reemplazan sus filas en las tablas de relación con
+ * regímenes, segmentos y facilities.
+ */
+@Repository
+@Slf4j
+public class HotelBatchRepository {
+
+  /**
+   * Columnas de la tabla hotels. Las marcadas con true conservan el valor
+   * anterior cuando el nuevo es nulo, igual que la carga fila a fila.
+   */
+  private static final Map<String, Boolean> COLUMNS = columns();
+
+  private static final Map<String, Boolean> TRANSLATION_COLUMNS = translationColumns();
+
+  private static final Map<String, Boolean> DOCUMENT_COLUMNS = documentColumns();
+
+  private static final List<String> LANGUAGE_KEYS = List.of("hotel_code", "language");
+
+  private static final List<String> RELATION_TABLES =
+          List.of("hotel_boards", "hotel_segments", "hotel_facilities");
+
+  // Columnas de la tabla hotels que referencian un diccionario por código
+  private static final Set<String> DICTIONARY_COLUMNS = Set.of("country_code",
+          "destination_code", "category_code", "chain_code", "accommodation_type_code");
+
+  private final JdbcTemplate jdbcTemplate;
+
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final IngestionConfig ingestionConfig;
+
+  private final HotelContentCodec hotelContentCodec;
+
+  private volatile String upsertSql;
+
+  private volatile String translationUpsertSql;
+
+  private volatile String documentUpsertSql;
+
+  private volatile Boolean h2;
+
+  /**
+   * Constructor del repositorio.
+   *
+   * @param jdbcTemplate plantilla JDBC
+   * @param namedParameterJdbcTemplate plantilla JDBC con parámetros nombrados
+   * @param transactionManager gestor de transacciones
+   * @param ingestionConfig configuración de la ingesta
+   * @param hotelContentCodec codificador de las columnas JSON de hoteles
+   */
+  public HotelBatchRepository(JdbcTemplate jdbcTemplate,
+                              NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                              PlatformTransactionManager transactionManager,
+                              IngestionConfig ingestionConfig,
+                              HotelContentCodec hotelContentCodec) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.ingestionConfig = ingestionConfig;
+    this.hotelContentCodec = hotelContentCodec;
+  }
+
+  /**
+   * Inserta o actualiza los hoteles en lotes, confirmando una transacción por lote.
+   * Los hoteles escritos reemplazan también sus relaciones en la misma transacción.
+   *
+   * @param hotels hoteles a escribir
+   * @param relations relaciones de cada hotel por código
+   * @return cantidad de hoteles insertados, actualizados y omitidos sin cambios, junto
+   *         con los códigos de los hoteles escritos
+   */
+  public BatchWriteResult upsertAll(List<Hotel> hotels, Map<String, HotelRelations> relations) {
+    return upsertInChunks(hotels, chunk -> upsertChunk(chunk, relations));
+  }
+
+  /**
+   * Inserta o actualiza las traducciones de hoteles en lotes, una transacción por lote.
+   *
+   * @param translations traducciones a escribir
+   * @return cantidad de traducciones insertadas, actualizadas y omitidas sin cambios,
+   *         junto con los códigos de los hoteles cuya traducción se escribió
+   */
+  public BatchWriteResult upsertTranslations(List<HotelTranslation> translations) {
+    return upsertInChunks(translations, this::upsertTranslationChunk);
+  }
+
+  /**
+   * Inserta o actualiza los detalles armados de hoteles en lotes, una transacción por lote.
+   *
+   * @param documents detalles a escribir
+   * @return cantidad de detalles insertados, actualizados y omitidos sin cambios
+   */
+  public BatchWriteResult upsertDocuments(List<HotelDetailDocument> documents) {
+    return upsertDocuments(documents, document -> { });
+  }
+
+  /**
+   * Inserta o actualiza los detalles armados de hoteles en lotes, una transacción por lote,
+   * e informa los detalles que efectivamente cambiaron una vez confirmados.
+   *
+   * @param documents detalles a escribir
+   * @param onWritten acción a ejecutar por cada detalle escrito
+   * @return cantidad de detalles insertados, actualizados y omitidos sin cambios
+   */
+  public BatchWriteResult upsertDocuments(List<HotelDetailDocument> documents,
+                                          Consumer<HotelDetailDocument> onWritten) {
+    List<HotelDetailDocument> written = new ArrayList<>();
+    try {
+      return upsertInChunks(documents, chunk -> upsertByLanguage(chunk,
+              "hotel_detail_documents", HotelDetailDocument::getLanguage,
+              HotelDetailDocument::getHotelCode, HotelDetailDocument::getContentHash,
+              this::toArgs, getDocumentUpsertSql(), written::add));
+    } finally {
+      // Se informa fuera de la transacción para no exponer filas aún sin confirmar
+      written.forEach(onWritten);
+    }
+  }
+
+  /**
+   * Obtiene, en orden de código, hoteles que todavía tienen las columnas JSON como texto.
+   *
+   * @param afterCode código a partir del cual buscar, sin incluirlo
+   * @param limit cantidad máxima de hoteles
+   * @return hoteles con su código y sus columnas JSON
+   */
+  public List<Hotel> findUnpacked(String afterCode, int limit) {
+    return jdbcTemplate.query("SELECT code, " + String.join(", ", hotelContentCodec.getColumns())
+                    + " FROM hotels WHERE packed_content IS NULL AND code > ?"
+                    + " ORDER BY code LIMIT ?",
+            (rs, rowNum) -> Hotel.builder()
+                    .code(rs.getString("code"))
+                    .boardCodes(rs.getString("board_codes"))
+                    .segmentCodes(rs.getString("segment_codes"))
+                    .rooms(rs.getString("rooms"))
+                    .facilities(rs.getString("facilities"))
+                    .terminals(rs.getString("terminals"))
+                    .interestPoints(rs.getString("interest_points"))
+                    .wildcards(rs.getString("wildcards"))
+                    .issues(rs.getString("issues"))
+                    .build(),
+            afterCode, limit);
+  }
+
+  /**
+   * Reescribe las columnas JSON de los hoteles como contenido empaquetado, en una sola
+   * transacción. Los hoteles empaquetados mientras tanto por la ingesta no se modifican.
+   * Las filas pendientes se bloquean y cuentan antes de escribir, ya que con sentencias
+   * agrupadas el driver informa éxito sin la cantidad de filas de cada una.
+   *
+   * @param hotels hoteles con sus columnas JSON como texto
+   * @return cantidad de hoteles reescritos
+   */
+  public int packAll(List<Hotel> hotels) {
+    if (hotels.isEmpty()) {
+      return 0;
+    }
+    String clearColumns = hotelContentCodec.getColumns().stream()
+            .map(column -> column + " = NULL")
+            .collect(Collectors.joining(", "));
+    String sql = "UPDATE hotels SET packed_content = ?, " + clearColumns
+            + " WHERE code = ? AND packed_content IS NULL";
+    Map<String, Set<String>> params = Map.of("codes",
+            hotels.stream().map(Hotel::getCode).collect(Collectors.toSet()));
+
+    Integer packed = transactionTemplate.execute(status -> {
+      Set<String> pending = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+              "SELECT code FROM hotels WHERE code IN (:codes) AND packed_content IS NULL"
+                      + " FOR UPDATE", params, String.class));
+      List<Object[]> args = new ArrayList<>(pending.size());
+      for (Hotel hotel : hotels) {
+        if (pending.contains(hotel.getCode())) {
+          args.add(new Object[] {hotelContentCodec.pack(hotel), hotel.getCode()});
+        }
+      }
+      if (!args.isEmpty()) {
+        jdbcTemplate.batchUpdate(sql, args);
+      }
+      return args.size();
+    });
+    return packed != null ? packed : 0;
+  }
+
+  /**
+   * Obtiene, en orden de código, hoteles cuyas relaciones todavía no fueron indexadas.
+   * Se apoya en la marca por hotel y no en la ausencia de filas, porque un hotel sin
+   * regímenes, segmentos ni facilities nunca tiene filas de relación.
+   *
+   * @param afterCode código a partir del cual buscar, sin incluirlo
+   * @param limit cantidad máxima de hoteles
+   * @return hoteles con su código y sus columnas de regímenes, segmentos y facilities
+   */
+  public List<Hotel> findWithoutRelations(String afterCode, int limit) {
+    return jdbcTemplate.query("SELECT code, board_codes, segment_codes, facilities,"
+                    + " packed_content FROM hotels WHERE relations_indexed IS NULL AND code > ?"
+                    + " ORDER BY code LIMIT ?",
+            (rs, rowNum) -> Hotel.builder()
+                    .code(rs.getString("code"))
+                    .boardCodes(rs.getString("board_codes"))
+                    .segmentCodes(rs.getString("segment_codes"))
+                    .facilities(rs.getString("facilities"))
+                    .packedContent(rs.getBytes("packed_content"))
+                    .build(),
+            afterCode, limit);
+  }
+
+  /**
+   * Reemplaza las relaciones de los hoteles en una sola transacción.
+   *
+   * @param relations relaciones de cada hotel
+   */
+  public void replaceRelations(List<HotelRelations> relations) {
+    transactionTemplate.executeWithoutResult(status -> writeRelations(relations));
+  }
+
+  /**
+   * Obtiene los códigos de los hoteles que referencian alguno de los códigos de un
+   * diccionario en la columna indicada.
+   *
+   * @param column columna de la tabla hotels con el código del diccionario
+   * @param values códigos del diccionario
+   * @return códigos de los hoteles
+   */
+  public Set<String> findCodesByDictionaryColumn(String column, Collection<String> values) {
+    if (!DICTIONARY_COLUMNS.contains(column)) {
+      throw new IllegalArgumentException("Columna de diccionario desconocida: " + column);
+    }
+    return findCodes("SELECT code FROM hotels WHERE " + column + " IN (:values)", values);
+  }
+
+  /**
+   * Obtiene los códigos de los hoteles que tienen alguno de los segmentos.
+   *
+   * @param segmentCodes códigos de segmentos
+   * @return códigos de los hoteles
+   */
+  public Set<String> findCodesBySegments(Collection<Integer> segmentCodes) {
+    return findCodes("SELECT DISTINCT hotel_code FROM hotel_segments"
+            + " WHERE segment_code IN (:values)", segmentCodes);
+  }
+
+  /**
+   * Obtiene los códigos de los hoteles que tienen alguna de las facilities o alguna
+   * facility de los grupos indicados. Solo considera las facilities del hotel, no las
+   * de sus habitaciones.
+   *
+   * @param facilities facilities buscadas
+   * @param groupCodes códigos de grupos de facilities
+   * @return códigos de los hoteles
+   */
+  public Set<String> findCodesByFacilities(Collection<FacilityId> facilities,
+                                           Collection<Integer> groupCodes) {
+    Set<String> codes = findCodes("SELECT DISTINCT hotel_code FROM hotel_facilities"
+            + " WHERE (facility_group_code, facility_code) IN (:values)",
+            facilities.stream()
+                    .map(facility -> new Object[] {
+                        facility.getFacilityGroupCode(), facility.getCode()})
+                    .toList());
+    codes.addAll(findCodes("SELECT DISTINCT hotel_code FROM hotel_facilities"
+            + " WHERE facility_group_code IN (:values)", groupCodes));
+    return codes;
+  }
+
+  /**
+   * Obtiene, en orden de código, hoteles con solo sus habitaciones y terminales.
+   *
+   * @param afterCode código a partir del cual buscar, sin incluirlo
+   * @param limit cantidad máxima de hoteles
+   * @return hoteles con su código y sus columnas de habitaciones y terminales
+   */
+  public List<Hotel> findRoomsAndTerminals(String afterCode, int limit) {
+    return jdbcTemplate.query("SELECT code, rooms, terminals, packed_content FROM hotels"
+                    + " WHERE code > ? ORDER BY code LIMIT ?",
+            (rs, rowNum) -> Hotel.builder()
+                    .code(rs.getString("code"))
+                    .rooms(rs.getString("rooms"))
+                    .terminals(rs.getString("terminals"))
+                    .packedContent(rs.getBytes("packed_content"))
+                    .build(),
+            afterCode, limit);
+  }
+
+  // Consulta códigos de hotel por tramos de valores para no armar listas IN enormes
+  private Set<String> findCodes(String sql, Collection<?> values) {
+    Set<String> codes = new HashSet<>();
+    List<?> pending = new ArrayList<>(values);
+    int batchSize = Math.max(1, ingestionConfig.getBatchSize());
+    for (int start = 0; start < pending.size(); start += batchSize) {
+      List<?> chunk = pending.subList(start, Math.min(start + batchSize, pending.size()));
+      namedParameterJdbcTemplate.query(sql, Map.of("values", chunk),
+              rs -> {
+                codes.add(rs.getString(1));
+              });
+    }
+    return codes;
+  }
+
+  private <T> BatchWriteResult upsertInChunks(
+          List<T> rows, Function<List<T>, BatchWriteResult> writer) {
+    BatchWriteResult result = new BatchWriteResult();
+    int batchSize = Math.max(1, ingestionConfig.getBatchSize());
+
+    for (int start = 0; start < rows.size(); start += batchSize) {
+      List<T> chunk = rows.subList(start, Math.min(start + batchSize, rows.size()));
+      BatchWriteResult chunkResult = transactionTemplate.execute(status -> writer.apply(chunk));
+      if (chunkResult != null) {
+        result.add(chunkResult);
+      }
+    }
+    return result;
+  }
+
+  private BatchWriteResult upsertChunk(List<Hotel> chunk,
+                                       Map<String, HotelRelations> relations) {
+    Set<String> codes = chunk.stream().map(Hotel::getCode).collect(Collectors.toSet());
+    Map<String, Long> existing = findContentHashes(
+            "SELECT code, content_hash FROM hotels WHERE code IN (:codes)",
+            "code", Map.of("codes", codes));
+
+    List<Hotel> changed = chunk.stream()
+            .filter(hotel -> !isUnchanged(existing.get(hotel.getCode()), hotel.getContentHash()))
+            .toList();
+    Map<String, Hotel> previous = findPreviousContent(changed, existing.keySet());
+
+    List<Object[]> args = new ArrayList<>(changed.size());
+    Set<String> written = new HashSet<>();
+    for (Hotel hotel : changed) {
+      args.add(toArgs(hotel, previous.get(hotel.getCode())));
+      written.add(hotel.getCode());
+    }
+    if (!args.isEmpty()) {
+      jdbcTemplate.batchUpdate(getUpsertSql(), args);
+    }
+    writeRelations(written.stream()
+            .map(relations::get)
+            .filter(Objects::nonNull)
+            .toList());
+
+    int updated = (int) written.stream().filter(existing::containsKey).count();
+    int inserted = written.size() - updated;
+    BatchWriteResult result = new BatchWriteResult(
+            inserted, updated, codes.size() - written.size());
+    result.setWrittenCodes(written);
+    return result;
+  }
+
+  /**
+   * Obtiene las columnas JSON guardadas de los hoteles existentes que llegan sin alguna
+   * de ellas. Con el contenido empaquetado el upsert reemplaza el contenido completo,
+   * así que las columnas ausentes se completan con las guardadas antes de empaquetar.
+   *
+   * @param hotels hoteles a escribir
+   * @param existingCodes códigos de los hoteles que ya existen
+   * @return hoteles guardados con sus columnas JSON como texto, por código
+   */
+  private Map<String, Hotel> findPreviousContent(List<Hotel> hotels, Set<String> existingCodes) {
+    if (!hotelContentCodec.isPackingEnabled()) {
+      return Map.of();
+    }
+    Set<String> codes = hotels.stream()
+            .filter(hotel -> existingCodes.contains(hotel.getCode()))
+            .filter(hotelContentCodec::hasMissingColumns)
+            .map(Hotel::getCode)
+            .collect(Collectors.toSet());
+    if (codes.isEmpty()) {
+      return Map.of();
+    }
+
+    Map<String, Hotel> previous = new HashMap<>();
+    namedParameterJdbcTemplate.query("SELECT code, "
+                    + String.join(", ", hotelContentCodec.getColumns()) + ", "
+                    + String.join(", ", hotelContentCodec.getTextColumns())
+                    + ", packed_content FROM hotels WHERE code IN (:codes)",
+            Map.of("codes", codes),
+            rs -> {
+              Hotel hotel = Hotel.builder()
+                      .code(rs.getString("code"))
+                      .boardCodes(rs.getString("board_codes"))
+                      .segmentCodes(rs.getString("segment_codes"))
+                      .phones(rs.getString("phones"))
+                      .rooms(rs.getString("rooms"))
+                      .facilities(rs.getString("facilities"))
+                      .terminals(rs.getString("terminals"))
+                      .interestPoints(rs.getString("interest_points"))
+                      .images(rs.getString("images"))
+                      .wildcards(rs.getString("wildcards"))
+                      .issues(rs.getString("issues"))
+                      .packedContent(rs.getBytes("packed_content"))
+                      .build();
+              hotelContentCodec.unpack(hotel);
+              previous.put(hotel.getCode(), hotel);
+            });
+    return previous;
+  }
+
+  private BatchWriteResult upsertTranslationChunk(List<HotelTranslation> chunk) {
+    return upsertByLanguage(chunk, "hotel_translations",
+            HotelTranslation::getLanguage, HotelTranslation::getHotelCode,
+            HotelTranslation::getContentHash, this::toArgs, getTranslationUpsertSql(),
+            translation -> { });
+  }
+
+  // Escribe filas identificadas por código de hotel e idioma, omitiendo las que
+  // conservan la misma huella de contenido
+  private <T> BatchWriteResult upsertByLanguage(List<T> chunk, String table,
+                                                Function<T, String> languageOf,
+                                                Function<T, String> hotelCodeOf,
+                                                Function<T, Long> hashOf,
+                                                Function<T, Object[]> argsOf,
+                                                String sql,
+                                                Consumer<T> onWritten) {
+    BatchWriteResult result = new BatchWriteResult();
+    Map<String, List<T>> byLanguage = chunk.stream()
+            .collect(Collectors.groupingBy(languageOf));
+
+    for (Map.Entry<String, List<T>> entry : byLanguage.entrySet()) {
+      Set<String> codes = entry.getValue().stream()
+              .map(hotelCodeOf)
+              .collect(Collectors.toSet());
+      Map<String, Long> existing = findContentHashes(
+              "SELECT hotel_code, content_hash FROM " + table
+                      + " WHERE language = :language AND hotel_code IN (:codes)",
+              "hotel_code", Map.of("language", entry.getKey(), "codes", codes));
+
+      List<Object[]> args = new ArrayList<>(entry.getValue().size());
+      Set<String> written = new HashSet<>();
+      for (T row : entry.getValue()) {
+        String code = hotelCodeOf.apply(row);
+        if (isUnchanged(existing.get(code), hashOf.apply(row))) {
+          continue;
+        }
+        args.add(argsOf.apply(row));
+        written.add(code);
+        onWritten.accept(row);
+      }
+      if (!args.isEmpty()) {
+        jdbcTemplate.batchUpdate(sql, args);
+      }
+
+      int updated = (int) written.stream().filter(existing::containsKey).count();
+      BatchWriteResult languageResult = new BatchWriteResult(
+              written.size() - updated, updated, codes.size() - written.size());
+      languageResult.setWrittenCodes(written);
+      result.add(languageResult);
+    }
+    return result;
+  }
+
+  // Borra e inserta las filas de relación de los hoteles dentro de la transacción en curso
+  private void writeRelations(List<HotelRelations> relations) {
+    if (relations.isEmpty()) {
+      return;
+    }
+
+    Map<String, Set<String>> params = Map.of("codes", relations.stream()
+            .map(HotelRelations::getHotelCode)
+            .collect(Collectors.toSet()));
+    for (String table : RELATION_TABLES) {
+      namedParameterJdbcTemplate.update(
+              "DELETE FROM " + table + " WHERE hotel_code IN (:codes)", params);
+    }
+
+    List<Object[]> boards = new ArrayList<>();
+    List<Object[]> segments = new ArrayList<>();
+    List<Object[]> facilities = new ArrayList<>();
+    for (HotelRelations hotel : relations) {
+      hotel.getBoardCodes().forEach(code -> boards.add(new Object[] {hotel.getHotelCode(), code}));
+      hotel.getSegmentCodes().forEach(code ->
+              segments.add(new Object[] {hotel.getHotelCode(), code}));
+      hotel.getFacilities().forEach(facility -> facilities.add(new Object[] {
+          hotel.getHotelCode(), facility.getFacilityGroupCode(), facility.getCode()}));
+    }
+    insertRelations("INSERT INTO hotel_boards (hotel_code, board_code) VALUES (?, ?)", boards);
+    insertRelations("INSERT INTO hotel_segments (hotel_code, segment_code) VALUES (?, ?)",
+            segments);
+    insertRelations("INSERT INTO hotel_facilities (hotel_code, facility_group_code,"
+            + " facility_code) VALUES (?, ?, ?)", facilities);
+    namedParameterJdbcTemplate.update(
+            "UPDATE hotels SET relations_indexed = TRUE WHERE code IN (:codes)", params);
+  }
+
+  private void insertRelations(String sql, List<Object[]> rows) {
+    if (!rows.isEmpty()) {
+      jdbcTemplate.batchUpdate(sql, rows);
+    }
+  }
+
+  private Map<String, Long> findContentHashes(
+          String sql, String keyColumn, Map<String, ?> params) {
+    Map<String, Long> hashes = new HashMap<>();
+    namedParameterJdbcTemplate.query(sql, params, rs -> {
+      long hash = rs.getLong("content_hash");
+      hashes.put(rs.getString(keyColumn), rs.wasNull() ? null : hash);
+    });
+    return hashes;
+  }
+
+  private boolean isUnchanged(Long currentHash, Long newHash) {
+    return currentHash != null && currentHash.equals(newHash);
+  }
+
+  private Object[] toArgs(Hotel hotel, Hotel previous) {
+    byte[] packedContent = hotelContentCodec.isPackingEnabled()
+            ? hotelContentCodec.pack(hotel, previous)
+            : null;
+    // Con el contenido empaquetado las columnas JSON empaquetadas quedan vacías
+    Hotel json = packedContent != null ? new Hotel() : hotel;
+    return new Object[] {
+        hotel.getCode(),
+        hotel.getName(),
+        hotel.getDescription(),
+        hotel.getCountryCode(),
+        hotel.getStateCode(),
+        hotel.getDestinationCode(),
+        hotel.getZoneCode(),
+        hotel.getLatitude(),
+        hotel.getLongitude(),
+        hotel.getCategoryCode(),
+        hotel.getCategoryGroupCode(),
+        hotel.getChainCode(),
+        hotel.getAccommodationTypeCode(),
+        hotel.getAddress(),
+        hotel.getCity(),
+        hotel.getPostalCode(),
+        hotel.getEmail(),
+        hotel.getLicense(),
+        hotel.getGiataCode(),
+        hotel.getLastUpdated(),
+        json.getBoardCodes(),
+        json.getSegmentCodes(),
+        textColumn(hotel, previous, Hotel::getPhones),
+        json.getRooms(),
+        json.getFacilities(),
+        json.getTerminals(),
+        json.getInterestPoints(),
+        textColumn(hotel, previous, Hotel::getImages),
+        json.getWildcards(),
+        json.getIssues(),
+        hotel.getWeb(),
+        hotel.getLastUpdate(),
+        hotel.getS2c(),
+        hotel.getRanking(),
+        hotel.getContentHash(),
+        packedContent
+    };
+  }
+
+  // Las columnas que siguen como texto pueden estar guardadas en un contenido empaquetado
+  // antes de quedar fuera de él, en ese caso se reescriben como texto
+  private String textColumn(Hotel hotel, Hotel previous, Function<Hotel, String> column) {
+    String value = column.apply(hotel);
+    return value == null && previous != null ? column.apply(previous) : value;
+  }
+
+  private Object[] toArgs(HotelTranslation translation) {
+    return new Object[] {
+        translation.getHotelCode(),
+        translation.getLanguage(),
+        translation.getName(),
+        translation.getDescription(),
+        translation.getAddress(),
+        translation.getCity(),
+        translation.getRooms(),
+        translation.getInterestPoints(),
+        translation.getLastUpdated(),
+        translation.getContentHash()
+    };
+  }
+
+  private Object[] toArgs(HotelDetailDocument document) {
+    return new Object[] {
+        document.getHotelCode(),
+        document.getLanguage(),
+        document.getDocument(),
+        document.getContentHash(),
+        document.getBuiltAt()
+    };
+  }
+
+  /**
+   * Construye la sentencia de upsert según el motor de base de datos.
+   * MySQL usa INSERT ... ON DUPLICATE KEY UPDATE y H2 usa MERGE.
+   *
+   * @return sentencia SQL
+   */
+  private String getUpsertSql() {
+    if (upsertSql == null) {
+      upsertSql = buildUpsertSql("hotels", hotelColumns(), List.of("code"));
+      log.debug("Sentencia de upsert de hoteles: {}", upsertSql);
+    }
+    return upsertSql;
+  }
+
+  // Con el contenido empaquetado las columnas JSON se vacían en lugar de conservarse
+  private Map<String, Boolean> hotelColumns() {
+    if (!hotelContentCodec.isPackingEnabled()) {
+      return COLUMNS;
+    }
+    Map<String, Boolean> columns = new LinkedHashMap<>(COLUMNS);
+    hotelContentCodec.getColumns().forEach(column -> columns.put(column, false));
+    return columns;
+  }
+
+  private String getTranslationUpsertSql() {
+    if (translationUpsertSql == null) {
+      translationUpsertSql = buildUpsertSql(
+              "hotel_translations", TRANSLATION_COLUMNS, LANGUAGE_KEYS);
+      log.debug("Sentencia de upsert de traducciones de hoteles: {}", translationUpsertSql);
+    }
+    return translationUpsertSql;
+  }
+
+  private String getDocumentUpsertSql() {
+    if (documentUpsertSql == null) {
+      documentUpsertSql = buildUpsertSql(
+              "hotel_detail_documents", DOCUMENT_COLUMNS, LANGUAGE_KEYS);
+      log.debug("Sentencia de upsert de detalles de hoteles: {}", documentUpsertSql);
+    }
+    return documentUpsertSql;
+  }
+
+  private String buildUpsertSql(String table, Map<String, Boolean> columns, List<String> keys) {
+    if (h2 == null) {
+      h2 = isH2();
+    }
+    return h2 ? buildMergeSql(table, columns, keys) : buildMySqlSql(table, columns, keys);
+  }
+
+  /**
+   * Arma la sentencia de upsert de MySQL. Los valores nuevos se leen del alias de fila,
+   * disponible desde MySQL 8.0.19, en lugar de la función VALUES() ya obsoleta. Las
+   * columnas marcadas con true conservan el valor anterior cuando el nuevo es nulo.
+   *
+   * @param table tabla destino
+   * @param columns columnas de la tabla, en el orden de los parámetros
+   * @param keys columnas de la clave, que no se actualizan
+   * @return sentencia INSERT ... AS new ON DUPLICATE KEY UPDATE
+   */
+  static String buildMySqlSql(String table, Map<String, Boolean> columns, List<String> keys) {
+    String columnList = String.join(", ", columns.keySet());
+    String placeholders = columns.keySet().stream()
+            .map(column -> "?")
+            .collect(Collectors.joining(", "));
+    String updates = columns.entrySet().stream()
+            .filter(column -> !keys.contains(column.getKey()))
+            .map(column -> column.getValue()
+                    ? column.getKey() + " = COALESCE(new." + column.getKey() + ", "
+                            + column.getKey() + ")"
+                    : column.getKey() + " = new." + column.getKey())
+            .collect(Collectors.joining(", "));
+
+    return "INSERT INTO " + table + " (" + columnList + ") VALUES (" + placeholders + ")"
+            + " AS new ON DUPLICATE KEY UPDATE " + updates;
+  }
+
+  /**
+   * Arma la sentencia de upsert de H2, con el mismo criterio que la de MySQL.
+   *
+   * @param table tabla destino
+   * @param columns columnas de la tabla, en el orden de los parámetros
+   * @param keys columnas de la clave, que no se actualizan
+   * @return sentencia MERGE INTO ... USING
+   */
+  static String buildMergeSql(String table, Map<String, Boolean> columns, List<String> keys) {
+    String columnList = String.join(", ", columns.keySet());
+    String placeholders = columns.keySet().stream()
+            .map(column -> "?")
+            .collect(Collectors.joining(", "));
+    String sourceColumns = columns.keySet().stream()
+            .map(column -> "s." + column)
+            .collect(Collectors.joining(", "));
+    String condition = keys.stream()
+            .map(key -> "t." + key + " = s." + key)
+            .collect(Collectors.joining(" AND "));
+    String updates = columns.entrySet().stream()
+            .filter(column -> !keys.contains(column.getKey()))
+            .map(column -> column.getValue()
+                    ? column.getKey() + " = COALESCE(s." + column.getKey() + ", t."
+                            + column.getKey() + ")"
+                    : column.getKey() + " = s." + column.getKey())
+            .collect(Collectors.joining(", "));
+
+    return "MERGE INTO " + table + " t USING (VALUES (" + placeholders + "))"
+            + " AS s(" + columnList + ")"
+            + " ON " + condition
+            + " WHEN MATCHED THEN UPDATE SET " + updates
+            + " WHEN NOT MATCHED THEN INSERT (" + columnList + ") VALUES (" + sourceColumns + ")";
+  }
+
+  private boolean isH2() {
+    try {
+      String product = JdbcUtils.extractDatabaseMetaData(jdbcTemplate.getDataSource(),
+              DatabaseMetaData::getDatabaseProductName);
+      return "H2".equalsIgnoreCase(product);
+    } catch (MetaDataAccessException e) {
+      log.warn("No se pudo detectar el motor de base de datos, se asume MySQL: {}",
+              e.getMessage());
+      return false;
+    }
+  }
+
+  private static Map<String, Boolean> columns() {
+    Map<String, Boolean> columns = new LinkedHashMap<>();
+    columns.put("code", false);
+    columns.put("name", false);
+    columns.put("description", true);
+    columns.put("country_code", false);
+    columns.put("state_code", false);
+    columns.put("destination_code", false);
+    columns.put("zone_code", false);
+    columns.put("latitude", true);
+    columns.put("longitude", true);
+    columns.put("category_code", false);
+    columns.put("category_group_code", false);
+    columns.put("chain_code", false);
+    columns.put("accommodation_type_code", false);
+    columns.put("address", true);
+    columns.put("city", false);
+    columns.put("postal_code", false);
+    columns.put("email", false);
+    columns.put("license", false);
+    columns.put("giata_code", false);
+    columns.put("last_updated", false);
+    columns.put("board_codes", true);
+    columns.put("segment_codes", true);
+    columns.put("phones", true);
+    columns.put("rooms", true);
+    columns.put("facilities", true);
+    columns.put("terminals", true);
+    columns.put("interest_points", true);
+    columns.put("images", true);
+    columns.put("wildcards", true);
+    columns.put("issues", true);
+    columns.put("web", false);
+    columns.put("last_update", false);
+    columns.put("s2c", false);
+    columns.put("ranking", false);
+    columns.put("content_hash", false);
+    columns.put("packed_content", false);
+    return columns;
+  }
+
+  private static Map<String, Boolean> translationColumns() {
+    Map<String, Boolean> columns = new LinkedHashMap<>();
+    columns.put("hotel_code", false);
+    columns.put("language", false);
+    columns.put("name", false);
+    columns.put("description", true);
+    columns.put("address", true);
+    columns.put("city", false);
+    columns.put("rooms", true);
+    columns.put("interest_points", true);
+    columns.put("last_updated", false);
+    columns.put("content_hash", false);
+    return columns;
+  }
+
+  private static Map<String, Boolean> documentColumns() {
+    Map<String, Boolean> columns = new LinkedHashMap<>();
+    columns.put("hotel_code", false);
+    columns.put("language", false);
+    columns.put("document", false);
+    columns.put("content_hash", false);
+    columns.put("built_at", false);
+    return columns;
+  }
+}
@@ -0,0 +1,83 @@
+package masera.deviajesearches.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import masera.deviajesearches.dtos.amadeus.response.HotelSummaryDto;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de recorrido del catálogo de hoteles mediante JDBC.
+ * Pagina por código de hotel en lugar de por desplazamiento: cada página continúa
+ * desde el último código de la anterior sobre un índice que empieza por el filtro y
+ * sigue por el código, de modo que el costo no crece con el número de página.
+ * Solo lee columnas escalares, nunca las columnas JSON.
+ */
+@Repository
+public class HotelCatalogRepository {
+
+  private static final String COLUMNS = "code, name, country_code, destination_code,"
+          + " category_code, chain_code, city, latitude, longitude, ranking";
+
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  /**
+   * Constructor del repositorio.
+   *
+   * @param namedParameterJdbcTemplate plantilla JDBC con parámetros nombrados
+   */
+  public HotelCatalogRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+    this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+  }
+
+  /**
+   * Obtiene, en orden de código, los hoteles posteriores a uno dado que cumplen los filtros.
+   *
+   * @param destinationCode (Opcional) código de destino
+   * @param countryCode (Opcional) código de país
+   * @param chainCode (Opcional) código de cadena
+   * @param categoryCode (Opcional) código de categoría
+   * @param after (Opcional) último código de la página anterior
+   * @param limit cantidad máxima de hoteles
+   * @return datos básicos de los hoteles
+   */
+  public List<HotelSummaryDto> findPage(String destinationCode, String countryCode,
+                                        String chainCode, String categoryCode,
+                                        String after, int limit) {
+    List<String> conditions = new ArrayList<>();
+    MapSqlParameterSource params = new MapSqlParameterSource("limit", limit);
+    addCondition(conditions, params, "destination_code", destinationCode);
+    addCondition(conditions, params, "country_code", countryCode);
+    addCondition(conditions, params, "chain_code", chainCode);
+    addCondition(conditions, params, "category_code", categoryCode);
+    if (after != null) {
+      conditions.add("code > :after");
+      params.addValue("after", after);
+    }
+
+    String sql = "SELECT " + COLUMNS + " FROM hotels"
+            + (conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions))
+            + " ORDER BY code LIMIT :limit";
+    return namedParameterJdbcTemplate.query(sql, params, (rs, rowNum) -> HotelSummaryDto.builder()
+            .code(rs.getString("code"))
+            .name(rs.getString("name"))
+            .countryCode(rs.getString("country_code"))
+            .destinationCode(rs.getString("destination_code"))
+            .categoryCode(rs.getString("category_code"))
+            .chainCode(rs.getString("chain_code"))
+            .city(rs.getString("city"))
+            .latitude(rs.getObject("latitude", Double.class))
+            .longitude(rs.getObject("longitude", Double.class))
+            .ranking(rs.getObject("ranking", Integer.class))
+            .build());
+  }
+
+  private void addCondition(List<String> conditions, MapSqlParameterSource params,
+                            String column, String value) {
+    if (value != null && !value.isBlank()) {
+      conditions.add(column + " = :" + column);
+      params.addValue(column, value);
+    }
+  }
+}
@@ -0,0 +1,15 @@
+package masera.deviajesearches.repositories;
+
+import masera.deviajesearches.entities.HotelDetailDocument;
+import masera.deviajesearches.entities.HotelDetailDocumentId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para la gestión de los detalles de hoteles ya armados.
+ */
+@Repository
+public interface HotelDetailDocumentRepository
+        extends JpaRepository<HotelDetailDocument, HotelDetailDocumentId> {
+
+}
@@ -0,0 +1,82 @@
+package masera.deviajesearches.repositories;
+
+import java.util.List;
+import masera.deviajesearches.dtos.amadeus.request.HotelFilterRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelFilterRequest.FacilityFilter;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de filtrado de hoteles mediante JDBC.
+ * Cada condición se resuelve sobre un índice: el de destino, categoría y cadena de
+ * la tabla hotels y los de las tablas de relación, sin leer las columnas JSON.
+ */
+@Repository
+public class HotelFilterRepository {
+
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  /**
+   * Constructor del repositorio.
+   *
+   * @param namedParameterJdbcTemplate plantilla JDBC con parámetros nombrados
+   */
+  public HotelFilterRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+    this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+  }
+
+  /**
+   * Obtiene, en orden de código, los hoteles del destino que cumplen todos los filtros.
+   *
+   * @param filter filtros a aplicar
+   * @param limit cantidad máxima de hoteles
+   * @return códigos de los hoteles encontrados
+   */
+  public List<String> findCodes(HotelFilterRequest filter, int limit) {
+    StringBuilder sql = new StringBuilder(
+            "SELECT h.code FROM hotels h WHERE h.destination_code = :destinationCode");
+    MapSqlParameterSource params = new MapSqlParameterSource()
+            .addValue("destinationCode", filter.getDestinationCode())
+            .addValue("limit", limit);
+
+    if (hasValues(filter.getCategoryCodes())) {
+      sql.append(" AND h.category_code IN (:categoryCodes)");
+      params.addValue("categoryCodes", filter.getCategoryCodes());
+    }
+    if (hasValues(filter.getChainCodes())) {
+      sql.append(" AND h.chain_code IN (:chainCodes)");
+      params.addValue("chainCodes", filter.getChainCodes());
+    }
+    if (hasValues(filter.getBoardCodes())) {
+      sql.append(" AND EXISTS (SELECT 1 FROM hotel_boards b WHERE b.hotel_code = h.code")
+              .append(" AND b.board_code IN (:boardCodes))");
+      params.addValue("boardCodes", filter.getBoardCodes());
+    }
+    if (hasValues(filter.getSegmentCodes())) {
+      sql.append(" AND EXISTS (SELECT 1 FROM hotel_segments s WHERE s.hotel_code = h.code")
+              .append(" AND s.segment_code IN (:segmentCodes))");
+      params.addValue("segmentCodes", filter.getSegmentCodes());
+    }
+    if (hasValues(filter.getFacilities())) {
+      // Una condición por facility, ya que el hotel debe ofrecerlas todas
+      for (int i = 0; i < filter.getFacilities().size(); i++) {
+        FacilityFilter facility = filter.getFacilities().get(i);
+        sql.append(" AND EXISTS (SELECT 1 FROM hotel_facilities f").append(i)
+                .append(" WHERE f").append(i).append(".hotel_code = h.code")
+                .append(" AND f").append(i).append(".facility_group_code = :group").append(i)
+                .append(" AND f").append(i).append(".facility_code = :facility").append(i)
+                .append(")");
+        params.addValue("group" + i, facility.getFacilityGroupCode());
+        params.addValue("facility" + i, facility.getFacilityCode());
+      }
+    }
+    sql.append(" ORDER BY h.code LIMIT :limit");
+
+    return namedParameterJdbcTemplate.queryForList(sql.toString(), params, String.class);
+  }
+
+  private boolean hasValues(List<?> values) {
+    return values != null && !values.isEmpty();
+  }
+}
@@ -0,0 +1,195 @@
+package masera.deviajesearches.repositories;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import masera.deviajesearches.entities.Hotel;
+import masera.deviajesearches.entities.HotelTranslation;
+import masera.deviajesearches.enums.HotelDetailField;
+import masera.deviajesearches.utils.HotelContentCodec;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio de lectura parcial de hoteles mediante JDBC.
+ * Solo selecciona las columnas JSON pedidas, de modo que las demás columnas
+ * grandes no se leen de la base de datos. En los hoteles con el contenido empaquetado
+ * no hay lectura parcial: si se pide algún campo empaquetado se lee y descomprime el
+ * contenido completo, aunque solo se conviertan a texto los campos pedidos. Las
+ * imágenes y los teléfonos siguen como texto, así que pedir solo esos campos no lee
+ * el contenido empaquetado.
+ */
+@Repository
+public class HotelQueryRepository {
+
+  private static final List<String> HOTEL_COLUMNS = List.of(
+          "code", "name", "description", "country_code", "state_code", "destination_code",
+          "zone_code", "category_code", "chain_code", "accommodation_type_code", "address",
+          "city", "email", "web", "ranking", "s2c");
+
+  private static final List<String> TRANSLATION_COLUMNS = List.of(
+          "hotel_code", "language", "name", "description", "address", "city");
+
+  // Campos que además tienen versión traducida
+  private static final Set<HotelDetailField> TRANSLATED_FIELDS =
+          Set.of(HotelDetailField.ROOMS, HotelDetailField.INTEREST_POINTS);
+
+  private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  private final HotelContentCodec hotelContentCodec;
+
+  /**
+   * Constructor del repositorio.
+   *
+   * @param namedParameterJdbcTemplate plantilla JDBC con parámetros nombrados
+   * @param hotelContentCodec codificador de las columnas JSON de hoteles
+   */
+  public HotelQueryRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                              HotelContentCodec hotelContentCodec) {
+    this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+    this.hotelContentCodec = hotelContentCodec;
+  }
+
+  /**
+   * Obtiene un hotel con sus datos básicos y solo las columnas JSON pedidas.
+   * Las columnas no pedidas quedan en null.
+   *
+   * @param code código del hotel
+   * @param fields campos JSON a leer
+   * @return hotel parcialmente cargado
+   */
+  public Optional<Hotel> findByCode(String code, Set<HotelDetailField> fields) {
+    List<String> columns = new ArrayList<>(HOTEL_COLUMNS);
+    fields.forEach(field -> columns.add(field.getColumn()));
+    String packedColumn = packedContentColumn(fields);
+    if (packedColumn != null) {
+      columns.add(packedColumn);
+    }
+
+    String sql = "SELECT " + String.join(", ", columns) + " FROM hotels WHERE code = :code";
+    List<Hotel> hotels = namedParameterJdbcTemplate.query(sql, Map.of("code", code),
+            (rs, rowNum) -> mapHotel(rs, fields));
+    return hotels.stream().findFirst();
+  }
+
+  /**
+   * Obtiene la traducción de un hotel con sus textos y solo las columnas JSON pedidas.
+   *
+   * @param hotelCode código del hotel
+   * @param language idioma de la traducción
+   * @param fields campos JSON a leer
+   * @return traducción parcialmente cargada
+   */
+  public Optional<HotelTranslation> findTranslation(String hotelCode, String language,
+                                                    Set<HotelDetailField> fields) {
+    List<String> columns = new ArrayList<>(TRANSLATION_COLUMNS);
+    fields.stream()
+            .filter(TRANSLATED_FIELDS::contains)
+            .forEach(field -> columns.add(field.getColumn()));
+
+    String sql = "SELECT " + String.join(", ", columns) + " FROM hotel_translations"
+            + " WHERE hotel_code = :hotelCode AND language = :language";
+    List<HotelTranslation> translations = namedParameterJdbcTemplate.query(sql,
+            Map.of("hotelCode", hotelCode, "language", language),
+            (rs, rowNum) -> mapTranslation(rs, fields));
+    return translations.stream().findFirst();
+  }
+
+  /**
+   * Expresión con la que se lee el contenido empaquetado para los campos pedidos.
+   *
+   * @param fields campos JSON a leer
+   * @return expresión de la columna, o null si no hace falta leerla
+   */
+  private String packedContentColumn(Set<HotelDetailField> fields) {
+    if (fields.isEmpty()) {
+      return null;
+    }
+    List<String> packedColumns = hotelContentCodec.getColumns();
+    if (fields.stream().anyMatch(field -> packedColumns.contains(field.getColumn()))) {
+      return "packed_content";
+    }
+    // Los campos como texto solo están empaquetados en hoteles escritos antes de separarlos
+    String missing = fields.stream()
+            .map(field -> field.getColumn() + " IS NULL")
+            .collect(Collectors.joining(" OR "));
+    return "CASE WHEN " + missing + " THEN packed_content END AS packed_content";
+  }
+
+  private Hotel mapHotel(ResultSet rs, Set<HotelDetailField> fields) throws SQLException {
+    Hotel hotel = Hotel.builder()
+            .code(rs.getString("code"))
+            .name(rs.getString("name"))
+            .description(rs.getString("description"))
+            .countryCode(rs.getString("country_code"))
+            .stateCode(rs.getString("state_code"))
+            .destinationCode(rs.getString("destination_code"))
+            .zoneCode(rs.getObject("zone_code", Integer.class))
+            .categoryCode(rs.getString("category_code"))
+            .chainCode(rs.getString("chain_code"))
+            .accommodationTypeCode(rs.getString("accommodation_type_code"))
+            .address(rs.getString("address"))
+            .city(rs.getString("city"))
+            .email(rs.getString("email"))
+            .web(rs.getString("web"))
+            .ranking(rs.getObject("ranking", Integer.class))
+            .s2c(rs.getString("s2c"))
+            .build();
+
+    if (fields.isEmpty()) {
+      return hotel;
+    }
+
+    // Mientras dura la migración conviven hoteles empaquetados y guardados como texto
+    byte[] packed = rs.getBytes("packed_content");
+    Map<String, String> unpacked = packed != null
+            ? hotelContentCodec.unpack(packed,
+                    fields.stream().map(HotelDetailField::getColumn).toList())
+            : null;
+    for (HotelDetailField field : fields) {
+      // Las columnas empaquetadas quedan vacías como texto
+      String json = rs.getString(field.getColumn());
+      if (json == null && unpacked != null) {
+        json = unpacked.get(field.getColumn());
+      }
+      switch (field) {
+        case IMAGES -> hotel.setImages(json);
+        case FACILITIES -> hotel.setFacilities(json);
+        case ROOMS -> hotel.setRooms(json);
+        case PHONES -> hotel.setPhones(json);
+        case INTEREST_POINTS -> hotel.setInterestPoints(json);
+        case SEGMENTS -> hotel.setSegmentCodes(json);
+        case TERMINALS -> hotel.setTerminals(json);
+        case WILDCARDS -> hotel.setWildcards(json);
+        case ISSUES -> hotel.setIssues(json);
+        default -> throw new IllegalStateException("Campo no soportado: " + field);
+      }
+    }
+    return hotel;
+  }
+
+  private HotelTranslation mapTranslation(ResultSet rs, Set<HotelDetailField> fields)
+          throws SQLException {
+    HotelTranslation translation = HotelTranslation.builder()
+            .hotelCode(rs.getString("hotel_code"))
+            .language(rs.getString("language"))
+            .name(rs.getString("name"))
+            .description(rs.getString("description"))
+            .address(rs.getString("address"))
+            .city(rs.getString("city"))
+            .build();
+
+    if (fields.contains(HotelDetailField.ROOMS)) {
+      translation.setRooms(rs.getString(HotelDetailField.ROOMS.getColumn()));
+    }
+    if (fields.contains(HotelDetailField.INTEREST_POINTS)) {
+      translation.setInterestPoints(rs.getString(HotelDetailField.INTEREST_POINTS.getColumn()));
+    }
+    return translation;
+  }
+}
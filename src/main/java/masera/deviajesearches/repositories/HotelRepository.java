@@ -1,8 +1,12 @@
 package masera.deviajesearches.repositories;
 
+import java.util.List;
 import java.util.Optional;
 import masera.deviajesearches.entities.Hotel;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -18,4 +22,14 @@ public interface HotelRepository extends JpaRepository<Hotel, String> {
    * @return un Optional que contiene el hotel si se encuentra, o vacío si no se encuentra
    */
   Optional<Hotel> findByCode(String code);
+
+  /**
+   * Obtiene, en orden, los códigos de hotel posteriores a uno dado.
+   *
+   * @param after último código ya procesado
+   * @param pageable cantidad máxima de códigos a obtener
+   * @return lista de códigos
+   */
+  @Query("SELECT h.code FROM Hotel h WHERE h.code > :after ORDER BY h.code")
+  List<String> findCodesAfter(@Param("after") String after, Pageable pageable);
 }
@@ -0,0 +1,24 @@
+package masera.deviajesearches.repositories;
+
+import java.util.Collection;
+import java.util.List;
+import masera.deviajesearches.entities.HotelTranslation;
+import masera.deviajesearches.entities.HotelTranslationId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para la gestión de las traducciones de hoteles.
+ */
+@Repository
+public interface HotelTranslationRepository
+        extends JpaRepository<HotelTranslation, HotelTranslationId> {
+
+  /**
+   * Obtiene todas las traducciones de los hoteles indicados.
+   *
+   * @param hotelCodes códigos de hotel
+   * @return lista de traducciones
+   */
+  List<HotelTranslation> findByHotelCodeIn(Collection<String> hotelCodes);
+}
@@ -0,0 +1,26 @@
+package masera.deviajesearches.repositories;
+
+import java.util.List;
+import masera.deviajesearches.entities.IngestionJobPage;
+import masera.deviajesearches.entities.IngestionJobPageId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para la gestión de las páginas persistidas de los trabajos de ingesta.
+ */
+@Repository
+public interface IngestionJobPageRepository
+        extends JpaRepository<IngestionJobPage, IngestionJobPageId> {
+
+  /**
+   * Obtiene los números de página ya persistidos de un trabajo.
+   *
+   * @param jobId identificador del trabajo
+   * @return lista de páginas persistidas
+   */
+  @Query("SELECT p.page FROM IngestionJobPage p WHERE p.jobId = :jobId")
+  List<Integer> findPagesByJobId(@Param("jobId") String jobId);
+}
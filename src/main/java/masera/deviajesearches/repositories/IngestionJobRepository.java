@@ -0,0 +1,95 @@
+package masera.deviajesearches.repositories;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import masera.deviajesearches.entities.IngestionJob;
+import masera.deviajesearches.enums.IngestionJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repositorio para la gestión de los trabajos de ingesta de hoteles.
+ */
+@Repository
+public interface IngestionJobRepository extends JpaRepository<IngestionJob, String> {
+
+  /**
+   * Obtiene todos los trabajos, del más reciente al más antiguo.
+   *
+   * @return lista de trabajos
+   */
+  List<IngestionJob> findAllByOrderByStartedAtDesc();
+
+  /**
+   * Obtiene los trabajos en un estado que esta instancia puede tomar: sin dueño, propios
+   * o cuyo dueño dejó de enviar latidos, del más reciente al más antiguo.
+   *
+   * @param status estado de los trabajos
+   * @param owner identificador de esta instancia
+   * @param expiredBefore latidos anteriores a esta fecha se consideran vencidos
+   * @return lista de trabajos
+   */
+  @Query("SELECT j FROM IngestionJob j WHERE j.status = :status AND (j.owner IS NULL"
+          + " OR j.owner = :owner OR j.heartbeatAt IS NULL OR j.heartbeatAt < :expiredBefore)"
+          + " ORDER BY j.startedAt DESC")
+  List<IngestionJob> findClaimable(@Param("status") IngestionJobStatus status,
+                                   @Param("owner") String owner,
+                                   @Param("expiredBefore") LocalDateTime expiredBefore);
+
+  /**
+   * Toma un trabajo para esta instancia si no está terminado y nadie más lo está
+   * ejecutando. La condición se evalúa en la misma sentencia que la escritura, de modo
+   * que si dos instancias intentan tomarlo a la vez solo una lo consigue.
+   *
+   * @param jobId identificador del trabajo
+   * @param owner identificador de esta instancia
+   * @param now fecha del latido inicial
+   * @param expiredBefore latidos anteriores a esta fecha se consideran vencidos
+   * @param running estado de los trabajos en ejecución
+   * @param completed estado de los trabajos terminados
+   * @return 1 si el trabajo quedó tomado, 0 si no
+   */
+  @Modifying
+  @Query("UPDATE IngestionJob j SET j.owner = :owner, j.heartbeatAt = :now"
+          + " WHERE j.jobId = :jobId AND j.status <> :completed"
+          + " AND (j.status <> :running OR j.owner IS NULL OR j.owner = :owner"
+          + " OR j.heartbeatAt IS NULL OR j.heartbeatAt < :expiredBefore)")
+  int claim(@Param("jobId") String jobId,
+            @Param("owner") String owner,
+            @Param("now") LocalDateTime now,
+            @Param("expiredBefore") LocalDateTime expiredBefore,
+            @Param("running") IngestionJobStatus running,
+            @Param("completed") IngestionJobStatus completed);
+
+  /**
+   * Renueva el latido de un trabajo que esta instancia sigue ejecutando.
+   *
+   * @param jobId identificador del trabajo
+   * @param owner identificador de esta instancia
+   * @param now fecha del latido
+   * @return 1 si el trabajo sigue a nombre de esta instancia, 0 si otra lo tomó
+   */
+  @Modifying
+  @Query("UPDATE IngestionJob j SET j.heartbeatAt = :now"
+          + " WHERE j.jobId = :jobId AND j.owner = :owner")
+  int heartbeat(@Param("jobId") String jobId,
+                @Param("owner") String owner,
+                @Param("now") LocalDateTime now);
+
+  /**
+   * Suma una página persistida al progreso de un trabajo.
+   * El incremento se resuelve en la base de datos para que las páginas que
+   * terminan en paralelo no se pisen entre sí.
+   *
+   * @param jobId identificador del trabajo
+   * @param hotelsSaved hoteles guardados en la página
+   * @return cantidad de filas actualizadas
+   */
+  @Modifying
+  @Query("UPDATE IngestionJob j SET j.pagesDone = j.pagesDone + 1, "
+          + "j.hotelsSaved = j.hotelsSaved + :hotelsSaved WHERE j.jobId = :jobId")
+  int addPage(@Param("jobId") String jobId, @Param("hotelsSaved") int hotelsSaved);
+}
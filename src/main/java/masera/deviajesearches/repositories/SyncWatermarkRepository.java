@@ -0,0 +1,14 @@
+package masera.deviajesearches.repositories;
+
+import masera.deviajesearches.entities.SyncWatermark;
+import masera.deviajesearches.enums.ContentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Interfaz que define los métodos para acceder a las marcas de sincronización.
+ */
+@Repository
+public interface SyncWatermarkRepository extends JpaRepository<SyncWatermark, ContentType> {
+
+}
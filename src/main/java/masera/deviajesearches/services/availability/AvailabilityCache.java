@@ -0,0 +1,73 @@
+package masera.deviajesearches.services.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import masera.deviajesearches.configs.CacheConfig;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse.Hotel;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse.Room;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caché de respuestas de disponibilidad de Hotelbeds por búsqueda canónica.
+ * Las respuestas vencen a los pocos segundos, ya que los precios y cupos cambian,
+ * pero alcanzan para que volver de un hotel a la lista de resultados no repita la
+ * llamada. El tamaño se mide en tarifas, que es lo que ocupa memoria en cada respuesta.
+ */
+@Component
+public class AvailabilityCache {
+
+  private final Cache<AvailabilityKey, HotelSearchResponse> cache;
+
+  /**
+   * Constructor de la caché.
+   *
+   * @param cacheConfig configuración de las cachés
+   * @param meterRegistry registro de métricas
+   */
+  public AvailabilityCache(CacheConfig cacheConfig, MeterRegistry meterRegistry) {
+    this.cache = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofSeconds(cacheConfig.getAvailabilityCacheTtlSeconds()))
+            .maximumWeight(cacheConfig.getAvailabilityCacheMaxRates())
+            .weigher((AvailabilityKey key, HotelSearchResponse value) -> weigh(value))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "hotelAvailability");
+  }
+
+  /**
+   * Obtiene la respuesta guardada para una búsqueda, si todavía no venció.
+   *
+   * @param key búsqueda canónica
+   * @return respuesta guardada o null
+   */
+  public HotelSearchResponse get(AvailabilityKey key) {
+    return cache.getIfPresent(key);
+  }
+
+  /**
+   * Guarda la respuesta de una búsqueda.
+   *
+   * @param key búsqueda canónica
+   * @param response respuesta de Hotelbeds
+   */
+  public void put(AvailabilityKey key, HotelSearchResponse response) {
+    cache.put(key, response);
+  }
+
+  static int weigh(HotelSearchResponse response) {
+    int rates = 1;
+    if (response.getHotels() != null && response.getHotels().getHotels() != null) {
+      for (Hotel hotel : response.getHotels().getHotels()) {
+        for (Room room : hotel.getRooms() != null ? hotel.getRooms() : List.<Room>of()) {
+          rates += room.getRates() != null ? room.getRates().size() : 0;
+        }
+      }
+    }
+    return rates;
+  }
+}
@@ -0,0 +1,84 @@
+package masera.deviajesearches.services.availability;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Agrupa las búsquedas de disponibilidad equivalentes que llegan mientras otra
+ * igual está en curso. Todas comparten una única llamada a Hotelbeds y la misma
+ * respuesta ya deserializada. La búsqueda deja de compartirse apenas termina, de
+ * modo que las siguientes se resuelven con la caché de disponibilidad.
+ */
+@Component
+public class AvailabilityCoalescer {
+
+  private final Map<AvailabilityKey, Flight> flights = new ConcurrentHashMap<>();
+
+  private final Counter coalescedCounter;
+
+  private final DistributionSummary waitersSummary;
+
+  /**
+   * Constructor del agrupador.
+   *
+   * @param meterRegistry registro de métricas
+   */
+  public AvailabilityCoalescer(MeterRegistry meterRegistry) {
+    Gauge.builder("hotelbeds.availability.inflight", flights, Map::size)
+            .description("Búsquedas de disponibilidad distintas en curso en Hotelbeds")
+            .register(meterRegistry);
+    this.coalescedCounter = Counter.builder("hotelbeds.availability.coalesced")
+            .description("Búsquedas de disponibilidad resueltas con una llamada ya en curso")
+            .register(meterRegistry);
+    this.waitersSummary = DistributionSummary.builder("hotelbeds.availability.waiters")
+            .description("Solicitudes atendidas por cada llamada de disponibilidad a Hotelbeds")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Ejecuta una búsqueda, o se une a la búsqueda equivalente que ya está en curso.
+   *
+   * @param key búsqueda canónica
+   * @param call llamada a Hotelbeds, solo se usa si no hay otra en curso
+   * @return Mono con la respuesta compartida
+   */
+  public Mono<HotelSearchResponse> search(AvailabilityKey key,
+                                          Supplier<Mono<HotelSearchResponse>> call) {
+    return Mono.defer(() -> {
+      Flight flight = flights.computeIfAbsent(key, k -> new Flight(k, call.get()));
+      if (flight.waiters.incrementAndGet() > 1) {
+        coalescedCounter.increment();
+      }
+      return flight.result;
+    });
+  }
+
+  private void finish(AvailabilityKey key, Flight flight) {
+    flights.remove(key, flight);
+    waitersSummary.record(flight.waiters.get());
+  }
+
+  /**
+   * Llamada a Hotelbeds en curso y cantidad de solicitudes que esperan su respuesta.
+   */
+  private final class Flight {
+
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    private final Mono<HotelSearchResponse> result;
+
+    Flight(AvailabilityKey key, Mono<HotelSearchResponse> call) {
+      // La llamada no se cancela si una de las solicitudes deja de esperar
+      this.result = call.doFinally(signal -> finish(key, this)).cache();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package masera.deviajesearches.services.availability;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Posición dentro de un resultado de disponibilidad guardado.
+ * Viaja al cliente codificada en Base64, que la devuelve tal cual para pedir la
+ * página siguiente. El orden no viaja en el cursor: queda fijado en el resultado
+ * guardado al momento de la búsqueda.
+ *
+ * @param resultId identificador del resultado guardado
+ * @param offset posición del primer hotel de la página
+ * @param pageSize cantidad de hoteles por página
+ */
+public record AvailabilityCursor(String resultId,
+                                 int offset,
+                                 int pageSize) {
+
+  /**
+   * Cantidad máxima de hoteles por página.
+   */
+  public static final int MAX_PAGE_SIZE = 100;
+
+  private static final String SEPARATOR = "|";
+
+  /**
+   * Codifica la posición en un texto opaco.
+   *
+   * @return cursor codificado
+   */
+  public String encode() {
+    String value = String.join(SEPARATOR, resultId,
+            Integer.toString(offset), Integer.toString(pageSize));
+    return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Decodifica un cursor recibido del cliente.
+   * Rechaza posiciones negativas y tamaños de página fuera de 1 a {@value #MAX_PAGE_SIZE}.
+   *
+   * @param cursor cursor codificado
+   * @return posición dentro del resultado
+   */
+  public static AvailabilityCursor decode(String cursor) {
+    try {
+      String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+      String[] parts = value.split("\\|", -1);
+      if (parts.length != 3) {
+        throw new IllegalArgumentException("Cantidad de partes inválida");
+      }
+      int offset = Integer.parseInt(parts[1]);
+      int pageSize = Integer.parseInt(parts[2]);
+      if (offset < 0) {
+        throw new IllegalArgumentException("Posición negativa");
+      }
+      if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+        throw new IllegalArgumentException("Tamaño de página fuera de rango");
+      }
+      return new AvailabilityCursor(parts[0], offset, pageSize);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+              "Cursor de resultados inválido", e);
+    }
+  }
+
+  /**
+   * Posición de la página siguiente.
+   *
+   * @return cursor de la página siguiente
+   */
+  public AvailabilityCursor next() {
+    return new AvailabilityCursor(resultId, Math.addExact(offset, pageSize), pageSize);
+  }
+}
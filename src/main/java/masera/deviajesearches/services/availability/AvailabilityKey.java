@@ -0,0 +1,85 @@
+package masera.deviajesearches.services.availability;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Occupancy;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Pax;
+
+/**
+ * Forma canónica de una búsqueda de disponibilidad.
+ * Dos solicitudes que piden lo mismo a Hotelbeds producen la misma clave aunque
+ * difieran en el orden de las ocupaciones o de los pasajeros, o en mayúsculas y
+ * espacios de los códigos.
+ *
+ * @param checkIn fecha de entrada
+ * @param checkOut fecha de salida
+ * @param occupancies ocupaciones normalizadas y ordenadas
+ * @param destinationCode código de destino
+ * @param zoneCode código de zona
+ * @param minCategory categoría mínima
+ * @param maxCategory categoría máxima
+ * @param minRate tarifa mínima
+ * @param maxRate tarifa máxima
+ * @param dailyRate si se piden tarifas diarias
+ * @param language idioma
+ * @param currency moneda
+ */
+public record AvailabilityKey(LocalDate checkIn,
+                              LocalDate checkOut,
+                              List<String> occupancies,
+                              String destinationCode,
+                              String zoneCode,
+                              Integer minCategory,
+                              Integer maxCategory,
+                              Double minRate,
+                              Double maxRate,
+                              boolean dailyRate,
+                              String language,
+                              String currency) {
+
+  /**
+   * Arma la clave canónica de una solicitud de búsqueda.
+   *
+   * @param request solicitud de búsqueda de hoteles
+   * @return clave de la búsqueda
+   */
+  public static AvailabilityKey of(HotelSearchRequest request) {
+    HotelSearchRequest.Filter filter = request.getFilter();
+    return new AvailabilityKey(
+            request.getStay().getCheckIn(),
+            request.getStay().getCheckOut(),
+            request.getOccupancies().stream()
+                    .map(AvailabilityKey::occupancy)
+                    .sorted()
+                    .toList(),
+            code(request.getDestination().getCode()),
+            code(request.getDestination().getZoneCode()),
+            filter != null ? filter.getMinCategory() : null,
+            filter != null ? filter.getMaxCategory() : null,
+            filter != null ? filter.getMinRate() : null,
+            filter != null ? filter.getMaxRate() : null,
+            Boolean.TRUE.equals(request.getDailyRate()),
+            code(request.getLanguage()),
+            code(request.getCurrency()));
+  }
+
+  // Ejemplo: 1x2+1[AD,AD,CH8] para una habitación con dos adultos y un niño de 8 años
+  private static String occupancy(Occupancy occupancy) {
+    String paxes = occupancy.getPaxes() == null ? "" : occupancy.getPaxes().stream()
+            .sorted(Comparator.comparing((Pax pax) -> code(pax.getType()),
+                            Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(Pax::getAge, Comparator.nullsFirst(Comparator.naturalOrder())))
+            .map(pax -> code(pax.getType()) + (pax.getAge() != null ? pax.getAge() : ""))
+            .collect(Collectors.joining(","));
+    return occupancy.getRooms() + "x" + occupancy.getAdults() + "+" + occupancy.getChildren()
+            + "[" + paxes + "]";
+  }
+
+  private static String code(String value) {
+    return value == null || value.isBlank() ? null : value.trim().toUpperCase(Locale.ROOT);
+  }
+}
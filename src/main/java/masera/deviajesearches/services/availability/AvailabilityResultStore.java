@@ -0,0 +1,115 @@
+package masera.deviajesearches.services.availability;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import masera.deviajesearches.configs.CacheConfig;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse.Hotel;
+import masera.deviajesearches.enums.AvailabilitySort;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Resultados de disponibilidad guardados en el servidor para paginarlos.
+ * Cada resultado se guarda con un identificador propio y vence tras un tiempo sin
+ * consultarse, de modo que el cliente recorre las páginas sin volver a consultar a
+ * Hotelbeds ni recibir la respuesta completa. El orden elegido en la búsqueda se
+ * calcula una sola vez al guardar el resultado y las páginas siguientes lo reutilizan,
+ * sin que el cliente pueda pedir otro.
+ */
+@Component
+public class AvailabilityResultStore {
+
+  private final Cache<String, StoredResult> results;
+
+  /**
+   * Constructor del almacén.
+   *
+   * @param cacheConfig configuración de las cachés
+   * @param meterRegistry registro de métricas
+   */
+  public AvailabilityResultStore(CacheConfig cacheConfig, MeterRegistry meterRegistry) {
+    this.results = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofSeconds(cacheConfig.getAvailabilityResultsTtlSeconds()))
+            .maximumWeight(cacheConfig.getAvailabilityResultsMaxRates())
+            // Los hoteles ordenados son referencias a los de la respuesta
+            .weigher((String id, StoredResult result) ->
+                    AvailabilityCache.weigh(result.response()))
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, results, "hotelAvailabilityResults");
+  }
+
+  /**
+   * Guarda una respuesta de disponibilidad junto con sus hoteles ordenados.
+   *
+   * @param response respuesta de Hotelbeds
+   * @param sort criterio de orden
+   * @param latitude latitud de referencia, solo para DISTANCE
+   * @param longitude longitud de referencia, solo para DISTANCE
+   * @return identificador del resultado guardado
+   */
+  public String save(HotelSearchResponse response, AvailabilitySort sort,
+                     Double latitude, Double longitude) {
+    String id = UUID.randomUUID().toString();
+    List<Hotel> sorted = hotels(response).stream()
+            .sorted(sort.comparator(latitude, longitude))
+            .toList();
+    results.put(id, new StoredResult(response, sort, latitude, longitude, sorted));
+    return id;
+  }
+
+  /**
+   * Obtiene la respuesta guardada.
+   *
+   * @param resultId identificador del resultado
+   * @return respuesta de Hotelbeds
+   */
+  public HotelSearchResponse get(String resultId) {
+    return find(resultId).response();
+  }
+
+  /**
+   * Obtiene un resultado guardado con sus hoteles ordenados.
+   *
+   * @param resultId identificador del resultado
+   * @return resultado guardado
+   */
+  public StoredResult find(String resultId) {
+    StoredResult result = results.getIfPresent(resultId);
+    if (result == null) {
+      throw new ResponseStatusException(HttpStatus.GONE,
+              "El resultado de disponibilidad " + resultId + " venció, repita la búsqueda");
+    }
+    return result;
+  }
+
+  private static List<Hotel> hotels(HotelSearchResponse response) {
+    if (response.getHotels() == null || response.getHotels().getHotels() == null) {
+      return List.of();
+    }
+    return response.getHotels().getHotels();
+  }
+
+  /**
+   * Respuesta guardada junto con sus hoteles ya ordenados por el criterio de la búsqueda.
+   *
+   * @param response respuesta de Hotelbeds
+   * @param sort criterio de orden
+   * @param latitude latitud de referencia, solo para DISTANCE
+   * @param longitude longitud de referencia, solo para DISTANCE
+   * @param sorted hoteles ordenados
+   */
+  public record StoredResult(HotelSearchResponse response,
+                             AvailabilitySort sort,
+                             Double latitude,
+                             Double longitude,
+                             List<Hotel> sorted) {
+  }
+}
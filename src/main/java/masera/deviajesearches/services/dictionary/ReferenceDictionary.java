@@ -0,0 +1,119 @@
+package masera.deviajesearches.services.dictionary;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import lombok.Builder;
+import lombok.Getter;
+import masera.deviajesearches.utils.LongKeyMap;
+
+/**
+ * Foto inmutable de los diccionarios de contenido de referencia.
+ * Solo guarda los textos que se usan para enriquecer el detalle de los hoteles.
+ * Cada recarga construye una foto nueva, nunca se modifica una ya publicada.
+ */
+@Getter
+@Builder
+public class ReferenceDictionary {
+
+  /**
+   * Foto vacía, usada hasta que termina la primera carga.
+   */
+  public static final ReferenceDictionary EMPTY = ReferenceDictionary.builder()
+          .countries(Map.of())
+          .destinations(Map.of())
+          .categories(Map.of())
+          .chains(Map.of())
+          .accommodations(Map.of())
+          .terminals(Map.of())
+          .facilities(LongKeyMap.empty())
+          .facilityGroups(LongKeyMap.empty())
+          .segments(LongKeyMap.empty())
+          .loadedAt(LocalDateTime.MIN)
+          .build();
+
+  private final Map<String, CountryEntry> countries;
+
+  // Nombre de cada destino
+  private final Map<String, String> destinations;
+
+  // Descripción de cada categoría
+  private final Map<String, String> categories;
+
+  // Descripción de cada cadena
+  private final Map<String, String> chains;
+
+  // Descripción de cada tipo de alojamiento
+  private final Map<String, String> accommodations;
+
+  private final Map<String, TerminalEntry> terminals;
+
+  // Descripción de cada facility, con código y grupo empaquetados en la clave
+  private final LongKeyMap<String> facilities;
+
+  // Descripción de cada grupo de facilities
+  private final LongKeyMap<String> facilityGroups;
+
+  // Contenido de cada segmento
+  private final LongKeyMap<String> segments;
+
+  private final LocalDateTime loadedAt;
+
+  /**
+   * Empaqueta el código de una facility y el de su grupo en una sola clave.
+   *
+   * @param code código de la facility
+   * @param groupCode código del grupo
+   * @return clave empaquetada
+   */
+  public static long facilityKey(int code, int groupCode) {
+    return ((long) code << 32) | (groupCode & 0xFFFFFFFFL);
+  }
+
+  public CountryEntry country(String code) {
+    return code != null ? countries.get(code) : null;
+  }
+
+  public String destinationName(String code) {
+    return code != null ? destinations.get(code) : null;
+  }
+
+  public String categoryDescription(String code) {
+    return code != null ? categories.get(code) : null;
+  }
+
+  public String chainDescription(String code) {
+    return code != null ? chains.get(code) : null;
+  }
+
+  public String accommodationDescription(String code) {
+    return code != null ? accommodations.get(code) : null;
+  }
+
+  public TerminalEntry terminal(String code) {
+    return code != null ? terminals.get(code) : null;
+  }
+
+  public String facilityDescription(int code, int groupCode) {
+    return facilities.get(facilityKey(code, groupCode));
+  }
+
+  public String facilityGroupDescription(int groupCode) {
+    return facilityGroups.get(groupCode);
+  }
+
+  public String segmentContent(int code) {
+    return segments.get(code);
+  }
+
+  /**
+   * Datos de un país usados en el detalle de hoteles.
+   */
+  public record CountryEntry(String code, String name, String isoCode) {
+  }
+
+  /**
+   * Datos de una terminal usados en el detalle de hoteles.
+   */
+  public record TerminalEntry(String name, String description) {
+  }
+}
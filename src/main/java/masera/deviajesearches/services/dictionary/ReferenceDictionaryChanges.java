@@ -0,0 +1,100 @@
+package masera.deviajesearches.services.dictionary;
+
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.Getter;
+import masera.deviajesearches.entities.FacilityId;
+import masera.deviajesearches.utils.LongKeyMap;
+
+/**
+ * Claves de los diccionarios que cambiaron entre dos fotos consecutivas.
+ * Una clave cambia si se agregó, se quitó o cambió su texto. Cuando no hay una
+ * foto anterior con la cual comparar se considera que cambiaron todas.
+ */
+@Getter
+public class ReferenceDictionaryChanges {
+
+  private final boolean full;
+
+  private final Set<String> countries;
+
+  private final Set<String> destinations;
+
+  private final Set<String> categories;
+
+  private final Set<String> chains;
+
+  private final Set<String> accommodations;
+
+  private final Set<String> terminals;
+
+  private final Set<FacilityId> facilities;
+
+  private final Set<Integer> facilityGroups;
+
+  private final Set<Integer> segments;
+
+  private ReferenceDictionaryChanges(ReferenceDictionary previous, ReferenceDictionary current) {
+    this.full = previous == null || previous == ReferenceDictionary.EMPTY;
+    ReferenceDictionary before = full ? ReferenceDictionary.EMPTY : previous;
+    this.countries = changedKeys(before.getCountries(), current.getCountries());
+    this.destinations = changedKeys(before.getDestinations(), current.getDestinations());
+    this.categories = changedKeys(before.getCategories(), current.getCategories());
+    this.chains = changedKeys(before.getChains(), current.getChains());
+    this.accommodations = changedKeys(before.getAccommodations(), current.getAccommodations());
+    this.terminals = changedKeys(before.getTerminals(), current.getTerminals());
+
+    this.facilities = new LinkedHashSet<>();
+    for (long key : before.getFacilities().changedKeys(current.getFacilities())) {
+      facilities.add(new FacilityId((int) (key >>> 32), (int) key));
+    }
+    this.facilityGroups = changedIntKeys(before.getFacilityGroups(), current.getFacilityGroups());
+    this.segments = changedIntKeys(before.getSegments(), current.getSegments());
+  }
+
+  /**
+   * Compara dos fotos de los diccionarios.
+   *
+   * @param previous (Opcional) foto anterior
+   * @param current foto nueva
+   * @return claves que cambiaron
+   */
+  public static ReferenceDictionaryChanges between(ReferenceDictionary previous,
+                                                   ReferenceDictionary current) {
+    return new ReferenceDictionaryChanges(previous, current);
+  }
+
+  /**
+   * Cantidad total de claves que cambiaron.
+   *
+   * @return claves que cambiaron en todos los diccionarios
+   */
+  public int size() {
+    return countries.size() + destinations.size() + categories.size() + chains.size()
+            + accommodations.size() + terminals.size() + facilities.size()
+            + facilityGroups.size() + segments.size();
+  }
+
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  private static <V> Set<String> changedKeys(Map<String, V> before, Map<String, V> after) {
+    Set<String> keys = new HashSet<>(before.keySet());
+    keys.addAll(after.keySet());
+    keys.removeIf(key -> Objects.equals(before.get(key), after.get(key)));
+    return keys;
+  }
+
+  private static Set<Integer> changedIntKeys(LongKeyMap<String> before,
+                                             LongKeyMap<String> after) {
+    Set<Integer> keys = new LinkedHashSet<>();
+    for (long key : before.changedKeys(after)) {
+      keys.add((int) key);
+    }
+    return keys;
+  }
+}
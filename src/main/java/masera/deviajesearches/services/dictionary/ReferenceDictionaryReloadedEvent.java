@@ -0,0 +1,18 @@
+package masera.deviajesearches.services.dictionary;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Evento publicado cuando se publica una nueva foto de los diccionarios tras un
+ * cambio en el contenido de referencia, junto con las claves que cambiaron
+ * respecto de la foto anterior.
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDictionaryReloadedEvent {
+
+  private final ReferenceDictionary dictionary;
+
+  private final ReferenceDictionaryChanges changes;
+}
@@ -0,0 +1,314 @@
+package masera.deviajesearches.services.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.dtos.amadeus.response.BootstrapStepDto;
+import masera.deviajesearches.dtos.amadeus.response.ContentBootstrapDto;
+import masera.deviajesearches.dtos.amadeus.response.IngestionJobDto;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.enums.IngestionJobStatus;
+import masera.deviajesearches.services.interfaces.ContentBootstrapService;
+import masera.deviajesearches.services.interfaces.ContentSyncService;
+import masera.deviajesearches.services.interfaces.HotelIngestionService;
+import masera.deviajesearches.utils.ContentLoadGuard;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación de la carga inicial de contenido.
+ * Arma el grafo de dependencias entre tipos de contenido y lanza cada carga
+ * apenas terminan las cargas de las que depende, de modo que el tiempo total
+ * se aproxima al de la cadena de dependencias más lenta. La carga corre en
+ * segundo plano y su estado se consulta aparte. El catálogo de hoteles se
+ * delega en la ingesta paralela, que puede retomarse si se interrumpe; la carga
+ * inicial se informa en ejecución hasta que ese trabajo termina.
+ */
+@Service
+@Slf4j
+public class ContentBootstrapServiceImpl implements ContentBootstrapService {
+
+  private static final String LOAD_OPERATION = "carga inicial";
+
+  private final ContentSyncService contentSyncService;
+
+  private final HotelIngestionService hotelIngestionService;
+
+  private final ContentLoadGuard contentLoadGuard;
+
+  private final Executor contentLoadExecutor;
+
+  // Última carga inicial lanzada en esta instancia
+  private final AtomicReference<BootstrapRun> lastRun = new AtomicReference<>();
+
+  /**
+   * Constructor del servicio.
+   *
+   * @param contentSyncService servicio de sincronización de contenido
+   * @param hotelIngestionService servicio de ingesta del catálogo de hoteles
+   * @param contentLoadGuard guarda compartida con la sincronización de contenido
+   * @param contentLoadExecutor ejecutor de cargas de contenido
+   */
+  public ContentBootstrapServiceImpl(
+          ContentSyncService contentSyncService,
+          HotelIngestionService hotelIngestionService,
+          ContentLoadGuard contentLoadGuard,
+          @Qualifier("contentLoadExecutor") Executor contentLoadExecutor) {
+    this.contentSyncService = contentSyncService;
+    this.hotelIngestionService = hotelIngestionService;
+    this.contentLoadGuard = contentLoadGuard;
+    this.contentLoadExecutor = contentLoadExecutor;
+  }
+
+  @Override
+  public ContentBootstrapDto bootstrap(String language, boolean includeHotels) {
+    contentLoadGuard.acquire(LOAD_OPERATION);
+    BootstrapRun run;
+    try {
+      run = start(language, includeHotels);
+    } catch (RuntimeException e) {
+      contentLoadGuard.release(LOAD_OPERATION);
+      throw e;
+    }
+    lastRun.set(run);
+
+    CompletableFuture.allOf(run.steps.values().toArray(new CompletableFuture[0]))
+            .whenComplete((ignored, error) -> {
+              run.finish();
+              contentLoadGuard.release(LOAD_OPERATION);
+              log.info("Pasos de la carga inicial de contenido finalizados en {} ms",
+                      run.finishedMillis - run.startMillis);
+            });
+    return run.toDto();
+  }
+
+  @Override
+  public ContentBootstrapDto getBootstrap() {
+    BootstrapRun run = lastRun.get();
+    if (run == null) {
+      throw new EntityNotFoundException("No se ejecutó ninguna carga inicial de contenido");
+    }
+    return run.toDto();
+  }
+
+  private BootstrapRun start(String language, boolean includeHotels) {
+    log.info("Iniciando carga inicial de contenido en idioma {}", language);
+    String syncDate = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
+
+    Map<ContentType, CompletableFuture<BootstrapStepDto>> steps =
+            new EnumMap<>(ContentType.class);
+
+    // El orden de declaración del enum ya es un orden topológico válido
+    for (ContentType contentType : ContentType.values()) {
+      if (contentType == ContentType.HOTELS && !includeHotels) {
+        continue;
+      }
+
+      List<CompletableFuture<BootstrapStepDto>> dependencies = new ArrayList<>();
+      for (ContentType dependency : contentType.getDependencies()) {
+        if (steps.containsKey(dependency)) {
+          dependencies.add(steps.get(dependency));
+        }
+      }
+
+      CompletableFuture<BootstrapStepDto> step = CompletableFuture
+              .allOf(dependencies.toArray(new CompletableFuture[0]))
+              .thenApplyAsync(ignored -> {
+                if (dependencies.stream().anyMatch(dependency ->
+                        dependency.join().getStatus() != IngestionJobStatus.COMPLETED)) {
+                  return skipped(contentType);
+                }
+                return contentType == ContentType.HOTELS
+                        ? startHotels()
+                        : load(contentType, language, syncDate);
+              }, contentLoadExecutor);
+      steps.put(contentType, step);
+    }
+    return new BootstrapRun(language, steps);
+  }
+
+  /**
+   * Carga todas las páginas de un tipo de contenido y registra su marca de sincronización.
+   *
+   * @param contentType tipo de contenido
+   * @param language idioma
+   * @param syncDate fecha de inicio de la carga
+   * @return resultado de la carga
+   */
+  private BootstrapStepDto load(ContentType contentType, String language, String syncDate) {
+    long start = System.currentTimeMillis();
+    try {
+      PageLoadResult result = contentSyncService.loadAll(contentType, language, null);
+      contentSyncService.advanceWatermark(contentType, syncDate, result);
+      return BootstrapStepDto.builder()
+              .contentType(contentType)
+              .status(IngestionJobStatus.COMPLETED)
+              .count(result.getSaved())
+              .rejected(result.getRejected())
+              .durationMillis(System.currentTimeMillis() - start)
+              .build();
+    } catch (RuntimeException e) {
+      log.error("Error en la carga inicial de {}: {}", contentType, e.getMessage(), e);
+      return BootstrapStepDto.builder()
+              .contentType(contentType)
+              .status(IngestionJobStatus.FAILED)
+              .durationMillis(System.currentTimeMillis() - start)
+              .error(e.getMessage())
+              .build();
+    }
+  }
+
+  /**
+   * Delega el catálogo de hoteles en la ingesta paralela, que lo carga en segundo
+   * plano con sus propios puntos de control y registra la marca al completarse.
+   * Los demás tipos ya terminaron, así que el lugar de carga pasa a la ingesta, que lo
+   * libera al terminar.
+   *
+   * @return paso con el trabajo de ingesta iniciado
+   */
+  private BootstrapStepDto startHotels() {
+    long start = System.currentTimeMillis();
+    try {
+      contentLoadGuard.handOver(LOAD_OPERATION, ContentLoadGuard.HOTEL_INGESTION);
+      // Igual que la carga por páginas, los hoteles se cargan en todos los idiomas configurados
+      IngestionJobDto job = hotelIngestionService.startHotelIngestion(null, null);
+      return BootstrapStepDto.builder()
+              .contentType(ContentType.HOTELS)
+              .status(job.getStatus())
+              .ingestionJobId(job.getJobId())
+              .durationMillis(System.currentTimeMillis() - start)
+              .build();
+    } catch (RuntimeException e) {
+      log.error("Error al iniciar la ingesta de hoteles de la carga inicial: {}",
+              e.getMessage(), e);
+      return BootstrapStepDto.builder()
+              .contentType(ContentType.HOTELS)
+              .status(IngestionJobStatus.FAILED)
+              .durationMillis(System.currentTimeMillis() - start)
+              .error(e.getMessage())
+              .build();
+    }
+  }
+
+  /**
+   * Obtiene el trabajo de ingesta en curso de un paso, si lo tiene.
+   *
+   * @param step paso terminado
+   * @return trabajo de ingesta del paso, o null si el paso no lo tiene o ya finalizó
+   */
+  private IngestionJobDto ingestionJob(BootstrapStepDto step) {
+    if (step.getIngestionJobId() == null || step.getStatus() != IngestionJobStatus.RUNNING) {
+      return null;
+    }
+    try {
+      return hotelIngestionService.getJob(step.getIngestionJobId());
+    } catch (EntityNotFoundException e) {
+      return null;
+    }
+  }
+
+  private BootstrapStepDto skipped(ContentType contentType) {
+    log.warn("Se omite la carga inicial de {} porque falló una de sus dependencias",
+            contentType);
+    return BootstrapStepDto.builder()
+            .contentType(contentType)
+            .status(IngestionJobStatus.SKIPPED)
+            .error("Falló la carga de una de sus dependencias")
+            .build();
+  }
+
+  /**
+   * Carga inicial en curso o finalizada, con el resultado de cada paso.
+   */
+  private class BootstrapRun {
+
+    private final String language;
+
+    private final Map<ContentType, CompletableFuture<BootstrapStepDto>> steps;
+
+    private final LocalDateTime startedAt = LocalDateTime.now();
+
+    private final long startMillis = System.currentTimeMillis();
+
+    private volatile LocalDateTime finishedAt;
+
+    private volatile long finishedMillis;
+
+    BootstrapRun(String language, Map<ContentType, CompletableFuture<BootstrapStepDto>> steps) {
+      this.language = language;
+      this.steps = steps;
+    }
+
+    void finish() {
+      finishedMillis = System.currentTimeMillis();
+      finishedAt = LocalDateTime.now();
+    }
+
+    ContentBootstrapDto toDto() {
+      LocalDateTime finished = finishedAt;
+      List<BootstrapStepDto> results = new ArrayList<>();
+      for (Map.Entry<ContentType, CompletableFuture<BootstrapStepDto>> entry
+              : steps.entrySet()) {
+        if (!entry.getValue().isDone()) {
+          results.add(BootstrapStepDto.builder()
+                  .contentType(entry.getKey())
+                  .status(IngestionJobStatus.RUNNING)
+                  .build());
+          continue;
+        }
+
+        // El paso de hoteles solo inicia la ingesta, su estado es el del trabajo
+        BootstrapStepDto step = entry.getValue().join();
+        IngestionJobDto job = ingestionJob(step);
+        if (job != null) {
+          step = BootstrapStepDto.builder()
+                  .contentType(step.getContentType())
+                  .status(job.getStatus())
+                  .count(job.getHotelsSaved())
+                  .durationMillis(Duration.between(job.getStartedAt(),
+                          job.getFinishedAt() != null
+                                  ? job.getFinishedAt() : LocalDateTime.now()).toMillis())
+                  .ingestionJobId(job.getJobId())
+                  .error(job.getError())
+                  .build();
+          if (finished != null && job.getFinishedAt() != null
+                  && job.getFinishedAt().isAfter(finished)) {
+            finished = job.getFinishedAt();
+          }
+        }
+        results.add(step);
+      }
+
+      IngestionJobStatus status = IngestionJobStatus.RUNNING;
+      if (finished != null && results.stream()
+              .noneMatch(step -> step.getStatus() == IngestionJobStatus.RUNNING)) {
+        status = results.stream().anyMatch(step -> step.getStatus() == IngestionJobStatus.FAILED
+                || step.getStatus() == IngestionJobStatus.SKIPPED)
+                ? IngestionJobStatus.FAILED : IngestionJobStatus.COMPLETED;
+      } else {
+        finished = null;
+      }
+      return ContentBootstrapDto.builder()
+              .language(language)
+              .status(status)
+              .startedAt(startedAt)
+              .finishedAt(finished)
+              .totalMillis(finished != null
+                      ? Duration.between(startedAt, finished).toMillis()
+                      : System.currentTimeMillis() - startMillis)
+              .steps(results)
+              .build();
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package masera.deviajesearches.services.impl;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.configs.IngestionConfig;
+import masera.deviajesearches.dtos.amadeus.response.SyncWatermarkDto;
+import masera.deviajesearches.entities.SyncWatermark;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.repositories.SyncWatermarkRepository;
+import masera.deviajesearches.services.interfaces.ContentSyncService;
+import masera.deviajesearches.services.interfaces.HotelContentService;
+import masera.deviajesearches.utils.ContentLoadGuard;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Implementación del servicio de sincronización incremental del contenido.
+ * Guarda una marca de última actualización por tipo de contenido y, de forma
+ * programada, pide a Hotelbeds solo los registros modificados desde esa marca.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentSyncServiceImpl implements ContentSyncService {
+
+  private static final String LOAD_OPERATION = "sincronización";
+
+  private final HotelContentService hotelContentService;
+
+  private final SyncWatermarkRepository syncWatermarkRepository;
+
+  private final IngestionConfig ingestionConfig;
+
+  private final ContentLoadGuard contentLoadGuard;
+
+  @Value("${hotelbeds.sync.language:CAS}")
+  private String syncLanguage;
+
+  @Override
+  public PageLoadResult loadAll(
+          ContentType contentType, String language, String lastUpdateTime) {
+    int pageSize = ingestionConfig.getPageSize();
+    PageLoadResult total = new PageLoadResult();
+    int from = 1;
+
+    while (true) {
+      int to = from + pageSize - 1;
+      PageLoadResult page = hotelContentService.loadContentPage(
+              contentType, from, to, language, lastUpdateTime);
+      if (page != null) {
+        total.add(page);
+      }
+
+      // Se corta por lo recibido, los registros descartados no indican el final
+      if (page == null || page.getFetched() < pageSize) {
+        break;
+      }
+      from += pageSize;
+    }
+    log.info("Cargados {} registros de {}: {} guardados, {} descartados",
+            total.getFetched(), contentType, total.getSaved(), total.getRejected());
+    return total;
+  }
+
+  /**
+   * Ejecuta la sincronización programada de todos los tipos de contenido.
+   */
+  @Scheduled(cron = "${hotelbeds.sync.cron:-}")
+  public void scheduledSync() {
+    log.info("Iniciando sincronización programada de contenido");
+    try {
+      syncAll();
+    } catch (ResponseStatusException e) {
+      log.warn("Sincronización programada omitida: {}", e.getReason());
+    }
+  }
+
+  @Override
+  public Map<ContentType, PageLoadResult> syncAll() {
+    // Comparte el lugar con la carga inicial y la ingesta, que escriben las mismas tablas y marcas
+    contentLoadGuard.acquire(LOAD_OPERATION);
+    try {
+      // La nueva marca es la fecha de inicio, así no se pierden cambios hechos durante la carga
+      String syncDate = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
+      Map<ContentType, PageLoadResult> results = new EnumMap<>(ContentType.class);
+
+      for (ContentType contentType : ContentType.values()) {
+        String since = syncWatermarkRepository.findById(contentType)
+                .map(SyncWatermark::getLastUpdateTime)
+                .orElse(null);
+
+        if (since == null) {
+          log.warn("{} no tiene marca de sincronización, se realizará una carga completa",
+                  contentType);
+        }
+
+        try {
+          PageLoadResult result = loadAll(contentType, syncLanguage, since);
+          advanceWatermark(contentType, syncDate, result);
+          results.put(contentType, result);
+        } catch (RuntimeException e) {
+          log.error("Error al sincronizar {} desde {}, la marca no se modifica: {}",
+                  contentType, since, e.getMessage(), e);
+        }
+      }
+      return results;
+    } finally {
+      contentLoadGuard.release(LOAD_OPERATION);
+    }
+  }
+
+  @Override
+  public void advanceWatermark(
+          ContentType contentType, String lastUpdateTime, PageLoadResult result) {
+    // Las fechas ISO se ordenan como texto: una carga que empezó antes no retrocede la marca
+    String current = syncWatermarkRepository.findById(contentType)
+            .map(SyncWatermark::getLastUpdateTime)
+            .orElse(null);
+    if (current != null && current.compareTo(lastUpdateTime) > 0) {
+      log.info("Marca de sincronización de {} se mantiene en {}, posterior a {}",
+              contentType, current, lastUpdateTime);
+      return;
+    }
+
+    SyncWatermark watermark = SyncWatermark.builder()
+            .contentType(contentType)
+            .lastUpdateTime(lastUpdateTime)
+            .lastSyncAt(LocalDateTime.now())
+            .lastSyncCount(result.getSaved())
+            .lastSyncRejected(result.getRejected())
+            .build();
+    syncWatermarkRepository.save(watermark);
+    log.info("Marca de sincronización de {} avanzada a {}", contentType, lastUpdateTime);
+  }
+
+  @Override
+  public List<SyncWatermarkDto> getWatermarks() {
+    return syncWatermarkRepository.findAll().stream()
+            .map(watermark -> SyncWatermarkDto.builder()
+                    .contentType(watermark.getContentType())
+                    .lastUpdateTime(watermark.getLastUpdateTime())
+                    .lastSyncAt(watermark.getLastSyncAt())
+                    .lastSyncCount(watermark.getLastSyncCount())
+                    .lastSyncRejected(watermark.getLastSyncRejected())
+                    .build())
+            .toList();
+  }
+}
@@ -0,0 +1,171 @@
+package masera.deviajesearches.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.configs.ContentEncodingConfig;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.FacilityDto;
+import masera.deviajesearches.entities.Hotel;
+import masera.deviajesearches.repositories.HotelBatchRepository;
+import masera.deviajesearches.services.interfaces.HotelContentMigrationService;
+import masera.deviajesearches.utils.HotelContentCodec;
+import masera.deviajesearches.utils.dtos.HotelRelations;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación del servicio de migración de hoteles ya guardados.
+ * Recorre la tabla de hoteles por código en lotes cortos, de modo que cada
+ * transacción bloquea pocas filas y la ingesta puede seguir escribiendo.
+ * Mientras dura la migración las lecturas aceptan ambos formatos.
+ */
+@Service
+@Slf4j
+public class HotelContentMigrationServiceImpl implements HotelContentMigrationService {
+
+  private final HotelBatchRepository hotelBatchRepository;
+
+  private final ContentEncodingConfig contentEncodingConfig;
+
+  private final HotelContentCodec hotelContentCodec;
+
+  private final ObjectMapper objectMapper;
+
+  private final Executor contentMigrationExecutor;
+
+  private final Counter packedCounter;
+
+  /**
+   * Constructor del servicio.
+   *
+   * @param hotelBatchRepository repositorio de escritura masiva de hoteles
+   * @param contentEncodingConfig configuración de la codificación de contenido
+   * @param hotelContentCodec codificador de las columnas JSON de hoteles
+   * @param objectMapper mapper de JSON
+   * @param contentMigrationExecutor ejecutor de la migración
+   * @param meterRegistry registro de métricas
+   */
+  public HotelContentMigrationServiceImpl(
+          HotelBatchRepository hotelBatchRepository,
+          ContentEncodingConfig contentEncodingConfig,
+          HotelContentCodec hotelContentCodec,
+          ObjectMapper objectMapper,
+          @Qualifier("contentMigrationExecutor") Executor contentMigrationExecutor,
+          MeterRegistry meterRegistry) {
+    this.hotelBatchRepository = hotelBatchRepository;
+    this.contentEncodingConfig = contentEncodingConfig;
+    this.hotelContentCodec = hotelContentCodec;
+    this.objectMapper = objectMapper;
+    this.contentMigrationExecutor = contentMigrationExecutor;
+    this.packedCounter = Counter.builder("hotels.content.packed")
+            .description("Hoteles reescritos con el contenido empaquetado por la migración")
+            .register(meterRegistry);
+  }
+
+  /**
+   * Inicia las migraciones en segundo plano al iniciar la aplicación.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void migrateOnStartup() {
+    contentMigrationExecutor.execute(this::runRelationsMigration);
+    if (contentEncodingConfig.isPacked()) {
+      contentMigrationExecutor.execute(this::runMigration);
+    }
+  }
+
+  @Override
+  public int migrate() {
+    if (!contentEncodingConfig.isPacked()) {
+      return 0;
+    }
+
+    int batchSize = Math.max(1, contentEncodingConfig.getMigrationBatchSize());
+    int packed = 0;
+    String after = "";
+    while (true) {
+      List<Hotel> hotels = hotelBatchRepository.findUnpacked(after, batchSize);
+      if (hotels.isEmpty()) {
+        break;
+      }
+      int written = hotelBatchRepository.packAll(hotels);
+      packedCounter.increment(written);
+      packed += written;
+      after = hotels.get(hotels.size() - 1).getCode();
+      log.debug("Migración de contenido empaquetado: {} hoteles reescritos", packed);
+    }
+    return packed;
+  }
+
+  @Override
+  public int migrateRelations() {
+    int batchSize = Math.max(1, contentEncodingConfig.getMigrationBatchSize());
+    int indexed = 0;
+    String after = "";
+    while (true) {
+      List<Hotel> hotels = hotelBatchRepository.findWithoutRelations(after, batchSize);
+      if (hotels.isEmpty()) {
+        break;
+      }
+      List<HotelRelations> relations = new ArrayList<>(hotels.size());
+      for (Hotel hotel : hotels) {
+        hotelContentCodec.unpack(hotel);
+        relations.add(readRelations(hotel));
+      }
+      hotelBatchRepository.replaceRelations(relations);
+      indexed += hotels.size();
+      after = hotels.get(hotels.size() - 1).getCode();
+      log.debug("Migración de relaciones de hoteles: {} hoteles completados", indexed);
+    }
+    return indexed;
+  }
+
+  private HotelRelations readRelations(Hotel hotel) {
+    try {
+      return HotelRelations.of(hotel.getCode(),
+              read(hotel.getBoardCodes(), new TypeReference<List<String>>() {}),
+              read(hotel.getSegmentCodes(), new TypeReference<List<Integer>>() {}),
+              read(hotel.getFacilities(), new TypeReference<List<FacilityDto>>() {}));
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(
+              "Error al leer las relaciones del hotel " + hotel.getCode(), e);
+    }
+  }
+
+  private <T> List<T> read(String json, TypeReference<List<T>> type)
+          throws JsonProcessingException {
+    return json != null ? objectMapper.readValue(json, type) : null;
+  }
+
+  private void runRelationsMigration() {
+    long start = System.currentTimeMillis();
+    try {
+      int indexed = migrateRelations();
+      if (indexed > 0) {
+        log.info("Migración de relaciones de hoteles finalizada en {} ms: {} hoteles completados",
+                System.currentTimeMillis() - start, indexed);
+      }
+    } catch (RuntimeException e) {
+      log.error("Error al completar las relaciones de hoteles: {}", e.getMessage(), e);
+    }
+  }
+
+  private void runMigration() {
+    log.info("Iniciando migración de hoteles al contenido empaquetado");
+    long start = System.currentTimeMillis();
+    try {
+      int packed = migrate();
+      log.info("Migración de contenido empaquetado finalizada en {} ms: {} hoteles reescritos",
+              System.currentTimeMillis() - start, packed);
+    } catch (RuntimeException e) {
+      log.error("Error al migrar hoteles al contenido empaquetado: {}", e.getMessage(), e);
+    }
+  }
+}
@@ -3,20 +3,27 @@ package masera.deviajesearches.services.impl;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import masera.deviajesearches.clients.HotelClient;
+import masera.deviajesearches.configs.IngestionConfig;
 import masera.deviajesearches.dtos.amadeus.response.CityDto;
 import masera.deviajesearches.dtos.amadeus.response.CountryDto;
+import masera.deviajesearches.dtos.amadeus.response.HotelCatalogPageDto;
+import masera.deviajesearches.dtos.amadeus.response.HotelSummaryDto;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.AccommodationTypeDto;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.BoardDto;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.CategoryDto;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.ChainDto;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.CountriesResponse;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.HotelContentResponse;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.HotelDto;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.accommodations.AccommodationResponse;
 import masera.deviajesearches.dtos.amadeus.response.hotelbeds.boards.BoardsResponse;
@@ -34,9 +41,12 @@ import masera.deviajesearches.entities.Chain;
 import masera.deviajesearches.entities.Country;
 import masera.deviajesearches.entities.Destination;
 import masera.deviajesearches.entities.Facility;
+import masera.deviajesearches.entities.FacilityId;
 import masera.deviajesearches.entities.FacilityGroup;
 import masera.deviajesearches.entities.Hotel;
+import masera.deviajesearches.entities.HotelTranslation;
 import masera.deviajesearches.entities.Terminal;
+import masera.deviajesearches.enums.ContentType;
 import masera.deviajesearches.repositories.AccommodationRepository;
 import masera.deviajesearches.repositories.BoardRepository;
 import masera.deviajesearches.repositories.CategoryRepository;
@@ -45,13 +55,24 @@ import masera.deviajesearches.repositories.CountryRepository;
 import masera.deviajesearches.repositories.DestinationRepository;
 import masera.deviajesearches.repositories.FacilityGroupRepository;
 import masera.deviajesearches.repositories.FacilityRepository;
-import masera.deviajesearches.repositories.HotelRepository;
+import masera.deviajesearches.repositories.HotelBatchRepository;
+import masera.deviajesearches.repositories.HotelCatalogRepository;
 import masera.deviajesearches.repositories.TerminalRepository;
 import masera.deviajesearches.services.interfaces.HotelContentService;
-import org.modelmapper.ModelMapper;
+import masera.deviajesearches.services.interfaces.HotelDetailService;
+import masera.deviajesearches.services.pipeline.ReferenceDataPipeline;
+import masera.deviajesearches.services.pipeline.ReferenceDataStage;
+import masera.deviajesearches.utils.ContentHasher;
+import masera.deviajesearches.utils.ReplicaReads;
+import masera.deviajesearches.utils.dtos.BatchWriteResult;
+import masera.deviajesearches.utils.dtos.HotelRelations;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
 
 /**
  * Implementación del servicio de contenido de hoteles.
@@ -63,13 +84,27 @@ import org.springframework.web.server.ResponseStatusException;
 @Slf4j
 public class HotelContentServiceImpl implements HotelContentService {
 
+  private static final int DEFAULT_CATALOG_PAGE_SIZE = 100;
+
+  private static final int MAX_CATALOG_PAGE_SIZE = 1000;
+
   private final HotelClient hotelClient;
 
+  private final IngestionConfig ingestionConfig;
+
   private final ObjectMapper objectMapper;
 
-  private final ModelMapper modelMapper;
+  private final ContentHasher contentHasher;
+
+  private final ReplicaReads replicaReads;
+
+  private final ReferenceDataPipeline referenceDataPipeline;
+
+  private final HotelBatchRepository hotelBatchRepository;
+
+  private final HotelCatalogRepository hotelCatalogRepository;
 
-  private final HotelRepository hotelRepository;
+  private final HotelDetailService hotelDetailService;
 
   private final CountryRepository countryRepository;
 
@@ -101,16 +136,83 @@ public class HotelContentServiceImpl implements HotelContentService {
   public Integer loadHotels(int from, int to, String language, String lastUpdateTime) {
     log.info("Cargando hoteles desde {} hasta {} en idioma {}", from, to, language);
 
-    HotelContentResponse response = hotelClient
-            .getHotelContent(from, to, language, lastUpdateTime).block();
-    return saveHotels(response);
+    PageLoadResult result = ingestHotels(from, to, List.of(language), lastUpdateTime).block();
+    return result != null ? result.getSaved() : 0;
+  }
+
+  @Override
+  public Mono<PageLoadResult> ingestHotels(
+          int from, int to, List<String> languages, String lastUpdateTime) {
+    List<String> ordered = new ArrayList<>(languages);
+    // El idioma principal guarda los datos base que las traducciones completan
+    String primary = ingestionConfig.getPrimaryLanguage();
+    if (ordered.remove(primary)) {
+      ordered.add(0, primary);
+    }
+    if (ordered.isEmpty()) {
+      return Mono.just(new PageLoadResult());
+    }
+
+    List<String> translations = ordered.subList(1, ordered.size());
+    return ingestLanguage(from, to, ordered.get(0), lastUpdateTime)
+            .flatMap(result -> Flux.fromIterable(translations)
+                    .flatMap(language -> ingestLanguage(from, to, language, lastUpdateTime),
+                            Math.max(1, translations.size()))
+                    // Todos los idiomas reciben la misma página, los descartes se suman
+                    .reduce(result, (total, translation) -> {
+                      total.setRejected(total.getRejected() + translation.getRejected());
+                      return total;
+                    }));
+  }
+
+  private Mono<PageLoadResult> ingestLanguage(
+          int from, int to, String language, String lastUpdateTime) {
+    return hotelClient.streamHotelContent(from, to, language, lastUpdateTime)
+            .publishOn(Schedulers.boundedElastic())
+            .buffer(ingestionConfig.getBatchSize())
+            .map(hotels -> {
+              int saved = saveHotels(hotels, language);
+              return new PageLoadResult(hotels.size(), saved, hotels.size() - saved);
+            })
+            .reduce(new PageLoadResult(), (total, batch) -> {
+              total.add(batch);
+              return total;
+            });
+  }
+
+  @Override
+  public PageLoadResult loadContentPage(ContentType contentType, int from, int to,
+                                        String language, String lastUpdateTime) {
+    return switch (contentType) {
+      case COUNTRIES -> referenceDataPipeline.run(
+              countriesStage(), from, to, language, lastUpdateTime);
+      case DESTINATIONS -> referenceDataPipeline.run(
+              destinationsStage(), from, to, language, lastUpdateTime);
+      case ACCOMMODATIONS -> referenceDataPipeline.run(
+              accommodationsStage(), from, to, language, lastUpdateTime);
+      case BOARDS -> referenceDataPipeline.run(
+              boardsStage(), from, to, language, lastUpdateTime);
+      case CATEGORIES -> referenceDataPipeline.run(
+              categoriesStage(), from, to, language, lastUpdateTime);
+      case FACILITIES -> referenceDataPipeline.run(
+              facilitiesStage(), from, to, language, lastUpdateTime);
+      case FACILITY_GROUPS -> referenceDataPipeline.run(
+              facilityGroupsStage(), from, to, language, lastUpdateTime);
+      case CHAINS -> referenceDataPipeline.run(
+              chainsStage(), from, to, language, lastUpdateTime);
+      case TERMINALS -> referenceDataPipeline.run(
+              terminalsStage(), from, to, language, lastUpdateTime);
+      // Los hoteles se cargan en todos los idiomas configurados
+      case HOTELS -> ingestHotels(
+              from, to, ingestionConfig.getLanguages(), lastUpdateTime).block();
+    };
   }
 
   @Override
   public List<CountryDto> getAllCountries() {
     log.info("Obteniendo todos los países");
 
-    List<Country> countries = countryRepository.findAll();
+    List<Country> countries = replicaReads.read(countryRepository::findAll);
     List<CountryDto> countryDtos = new ArrayList<>();
 
     for (Country country : countries) {
@@ -130,13 +232,29 @@ public class HotelContentServiceImpl implements HotelContentService {
   @Override
   public List<CityDto> searchDestinations(String keyword) {
     log.info("Buscando destinos con keyword: {}", keyword);
-    List<Destination> destinations = destinationRepository
-            .findByNameContainingIgnoreCaseWithCountry(keyword);
+    List<Destination> destinations = replicaReads.read(() -> destinationRepository
+            .findByNameContainingIgnoreCaseWithCountry(keyword));
     return destinations.stream()
             .map(this::mapDestinationToCityDto)
             .collect(Collectors.toList());
   }
 
+  @Override
+  public HotelCatalogPageDto getHotelCatalog(String destinationCode, String countryCode,
+                                             String chainCode, String categoryCode,
+                                             String after, Integer limit) {
+    int pageSize = limit != null
+            ? Math.max(1, Math.min(MAX_CATALOG_PAGE_SIZE, limit))
+            : DEFAULT_CATALOG_PAGE_SIZE;
+    List<HotelSummaryDto> hotels = replicaReads.read(() -> hotelCatalogRepository.findPage(
+            destinationCode, countryCode, chainCode, categoryCode, after, pageSize));
+    // Una página incompleta es la última
+    String nextCursor = hotels.size() == pageSize
+            ? hotels.get(hotels.size() - 1).getCode()
+            : null;
+    return new HotelCatalogPageDto(hotels, nextCursor);
+  }
+
   private CityDto mapDestinationToCityDto(Destination destination) {
     CityDto cityDto = new CityDto();
     cityDto.setName(destination.getName());
@@ -149,368 +267,409 @@ public class HotelContentServiceImpl implements HotelContentService {
   @Override
   public Integer loadCountries(
           int from, int to, String language, String lastUpdateTime) {
-
     log.info("Cargando países en idioma {}", language);
-    CountriesResponse response = hotelClient.getCountries(
-            from, to, language, lastUpdateTime).block();
-    return processCountryResponse(response).size();
+    return referenceDataPipeline.run(countriesStage(), from, to, language, lastUpdateTime)
+            .getSaved();
   }
 
   @Override
   public Integer loadDestinations(
           int from, int to, String language, String lastUpdateTime) {
     log.info("Cargando destinos en idioma {}", language);
-
-    DestinationsResponse response = hotelClient.getDestinations(
-            from, to, language, lastUpdateTime).block();
-    return processDestinationResponse(response);
+    return referenceDataPipeline.run(destinationsStage(), from, to, language, lastUpdateTime)
+            .getSaved();
   }
 
   @Override
   public Integer loadAccommodations(int from, int to, String language, String lastUpdateTime) {
     log.info("Cargando tipos de alojamientos en idioma {}", language);
-
-    AccommodationResponse response = hotelClient.getAccommodations(
-            from, to, language, lastUpdateTime).block();
-    return processAccommodationResponse(response);
+    return referenceDataPipeline.run(accommodationsStage(), from, to, language, lastUpdateTime)
+            .getSaved();
   }
 
-
   @Override
   public Integer loadBoards(int from, int to, String language, String lastUpdateTime) {
     log.info("Cargando regímenes de alimentos en idioma {}", language);
-    BoardsResponse response = hotelClient.getBoards(
-            from, to, language, lastUpdateTime).block();
-
-    return processBoardsResponse(response);
+    return referenceDataPipeline.run(boardsStage(), from, to, language, lastUpdateTime)
+            .getSaved();
   }
 
   @Override
   public Integer loadCategories(int from, int to, String language, String lastUpdateTime) {
     log.info("Cargando categorías de hoteles en idioma {}", language);
-
-    CategoriesResponse response = hotelClient.getCategories(
-            from, to, language, lastUpdateTime).block();
-    return processCategoriesResponse(response);
+    return referenceDataPipeline.run(categoriesStage(), from, to, language, lastUpdateTime)
+            .getSaved();
   }
 
   @Override
   public Integer loadFacilities(int from, int to, String language, String lastUpdateTime) {
     log.info("Cargando instalaciones en idioma {}", language);
-
-    FacilitiesResponse response = hotelClient.getFacilities(
-            from, to, language, lastUpdateTime).block();
-    return processFacilitiesResponse(response);
+    return referenceDataPipeline.run(facilitiesStage(), from, to, language, lastUpdateTime)
+            .getSaved();
   }
 
-
-
   @Override
   public Integer loadFacilityGroups(int from, int to, String language, String lastUpdateTime) {
     log.info("Cargando grupos de instalaciones en idioma {}", language);
-
-    FacilityGroupsResponse response = hotelClient.getFacilityGroups(
-            from, to, language, lastUpdateTime).block();
-    return processFacilityGroupsResponse(response);
+    return referenceDataPipeline.run(facilityGroupsStage(), from, to, language, lastUpdateTime)
+            .getSaved();
   }
 
   @Override
   public Integer loadChains(int from, int to, String language, String lastUpdateTime) {
     log.info("Cargando cadenas hoteleras en idioma {}", language);
-
-    ChainsResponse response = hotelClient.getChains(from, to, language, lastUpdateTime).block();
-    return processChainsResponse(response);
+    return referenceDataPipeline.run(chainsStage(), from, to, language, lastUpdateTime)
+            .getSaved();
   }
 
   @Override
   public Integer loadTerminals(int from, int to, String language, String lastUpdateTime) {
     log.info("Cargando terminales en idioma {}", language);
-
-    TerminalsResponse response = hotelClient.getTerminals(
-            from, to, language, lastUpdateTime).block();
-    return processTerminalsResponse(response);
+    return referenceDataPipeline.run(terminalsStage(), from, to, language, lastUpdateTime)
+            .getSaved();
   }
 
   /**
    *  Guarda los datos de los hoteles en la base de datos.
+   *  Los hoteles se insertan o actualizan en lotes mediante JDBC y se omiten
+   *  los que no cambiaron desde la última carga. Los textos traducibles se
+   *  guardan por idioma, de modo que cargar otro idioma no pisa al principal.
+   *  Al terminar se vuelve a armar el detalle de los hoteles que se escribieron.
    *
-   * @param response respuesta de la API
-   * @return lista hoteles guardados
+   * @param hotels hoteles obtenidos de la API
+   * @param language idioma en el que se obtuvieron los hoteles
+   * @return cantidad de hoteles guardados
    */
-  private Integer saveHotels(HotelContentResponse response) {
-    List<Object> results = new ArrayList<>();
+  @Override
+  public Integer saveHotels(List<HotelDto> hotels, String language) {
+    if (hotels == null || hotels.isEmpty()) {
+      log.info("Procesados 0 hoteles en idioma {}", language);
+      return 0;
+    }
 
-    if (response != null && response.getHotels() != null) {
-      for (HotelDto hotelDto : response.getHotels()) {
-        Hotel hotel = saveHotel(hotelDto);
-        results.add(hotel);
-      }
+    LocalDateTime now = LocalDateTime.now();
+    List<Hotel> entities = new ArrayList<>(hotels.size());
+    List<HotelTranslation> translations = new ArrayList<>(hotels.size());
+    Map<String, HotelRelations> relations = new HashMap<>();
+    for (HotelDto hotelDto : hotels) {
+      Hotel hotel = mapHotel(hotelDto, now);
+      entities.add(hotel);
+      translations.add(mapTranslation(hotel, language));
+      relations.put(hotel.getCode(), HotelRelations.of(hotel.getCode(),
+              hotelDto.getBoardCodes(), hotelDto.getSegmentCodes(), hotelDto.getFacilities()));
     }
-    log.info("Procesados {} hoteles", results.size());
-    return results.size();
-  }
 
-  /**
-   * Procesa la respuesta de instalaciones de la API y los guarda en la base de datos.
-   *
-   * @param response respuesta de la API
-   * @return número de instalaciones guardadas.
-   */
-  private Integer processFacilitiesResponse(FacilitiesResponse response) {
-
-    int savedCount = 0;
-
-    if (response != null && response.getFacilities() != null) {
-
-      for (FacilitiesResponse.FacilityContent facilityData : response.getFacilities()) {
-        Facility facility = new Facility();
-        facility.setCode(facilityData.getCode());
-        facility.setFacilityGroupCode(facilityData.getFacilityGroupCode());
-        facility.setFacilityTypologyCode(facilityData.getFacilityTypologyCode());
-        if (facilityData.getDescription() != null) {
-          facility.setDescription(facilityData.getDescription().getContent());
-        }
-        facilityRepository.save(facility);
-        savedCount++;
-      }
+    BatchWriteResult translated = hotelBatchRepository.upsertTranslations(translations);
+    if (!language.equals(ingestionConfig.getPrimaryLanguage())) {
+      // Las traducciones sin cambios conservan su detalle armado
+      hotelDetailService.rebuildDocuments(translated.getWrittenCodes(), language);
+      log.info("Procesadas {} traducciones de hoteles en idioma {}: {} sin cambios",
+              translated.getProcessed(), language, translated.getSkipped());
+      return translated.getProcessed();
     }
-    log.info("Procesadas {} instalaciones", savedCount);
-    return savedCount;
+
+    BatchWriteResult result = hotelBatchRepository.upsertAll(entities, relations);
+    // Los datos base cambian el detalle armado en todos los idiomas
+    Set<String> written = new HashSet<>(result.getWrittenCodes());
+    written.addAll(translated.getWrittenCodes());
+    hotelDetailService.rebuildDocuments(written, null);
+    log.info("Procesados {} hoteles: {} insertados, {} actualizados, {} sin cambios",
+            result.getProcessed(), result.getInserted(), result.getUpdated(),
+            result.getSkipped());
+    return result.getProcessed();
   }
 
-  /**
-   * Procesa la respuesta de grupos de instalaciones de la API y los guarda en la base de datos.
-   *
-   * @param response respuesta de la API
-   * @return número de grupos de instalaciones guardados.
-   */
-  private Integer processFacilityGroupsResponse(FacilityGroupsResponse response) {
-    int savedCount = 0;
-
-    if (response != null && response.getFacilityGroups() != null) {
-      for (FacilityGroupsResponse.FacilityGroupContent groupData : response.getFacilityGroups()) {
-
-        FacilityGroup facilityGroup = new FacilityGroup();
-        facilityGroup.setCode(groupData.getCode());
-        if (groupData.getDescription() != null) {
-          facilityGroup.setDescription(groupData.getDescription().getContent());
-        }
-        facilityGroupRepository.save(facilityGroup);
-        savedCount++;
-      }
-    }
-    log.info("Procesados {} grupos de instalaciones", savedCount);
-    return savedCount;
+  private ReferenceDataStage<CountriesResponse, CountriesResponse.CountryContent, Country, String>
+        countriesStage() {
+    return ReferenceDataStage
+            .<CountriesResponse, CountriesResponse.CountryContent, Country, String>builder()
+            .contentType(ContentType.COUNTRIES)
+            .fetcher(hotelClient::getCountries)
+            .extractor(CountriesResponse::getCountries)
+            .mapperFactory(items -> this::mapCountry)
+            .idExtractor(Country::getCode)
+            .repository(countryRepository)
+            .build();
+  }
+
+  private ReferenceDataStage<DestinationsResponse, DestinationsResponse.DestinationContent,
+        Destination, String> destinationsStage() {
+    return ReferenceDataStage
+            .<DestinationsResponse, DestinationsResponse.DestinationContent,
+                    Destination, String>builder()
+            .contentType(ContentType.DESTINATIONS)
+            .fetcher(hotelClient::getDestinations)
+            .extractor(DestinationsResponse::getDestinations)
+            .mapperFactory(this::destinationMapper)
+            .idExtractor(Destination::getCode)
+            .repository(destinationRepository)
+            .build();
+  }
+
+  private ReferenceDataStage<AccommodationResponse, AccommodationTypeDto, Accommodation, String>
+        accommodationsStage() {
+    return ReferenceDataStage
+            .<AccommodationResponse, AccommodationTypeDto, Accommodation, String>builder()
+            .contentType(ContentType.ACCOMMODATIONS)
+            .fetcher(hotelClient::getAccommodations)
+            .extractor(AccommodationResponse::getAccommodations)
+            .mapperFactory(items -> this::mapAccommodation)
+            .idExtractor(Accommodation::getCode)
+            .repository(accommodationRepository)
+            .build();
+  }
+
+  private ReferenceDataStage<BoardsResponse, BoardDto, Board, String> boardsStage() {
+    return ReferenceDataStage.<BoardsResponse, BoardDto, Board, String>builder()
+            .contentType(ContentType.BOARDS)
+            .fetcher(hotelClient::getBoards)
+            .extractor(BoardsResponse::getBoards)
+            .mapperFactory(items -> this::mapBoard)
+            .idExtractor(Board::getCode)
+            .repository(boardRepository)
+            .build();
+  }
+
+  private ReferenceDataStage<CategoriesResponse, CategoryDto, Category, String>
+        categoriesStage() {
+    return ReferenceDataStage.<CategoriesResponse, CategoryDto, Category, String>builder()
+            .contentType(ContentType.CATEGORIES)
+            .fetcher(hotelClient::getCategories)
+            .extractor(CategoriesResponse::getCategories)
+            .mapperFactory(items -> this::mapCategory)
+            .idExtractor(Category::getCode)
+            .repository(categoryRepository)
+            .build();
+  }
+
+  private ReferenceDataStage<FacilitiesResponse, FacilitiesResponse.FacilityContent, Facility,
+        FacilityId> facilitiesStage() {
+    return ReferenceDataStage
+            .<FacilitiesResponse, FacilitiesResponse.FacilityContent, Facility,
+                    FacilityId>builder()
+            .contentType(ContentType.FACILITIES)
+            .fetcher(hotelClient::getFacilities)
+            .extractor(FacilitiesResponse::getFacilities)
+            .mapperFactory(items -> this::mapFacility)
+            .idExtractor(facility ->
+                    new FacilityId(facility.getCode(), facility.getFacilityGroupCode()))
+            .repository(facilityRepository)
+            .build();
+  }
+
+  private ReferenceDataStage<FacilityGroupsResponse, FacilityGroupsResponse.FacilityGroupContent,
+        FacilityGroup, Integer> facilityGroupsStage() {
+    return ReferenceDataStage
+            .<FacilityGroupsResponse, FacilityGroupsResponse.FacilityGroupContent,
+                    FacilityGroup, Integer>builder()
+            .contentType(ContentType.FACILITY_GROUPS)
+            .fetcher(hotelClient::getFacilityGroups)
+            .extractor(FacilityGroupsResponse::getFacilityGroups)
+            .mapperFactory(items -> this::mapFacilityGroup)
+            .idExtractor(FacilityGroup::getCode)
+            .repository(facilityGroupRepository)
+            .build();
+  }
+
+  private ReferenceDataStage<ChainsResponse, ChainDto, Chain, String> chainsStage() {
+    return ReferenceDataStage.<ChainsResponse, ChainDto, Chain, String>builder()
+            .contentType(ContentType.CHAINS)
+            .fetcher(hotelClient::getChains)
+            .extractor(ChainsResponse::getChains)
+            .mapperFactory(items -> this::mapChain)
+            .idExtractor(Chain::getCode)
+            .repository(chainRepository)
+            .build();
+  }
+
+  private ReferenceDataStage<TerminalsResponse, TerminalData, Terminal, String>
+        terminalsStage() {
+    return ReferenceDataStage.<TerminalsResponse, TerminalData, Terminal, String>builder()
+            .contentType(ContentType.TERMINALS)
+            .fetcher(hotelClient::getTerminals)
+            .extractor(TerminalsResponse::getTerminals)
+            .mapperFactory(items -> this::mapTerminal)
+            .idExtractor(Terminal::getCode)
+            .repository(terminalRepository)
+            .build();
   }
 
   /**
-   * Procesa la respuesta de grupos de regímenes de alimentos y los guarda en la base de datos.
+   * Convierte los datos de un país de la API en la entidad a guardar.
    *
-   * @param response respuesta de la API
-   * @return número de regímenes de alimentos guardados.
+   * @param countryData datos del país
+   * @return país listo para guardar, o null si no tiene código
    */
-  private int processBoardsResponse(BoardsResponse response) {
+  private Country mapCountry(CountriesResponse.CountryContent countryData) {
+    if (countryData.getCode() == null) {
+      return null;
+    }
 
-    int savedCount = 0;
+    Country country = new Country();
+    country.setCode(countryData.getCode());
+    country.setIsoCode(countryData.getIsoCode());
 
-    if (response != null && response.getBoards() != null) {
-      for (BoardDto boardData : response.getBoards()) {
+    if (countryData.getDescription() != null
+            && countryData.getDescription().getContent() != null) {
+      country.setName(countryData.getDescription().getContent());
+    }
 
-        Board board = new Board();
-        board.setCode(boardData.getCode());
-        board.setMultiLingualCode(boardData.getMultiLingualCode());
-        if (boardData.getDescription() != null) {
-          board.setDescription(boardData.getDescription().getContent());
-        }
-        boardRepository.save(board);
-        savedCount++;
+    if (countryData.getStates() != null) {
+      try {
+        country.setStates(objectMapper.writeValueAsString(countryData.getStates()));
+      } catch (Exception e) {
+        throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                "Error al procesar campos JSON: " + e.getMessage(), e);
       }
     }
-    log.info("Procesados {} regímenes de alimentos", savedCount);
-    return savedCount;
+    return country;
   }
 
   /**
-   * Procesa la respuesta de categorías de hoteles de la API y los guarda en la base de datos.
+   * Arma el mapper de destinos de un lote.
+   * Los países del lote se obtienen con una sola consulta en lugar de una por destino.
    *
-   * @param response respuesta de la API
-   * @return número de categorías guardadas
+   * @param items destinos del lote
+   * @return mapper de destinos
    */
-  private int processCategoriesResponse(CategoriesResponse response) {
-
-    int savedCount = 0;
-
-    if (response != null && response.getCategories() != null) {
-      for (CategoryDto categoryData : response.getCategories()) {
-
-        Category category = new masera.deviajesearches.entities.Category();
-        category.setCode(categoryData.getCode());
-        if (categoryData.getDescription() != null) {
-          category.setDescription(categoryData.getDescription().getContent());
-        }
-        category.setAccommodationType(categoryData.getAccommodationType());
-        category.setCategoryGroup(categoryData.getGroup());
-        category.setSimpleCode(categoryData.getSimpleCode());
-        categoryRepository.save(category);
-        savedCount++;
+  private Function<DestinationsResponse.DestinationContent, Destination> destinationMapper(
+          List<DestinationsResponse.DestinationContent> items) {
+    Set<String> countryCodes = items.stream()
+            .map(DestinationsResponse.DestinationContent::getCountryCode)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+    Map<String, Country> countries = countryRepository.findAllById(countryCodes).stream()
+            .collect(Collectors.toMap(Country::getCode, Function.identity()));
+
+    return destinationData -> {
+      if (destinationData.getCode() == null) {
+        return null;
+      }
+
+      Destination destination = new Destination();
+      destination.setCode(destinationData.getCode());
+      if (destinationData.getCountryCode() != null) {
+        destination.setCountry(countries.get(destinationData.getCountryCode()));
+      }
+      if (destinationData.getName() != null) {
+        destination.setName(destinationData.getName().getContent());
       }
+      return destination;
+    };
+  }
+
+  private Accommodation mapAccommodation(AccommodationTypeDto accommodationData) {
+    if (accommodationData.getCode() == null) {
+      return null;
     }
-    log.info("Procesadas {} categorías de hoteles", savedCount);
-    return savedCount;
+
+    Accommodation accommodation = new Accommodation();
+    accommodation.setCode(accommodationData.getCode());
+    accommodation.setTypeDescription(accommodationData.getTypeDescription());
+    return accommodation;
   }
 
-  /**
-   * Procesa la respuesta de países de la API y los guarda en la base de datos.
-   *
-   * @param response respuesta de la API
-   * @return número de países guardados
-   */
-  private List<CountryDto> processCountryResponse(CountriesResponse response) {
-    List<CountryDto> countryDtos = new ArrayList<>();
+  private Board mapBoard(BoardDto boardData) {
+    if (boardData.getCode() == null) {
+      return null;
+    }
 
-    if (response != null && response.getCountries() != null) {
-      for (CountriesResponse.CountryContent countryData : response.getCountries()) {
-        String code = countryData.getCode();
-
-        if (code != null) {
-          Country country = new Country();
-          country.setCode(code);
-          country.setIsoCode(countryData.getIsoCode());
-
-          if (countryData.getDescription() != null
-                  && countryData.getDescription().getContent() != null) {
-            country.setName(countryData.getDescription().getContent());
-          }
-
-          if (countryData.getStates() != null) {
-            try {
-              country.setStates(objectMapper.writeValueAsString(countryData.getStates()));
-            } catch (Exception e) {
-              throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
-                      "Error al procesar campos JSON: " + e.getMessage(), e);
-            }
-          }
-          country = countryRepository.save(country);
-          countryDtos.add(modelMapper.map(country, CountryDto.class));
-        }
-      }
+    Board board = new Board();
+    board.setCode(boardData.getCode());
+    board.setMultiLingualCode(boardData.getMultiLingualCode());
+    if (boardData.getDescription() != null) {
+      board.setDescription(boardData.getDescription().getContent());
     }
-    log.info("Procesados {} países", countryDtos.size());
-    return countryDtos;
+    return board;
+  }
+
+  private Category mapCategory(CategoryDto categoryData) {
+    if (categoryData.getCode() == null) {
+      return null;
+    }
+
+    Category category = new Category();
+    category.setCode(categoryData.getCode());
+    if (categoryData.getDescription() != null) {
+      category.setDescription(categoryData.getDescription().getContent());
+    }
+    category.setAccommodationType(categoryData.getAccommodationType());
+    category.setCategoryGroup(categoryData.getGroup());
+    category.setSimpleCode(categoryData.getSimpleCode());
+    return category;
   }
 
-  private int processAccommodationResponse(AccommodationResponse response) {
+  private Facility mapFacility(FacilitiesResponse.FacilityContent facilityData) {
+    if (facilityData.getCode() == null || facilityData.getFacilityGroupCode() == null) {
+      return null;
+    }
 
-    int savedCount = 0;
+    Facility facility = new Facility();
+    facility.setCode(facilityData.getCode());
+    facility.setFacilityGroupCode(facilityData.getFacilityGroupCode());
+    facility.setFacilityTypologyCode(facilityData.getFacilityTypologyCode());
+    if (facilityData.getDescription() != null) {
+      facility.setDescription(facilityData.getDescription().getContent());
+    }
+    return facility;
+  }
 
-    if (response != null && response.getAccommodations() != null) {
-      for (AccommodationTypeDto accommodationData : response.getAccommodations()) {
+  private FacilityGroup mapFacilityGroup(FacilityGroupsResponse.FacilityGroupContent groupData) {
+    if (groupData.getCode() == null) {
+      return null;
+    }
 
-        Accommodation accommodation = new Accommodation();
-        accommodation.setCode(accommodationData.getCode());
-        accommodation.setTypeDescription(accommodationData.getTypeDescription());
-        accommodationRepository.save(accommodation);
-        savedCount++;
-      }
+    FacilityGroup facilityGroup = new FacilityGroup();
+    facilityGroup.setCode(groupData.getCode());
+    if (groupData.getDescription() != null) {
+      facilityGroup.setDescription(groupData.getDescription().getContent());
     }
-    log.info("Procesados {} tipos de alojamiento", savedCount);
-    return savedCount;
+    return facilityGroup;
   }
 
-  /**
-   * Procesa la respuesta de destinos de la API y los guarda en la base de datos.
-   *
-   * @param response respuesta de la API
-   * @return número de destinos guardados
-   */
-  private int processDestinationResponse(DestinationsResponse response) {
-    int savedCount = 0;
-
-    if (response != null && response.getDestinations() != null) {
-      for (DestinationsResponse
-              .DestinationContent destinationData : response.getDestinations()) {
-
-        String countryCode = destinationData.getCountryCode();
-        Destination destination = new Destination();
-        destination.setCode(destinationData.getCode());
-
-        if (countryCode != null) {
-          countryRepository.findById(countryCode).ifPresent(destination::setCountry);
-        }
-
-        if (destinationData.getName() != null) {
-          destination.setName(destinationData.getName().getContent());
-        }
-        destinationRepository.save(destination);
-        savedCount++;
-      }
+  private Chain mapChain(ChainDto chainData) {
+    if (chainData.getCode() == null) {
+      return null;
     }
-    log.info("Procesados {} destinos", savedCount);
-    return savedCount;
+
+    Chain chain = new Chain();
+    chain.setCode(chainData.getCode());
+    if (chainData.getDescription() != null) {
+      chain.setDescription(chainData.getDescription().getContent());
+    }
+    return chain;
   }
 
-  /**
-   * Procesa la respuesta de cadenas hoteleras de la API y los guarda en la base de datos.
-   *
-   * @param response respuesta de la API
-   * @return número de cadenas hoteleras guardadas
-   */
-  private Integer processChainsResponse(ChainsResponse response) {
-    int savedCount = 0;
-
-    if (response != null && response.getChains() != null) {
-      for (ChainDto chainData : response.getChains()) {
-
-        Chain chain = new masera.deviajesearches.entities.Chain();
-        chain.setCode(chainData.getCode());
-        if (chainData.getDescription() != null) {
-          chain.setDescription(chainData.getDescription().getContent());
-        }
-        chainRepository.save(chain);
-        savedCount++;
-      }
+  private Terminal mapTerminal(TerminalData terminalData) {
+    if (terminalData.getCode() == null) {
+      return null;
     }
-    log.info("Procesadas {} cadenas hoteleras", savedCount);
-    return savedCount;
-  }
-
-  private Integer processTerminalsResponse(TerminalsResponse response) {
-    int savedCount = 0;
-
-    if (response != null && response.getTerminals() != null) {
-      for (TerminalData terminalData : response.getTerminals()) {
-
-        Terminal terminal = new Terminal();
-        terminal.setCode(terminalData.getCode());
-        terminal.setType(terminalData.getType());
-        terminal.setCountry(terminalData.getCountry());
-        terminal.setLanguageCode(terminalData.getName().getLanguageCode());
-
-        if (terminalData.getName() != null) {
-          terminal.setName(terminalData.getName().getContent());
-        }
-        if (terminalData.getDescription() != null) {
-          terminal.setDescription(terminalData.getDescription().getContent());
-        }
-        terminalRepository.save(terminal);
-        savedCount++;
-      }
+
+    Terminal terminal = new Terminal();
+    terminal.setCode(terminalData.getCode());
+    terminal.setType(terminalData.getType());
+    terminal.setCountry(terminalData.getCountry());
+
+    if (terminalData.getName() != null) {
+      terminal.setLanguageCode(terminalData.getName().getLanguageCode());
+      terminal.setName(terminalData.getName().getContent());
+    }
+    if (terminalData.getDescription() != null) {
+      terminal.setDescription(terminalData.getDescription().getContent());
     }
-    log.info("Procesadas {} terminales", savedCount);
-    return savedCount;
+    return terminal;
   }
 
   /**
-   * Guarda un hotel en la base de datos.
+   * Convierte los datos de un hotel de la API en la entidad a guardar.
    *
    * @param hotelDto datos del hotel
-   * @return hotel guardado
+   * @param now fecha de actualización a registrar
+   * @return hotel listo para guardar
    */
-  private Hotel saveHotel(HotelDto hotelDto) {
+  private Hotel mapHotel(HotelDto hotelDto, LocalDateTime now) {
 
-    Optional<Hotel> existingHotel = hotelRepository.findById(hotelDto.getCode());
-
-    Hotel hotel = existingHotel.orElse(new Hotel());
+    Hotel hotel = new Hotel();
     hotel.setCode(hotelDto.getCode());
     hotel.setName(hotelDto.getName().getContent());
     hotel.setCountryCode(hotelDto.getCountryCode());
@@ -594,7 +753,30 @@ public class HotelContentServiceImpl implements HotelContentService {
     hotel.setLastUpdate(hotelDto.getLastUpdate());
     hotel.setS2c(hotelDto.getS2C());
     hotel.setRanking(hotelDto.getRanking());
-    hotel.setLastUpdated(LocalDateTime.now());
-    return hotelRepository.save(hotel);
+    hotel.setLastUpdated(now);
+    hotel.setContentHash(contentHasher.hash(hotelDto));
+    return hotel;
+  }
+
+  /**
+   * Arma la traducción de un hotel a partir de sus textos ya mapeados.
+   *
+   * @param hotel hotel mapeado desde la API
+   * @param language idioma de los textos
+   * @return traducción lista para guardar
+   */
+  private HotelTranslation mapTranslation(Hotel hotel, String language) {
+    return HotelTranslation.builder()
+            .hotelCode(hotel.getCode())
+            .language(language)
+            .name(hotel.getName())
+            .description(hotel.getDescription())
+            .address(hotel.getAddress())
+            .city(hotel.getCity())
+            .rooms(hotel.getRooms())
+            .interestPoints(hotel.getInterestPoints())
+            .lastUpdated(hotel.getLastUpdated())
+            .contentHash(hotel.getContentHash())
+            .build();
   }
 }
@@ -0,0 +1,851 @@
+package masera.deviajesearches.services.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.persistence.EntityNotFoundException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.configs.CacheConfig;
+import masera.deviajesearches.configs.IngestionConfig;
+import masera.deviajesearches.dtos.amadeus.response.CountryDto;
+import masera.deviajesearches.dtos.amadeus.response.HotelDetailView;
+import masera.deviajesearches.dtos.amadeus.response.HotelResponseDto;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.ContentDto;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.FacilityDto;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.RoomDto;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.TerminalDto;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.segments.SegmentDto;
+import masera.deviajesearches.entities.FacilityId;
+import masera.deviajesearches.entities.Hotel;
+import masera.deviajesearches.entities.HotelDetailDocument;
+import masera.deviajesearches.entities.HotelDetailDocumentId;
+import masera.deviajesearches.entities.HotelTranslation;
+import masera.deviajesearches.enums.HotelDetailField;
+import masera.deviajesearches.repositories.HotelBatchRepository;
+import masera.deviajesearches.repositories.HotelDetailDocumentRepository;
+import masera.deviajesearches.repositories.HotelQueryRepository;
+import masera.deviajesearches.repositories.HotelRepository;
+import masera.deviajesearches.repositories.HotelTranslationRepository;
+import masera.deviajesearches.services.dictionary.ReferenceDictionary;
+import masera.deviajesearches.services.dictionary.ReferenceDictionary.CountryEntry;
+import masera.deviajesearches.services.dictionary.ReferenceDictionary.TerminalEntry;
+import masera.deviajesearches.services.dictionary.ReferenceDictionaryChanges;
+import masera.deviajesearches.services.dictionary.ReferenceDictionaryReloadedEvent;
+import masera.deviajesearches.services.interfaces.HotelDetailService;
+import masera.deviajesearches.services.interfaces.ReferenceDictionaryService;
+import masera.deviajesearches.utils.ContentHasher;
+import masera.deviajesearches.utils.HotelContentCodec;
+import masera.deviajesearches.utils.ReplicaReads;
+import masera.deviajesearches.utils.dtos.BatchWriteResult;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación del servicio de detalle de hoteles.
+ * Arma el detalle completo de cada hotel, con los diccionarios ya resueltos y los
+ * campos JSON ya procesados, cuando cambia el hotel o alguno de los diccionarios
+ * que referencia. La consulta del detalle se reduce a una lectura por clave primaria,
+ * y los detalles más consultados se sirven desde una caché en memoria que se
+ * invalida cada vez que se reescribe su detalle.
+ */
+@Service
+@Slf4j
+public class HotelDetailServiceImpl implements HotelDetailService {
+
+  private final HotelRepository hotelRepository;
+
+  private final HotelTranslationRepository hotelTranslationRepository;
+
+  private final HotelQueryRepository hotelQueryRepository;
+
+  private final HotelDetailDocumentRepository hotelDetailDocumentRepository;
+
+  private final HotelBatchRepository hotelBatchRepository;
+
+  private final ReferenceDictionaryService referenceDictionaryService;
+
+  private final IngestionConfig ingestionConfig;
+
+  private final ObjectMapper objectMapper;
+
+  private final ContentHasher contentHasher;
+
+  private final HotelContentCodec hotelContentCodec;
+
+  private final ReplicaReads replicaReads;
+
+  private final Executor detailDocumentExecutor;
+
+  private final AtomicBoolean rebuildPending = new AtomicBoolean();
+
+  private final Cache<DetailCacheKey, CachedDetail> detailCache;
+
+  /**
+   * Constructor del servicio.
+   *
+   * @param hotelRepository repositorio de hoteles
+   * @param hotelTranslationRepository repositorio de traducciones de hoteles
+   * @param hotelQueryRepository repositorio de lectura parcial de hoteles
+   * @param hotelDetailDocumentRepository repositorio de detalles armados
+   * @param hotelBatchRepository repositorio de escritura masiva
+   * @param referenceDictionaryService servicio de diccionarios de referencia
+   * @param ingestionConfig configuración de la ingesta
+   * @param objectMapper mapper de JSON
+   * @param contentHasher calculador de huellas de contenido
+   * @param hotelContentCodec codificador de las columnas JSON de hoteles
+   * @param replicaReads ejecutor de lecturas desde la réplica
+   * @param detailDocumentExecutor ejecutor de la regeneración completa
+   * @param cacheConfig configuración de las cachés
+   * @param meterRegistry registro de métricas
+   */
+  public HotelDetailServiceImpl(
+          HotelRepository hotelRepository,
+          HotelTranslationRepository hotelTranslationRepository,
+          HotelQueryRepository hotelQueryRepository,
+          HotelDetailDocumentRepository hotelDetailDocumentRepository,
+          HotelBatchRepository hotelBatchRepository,
+          ReferenceDictionaryService referenceDictionaryService,
+          IngestionConfig ingestionConfig,
+          ObjectMapper objectMapper,
+          ContentHasher contentHasher,
+          HotelContentCodec hotelContentCodec,
+          ReplicaReads replicaReads,
+          @Qualifier("detailDocumentExecutor") Executor detailDocumentExecutor,
+          CacheConfig cacheConfig,
+          MeterRegistry meterRegistry) {
+    this.hotelRepository = hotelRepository;
+    this.hotelTranslationRepository = hotelTranslationRepository;
+    this.hotelQueryRepository = hotelQueryRepository;
+    this.hotelDetailDocumentRepository = hotelDetailDocumentRepository;
+    this.hotelBatchRepository = hotelBatchRepository;
+    this.referenceDictionaryService = referenceDictionaryService;
+    this.ingestionConfig = ingestionConfig;
+    this.objectMapper = objectMapper;
+    this.contentHasher = contentHasher;
+    this.hotelContentCodec = hotelContentCodec;
+    this.replicaReads = replicaReads;
+    this.detailDocumentExecutor = detailDocumentExecutor;
+    // W-TinyLFU conserva los hoteles más consultados aunque otros se pidan una sola vez.
+    // El vencimiento solo acota lo que dure una entrada si alguna invalidación se pierde.
+    this.detailCache = Caffeine.newBuilder()
+            .maximumWeight(cacheConfig.getDetailCacheMaxBytes())
+            .expireAfterWrite(Duration.ofSeconds(cacheConfig.getDetailCacheTtlSeconds()))
+            .weigher((DetailCacheKey key, CachedDetail value) -> value.json().length)
+            .recordStats()
+            .build();
+    CaffeineCacheMetrics.monitor(meterRegistry, detailCache, "hotelDetails");
+  }
+
+  @Override
+  public byte[] getHotelDetails(String hotelCode, String language) {
+    return detailCache.get(new DetailCacheKey(hotelCode, resolveLanguage(language)), key -> {
+      CachedDetail detail = loadDetails(Set.of(key)).get(key);
+      if (detail == null) {
+        throw new EntityNotFoundException("Hotel no encontrado con código: " + hotelCode);
+      }
+      return detail;
+    }).json();
+  }
+
+  @Override
+  public byte[] getHotelDetails(String hotelCode, String language,
+                                Set<HotelDetailField> fields) {
+    if (fields.containsAll(EnumSet.allOf(HotelDetailField.class))) {
+      return getHotelDetails(hotelCode, language);
+    }
+
+    String resolved = resolveLanguage(language);
+    CachedDetail cached = detailCache.getIfPresent(new DetailCacheKey(hotelCode, resolved));
+    try {
+      if (cached != null) {
+        ObjectNode detail = (ObjectNode) objectMapper.readTree(cached.json());
+        for (HotelDetailField field : HotelDetailField.values()) {
+          if (!fields.contains(field)) {
+            detail.remove(field.getParameter());
+          }
+        }
+        return objectMapper.writeValueAsBytes(detail);
+      }
+      return objectMapper.writeValueAsBytes(loadProjection(hotelCode, resolved, fields));
+    } catch (IOException e) {
+      throw new IllegalStateException("Error al serializar el detalle del hotel "
+              + hotelCode + ": " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Arma el detalle de un hotel leyendo solo las columnas JSON pedidas. Las que no
+   * requieren enriquecimiento se copian sin procesar.
+   *
+   * @param hotelCode código del hotel
+   * @param language idioma de los textos
+   * @param fields campos opcionales a incluir
+   * @return vista del detalle parcial del hotel
+   */
+  private HotelDetailView loadProjection(String hotelCode, String language,
+                                         Set<HotelDetailField> fields) {
+    Hotel hotel = replicaReads.read(() -> hotelQueryRepository.findByCode(hotelCode, fields))
+            .orElseThrow(() -> new EntityNotFoundException(
+                    "Hotel no encontrado con código: " + hotelCode));
+    HotelResponseDto detail = toDto(hotel);
+    HotelTranslation translation = null;
+    if (!language.equals(ingestionConfig.getPrimaryLanguage())) {
+      translation = replicaReads.read(() ->
+                      hotelQueryRepository.findTranslation(hotelCode, language, fields))
+              .orElse(null);
+      if (translation != null) {
+        applyTranslation(translation, detail);
+      }
+    }
+    enrich(hotel, detail, referenceDictionaryService.getDictionary());
+    for (HotelDetailField field : HotelDetailField.values()) {
+      if (!fields.contains(field)) {
+        field.removeFrom(detail);
+      }
+    }
+    return toView(hotel, translation, detail, fields);
+  }
+
+  @Override
+  public Map<String, byte[]> getHotelDetails(Collection<String> hotelCodes, String language) {
+    String resolved = resolveLanguage(language);
+    List<DetailCacheKey> keys = hotelCodes.stream()
+            .distinct()
+            .map(code -> new DetailCacheKey(code, resolved))
+            .toList();
+
+    // Los que no están en la caché se obtienen todos juntos en una sola carga
+    Map<DetailCacheKey, CachedDetail> cached = detailCache.getAll(keys, this::loadDetails);
+    Map<String, byte[]> details = new LinkedHashMap<>();
+    for (DetailCacheKey key : keys) {
+      CachedDetail detail = cached.get(key);
+      if (detail != null) {
+        details.put(key.hotelCode(), detail.json());
+      }
+    }
+    return details;
+  }
+
+  // Los idiomas sin detalle armado se responden en el idioma principal
+  private String resolveLanguage(String language) {
+    return language != null && ingestionConfig.getLanguages().contains(language)
+            ? language : ingestionConfig.getPrimaryLanguage();
+  }
+
+  /**
+   * Obtiene de la base de datos los detalles armados que no están en la caché,
+   * con una consulta por idioma para todo el lote.
+   *
+   * @param keys códigos de hotel e idioma
+   * @return detalles encontrados, sin los hoteles inexistentes
+   */
+  private Map<DetailCacheKey, CachedDetail> loadDetails(Set<? extends DetailCacheKey> keys) {
+    Map<String, List<String>> codesByLanguage = keys.stream()
+            .collect(Collectors.groupingBy(DetailCacheKey::language,
+                    Collectors.mapping(DetailCacheKey::hotelCode, Collectors.toList())));
+
+    Map<DetailCacheKey, CachedDetail> loaded = new HashMap<>();
+    codesByLanguage.forEach((language, codes) ->
+            loadDocuments(codes, language).forEach((code, document) ->
+                    loaded.put(new DetailCacheKey(code, language), toCachedDetail(document))));
+    return loaded;
+  }
+
+  private Map<String, HotelDetailDocument> loadDocuments(List<String> codes, String language) {
+    String primary = ingestionConfig.getPrimaryLanguage();
+    Map<String, HotelDetailDocument> documents = new HashMap<>();
+    findDocuments(codes, language, documents);
+    if (!language.equals(primary)) {
+      // Sin traducción en el idioma pedido se responde en el idioma principal
+      findDocuments(missingCodes(codes, documents), primary, documents);
+    }
+
+    // Hoteles guardados antes de existir los detalles armados: se arman en el momento
+    List<String> missing = missingCodes(codes, documents);
+    if (!missing.isEmpty()) {
+      List<Hotel> hotels = hotelRepository.findAllById(missing);
+      hotels.forEach(hotelContentCodec::unpack);
+      if (!hotels.isEmpty()) {
+        log.info("Armando bajo demanda el detalle de {} hoteles", hotels.size());
+        List<HotelDetailDocument> built = buildDocuments(hotels, languagesFor(null));
+        hotelBatchRepository.upsertDocuments(built);
+        for (String preferred : List.of(language, primary)) {
+          for (HotelDetailDocument document : built) {
+            if (document.getLanguage().equals(preferred)) {
+              documents.putIfAbsent(document.getHotelCode(), document);
+            }
+          }
+        }
+      }
+    }
+    return documents;
+  }
+
+  private void findDocuments(List<String> codes, String language,
+                             Map<String, HotelDetailDocument> documents) {
+    if (codes.isEmpty()) {
+      return;
+    }
+    List<HotelDetailDocumentId> ids = codes.stream()
+            .map(code -> new HotelDetailDocumentId(code, language))
+            .toList();
+    // Se lee del primario: lo leído se guarda en la caché, y una réplica atrasada
+    // dejaría en ella el detalle anterior justo después de invalidarlo
+    for (HotelDetailDocument document : hotelDetailDocumentRepository.findAllById(ids)) {
+      documents.putIfAbsent(document.getHotelCode(), document);
+    }
+  }
+
+  private List<String> missingCodes(List<String> codes, Map<String, HotelDetailDocument> found) {
+    return codes.stream().filter(code -> !found.containsKey(code)).toList();
+  }
+
+  @Override
+  public int rebuildDocuments(Collection<String> hotelCodes, String language) {
+    if (hotelCodes == null || hotelCodes.isEmpty()) {
+      return 0;
+    }
+
+    List<Hotel> hotels = hotelRepository.findAllById(hotelCodes);
+    hotels.forEach(hotelContentCodec::unpack);
+    List<HotelDetailDocument> documents = buildDocuments(hotels, languagesFor(language));
+    BatchWriteResult result = hotelBatchRepository.upsertDocuments(documents, this::evict);
+    log.debug("Detalles de hoteles regenerados: {} escritos, {} sin cambios",
+            result.getTotal(), result.getSkipped());
+    return result.getTotal();
+  }
+
+  @Override
+  public void rebuildAllDocuments() {
+    // Si ya hay una regeneración en cola, esa misma incluirá los cambios recientes
+    if (rebuildPending.compareAndSet(false, true)) {
+      detailDocumentExecutor.execute(this::runFullRebuild);
+    }
+  }
+
+  /**
+   * Regenera los detalles de los hoteles que referencian alguna clave que cambió
+   * en la nueva foto de los diccionarios. Sin una foto anterior con la cual comparar
+   * se regeneran todos.
+   *
+   * @param event evento de diccionarios recargados
+   */
+  @EventListener
+  public void onDictionaryReloaded(ReferenceDictionaryReloadedEvent event) {
+    ReferenceDictionaryChanges changes = event.getChanges();
+    if (changes.isFull()) {
+      log.info("Diccionarios de referencia recargados, se regenerarán los detalles de hoteles");
+      rebuildAllDocuments();
+      return;
+    }
+    if (changes.isEmpty()) {
+      log.debug("Diccionarios de referencia recargados sin cambios en sus textos");
+      return;
+    }
+    log.info("Diccionarios de referencia recargados con {} claves distintas, se regenerarán"
+            + " los detalles de los hoteles que las referencian", changes.size());
+    detailDocumentExecutor.execute(() -> runAffectedRebuild(changes));
+  }
+
+  private void runAffectedRebuild(ReferenceDictionaryChanges changes) {
+    long start = System.currentTimeMillis();
+    int pageSize = Math.max(1, ingestionConfig.getBatchSize());
+    int written = 0;
+
+    try {
+      List<String> codes = new ArrayList<>(findAffectedCodes(changes));
+      for (int from = 0; from < codes.size(); from += pageSize) {
+        written += rebuildDocuments(
+                codes.subList(from, Math.min(from + pageSize, codes.size())), null);
+      }
+      log.info("Regeneración de detalles afectados finalizada en {} ms: {} hoteles revisados,"
+              + " {} detalles escritos", System.currentTimeMillis() - start, codes.size(), written);
+    } catch (RuntimeException e) {
+      log.error("Error al regenerar los detalles de hoteles afectados: {}", e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Busca los hoteles que referencian alguna de las claves que cambiaron.
+   * Los códigos guardados en columnas y en tablas de relación se buscan por índice.
+   * Las terminales y las facilities de habitaciones solo están en el contenido del
+   * hotel, así que se recorre únicamente esa parte, y solo si alguna de ellas cambió.
+   *
+   * @param changes claves que cambiaron
+   * @return códigos de los hoteles afectados, ordenados
+   */
+  private Set<String> findAffectedCodes(ReferenceDictionaryChanges changes) {
+    Set<String> codes = new TreeSet<>();
+    codes.addAll(hotelBatchRepository.findCodesByDictionaryColumn(
+            "country_code", changes.getCountries()));
+    codes.addAll(hotelBatchRepository.findCodesByDictionaryColumn(
+            "destination_code", changes.getDestinations()));
+    codes.addAll(hotelBatchRepository.findCodesByDictionaryColumn(
+            "category_code", changes.getCategories()));
+    codes.addAll(hotelBatchRepository.findCodesByDictionaryColumn(
+            "chain_code", changes.getChains()));
+    codes.addAll(hotelBatchRepository.findCodesByDictionaryColumn(
+            "accommodation_type_code", changes.getAccommodations()));
+    codes.addAll(hotelBatchRepository.findCodesBySegments(changes.getSegments()));
+    codes.addAll(hotelBatchRepository.findCodesByFacilities(
+            changes.getFacilities(), changes.getFacilityGroups()));
+
+    boolean facilitiesChanged = !changes.getFacilities().isEmpty()
+            || !changes.getFacilityGroups().isEmpty();
+    if (!changes.getTerminals().isEmpty() || facilitiesChanged) {
+      int pageSize = Math.max(1, ingestionConfig.getBatchSize());
+      String after = "";
+      while (true) {
+        List<Hotel> hotels = hotelBatchRepository.findRoomsAndTerminals(after, pageSize);
+        if (hotels.isEmpty()) {
+          break;
+        }
+        for (Hotel hotel : hotels) {
+          hotelContentCodec.unpack(hotel);
+          if (referencesTerminal(hotel, changes.getTerminals())
+                  || (facilitiesChanged && referencesRoomFacility(hotel, changes))) {
+            codes.add(hotel.getCode());
+          }
+        }
+        after = hotels.get(hotels.size() - 1).getCode();
+      }
+    }
+    return codes;
+  }
+
+  private boolean referencesTerminal(Hotel hotel, Set<String> terminalCodes) {
+    if (terminalCodes.isEmpty()) {
+      return false;
+    }
+    for (JsonNode terminal : readTree(hotel, hotel.getTerminals())) {
+      if (terminalCodes.contains(terminal.path("terminalCode").asText(null))) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean referencesRoomFacility(Hotel hotel, ReferenceDictionaryChanges changes) {
+    for (JsonNode room : readTree(hotel, hotel.getRooms())) {
+      for (JsonNode facility : room.path("roomFacilities")) {
+        int groupCode = facility.path("facilityGroupCode").asInt();
+        if (changes.getFacilityGroups().contains(groupCode)
+                || changes.getFacilities().contains(new FacilityId(
+                        facility.path("facilityCode").asInt(), groupCode))) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private JsonNode readTree(Hotel hotel, String json) {
+    if (!hasContent(json)) {
+      return objectMapper.createArrayNode();
+    }
+    try {
+      return objectMapper.readTree(json);
+    } catch (JsonProcessingException e) {
+      log.error("Error al procesar el contenido del hotel {}: {}",
+              hotel.getCode(), e.getMessage(), e);
+      return objectMapper.createArrayNode();
+    }
+  }
+
+  private void runFullRebuild() {
+    rebuildPending.set(false);
+    log.info("Iniciando regeneración de los detalles de todos los hoteles");
+    long start = System.currentTimeMillis();
+    int pageSize = Math.max(1, ingestionConfig.getBatchSize());
+    int written = 0;
+    String after = "";
+
+    try {
+      while (true) {
+        List<String> codes = hotelRepository.findCodesAfter(after, PageRequest.of(0, pageSize));
+        if (codes.isEmpty()) {
+          break;
+        }
+        written += rebuildDocuments(codes, null);
+        after = codes.get(codes.size() - 1);
+      }
+      log.info("Regeneración de detalles finalizada en {} ms: {} detalles escritos",
+              System.currentTimeMillis() - start, written);
+    } catch (RuntimeException e) {
+      log.error("Error al regenerar los detalles de hoteles: {}", e.getMessage(), e);
+    }
+  }
+
+  private List<String> languagesFor(String language) {
+    return language != null ? List.of(language) : ingestionConfig.getLanguages();
+  }
+
+  /**
+   * Quita de la caché las respuestas afectadas por un detalle que cambió.
+   * El detalle del idioma principal también se sirve para los idiomas sin traducción.
+   *
+   * @param document detalle escrito
+   */
+  private void evict(HotelDetailDocument document) {
+    if (document.getLanguage().equals(ingestionConfig.getPrimaryLanguage())) {
+      for (String language : ingestionConfig.getLanguages()) {
+        detailCache.invalidate(new DetailCacheKey(document.getHotelCode(), language));
+      }
+    } else {
+      detailCache.invalidate(new DetailCacheKey(document.getHotelCode(), document.getLanguage()));
+    }
+  }
+
+  private CachedDetail toCachedDetail(HotelDetailDocument document) {
+    return new CachedDetail(document.getDocument().getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * Arma los detalles de un lote de hoteles en los idiomas indicados.
+   * Los diccionarios se resuelven sobre la foto en memoria, sin consultar la base.
+   *
+   * @param hotels hoteles a armar
+   * @param languages idiomas a armar
+   * @return detalles armados y serializados
+   */
+  private List<HotelDetailDocument> buildDocuments(List<Hotel> hotels, List<String> languages) {
+    if (hotels.isEmpty()) {
+      return List.of();
+    }
+    String primary = ingestionConfig.getPrimaryLanguage();
+    Map<String, Map<String, HotelTranslation>> translations = loadTranslations(hotels, languages);
+
+    Set<HotelDetailField> allFields = EnumSet.allOf(HotelDetailField.class);
+    Map<String, Map<String, HotelDetailView>> drafts = new LinkedHashMap<>();
+    for (Hotel hotel : hotels) {
+      HotelResponseDto base = toDto(hotel);
+      Map<String, HotelDetailView> byLanguage = new LinkedHashMap<>();
+      for (String language : languages) {
+        if (language.equals(primary)) {
+          byLanguage.put(language, toView(hotel, null, base, allFields));
+          continue;
+        }
+        HotelTranslation translation = translations
+                .getOrDefault(hotel.getCode(), Map.of())
+                .get(language);
+        if (translation != null) {
+          HotelResponseDto translated = base.toBuilder().build();
+          applyTranslation(translation, translated);
+          byLanguage.put(language, toView(hotel, translation, translated, allFields));
+        }
+      }
+      drafts.put(hotel.getCode(), byLanguage);
+    }
+
+    ReferenceDictionary dictionary = referenceDictionaryService.getDictionary();
+
+    LocalDateTime now = LocalDateTime.now();
+    List<HotelDetailDocument> documents = new ArrayList<>();
+    for (Hotel hotel : hotels) {
+      for (Map.Entry<String, HotelDetailView> entry : drafts.get(hotel.getCode()).entrySet()) {
+        enrich(hotel, entry.getValue().getDetail(), dictionary);
+        documents.add(toDocument(hotel.getCode(), entry.getKey(), entry.getValue(), now));
+      }
+    }
+    return documents;
+  }
+
+  private HotelDetailDocument toDocument(String hotelCode, String language,
+                                         HotelDetailView view, LocalDateTime now) {
+    try {
+      byte[] bytes = objectMapper.writeValueAsBytes(view);
+      return HotelDetailDocument.builder()
+              .hotelCode(hotelCode)
+              .language(language)
+              .document(new String(bytes, StandardCharsets.UTF_8))
+              .contentHash(contentHasher.hashBytes(bytes))
+              .builtAt(now)
+              .build();
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Error al serializar el detalle del hotel "
+              + hotelCode + ": " + e.getMessage(), e);
+    }
+  }
+
+  private Map<String, Map<String, HotelTranslation>> loadTranslations(
+          List<Hotel> hotels, List<String> languages) {
+    boolean secondary = languages.stream()
+            .anyMatch(language -> !language.equals(ingestionConfig.getPrimaryLanguage()));
+    if (!secondary) {
+      return Map.of();
+    }
+
+    Set<String> codes = hotels.stream().map(Hotel::getCode).collect(Collectors.toSet());
+    Map<String, Map<String, HotelTranslation>> translations = new HashMap<>();
+    for (HotelTranslation translation : hotelTranslationRepository.findByHotelCodeIn(codes)) {
+      translations.computeIfAbsent(translation.getHotelCode(), code -> new HashMap<>())
+              .put(translation.getLanguage(), translation);
+    }
+    return translations;
+  }
+
+  /**
+   * Convierte la entidad en el DTO de respuesta, procesando los campos JSON que
+   * requieren enriquecimiento. El resto se copia sin procesar en la vista.
+   *
+   * @param hotel entidad Hotel
+   * @return DTO sin los diccionarios resueltos
+   */
+  private HotelResponseDto toDto(Hotel hotel) {
+    HotelResponseDto responseDto = HotelResponseDto.builder()
+            .code(hotel.getCode())
+            .name(hotel.getName())
+            .description(hotel.getDescription())
+            .stateCode(hotel.getStateCode())
+            .address(hotel.getAddress())
+            .city(hotel.getCity())
+            .zoneCode(hotel.getZoneCode())
+            .email(hotel.getEmail())
+            .web(hotel.getWeb())
+            .ranking(hotel.getRanking())
+            .s2c(hotel.getS2c())
+            .segments(new ArrayList<>())
+            .terminals(new ArrayList<>())
+            .build();
+
+    try {
+      if (hasContent(hotel.getFacilities())) {
+        responseDto.setFacilities(
+                objectMapper.readValue(hotel.getFacilities(), new TypeReference<>() {}));
+      }
+      if (hasContent(hotel.getRooms())) {
+        responseDto.setRooms(objectMapper.readValue(hotel.getRooms(), new TypeReference<>() {}));
+      }
+      if (hasContent(hotel.getTerminals())) {
+        responseDto.setTerminals(
+                objectMapper.readValue(hotel.getTerminals(), new TypeReference<>() {}));
+      }
+    } catch (JsonProcessingException e) {
+      log.error("Error al procesar campos JSON del hotel {}: {}",
+              hotel.getCode(), e.getMessage(), e);
+    }
+    return responseDto;
+  }
+
+  /**
+   * Arma la vista de serialización con los campos JSON que se copian sin procesar.
+   * Los puntos de interés traducidos reemplazan a los del idioma principal.
+   *
+   * @param hotel entidad Hotel
+   * @param translation (Opcional) traducción del hotel
+   * @param detail DTO con el resto del detalle
+   * @param fields campos opcionales a incluir
+   * @return vista del detalle
+   */
+  private HotelDetailView toView(Hotel hotel, HotelTranslation translation,
+                                 HotelResponseDto detail, Set<HotelDetailField> fields) {
+    String interestPoints = translation != null && hasContent(translation.getInterestPoints())
+            ? translation.getInterestPoints() : hotel.getInterestPoints();
+
+    return HotelDetailView.builder()
+            .detail(detail)
+            .images(rawField(fields, HotelDetailField.IMAGES, hotel.getImages()))
+            .phones(rawField(fields, HotelDetailField.PHONES, hotel.getPhones()))
+            .interestPoints(rawField(fields, HotelDetailField.INTEREST_POINTS, interestPoints))
+            .wildcards(rawField(fields, HotelDetailField.WILDCARDS, hotel.getWildcards()))
+            .issues(rawField(fields, HotelDetailField.ISSUES, hotel.getIssues()))
+            .build();
+  }
+
+  // Los campos pedidos sin contenido se devuelven como lista vacía
+  private String rawField(Set<HotelDetailField> fields, HotelDetailField field, String json) {
+    if (!fields.contains(field)) {
+      return null;
+    }
+    return hasContent(json) ? json : "[]";
+  }
+
+  /**
+   * Reemplaza los textos del DTO por los del idioma solicitado.
+   *
+   * @param translation traducción guardada del hotel
+   * @param responseDto DTO de respuesta
+   */
+  private void applyTranslation(HotelTranslation translation, HotelResponseDto responseDto) {
+    if (translation.getName() != null) {
+      responseDto.setName(translation.getName());
+    }
+    if (translation.getDescription() != null) {
+      responseDto.setDescription(translation.getDescription());
+    }
+    if (translation.getAddress() != null) {
+      responseDto.setAddress(translation.getAddress());
+    }
+    if (translation.getCity() != null) {
+      responseDto.setCity(translation.getCity());
+    }
+
+    try {
+      if (hasContent(translation.getRooms())) {
+        responseDto.setRooms(
+                objectMapper.readValue(translation.getRooms(), new TypeReference<>() {}));
+      }
+    } catch (JsonProcessingException e) {
+      log.error("Error al procesar la traducción {} del hotel {}: {}",
+              translation.getLanguage(), translation.getHotelCode(), e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Resuelve en el DTO los diccionarios de referencia.
+   *
+   * @param hotel entidad Hotel
+   * @param responseDto DTO de respuesta
+   * @param dictionary foto de los diccionarios
+   */
+  private void enrich(Hotel hotel, HotelResponseDto responseDto, ReferenceDictionary dictionary) {
+    CountryEntry country = dictionary.country(hotel.getCountryCode());
+    if (country != null) {
+      responseDto.setCountry(new CountryDto(
+              country.code(),
+              country.name(),
+              country.isoCode()
+      ));
+    }
+
+    String destination = dictionary.destinationName(hotel.getDestinationCode());
+    if (destination != null) {
+      responseDto.setDestination(destination);
+    }
+
+    String category = dictionary.categoryDescription(hotel.getCategoryCode());
+    if (category != null) {
+      responseDto.setCategory(category);
+    }
+
+    String chain = dictionary.chainDescription(hotel.getChainCode());
+    if (chain != null) {
+      responseDto.setChain(chain);
+    }
+
+    String accommodation = dictionary.accommodationDescription(hotel.getAccommodationTypeCode());
+    if (accommodation != null) {
+      responseDto.setAccommodationType(accommodation);
+    }
+
+    if (responseDto.getFacilities() != null) {
+      enrichFacilities(responseDto.getFacilities(), dictionary);
+    }
+    if (responseDto.getRooms() != null) {
+      for (RoomDto room : responseDto.getRooms()) {
+        if (room.getRoomFacilities() != null && !room.getRoomFacilities().isEmpty()) {
+          enrichFacilities(room.getRoomFacilities(), dictionary);
+        }
+      }
+    }
+    enrichTerminals(responseDto.getTerminals(), dictionary);
+
+    List<SegmentDto> segments = new ArrayList<>();
+    for (Integer code : segmentCodes(hotel)) {
+      SegmentDto segmentDto = new SegmentDto();
+      segmentDto.setCode(code);
+      if (code != null) {
+        segmentDto.setContent(dictionary.segmentContent(code));
+      }
+      segments.add(segmentDto);
+    }
+    responseDto.setSegments(segments);
+  }
+
+  /**
+   * Enriquece las facilities con las descripciones de la facility y de su grupo.
+   *
+   * @param facilities lista de facilities a enriquecer
+   * @param dictionary foto de los diccionarios
+   */
+  private void enrichFacilities(List<FacilityDto> facilities, ReferenceDictionary dictionary) {
+    for (FacilityDto facilityDto : facilities) {
+      if (facilityDto.getFacilityCode() == null || facilityDto.getFacilityGroupCode() == null) {
+        continue;
+      }
+
+      String description = dictionary.facilityDescription(
+              facilityDto.getFacilityCode(), facilityDto.getFacilityGroupCode());
+      if (description != null) {
+        facilityDto.setDescription(new ContentDto());
+        facilityDto.getDescription().setContent(description);
+
+        String groupName = dictionary.facilityGroupDescription(facilityDto.getFacilityGroupCode());
+        if (groupName != null) {
+          facilityDto.setFacilityGroupName(groupName);
+        }
+      }
+    }
+  }
+
+  /**
+   * Enriquece las terminales con nombres y descripción.
+   *
+   * @param terminals lista de terminales a enriquecer
+   * @param dictionary foto de los diccionarios
+   */
+  private void enrichTerminals(List<TerminalDto> terminals, ReferenceDictionary dictionary) {
+    for (TerminalDto terminalDto : terminals) {
+      TerminalEntry terminal = dictionary.terminal(terminalDto.getTerminalCode());
+      if (terminal != null) {
+        terminalDto.setName(new ContentDto());
+        terminalDto.getName().setContent(terminal.name());
+        terminalDto.setDescription(new ContentDto());
+        terminalDto.getDescription().setContent(terminal.description());
+      }
+    }
+  }
+
+  private List<Integer> segmentCodes(Hotel hotel) {
+    if (!hasContent(hotel.getSegmentCodes())) {
+      return List.of();
+    }
+    try {
+      return objectMapper.readValue(hotel.getSegmentCodes(), new TypeReference<>() {});
+    } catch (JsonProcessingException e) {
+      log.error("Error al procesar los segmentos del hotel {}: {}",
+              hotel.getCode(), e.getMessage(), e);
+      return List.of();
+    }
+  }
+
+  private boolean hasContent(String json) {
+    return json != null && !json.isEmpty();
+  }
+
+  /**
+   * Clave de la caché de detalles.
+   */
+  private record DetailCacheKey(String hotelCode, String language) {
+  }
+
+  /**
+   * Detalle guardado en la caché, ya serializado tal como se responde.
+   */
+  private record CachedDetail(byte[] json) {
+  }
+}
@@ -0,0 +1,550 @@
+package masera.deviajesearches.services.impl;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.clients.HotelClient;
+import masera.deviajesearches.configs.IngestionConfig;
+import masera.deviajesearches.dtos.amadeus.response.IngestionJobDto;
+import masera.deviajesearches.entities.IngestionJob;
+import masera.deviajesearches.entities.IngestionJobPage;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.enums.IngestionJobStatus;
+import masera.deviajesearches.repositories.IngestionJobPageRepository;
+import masera.deviajesearches.repositories.IngestionJobRepository;
+import masera.deviajesearches.services.interfaces.ContentSyncService;
+import masera.deviajesearches.services.interfaces.HotelContentService;
+import masera.deviajesearches.services.interfaces.HotelIngestionService;
+import masera.deviajesearches.utils.ContentLoadGuard;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Implementación del servicio de ingesta completa del catálogo de hoteles.
+ * Recorre todas las páginas de la API de contenido descargando varias en paralelo
+ * y persistiendo los hoteles de cada página a medida que llegan, mientras las
+ * siguientes siguen en vuelo. Cada página persistida queda registrada como punto
+ * de control, de modo que un trabajo fallido o interrumpido se retoma sin repetirla.
+ * Cada trabajo en ejecución tiene una instancia dueña que renueva su latido; si el
+ * latido vence, otra instancia puede tomar el trabajo y retomarlo.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HotelIngestionServiceImpl implements HotelIngestionService {
+
+  private static final int MAX_ERROR_LENGTH = 1000;
+
+  private final HotelClient hotelClient;
+
+  private final HotelContentService hotelContentService;
+
+  private final ContentSyncService contentSyncService;
+
+  private final IngestionConfig ingestionConfig;
+
+  private final IngestionJobRepository ingestionJobRepository;
+
+  private final IngestionJobPageRepository ingestionJobPageRepository;
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final ContentLoadGuard contentLoadGuard;
+
+  private final Map<String, JobProgress> jobs = new ConcurrentHashMap<>();
+
+  @Value("${hotelbeds.ingestion.resume-on-startup:true}")
+  private boolean resumeOnStartup;
+
+  @Override
+  public synchronized IngestionJobDto startHotelIngestion(String language, String lastUpdateTime) {
+    ensureNoneRunning();
+    // El trabajo ocupa el lugar de carga hasta terminar, así no corre junto a la sincronización
+    contentLoadGuard.acquire(ContentLoadGuard.HOTEL_INGESTION);
+    try {
+      return start(language, lastUpdateTime);
+    } catch (RuntimeException e) {
+      contentLoadGuard.release(ContentLoadGuard.HOTEL_INGESTION);
+      throw e;
+    }
+  }
+
+  /**
+   * Registra un trabajo nuevo y lanza la carga de todas sus páginas.
+   *
+   * @param language idioma, o null para todos los configurados
+   * @param lastUpdateTime (Opcional) fecha de última actualización
+   * @return estado inicial del trabajo
+   */
+  private IngestionJobDto start(String language, String lastUpdateTime) {
+    // Sin idioma explícito se cargan en paralelo todos los idiomas configurados
+    List<String> languages = language != null
+            ? List.of(language) : ingestionConfig.getLanguages();
+    IngestionJob entity = IngestionJob.builder()
+            .jobId(UUID.randomUUID().toString())
+            .status(IngestionJobStatus.RUNNING)
+            .languages(String.join(",", languages))
+            .lastUpdateTime(lastUpdateTime)
+            .pageSize(ingestionConfig.getPageSize())
+            .pagesDone(0)
+            .hotelsSaved(0)
+            .startedAt(LocalDateTime.now())
+            .owner(ingestionConfig.getInstanceId())
+            .heartbeatAt(LocalDateTime.now())
+            .build();
+    ingestionJobRepository.save(entity);
+
+    JobProgress job = new JobProgress(entity, Set.of());
+    log.info("Iniciando ingesta de hoteles {} en idiomas {} con {} páginas en paralelo",
+            job.jobId, languages, ingestionConfig.getConcurrency());
+    run(job);
+    return job.toDto();
+  }
+
+  @Override
+  public synchronized IngestionJobDto resumeHotelIngestion(String jobId) {
+    ensureNoneRunning();
+
+    IngestionJob entity = ingestionJobRepository.findById(jobId)
+            .orElseThrow(() -> new EntityNotFoundException(
+                    "Trabajo de ingesta no encontrado: " + jobId));
+    if (entity.getStatus() == IngestionJobStatus.COMPLETED) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+              "El trabajo de ingesta " + jobId + " ya finalizó");
+    }
+    contentLoadGuard.acquire(ContentLoadGuard.HOTEL_INGESTION);
+    try {
+      return resume(entity);
+    } catch (RuntimeException e) {
+      contentLoadGuard.release(ContentLoadGuard.HOTEL_INGESTION);
+      throw e;
+    }
+  }
+
+  /**
+   * Toma un trabajo interrumpido y lanza la carga de las páginas que le faltan.
+   *
+   * @param entity trabajo a retomar
+   * @return estado del trabajo retomado
+   */
+  private IngestionJobDto resume(IngestionJob entity) {
+    String jobId = entity.getJobId();
+    if (!claim(jobId)) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+              "El trabajo de ingesta " + jobId + " está en ejecución en otra instancia");
+    }
+
+    Set<Integer> committedPages =
+            new HashSet<>(ingestionJobPageRepository.findPagesByJobId(jobId));
+    entity.setStatus(IngestionJobStatus.RUNNING);
+    entity.setFinishedAt(null);
+    entity.setError(null);
+    entity.setPagesDone(committedPages.size());
+    entity.setOwner(ingestionConfig.getInstanceId());
+    entity.setHeartbeatAt(LocalDateTime.now());
+    ingestionJobRepository.save(entity);
+
+    JobProgress job = new JobProgress(entity, committedPages);
+    log.info("Retomando ingesta de hoteles {} con {} páginas ya persistidas",
+            jobId, committedPages.size());
+    run(job);
+    return job.toDto();
+  }
+
+  /**
+   * Retoma los trabajos que quedaron en ejecución sin una instancia que los atienda,
+   * ya sea por un reinicio o por la caída de otra instancia. Cada trabajo se toma con
+   * una escritura condicional antes de retomarlo, así una sola instancia lo retoma.
+   * Solo se retoma el más reciente y el resto se marca como fallido.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void resumeInterruptedJobs() {
+    List<IngestionJob> interrupted = ingestionJobRepository.findClaimable(
+            IngestionJobStatus.RUNNING, ingestionConfig.getInstanceId(), leaseExpiredBefore());
+
+    for (IngestionJob entity : interrupted) {
+      JobProgress local = jobs.get(entity.getJobId());
+      if (local != null && local.status == IngestionJobStatus.RUNNING) {
+        continue;
+      }
+
+      if (resumeOnStartup && !isAnyRunning()) {
+        try {
+          resumeHotelIngestion(entity.getJobId());
+        } catch (ResponseStatusException e) {
+          // Otra instancia lo tomó primero
+          log.info("Ingesta {} no retomada: {}", entity.getJobId(), e.getReason());
+        }
+        continue;
+      }
+
+      if (!claim(entity.getJobId())) {
+        continue;
+      }
+      updateJob(entity.getJobId(), job -> {
+        job.setStatus(IngestionJobStatus.FAILED);
+        job.setFinishedAt(LocalDateTime.now());
+        job.setError("Interrumpido por un reinicio de la aplicación");
+      });
+      log.warn("Ingesta {} interrumpida, puede retomarse manualmente", entity.getJobId());
+    }
+  }
+
+  /**
+   * Renueva el latido de los trabajos en ejecución en esta instancia y busca trabajos
+   * cuyo dueño dejó de enviar latidos. Los trabajos que otra instancia tomó mientras
+   * tanto se detienen aquí, para no cargar dos veces las mismas páginas.
+   */
+  @Scheduled(fixedDelayString = "${hotelbeds.ingestion.heartbeat-millis:30000}",
+          initialDelayString = "${hotelbeds.ingestion.heartbeat-millis:30000}")
+  public void heartbeat() {
+    List<JobProgress> running = jobs.values().stream()
+            .filter(job -> job.status == IngestionJobStatus.RUNNING)
+            .toList();
+    for (JobProgress job : running) {
+      Integer owned = transactionTemplate.execute(status -> ingestionJobRepository.heartbeat(
+              job.jobId, ingestionConfig.getInstanceId(), LocalDateTime.now()));
+      if (owned == null || owned == 0) {
+        lose(job);
+      }
+    }
+    resumeInterruptedJobs();
+  }
+
+  @Override
+  public IngestionJobDto getJob(String jobId) {
+    JobProgress job = jobs.get(jobId);
+    if (job != null) {
+      return job.toDto();
+    }
+    return ingestionJobRepository.findById(jobId)
+            .map(this::toDto)
+            .orElseThrow(() -> new EntityNotFoundException(
+                    "Trabajo de ingesta no encontrado: " + jobId));
+  }
+
+  @Override
+  public List<IngestionJobDto> getJobs() {
+    return ingestionJobRepository.findAllByOrderByStartedAtDesc().stream()
+            .map(entity -> {
+              JobProgress job = jobs.get(entity.getJobId());
+              return job != null ? job.toDto() : toDto(entity);
+            })
+            .toList();
+  }
+
+  private boolean isAnyRunning() {
+    return jobs.values().stream().anyMatch(job -> job.status == IngestionJobStatus.RUNNING);
+  }
+
+  private boolean claim(String jobId) {
+    Integer claimed = transactionTemplate.execute(status -> ingestionJobRepository.claim(
+            jobId, ingestionConfig.getInstanceId(), LocalDateTime.now(), leaseExpiredBefore(),
+            IngestionJobStatus.RUNNING, IngestionJobStatus.COMPLETED));
+    return claimed != null && claimed == 1;
+  }
+
+  private LocalDateTime leaseExpiredBefore() {
+    return LocalDateTime.now().minusSeconds(ingestionConfig.getLeaseSeconds());
+  }
+
+  private void ensureNoneRunning() {
+    if (isAnyRunning()) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+              "Ya existe una ingesta de hoteles en ejecución");
+    }
+  }
+
+  /**
+   * Lanza en segundo plano la carga de las páginas que aún no fueron persistidas.
+   *
+   * @param job trabajo a ejecutar
+   */
+  private void run(JobProgress job) {
+    jobs.put(job.jobId, job);
+
+    // Se consulta un único hotel para conocer el total del catálogo, salvo que ya se conozca
+    Mono<Integer> total = job.totalHotels > 0
+            ? Mono.just(job.totalHotels)
+            : hotelClient.getHotelContent(1, 1, job.languages.get(0), job.lastUpdateTime)
+                    .map(probe -> probe.getTotal() != null ? probe.getTotal() : 0)
+                    .doOnNext(job::setTotalHotels)
+                    .doOnNext(totalHotels -> updateJob(job.jobId, entity -> {
+                      entity.setTotalHotels(job.totalHotels);
+                      entity.setTotalPages(job.totalPages);
+                    }));
+
+    job.subscription = total.flatMapMany(ignored -> Flux.range(1, job.totalPages)
+                    .filter(page -> !job.committedPages.contains(page))
+                    .flatMap(page -> loadPage(job, page), ingestionConfig.getConcurrency()))
+            .subscribe(job::pageSaved, e -> fail(job, e), () -> complete(job));
+  }
+
+  /**
+   * Descarga en streaming una página del catálogo de hoteles en cada idioma del trabajo
+   * y la persiste por lotes a medida que se van leyendo los hoteles. Al terminar registra
+   * la página como punto de control. Como la escritura es un upsert, repetir una página
+   * que falló antes de su punto de control no duplica datos.
+   *
+   * @param job trabajo en curso
+   * @param page número de página (comenzando en 1)
+   * @return Mono con los hoteles recibidos, guardados y descartados de la página
+   */
+  private Mono<PageLoadResult> loadPage(JobProgress job, int page) {
+    int from = (page - 1) * job.pageSize + 1;
+    int to = page * job.pageSize;
+    return hotelContentService.ingestHotels(from, to, job.languages, job.lastUpdateTime)
+            .doOnNext(result -> checkpoint(job.jobId, page, result.getSaved()));
+  }
+
+  private void checkpoint(String jobId, int page, int saved) {
+    transactionTemplate.executeWithoutResult(status -> {
+      ingestionJobPageRepository.save(IngestionJobPage.builder()
+              .jobId(jobId)
+              .page(page)
+              .hotelsSaved(saved)
+              .committedAt(LocalDateTime.now())
+              .build());
+      ingestionJobRepository.addPage(jobId, saved);
+    });
+  }
+
+  private void fail(JobProgress job, Throwable e) {
+    job.fail(e);
+    updateJob(job.jobId, entity -> {
+      entity.setStatus(IngestionJobStatus.FAILED);
+      entity.setFinishedAt(job.finishedAt);
+      entity.setError(truncate(e.getMessage()));
+    });
+    evict(job);
+  }
+
+  private void complete(JobProgress job) {
+    job.complete();
+    updateJob(job.jobId, entity -> {
+      entity.setStatus(IngestionJobStatus.COMPLETED);
+      entity.setFinishedAt(job.finishedAt);
+    });
+    // Una carga completa del catálogo deja la marca en su fecha de inicio,
+    // así la sincronización siguiente solo pide los cambios posteriores
+    if (job.lastUpdateTime == null) {
+      contentSyncService.advanceWatermark(ContentType.HOTELS,
+              job.startedAt.format(DateTimeFormatter.ISO_LOCAL_DATE), job.toResult());
+    }
+    evict(job);
+  }
+
+  /**
+   * Detiene un trabajo que otra instancia tomó al vencer su latido. Su estado no se
+   * escribe: el trabajo sigue en ejecución a nombre de la nueva dueña.
+   *
+   * @param job trabajo perdido
+   */
+  private void lose(JobProgress job) {
+    job.lose();
+    Disposable subscription = job.subscription;
+    if (subscription != null) {
+      subscription.dispose();
+    }
+    evict(job);
+  }
+
+  /**
+   * Quita de memoria un trabajo terminado y libera el lugar de carga. Su estado final
+   * ya quedó persistido y las consultas lo leen desde la base de datos.
+   *
+   * @param job trabajo terminado
+   */
+  private void evict(JobProgress job) {
+    if (jobs.remove(job.jobId, job)) {
+      contentLoadGuard.release(ContentLoadGuard.HOTEL_INGESTION);
+    }
+  }
+
+  private void updateJob(String jobId, Consumer<IngestionJob> update) {
+    transactionTemplate.executeWithoutResult(status ->
+            ingestionJobRepository.findById(jobId).ifPresent(entity -> {
+              update.accept(entity);
+              ingestionJobRepository.save(entity);
+            }));
+  }
+
+  private String truncate(String message) {
+    if (message == null || message.length() <= MAX_ERROR_LENGTH) {
+      return message;
+    }
+    return message.substring(0, MAX_ERROR_LENGTH);
+  }
+
+  private IngestionJobDto toDto(IngestionJob entity) {
+    return IngestionJobDto.builder()
+            .jobId(entity.getJobId())
+            .status(entity.getStatus())
+            .language(entity.getLanguages())
+            .lastUpdateTime(entity.getLastUpdateTime())
+            .pageSize(entity.getPageSize())
+            .totalHotels(entity.getTotalHotels())
+            .totalPages(entity.getTotalPages())
+            .pagesDone(entity.getPagesDone())
+            .hotelsSaved(entity.getHotelsSaved())
+            .startedAt(entity.getStartedAt())
+            .finishedAt(entity.getFinishedAt())
+            .error(entity.getError())
+            .build();
+  }
+
+  /**
+   * Progreso en memoria de un trabajo de ingesta en ejecución.
+   * Se conserva solo mientras el trabajo está en ejecución en esta instancia.
+   */
+  private static class JobProgress {
+
+    private final String jobId;
+
+    private final List<String> languages;
+
+    private final String lastUpdateTime;
+
+    private final int pageSize;
+
+    private final LocalDateTime startedAt;
+
+    private final long startedNanos = System.nanoTime();
+
+    // Páginas persistidas en ejecuciones anteriores del trabajo
+    private final Set<Integer> committedPages;
+
+    private final int savedBeforeRun;
+
+    private final AtomicInteger pagesDone = new AtomicInteger();
+
+    private final AtomicInteger hotelsSaved = new AtomicInteger();
+
+    // Hoteles descartados en esta ejecución, no se guardan en los puntos de control
+    private final AtomicInteger hotelsRejected = new AtomicInteger();
+
+    private volatile int totalHotels;
+
+    private volatile int totalPages = 1;
+
+    private volatile IngestionJobStatus status = IngestionJobStatus.RUNNING;
+
+    private volatile LocalDateTime finishedAt;
+
+    private volatile String error;
+
+    // Carga de páginas en curso, se cancela si otra instancia toma el trabajo
+    private volatile Disposable subscription;
+
+    JobProgress(IngestionJob entity, Set<Integer> committedPages) {
+      this.jobId = entity.getJobId();
+      this.languages = Arrays.asList(entity.getLanguages().split(","));
+      this.lastUpdateTime = entity.getLastUpdateTime();
+      this.pageSize = entity.getPageSize();
+      this.startedAt = entity.getStartedAt();
+      this.committedPages = committedPages;
+      this.savedBeforeRun = entity.getHotelsSaved() != null ? entity.getHotelsSaved() : 0;
+      this.hotelsSaved.set(savedBeforeRun);
+      if (entity.getTotalHotels() != null) {
+        setTotalHotels(entity.getTotalHotels());
+      }
+    }
+
+    void setTotalHotels(Integer total) {
+      totalHotels = total != null ? total : 0;
+      totalPages = Math.max(1, (totalHotels + pageSize - 1) / pageSize);
+      log.info("Ingesta {}: {} hoteles en {} páginas", jobId, totalHotels, totalPages);
+    }
+
+    void pageSaved(PageLoadResult page) {
+      hotelsSaved.addAndGet(page.getSaved());
+      hotelsRejected.addAndGet(page.getRejected());
+      int done = committedPages.size() + pagesDone.incrementAndGet();
+      log.info("Ingesta {}: página {}/{} persistida ({} hoteles)",
+              jobId, done, totalPages, page.getSaved());
+    }
+
+    PageLoadResult toResult() {
+      int saved = hotelsSaved.get();
+      int rejected = hotelsRejected.get();
+      return new PageLoadResult(saved + rejected, saved, rejected);
+    }
+
+    void fail(Throwable e) {
+      error = e.getMessage();
+      finishedAt = LocalDateTime.now();
+      status = IngestionJobStatus.FAILED;
+      log.error("Ingesta {} fallida tras {} páginas: {}", jobId, pagesDone.get(), error, e);
+    }
+
+    void lose() {
+      error = "Otra instancia tomó el trabajo";
+      finishedAt = LocalDateTime.now();
+      status = IngestionJobStatus.FAILED;
+      log.warn("Ingesta {}: otra instancia tomó el trabajo, se detiene tras {} páginas",
+              jobId, pagesDone.get());
+    }
+
+    void complete() {
+      finishedAt = LocalDateTime.now();
+      status = IngestionJobStatus.COMPLETED;
+      log.info("Ingesta {} completada: {} hoteles en {} páginas",
+              jobId, hotelsSaved.get(), committedPages.size() + pagesDone.get());
+    }
+
+    IngestionJobDto toDto() {
+      double elapsedSeconds = (System.nanoTime() - startedNanos) / 1_000_000_000.0;
+      int doneInRun = pagesDone.get();
+      int done = committedPages.size() + doneInRun;
+      int saved = hotelsSaved.get();
+
+      // El ritmo se calcula solo con lo procesado en esta ejecución
+      Double hotelsPerSecond = null;
+      Long eta = null;
+      if (doneInRun > 0 && elapsedSeconds > 0) {
+        hotelsPerSecond = (saved - savedBeforeRun) / elapsedSeconds;
+        if (status == IngestionJobStatus.RUNNING) {
+          eta = Math.round(elapsedSeconds / doneInRun * (totalPages - done));
+        }
+      }
+
+      return IngestionJobDto.builder()
+              .jobId(jobId)
+              .status(status)
+              .language(String.join(",", languages))
+              .lastUpdateTime(lastUpdateTime)
+              .pageSize(pageSize)
+              .totalHotels(totalHotels)
+              .totalPages(totalPages)
+              .pagesDone(done)
+              .hotelsSaved(saved)
+              .hotelsPerSecond(hotelsPerSecond)
+              .etaSeconds(eta)
+              .startedAt(startedAt)
+              .finishedAt(finishedAt)
+              .error(error)
+              .build();
+    }
+  }
+}
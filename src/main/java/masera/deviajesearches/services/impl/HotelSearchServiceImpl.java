@@ -1,45 +1,49 @@
 package masera.deviajesearches.services.impl;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import jakarta.persistence.EntityNotFoundException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import masera.deviajesearches.clients.HotelClient;
+import masera.deviajesearches.configs.AvailabilityFanOutConfig;
+import masera.deviajesearches.dtos.amadeus.request.AvailabilityPageRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelDetailsRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelFilterRequest;
 import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest;
-import masera.deviajesearches.dtos.amadeus.response.CountryDto;
-import masera.deviajesearches.dtos.amadeus.response.HotelResponseDto;
+import masera.deviajesearches.dtos.amadeus.request.MultiDestinationSearchRequest;
+import masera.deviajesearches.dtos.amadeus.response.AvailabilityHotelDto;
+import masera.deviajesearches.dtos.amadeus.response.AvailabilityPageDto;
+import masera.deviajesearches.dtos.amadeus.response.HotelDetailsResponse;
 import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.ContentDto;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.FacilityDto;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.ImageDto;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.InterestPointDto;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.IssueDto;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.PhoneDto;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.RoomDto;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.TerminalDto;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.WildcardDto;
-import masera.deviajesearches.dtos.amadeus.response.hotelbeds.segments.SegmentDto;
-import masera.deviajesearches.entities.FacilityId;
-import masera.deviajesearches.entities.Hotel;
-import masera.deviajesearches.entities.Segment;
-import masera.deviajesearches.repositories.AccommodationRepository;
-import masera.deviajesearches.repositories.CategoryRepository;
-import masera.deviajesearches.repositories.ChainRepository;
-import masera.deviajesearches.repositories.CountryRepository;
-import masera.deviajesearches.repositories.DestinationRepository;
-import masera.deviajesearches.repositories.FacilityGroupRepository;
-import masera.deviajesearches.repositories.FacilityRepository;
-import masera.deviajesearches.repositories.HotelRepository;
-import masera.deviajesearches.repositories.SegmentRepository;
-import masera.deviajesearches.repositories.TerminalRepository;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse.Hotel;
+import masera.deviajesearches.dtos.amadeus.response.MultiDestinationSearchResponse;
+import masera.deviajesearches.enums.AvailabilitySort;
+import masera.deviajesearches.enums.HotelDetailField;
+import masera.deviajesearches.enums.SearchLegStatus;
+import masera.deviajesearches.repositories.HotelFilterRepository;
+import masera.deviajesearches.services.availability.AvailabilityCache;
+import masera.deviajesearches.services.availability.AvailabilityCoalescer;
+import masera.deviajesearches.services.availability.AvailabilityCursor;
+import masera.deviajesearches.services.availability.AvailabilityKey;
+import masera.deviajesearches.services.availability.AvailabilityResultStore;
+import masera.deviajesearches.services.availability.AvailabilityResultStore.StoredResult;
+import masera.deviajesearches.services.interfaces.HotelDetailService;
 import masera.deviajesearches.services.interfaces.HotelSearchService;
-import org.modelmapper.ModelMapper;
+import masera.deviajesearches.utils.ReplicaReads;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * Implementación del servicio de búsqueda de hoteles.
@@ -50,272 +54,268 @@ import org.springframework.stereotype.Service;
 @Slf4j
 public class HotelSearchServiceImpl implements HotelSearchService {
 
-  private final HotelClient hotelClient;
-
-  private final HotelRepository hotelRepository;
+  private static final int DEFAULT_FILTER_LIMIT = 1000;
 
-  private final CountryRepository countryRepository;
+  private static final int DEFAULT_PAGE_SIZE = 20;
 
-  private final DestinationRepository destinationRepository;
-
-  private final CategoryRepository categoryRepository;
+  private final HotelClient hotelClient;
 
-  private final ChainRepository chainRepository;
+  private final HotelDetailService hotelDetailService;
 
-  private final AccommodationRepository accommodationRepository;
+  private final HotelFilterRepository hotelFilterRepository;
 
-  private final SegmentRepository segmentRepository;
+  private final AvailabilityCache availabilityCache;
 
-  private final FacilityRepository facilityRepository;
+  private final AvailabilityCoalescer availabilityCoalescer;
 
-  private final FacilityGroupRepository facilityGroupRepository;
+  private final AvailabilityResultStore availabilityResultStore;
 
-  private final TerminalRepository terminalRepository;
+  private final AvailabilityFanOutConfig fanOutConfig;
 
-  private final ModelMapper modelMapper;
+  private final ReplicaReads replicaReads;
 
   private final ObjectMapper objectMapper;
 
   @Override
   public HotelSearchResponse searchHotels(HotelSearchRequest request) {
     log.info("Buscando hoteles con los siguientes parámetros: {}", request);
-    return hotelClient.searchHotels(request).block();
+    return searchAvailability(AvailabilityKey.of(request), request).block();
   }
 
   @Override
-  public HotelResponseDto getHotelDetails(String hotelCode) {
-    log.info("Obteniendo detalles del hotel con código: {}", hotelCode);
-    Optional<Hotel> optionalHotel = hotelRepository.findByCode(hotelCode);
-
-    if (optionalHotel.isPresent()) {
-      Hotel hotel = optionalHotel.get();
-      HotelResponseDto responseDto = HotelResponseDto.builder()
-              .code(hotel.getCode())
-              .name(hotel.getName())
-              .description(hotel.getDescription())
-              .stateCode(hotel.getStateCode())
-              .address(hotel.getAddress())
-              .city(hotel.getCity())
-              .zoneCode(hotel.getZoneCode())
-              .email(hotel.getEmail())
-              .web(hotel.getWeb())
-              .ranking(hotel.getRanking())
-              .s2c(hotel.getS2c())
-              .build();
-      enrichWithRelatedEntities(hotel, responseDto);
-      processJsonFields(hotel, responseDto);
-
-      return responseDto;
-    } else {
-      throw new EntityNotFoundException("Hotel no encontrado con código: " + hotelCode);
+  public MultiDestinationSearchResponse searchHotels(MultiDestinationSearchRequest request) {
+    // Los destinos repetidos, aunque difieran en mayúsculas o espacios, se consultan una vez
+    Map<AvailabilityKey, HotelSearchRequest> legs = new LinkedHashMap<>();
+    for (HotelSearchRequest.Destination destination : request.getDestinations()) {
+      HotelSearchRequest leg = request.toSearch(destination);
+      legs.putIfAbsent(AvailabilityKey.of(leg), leg);
     }
+    log.info("Buscando hoteles en {} destinos", legs.size());
+
+    Duration timeout = Duration.ofMillis(fanOutConfig.getLegTimeoutMillis());
+    List<LegResult> results = Flux.fromIterable(legs.entrySet())
+            .flatMapSequential(leg -> searchAvailability(leg.getKey(), leg.getValue())
+                            .defaultIfEmpty(new HotelSearchResponse())
+                            .timeout(timeout)
+                            .map(response -> new LegResult(leg.getValue(), response, null))
+                            .onErrorResume(error -> {
+                              log.warn("Sin resultados del destino {}: {}",
+                                      leg.getKey().destinationCode(), error.toString());
+                              return Mono.just(new LegResult(leg.getValue(), null, error));
+                            }),
+                    Math.max(1, fanOutConfig.getMaxConcurrency()))
+            .collectList()
+            .block();
+    return merge(request, results != null ? results : List.of());
   }
 
-  /**
-   * Enriquece el DTO con las entidades relacionadas desde la base de datos.
-   *
-   * @param hotel entidad Hotel
-   * @param responseDto DTO de respuesta
-   */
-  private void enrichWithRelatedEntities(Hotel hotel, HotelResponseDto responseDto) {
-    if (hotel.getCountryCode() != null) {
-      countryRepository.findById(hotel.getCountryCode()).ifPresent(country ->
-              responseDto.setCountry(new CountryDto(
-                      country.getCode(),
-                      country.getName(),
-                      country.getIsoCode()
-              ))
-      );
+  @Override
+  public Flux<Hotel> streamHotels(HotelSearchRequest request) {
+    AvailabilityKey key = AvailabilityKey.of(request);
+    HotelSearchResponse cached = availabilityCache.get(key);
+    if (cached != null && cached.getHotels() != null && cached.getHotels().getHotels() != null) {
+      log.debug("Disponibilidad obtenida de la caché para {}", key);
+      return Flux.fromIterable(cached.getHotels().getHotels());
     }
 
-    if (hotel.getDestinationCode() != null) {
-      destinationRepository.findById(hotel.getDestinationCode()).ifPresent(destination ->
-              responseDto.setDestination(destination.getName())
-      );
-    }
+    log.info("Buscando en streaming hoteles con los siguientes parámetros: {}", request);
+    // Los hoteles no se acumulan para la caché, así la respuesta nunca está completa en memoria
+    return hotelClient.streamHotels(request);
+  }
 
-    if (hotel.getCategoryCode() != null) {
-      categoryRepository.findById(hotel.getCategoryCode()).ifPresent(category ->
-              responseDto.setCategory(category.getDescription())
-      );
+  @Override
+  public AvailabilityPageDto searchHotelsPage(AvailabilityPageRequest request) {
+    AvailabilitySort sort = AvailabilitySort.fromParameter(request.getSort());
+    if (sort == AvailabilitySort.DISTANCE
+            && (request.getLatitude() == null || request.getLongitude() == null)) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+              "Ordenar por distancia requiere latitude y longitude");
     }
-
-    if (hotel.getChainCode() != null) {
-      chainRepository.findById(hotel.getChainCode()).ifPresent(chain ->
-              responseDto.setChain(chain.getDescription())
-      );
+    HotelSearchResponse response = searchHotels(request.getSearch());
+    if (response == null) {
+      response = new HotelSearchResponse();
     }
 
-    if (hotel.getAccommodationTypeCode() != null) {
-      accommodationRepository.findById(hotel.getAccommodationTypeCode()).ifPresent(accommodation ->
-              responseDto.setAccommodationType(accommodation.getTypeDescription())
-      );
-    }
+    String resultId = availabilityResultStore.save(response, sort,
+            request.getLatitude(), request.getLongitude());
+    int pageSize = request.getPageSize() != null ? request.getPageSize() : DEFAULT_PAGE_SIZE;
+    return page(new AvailabilityCursor(resultId, 0, pageSize));
   }
 
-  /**
-   * Procesa los campos JSON de la entidad Hotel para el DTO.
-   *
-   * @param hotel entidad Hotel
-   * @param responseDto DTO de respuesta
-   */
-  private void processJsonFields(Hotel hotel, HotelResponseDto responseDto) {
-    try {
-      if (hotel.getImages() != null && !hotel.getImages().isEmpty()) {
-        List<ImageDto> images = objectMapper.readValue(
-                hotel.getImages(),
-                new TypeReference<>() {}
-        );
-        responseDto.setImages(images);
-      } else {
-        responseDto.setImages(new ArrayList<>());
-      }
+  @Override
+  public AvailabilityPageDto getHotelsPage(String cursor) {
+    return page(AvailabilityCursor.decode(cursor));
+  }
 
-      if (hotel.getFacilities() != null && !hotel.getFacilities().isEmpty()) {
-        List<FacilityDto> facilities = objectMapper.readValue(
-                hotel.getFacilities(),
-                new TypeReference<>() {}
-        );
+  @Override
+  public Hotel getAvailableHotel(String resultId, String hotelCode) {
+    HotelSearchResponse response = availabilityResultStore.get(resultId);
+    List<Hotel> hotels = response.getHotels() != null && response.getHotels().getHotels() != null
+            ? response.getHotels().getHotels() : List.of();
+    return hotels.stream()
+            .filter(hotel -> hotelCode.equals(hotel.getCode()))
+            .findFirst()
+            .orElseThrow(() -> new EntityNotFoundException(
+                    "Hotel " + hotelCode + " no encontrado en el resultado " + resultId));
+  }
 
-        enrichFacilities(facilities);
-        responseDto.setFacilities(facilities);
-      }
+  @Override
+  public byte[] getHotelDetails(String hotelCode, String language, List<String> fields) {
+    log.info("Obteniendo detalles del hotel con código: {} en idioma {}", hotelCode, language);
+    if (fields == null) {
+      return hotelDetailService.getHotelDetails(hotelCode, language);
+    }
+    return hotelDetailService.getHotelDetails(hotelCode, language,
+            HotelDetailField.fromParameters(fields));
+  }
 
-      if (hotel.getRooms() != null && !hotel.getRooms().isEmpty()) {
-        List<RoomDto> rooms = objectMapper.readValue(
-                hotel.getRooms(),
-                new TypeReference<>() {}
-        );
+  @Override
+  public byte[] getHotelDetails(HotelDetailsRequest request) {
+    log.info("Obteniendo detalles de {} hoteles en idioma {}",
+            request.getHotelCodes().size(), request.getLanguage());
+    Map<String, byte[]> details = hotelDetailService.getHotelDetails(
+            request.getHotelCodes(), request.getLanguage());
+
+    List<String> notFound = request.getHotelCodes().stream()
+            .filter(code -> !details.containsKey(code))
+            .distinct()
+            .toList();
+    // Los detalles ya serializados se copian tal cual dentro de la respuesta
+    List<RawValue> hotels = details.values().stream()
+            .map(json -> new RawValue(new String(json, StandardCharsets.UTF_8)))
+            .toList();
+    HotelDetailsResponse response = HotelDetailsResponse.builder()
+            .hotels(hotels)
+            .notFound(notFound)
+            .build();
+    try {
+      return objectMapper.writeValueAsBytes(response);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException(
+              "Error al serializar los detalles de hoteles: " + e.getMessage(), e);
+    }
+  }
 
-        for (RoomDto room : rooms) {
-          if (room.getRoomFacilities() != null && !room.getRoomFacilities().isEmpty()) {
-            enrichFacilities(room.getRoomFacilities());
-          }
-        }
+  @Override
+  public List<String> filterHotels(HotelFilterRequest request) {
+    log.info("Filtrando hoteles del destino {}", request.getDestinationCode());
+    int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_FILTER_LIMIT;
+    return replicaReads.read(() -> hotelFilterRepository.findCodes(request, limit));
+  }
 
-        responseDto.setRooms(rooms);
-      }
+  private AvailabilityPageDto page(AvailabilityCursor cursor) {
+    StoredResult result = availabilityResultStore.find(cursor.resultId());
+    HotelSearchResponse response = result.response();
+    List<Hotel> sorted = result.sorted();
+    int from = Math.min(cursor.offset(), sorted.size());
+    // Se compara contra lo que queda para no desbordar con posiciones cercanas al máximo
+    int to = from + Math.min(cursor.pageSize(), sorted.size() - from);
+
+    List<AvailabilityHotelDto> hotels = sorted.subList(from, to).stream()
+            .map(hotel -> toPageHotel(hotel, result))
+            .toList();
+    return AvailabilityPageDto.builder()
+            .resultId(cursor.resultId())
+            .total(sorted.size())
+            .checkIn(response.getHotels() != null ? response.getHotels().getCheckIn() : null)
+            .checkOut(response.getHotels() != null ? response.getHotels().getCheckOut() : null)
+            .hotels(hotels)
+            .nextCursor(to < sorted.size() ? cursor.next().encode() : null)
+            .build();
+  }
 
-      if (hotel.getPhones() != null && !hotel.getPhones().isEmpty()) {
-        List<PhoneDto> phones = objectMapper.readValue(
-                hotel.getPhones(),
-                new TypeReference<>() {}
-        );
-        responseDto.setPhones(phones);
-      } else {
-        responseDto.setPhones(new ArrayList<>());
-      }
+  private AvailabilityHotelDto toPageHotel(Hotel hotel, StoredResult result) {
+    Double distance = null;
+    if (result.sort() == AvailabilitySort.DISTANCE) {
+      double km = AvailabilitySort.distanceKm(hotel, result.latitude(), result.longitude());
+      distance = Double.isInfinite(km) ? null : Math.round(km * 100) / 100.0;
+    }
+    return AvailabilityHotelDto.builder()
+            .code(hotel.getCode())
+            .name(hotel.getName())
+            .categoryCode(hotel.getCategoryCode())
+            .categoryName(hotel.getCategoryName())
+            .destinationCode(hotel.getDestinationCode())
+            .zoneCode(hotel.getZoneCode())
+            .zoneName(hotel.getZoneName())
+            .latitude(hotel.getLatitude())
+            .longitude(hotel.getLongitude())
+            .minRate(hotel.getMinRate())
+            .maxRate(hotel.getMaxRate())
+            .currency(hotel.getCurrency())
+            .roomCount(hotel.getRooms() != null ? hotel.getRooms().size() : 0)
+            .distanceKm(distance)
+            .build();
+  }
 
-      if (hotel.getInterestPoints() != null && !hotel.getInterestPoints().isEmpty()) {
-        List<InterestPointDto> interestPoints = objectMapper.readValue(
-                hotel.getInterestPoints(),
-                new TypeReference<>() {}
-        );
-        responseDto.setInterestPoints(interestPoints);
-      } else {
-        responseDto.setInterestPoints(new ArrayList<>());
-      }
+  private Mono<HotelSearchResponse> searchAvailability(AvailabilityKey key,
+                                                       HotelSearchRequest request) {
+    HotelSearchResponse cached = availabilityCache.get(key);
+    if (cached != null) {
+      log.debug("Disponibilidad obtenida de la caché para {}", key);
+      return Mono.just(cached);
+    }
+    // La respuesta se guarda una sola vez, aunque varias solicitudes compartan la llamada.
+    // Si quien espera abandona por tiempo, la llamada sigue y su respuesta queda en caché.
+    return availabilityCoalescer.search(key, () -> hotelClient.searchHotels(request)
+            .doOnNext(response -> availabilityCache.put(key, response)));
+  }
 
-      if (hotel.getSegmentCodes() != null && !hotel.getSegmentCodes().isEmpty()) {
-        List<Integer> segmentCodes = objectMapper.readValue(
-                hotel.getSegmentCodes(),
-                new TypeReference<>() {}
-        );
-
-        List<SegmentDto> segments = new ArrayList<>();
-        for (Integer code : segmentCodes) {
-          Segment segment = segmentRepository.findById(code).orElse(null);
-          SegmentDto segmentDto = modelMapper.map(segment, SegmentDto.class);
-          segments.add(segmentDto);
+  private MultiDestinationSearchResponse merge(MultiDestinationSearchRequest request,
+                                               List<LegResult> results) {
+    // El primer destino en el que aparece un hotel es el que se conserva
+    Map<String, Hotel> hotels = new LinkedHashMap<>();
+    List<MultiDestinationSearchResponse.Leg> legs = new ArrayList<>();
+    Throwable failure = null;
+
+    for (LegResult result : results) {
+      SearchLegStatus status = SearchLegStatus.COMPLETED;
+      int count = 0;
+      if (result.error() != null) {
+        status = result.error() instanceof TimeoutException
+                ? SearchLegStatus.TIMEOUT : SearchLegStatus.FAILED;
+        failure = failure != null ? failure : result.error();
+      } else if (result.response().getHotels() != null
+              && result.response().getHotels().getHotels() != null) {
+        for (Hotel hotel : result.response().getHotels().getHotels()) {
+          hotels.putIfAbsent(hotel.getCode(), hotel);
+          count++;
         }
-        responseDto.setSegments(segments);
-      } else {
-        responseDto.setSegments(new ArrayList<>());
-      }
-
-      if (hotel.getTerminals() != null && !hotel.getTerminals().isEmpty()) {
-        List<TerminalDto> terminals = objectMapper.readValue(
-                hotel.getTerminals(),
-                new TypeReference<>() {}
-        );
-        enrichTerminals(terminals);
-        responseDto.setTerminals(terminals);
-      } else {
-        responseDto.setTerminals(new ArrayList<>());
-      }
-
-      if (hotel.getWildcards() != null && !hotel.getWildcards().isEmpty()) {
-        List<WildcardDto> wildcards = objectMapper.readValue(
-                hotel.getWildcards(),
-                new TypeReference<>() {}
-        );
-        responseDto.setWildcards(wildcards);
-      } else {
-        responseDto.setWildcards(new ArrayList<>());
-      }
-
-      if (hotel.getIssues() != null && !hotel.getIssues().isEmpty()) {
-        List<IssueDto> issues = objectMapper.readValue(
-                hotel.getIssues(),
-                new TypeReference<>() {}
-        );
-        responseDto.setIssues(issues);
-      } else {
-        responseDto.setIssues(new ArrayList<>());
       }
-
-    } catch (JsonProcessingException e) {
-      log.error("Error al procesar campos JSON del hotel {}: {}",
-              hotel.getCode(), e.getMessage(), e);
+      legs.add(MultiDestinationSearchResponse.Leg.builder()
+              .code(result.request().getDestination().getCode())
+              .zoneCode(result.request().getDestination().getZoneCode())
+              .status(status)
+              .hotels(count)
+              .build());
     }
-  }
 
-  /**
-   * Enriquece las facilities con nombres desde las entidades Facility y FacilityGroup.
-   *
-   * @param facilities lista de facilities a enriquecer
-   */
-  private void enrichFacilities(List<FacilityDto> facilities) {
-    for (FacilityDto facilityDto : facilities) {
-
-      if (facilityDto.getFacilityCode() != null && facilityDto.getFacilityGroupCode() != null) {
-
-        facilityRepository.findById(new FacilityId(
-                facilityDto.getFacilityCode(),
-                facilityDto.getFacilityGroupCode()
-        )).ifPresent(facility -> {
-          facilityDto.setDescription(new ContentDto());
-          facilityDto.getDescription().setContent(facility.getDescription());
-
-          facilityGroupRepository
-                  .findById(facilityDto.getFacilityGroupCode())
-                  .ifPresent(facilityGroup -> {
-                    facilityDto.setFacilityGroupName(facilityGroup.getDescription());
-                    facilityDto.setFacilityGroupCode(facilityGroup.getCode());
-                  });
-        });
+    if (failure != null && legs.stream()
+            .noneMatch(leg -> leg.getStatus() == SearchLegStatus.COMPLETED)) {
+      if (failure instanceof RuntimeException e) {
+        throw e;
       }
+      throw new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT,
+              "Ningún destino respondió a tiempo");
     }
+
+    HotelSearchResponse.HotelsResponse combined = new HotelSearchResponse.HotelsResponse(
+            new ArrayList<>(hotels.values()),
+            request.getStay().getCheckIn().toString(),
+            request.getStay().getCheckOut().toString(),
+            hotels.size());
+    return MultiDestinationSearchResponse.builder()
+            .hotels(combined)
+            .partial(failure != null)
+            .destinations(legs)
+            .build();
   }
 
   /**
-   * Enriquece las terminales con nombres y descripción.
-   *
-   * @param terminals lista de terminales a enriquecer
+   * Resultado de la búsqueda de uno de los destinos: su respuesta o el error que la impidió.
    */
-  private void enrichTerminals(List<TerminalDto> terminals) {
-    for (TerminalDto terminalDto : terminals) {
-
-      if (terminalDto.getTerminalCode() != null) {
-
-        terminalRepository.findById(terminalDto.getTerminalCode()).ifPresent(terminal -> {
-
-          terminalDto.setName(new ContentDto());
-          terminalDto.getName().setContent(terminal.getName());
-          terminalDto.setDescription(new ContentDto());
-          terminalDto.getDescription().setContent(terminal.getDescription());
-        });
-      }
-    }
+  private record LegResult(HotelSearchRequest request,
+                           HotelSearchResponse response,
+                           Throwable error) {
   }
 }
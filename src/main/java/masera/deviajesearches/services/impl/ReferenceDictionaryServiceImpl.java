@@ -0,0 +1,235 @@
+package masera.deviajesearches.services.impl;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.entities.Accommodation;
+import masera.deviajesearches.entities.Category;
+import masera.deviajesearches.entities.Chain;
+import masera.deviajesearches.entities.Country;
+import masera.deviajesearches.entities.Destination;
+import masera.deviajesearches.entities.Facility;
+import masera.deviajesearches.entities.FacilityGroup;
+import masera.deviajesearches.entities.Segment;
+import masera.deviajesearches.entities.Terminal;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.repositories.AccommodationRepository;
+import masera.deviajesearches.repositories.CategoryRepository;
+import masera.deviajesearches.repositories.ChainRepository;
+import masera.deviajesearches.repositories.CountryRepository;
+import masera.deviajesearches.repositories.DestinationRepository;
+import masera.deviajesearches.repositories.FacilityGroupRepository;
+import masera.deviajesearches.repositories.FacilityRepository;
+import masera.deviajesearches.repositories.SegmentRepository;
+import masera.deviajesearches.repositories.TerminalRepository;
+import masera.deviajesearches.services.dictionary.ReferenceDictionary;
+import masera.deviajesearches.services.dictionary.ReferenceDictionary.CountryEntry;
+import masera.deviajesearches.services.dictionary.ReferenceDictionary.TerminalEntry;
+import masera.deviajesearches.services.dictionary.ReferenceDictionaryChanges;
+import masera.deviajesearches.services.dictionary.ReferenceDictionaryReloadedEvent;
+import masera.deviajesearches.services.interfaces.ReferenceDictionaryService;
+import masera.deviajesearches.services.pipeline.ReferenceDataChangedEvent;
+import masera.deviajesearches.utils.LongKeyMap;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Implementación del servicio de diccionarios de contenido de referencia.
+ * Carga las tablas de referencia completas en una foto inmutable y la publica
+ * con un reemplazo atómico, de modo que las lecturas nunca consultan la base
+ * de datos ni ven una foto a medio construir. Cada carga de contenido de
+ * referencia dispara una recarga en segundo plano.
+ */
+@Service
+@Slf4j
+public class ReferenceDictionaryServiceImpl implements ReferenceDictionaryService {
+
+  private final CountryRepository countryRepository;
+
+  private final DestinationRepository destinationRepository;
+
+  private final CategoryRepository categoryRepository;
+
+  private final ChainRepository chainRepository;
+
+  private final AccommodationRepository accommodationRepository;
+
+  private final TerminalRepository terminalRepository;
+
+  private final FacilityRepository facilityRepository;
+
+  private final FacilityGroupRepository facilityGroupRepository;
+
+  private final SegmentRepository segmentRepository;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  private final Executor referenceDictionaryExecutor;
+
+  private final AtomicReference<ReferenceDictionary> dictionary =
+          new AtomicReference<>(ReferenceDictionary.EMPTY);
+
+  private final AtomicBoolean reloadPending = new AtomicBoolean();
+
+  /**
+   * Constructor del servicio.
+   *
+   * @param countryRepository repositorio de países
+   * @param destinationRepository repositorio de destinos
+   * @param categoryRepository repositorio de categorías
+   * @param chainRepository repositorio de cadenas
+   * @param accommodationRepository repositorio de tipos de alojamiento
+   * @param terminalRepository repositorio de terminales
+   * @param facilityRepository repositorio de facilities
+   * @param facilityGroupRepository repositorio de grupos de facilities
+   * @param segmentRepository repositorio de segmentos
+   * @param eventPublisher publicador de eventos de la aplicación
+   * @param referenceDictionaryExecutor ejecutor de las recargas
+   */
+  public ReferenceDictionaryServiceImpl(
+          CountryRepository countryRepository,
+          DestinationRepository destinationRepository,
+          CategoryRepository categoryRepository,
+          ChainRepository chainRepository,
+          AccommodationRepository accommodationRepository,
+          TerminalRepository terminalRepository,
+          FacilityRepository facilityRepository,
+          FacilityGroupRepository facilityGroupRepository,
+          SegmentRepository segmentRepository,
+          ApplicationEventPublisher eventPublisher,
+          @Qualifier("referenceDictionaryExecutor") Executor referenceDictionaryExecutor) {
+    this.countryRepository = countryRepository;
+    this.destinationRepository = destinationRepository;
+    this.categoryRepository = categoryRepository;
+    this.chainRepository = chainRepository;
+    this.accommodationRepository = accommodationRepository;
+    this.terminalRepository = terminalRepository;
+    this.facilityRepository = facilityRepository;
+    this.facilityGroupRepository = facilityGroupRepository;
+    this.segmentRepository = segmentRepository;
+    this.eventPublisher = eventPublisher;
+    this.referenceDictionaryExecutor = referenceDictionaryExecutor;
+  }
+
+  @Override
+  public ReferenceDictionary getDictionary() {
+    ReferenceDictionary current = dictionary.get();
+    if (current == ReferenceDictionary.EMPTY) {
+      synchronized (this) {
+        current = dictionary.get();
+        if (current == ReferenceDictionary.EMPTY) {
+          current = load();
+          dictionary.set(current);
+        }
+      }
+    }
+    return current;
+  }
+
+  @Override
+  public void reload() {
+    // Si ya hay una recarga en cola, esa misma incluirá los cambios recientes
+    if (reloadPending.compareAndSet(false, true)) {
+      referenceDictionaryExecutor.execute(this::runReload);
+    }
+  }
+
+  /**
+   * Carga la primera foto de los diccionarios al iniciar la aplicación.
+   */
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadOnStartup() {
+    referenceDictionaryExecutor.execute(this::getDictionary);
+  }
+
+  /**
+   * Recarga los diccionarios cuando se guarda contenido de referencia que forma
+   * parte de ellos.
+   *
+   * @param event evento de contenido de referencia guardado
+   */
+  @EventListener
+  public void onReferenceDataChanged(ReferenceDataChangedEvent event) {
+    if (event.getContentType() == ContentType.BOARDS
+            || event.getContentType() == ContentType.HOTELS) {
+      return;
+    }
+    reload();
+  }
+
+  private void runReload() {
+    reloadPending.set(false);
+    try {
+      ReferenceDictionary loaded = load();
+      ReferenceDictionary previous;
+      // Espera a que termine una carga inicial en curso para no ser pisada por ella
+      synchronized (this) {
+        previous = dictionary.getAndSet(loaded);
+      }
+      eventPublisher.publishEvent(new ReferenceDictionaryReloadedEvent(loaded,
+              ReferenceDictionaryChanges.between(previous, loaded)));
+    } catch (RuntimeException e) {
+      // Se sigue sirviendo la foto anterior
+      log.error("Error al recargar los diccionarios de referencia: {}", e.getMessage(), e);
+    }
+  }
+
+  private ReferenceDictionary load() {
+    long start = System.currentTimeMillis();
+    List<Facility> facilities = facilityRepository.findAll();
+    List<FacilityGroup> facilityGroups = facilityGroupRepository.findAll();
+    List<Segment> segments = segmentRepository.findAll();
+
+    ReferenceDictionary loaded = ReferenceDictionary.builder()
+            .countries(index(countryRepository.findAll(), Country::getCode,
+                    country -> new CountryEntry(
+                            country.getCode(), country.getName(), country.getIsoCode())))
+            .destinations(index(destinationRepository.findAll(),
+                    Destination::getCode, Destination::getName))
+            .categories(index(categoryRepository.findAll(),
+                    Category::getCode, Category::getDescription))
+            .chains(index(chainRepository.findAll(),
+                    Chain::getCode, Chain::getDescription))
+            .accommodations(index(accommodationRepository.findAll(),
+                    Accommodation::getCode, Accommodation::getTypeDescription))
+            .terminals(index(terminalRepository.findAll(), Terminal::getCode,
+                    terminal -> new TerminalEntry(terminal.getName(), terminal.getDescription())))
+            .facilities(LongKeyMap.of(facilities,
+                    facility -> ReferenceDictionary.facilityKey(
+                            facility.getCode(), facility.getFacilityGroupCode()),
+                    Facility::getDescription))
+            .facilityGroups(LongKeyMap.of(facilityGroups,
+                    FacilityGroup::getCode, FacilityGroup::getDescription))
+            .segments(LongKeyMap.of(segments, Segment::getCode, Segment::getContent))
+            .loadedAt(LocalDateTime.now())
+            .build();
+
+    log.info("Diccionarios de referencia cargados en {} ms: {} facilities, {} terminales,"
+                    + " {} destinos", System.currentTimeMillis() - start,
+            loaded.getFacilities().size(), loaded.getTerminals().size(),
+            loaded.getDestinations().size());
+    return loaded;
+  }
+
+  private <E, V> Map<String, V> index(List<E> entities, Function<E, String> keyExtractor,
+                                      Function<E, V> valueExtractor) {
+    Map<String, V> index = new HashMap<>();
+    for (E entity : entities) {
+      String key = keyExtractor.apply(entity);
+      V value = valueExtractor.apply(entity);
+      if (key != null && value != null) {
+        index.putIfAbsent(key, value);
+      }
+    }
+    return Map.copyOf(index);
+  }
+}
@@ -0,0 +1,29 @@
+package masera.deviajesearches.services.interfaces;
+
+import masera.deviajesearches.dtos.amadeus.response.ContentBootstrapDto;
+import org.springframework.stereotype.Service;
+
+/**
+ * Interfaz que define la carga inicial de todo el contenido de referencia.
+ */
+@Service
+public interface ContentBootstrapService {
+
+  /**
+   * Inicia en segundo plano la carga de todos los tipos de contenido respetando sus
+   * dependencias. Los tipos independientes entre sí se cargan en paralelo y el catálogo
+   * de hoteles se delega en un trabajo de ingesta.
+   *
+   * @param language idioma
+   * @param includeHotels si también se debe cargar el catálogo de hoteles
+   * @return estado inicial de la carga
+   */
+  ContentBootstrapDto bootstrap(String language, boolean includeHotels);
+
+  /**
+   * Obtiene el estado de la última carga inicial.
+   *
+   * @return estado de la carga y de cada tipo de contenido
+   */
+  ContentBootstrapDto getBootstrap();
+}
@@ -0,0 +1,50 @@
+package masera.deviajesearches.services.interfaces;
+
+import java.util.List;
+import java.util.Map;
+import masera.deviajesearches.dtos.amadeus.response.SyncWatermarkDto;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
+import org.springframework.stereotype.Service;
+
+/**
+ * Interfaz que define los métodos para la sincronización incremental del contenido.
+ */
+@Service
+public interface ContentSyncService {
+
+  /**
+   * Carga todas las páginas de un tipo de contenido desde la API de Hotelbeds.
+   *
+   * @param contentType tipo de contenido
+   * @param language idioma
+   * @param lastUpdateTime (Opcional) fecha de última actualización
+   * @return registros recibidos, guardados y descartados
+   */
+  PageLoadResult loadAll(ContentType contentType, String language, String lastUpdateTime);
+
+  /**
+   * Sincroniza los cambios de todos los tipos de contenido desde su última marca.
+   * Cada marca avanza solo si la carga de su tipo finalizó correctamente.
+   *
+   * @return registros recibidos, guardados y descartados por tipo de contenido
+   */
+  Map<ContentType, PageLoadResult> syncAll();
+
+  /**
+   * Registra la marca de sincronización de un tipo de contenido.
+   * Si la marca guardada es posterior se conserva, de modo que la marca nunca retrocede.
+   *
+   * @param contentType tipo de contenido
+   * @param lastUpdateTime fecha desde la que se pedirán cambios en la próxima sincronización
+   * @param result registros guardados y descartados en la carga
+   */
+  void advanceWatermark(ContentType contentType, String lastUpdateTime, PageLoadResult result);
+
+  /**
+   * Obtiene las marcas de sincronización registradas.
+   *
+   * @return lista de marcas
+   */
+  List<SyncWatermarkDto> getWatermarks();
+}
@@ -0,0 +1,28 @@
+package masera.deviajesearches.services.interfaces;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Interfaz que define los métodos para migrar los hoteles ya guardados a las
+ * nuevas formas de almacenamiento: el contenido empaquetado y las tablas de relación.
+ */
+@Service
+public interface HotelContentMigrationService {
+
+  /**
+   * Reescribe por lotes todos los hoteles que aún tienen las columnas JSON como texto.
+   * No hace nada si el empaquetado no está activo.
+   *
+   * @return cantidad de hoteles reescritos
+   */
+  int migrate();
+
+  /**
+   * Completa por lotes las tablas de relación de los hoteles guardados antes de existir.
+   * Cada hotel queda marcado como indexado, aunque no tenga relaciones, para no
+   * volver a procesarlo en el siguiente arranque.
+   *
+   * @return cantidad de hoteles completados
+   */
+  int migrateRelations();
+}
@@ -3,7 +3,12 @@ package masera.deviajesearches.services.interfaces;
 import java.util.List;
 import masera.deviajesearches.dtos.amadeus.response.CityDto;
 import masera.deviajesearches.dtos.amadeus.response.CountryDto;
+import masera.deviajesearches.dtos.amadeus.response.HotelCatalogPageDto;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.HotelDto;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
 /**
  * Interfaz que define los métodos para la carga y actualización de hoteles.
@@ -22,6 +27,46 @@ public interface HotelContentService {
    */
   Integer loadHotels(int from, int to, String language, String lastUpdateTime);
 
+  /**
+   * Descarga una página de hoteles en cada idioma indicado y la guarda por lotes. El idioma
+   * principal se guarda primero, porque las traducciones completan sus datos base, y los
+   * demás idiomas se descargan después en paralelo.
+   *
+   * @param from índice inicial
+   * @param to índice final
+   * @param languages idiomas a descargar
+   * @param lastUpdateTime (Opcional) fecha de última actualización
+   * @return Mono con los hoteles recibidos y guardados del primer idioma y los descartados
+   *         en todos los idiomas
+   */
+  Mono<PageLoadResult> ingestHotels(
+          int from, int to, List<String> languages, String lastUpdateTime);
+
+  /**
+   * Carga una página de cualquier tipo de contenido desde la API de Hotelbeds.
+   * Los hoteles se cargan en todos los idiomas configurados.
+   *
+   * @param contentType tipo de contenido
+   * @param from índice inicial
+   * @param to índice final
+   * @param language idioma del contenido de referencia
+   * @param lastUpdateTime (Opcional) fecha de última actualización
+   * @return registros recibidos, guardados y descartados de la página
+   */
+  PageLoadResult loadContentPage(ContentType contentType, int from, int to,
+                                 String language, String lastUpdateTime);
+
+  /**
+   * Guarda en la base de datos una página de hoteles ya obtenida de Hotelbeds.
+   * Los textos se guardan como traducción del idioma indicado y los datos base
+   * del hotel solo se escriben cuando el idioma es el principal.
+   *
+   * @param hotels hoteles a guardar
+   * @param language idioma en el que se obtuvieron los hoteles
+   * @return cantidad de hoteles guardados
+   */
+  Integer saveHotels(List<HotelDto> hotels, String language);
+
   /**
    * Obtiene todos los países de la base de datos.
    *
@@ -38,6 +83,21 @@ public interface HotelContentService {
    */
   List<CityDto> searchDestinations(String keyword);
 
+  /**
+   * Obtiene una página del catálogo de hoteles, en orden de código.
+   *
+   * @param destinationCode (Opcional) código de destino
+   * @param countryCode (Opcional) código de país
+   * @param chainCode (Opcional) código de cadena
+   * @param categoryCode (Opcional) código de categoría
+   * @param after (Opcional) cursor devuelto por la página anterior
+   * @param limit (Opcional) cantidad máxima de hoteles por página
+   * @return hoteles de la página y cursor de la siguiente
+   */
+  HotelCatalogPageDto getHotelCatalog(String destinationCode, String countryCode,
+                                      String chainCode, String categoryCode,
+                                      String after, Integer limit);
+
   /**
    * Carga países desde la API de Hotelbeds y los guarda en la base de datos.
    *
@@ -0,0 +1,58 @@
+package masera.deviajesearches.services.interfaces;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import masera.deviajesearches.enums.HotelDetailField;
+import org.springframework.stereotype.Service;
+
+/**
+ * Interfaz que define los métodos para armar y consultar el detalle de los hoteles.
+ * El detalle se arma durante la ingesta y se guarda listo para responder.
+ */
+@Service
+public interface HotelDetailService {
+
+  /**
+   * Obtiene el detalle ya armado de un hotel, serializado tal como se responde.
+   *
+   * @param hotelCode código del hotel
+   * @param language (Opcional) idioma de los textos, por defecto el idioma principal
+   * @return JSON del detalle del hotel
+   */
+  byte[] getHotelDetails(String hotelCode, String language);
+
+  /**
+   * Obtiene el detalle de un hotel con sus datos básicos y solo los campos pedidos.
+   *
+   * @param hotelCode código del hotel
+   * @param language (Opcional) idioma de los textos, por defecto el idioma principal
+   * @param fields campos opcionales a incluir
+   * @return JSON del detalle del hotel
+   */
+  byte[] getHotelDetails(String hotelCode, String language, Set<HotelDetailField> fields);
+
+  /**
+   * Obtiene el detalle ya armado de varios hoteles con una consulta por lote.
+   *
+   * @param hotelCodes códigos de hotel
+   * @param language (Opcional) idioma de los textos, por defecto el idioma principal
+   * @return JSON de los detalles encontrados por código de hotel, en el orden solicitado
+   */
+  Map<String, byte[]> getHotelDetails(Collection<String> hotelCodes, String language);
+
+  /**
+   * Arma y guarda nuevamente el detalle de los hoteles indicados.
+   *
+   * @param hotelCodes códigos de hotel
+   * @param language (Opcional) idioma a regenerar, por defecto todos los configurados
+   * @return cantidad de detalles escritos
+   */
+  int rebuildDocuments(Collection<String> hotelCodes, String language);
+
+  /**
+   * Solicita en segundo plano la regeneración del detalle de todos los hoteles.
+   * Las solicitudes que llegan mientras otra está pendiente se agrupan en una sola.
+   */
+  void rebuildAllDocuments();
+}
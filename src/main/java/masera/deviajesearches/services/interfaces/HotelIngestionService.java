@@ -0,0 +1,45 @@
+package masera.deviajesearches.services.interfaces;
+
+import java.util.List;
+import masera.deviajesearches.dtos.amadeus.response.IngestionJobDto;
+import org.springframework.stereotype.Service;
+
+/**
+ * Interfaz que define los métodos para la ingesta completa del catálogo de hoteles.
+ */
+@Service
+public interface HotelIngestionService {
+
+  /**
+   * Inicia en segundo plano la carga de todas las páginas del catálogo de hoteles.
+   *
+   * @param language (Opcional) idioma, si no se indica se cargan todos los configurados
+   * @param lastUpdateTime (Opcional) fecha de última actualización
+   * @return estado inicial del trabajo
+   */
+  IngestionJobDto startHotelIngestion(String language, String lastUpdateTime);
+
+  /**
+   * Retoma en segundo plano un trabajo fallido o interrumpido desde sus puntos de control.
+   * Solo se descargan las páginas que aún no habían sido persistidas.
+   *
+   * @param jobId identificador del trabajo
+   * @return estado del trabajo retomado
+   */
+  IngestionJobDto resumeHotelIngestion(String jobId);
+
+  /**
+   * Obtiene el estado de un trabajo de ingesta.
+   *
+   * @param jobId identificador del trabajo
+   * @return estado del trabajo
+   */
+  IngestionJobDto getJob(String jobId);
+
+  /**
+   * Obtiene el estado de todos los trabajos de ingesta conocidos.
+   *
+   * @return lista de trabajos
+   */
+  List<IngestionJobDto> getJobs();
+}
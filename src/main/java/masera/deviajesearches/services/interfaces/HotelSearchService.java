@@ -1,9 +1,16 @@
 package masera.deviajesearches.services.interfaces;
 
+import java.util.List;
+import masera.deviajesearches.dtos.amadeus.request.AvailabilityPageRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelDetailsRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelFilterRequest;
 import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest;
-import masera.deviajesearches.dtos.amadeus.response.HotelResponseDto;
+import masera.deviajesearches.dtos.amadeus.request.MultiDestinationSearchRequest;
+import masera.deviajesearches.dtos.amadeus.response.AvailabilityPageDto;
 import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse;
+import masera.deviajesearches.dtos.amadeus.response.MultiDestinationSearchResponse;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
 /**
  * Interfaz que define los métodos para la búsqueda de hoteles.
@@ -19,11 +26,75 @@ public interface HotelSearchService {
    */
   HotelSearchResponse searchHotels(HotelSearchRequest request);
 
+  /**
+   * Busca hoteles en varios destinos o zonas en paralelo y combina los resultados,
+   * sin repetir hoteles. Los destinos que no responden a tiempo quedan fuera del
+   * resultado, que se marca como parcial.
+   *
+   * @param request criterios de búsqueda comunes y destinos a buscar
+   * @return hoteles combinados y el resultado de cada destino
+   */
+  MultiDestinationSearchResponse searchHotels(MultiDestinationSearchRequest request);
+
+  /**
+   * Busca hoteles y los emite uno a uno a medida que se leen de la respuesta de
+   * Hotelbeds, sin esperar la respuesta completa.
+   *
+   * @param request solicitud de búsqueda de hoteles
+   * @return Flux con los hoteles disponibles
+   */
+  Flux<HotelSearchResponse.Hotel> streamHotels(HotelSearchRequest request);
+
+  /**
+   * Busca hoteles disponibles, guarda el resultado en el servidor y devuelve su
+   * primera página ordenada.
+   *
+   * @param request búsqueda, criterio de orden y tamaño de página
+   * @return primera página de hoteles, sin habitaciones
+   */
+  AvailabilityPageDto searchHotelsPage(AvailabilityPageRequest request);
+
+  /**
+   * Obtiene la página siguiente de un resultado de disponibilidad guardado.
+   *
+   * @param cursor cursor recibido en la página anterior
+   * @return página de hoteles, sin habitaciones
+   */
+  AvailabilityPageDto getHotelsPage(String cursor);
+
+  /**
+   * Obtiene un hotel de un resultado de disponibilidad guardado, con sus habitaciones
+   * y tarifas.
+   *
+   * @param resultId identificador del resultado guardado
+   * @param hotelCode código del hotel
+   * @return hotel con sus habitaciones y tarifas
+   */
+  HotelSearchResponse.Hotel getAvailableHotel(String resultId, String hotelCode);
+
   /**
    * Obtiene detalles de un hotel específico.
    *
    * @param hotelCode código del hotel
-   * @return detalles del hotel
+   * @param language (Opcional) idioma de los textos, por defecto el idioma principal
+   * @param fields (Opcional) campos opcionales a incluir, por defecto todos
+   * @return JSON con los detalles del hotel
+   */
+  byte[] getHotelDetails(String hotelCode, String language, List<String> fields);
+
+  /**
+   * Obtiene detalles de varios hoteles en una sola operación.
+   *
+   * @param request códigos de hotel e idioma
+   * @return JSON con los detalles de los hoteles encontrados y los códigos no encontrados
+   */
+  byte[] getHotelDetails(HotelDetailsRequest request);
+
+  /**
+   * Filtra los hoteles de un destino por su contenido guardado, sin consultar a Hotelbeds.
+   *
+   * @param request destino y filtros a aplicar
+   * @return códigos de los hoteles que cumplen los filtros
    */
-  HotelResponseDto getHotelDetails(String hotelCode);
+  List<String> filterHotels(HotelFilterRequest request);
 }
@@ -0,0 +1,26 @@
+package masera.deviajesearches.services.interfaces;
+
+import masera.deviajesearches.services.dictionary.ReferenceDictionary;
+import org.springframework.stereotype.Service;
+
+/**
+ * Interfaz que define los métodos para acceder a los diccionarios de contenido
+ * de referencia guardados en memoria.
+ */
+@Service
+public interface ReferenceDictionaryService {
+
+  /**
+   * Obtiene la última foto publicada de los diccionarios.
+   * Si aún no se cargó ninguna, la carga en el momento.
+   *
+   * @return foto inmutable de los diccionarios
+   */
+  ReferenceDictionary getDictionary();
+
+  /**
+   * Solicita en segundo plano la recarga de los diccionarios.
+   * Las solicitudes que llegan mientras otra está pendiente se agrupan en una sola.
+   */
+  void reload();
+}
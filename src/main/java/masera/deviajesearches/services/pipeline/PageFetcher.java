@@ -0,0 +1,23 @@
+package masera.deviajesearches.services.pipeline;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Obtiene una página de contenido desde la API de Hotelbeds.
+ *
+ * @param <R> tipo de la respuesta de la API
+ */
+@FunctionalInterface
+public interface PageFetcher<R> {
+
+  /**
+   * Obtiene una página de contenido.
+   *
+   * @param from índice inicial
+   * @param to índice final
+   * @param language idioma
+   * @param lastUpdateTime (Opcional) fecha de última actualización
+   * @return Mono con la respuesta de la API
+   */
+  Mono<R> fetch(int from, int to, String language, String lastUpdateTime);
+}
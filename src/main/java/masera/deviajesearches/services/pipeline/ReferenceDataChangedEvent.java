@@ -0,0 +1,17 @@
+package masera.deviajesearches.services.pipeline;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import masera.deviajesearches.enums.ContentType;
+
+/**
+ * Evento publicado cuando se guardan registros de un tipo de contenido de referencia.
+ */
+@Getter
+@AllArgsConstructor
+public class ReferenceDataChangedEvent {
+
+  private final ContentType contentType;
+
+  private final int count;
+}
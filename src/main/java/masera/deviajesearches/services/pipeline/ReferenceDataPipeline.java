@@ -0,0 +1,172 @@
+package masera.deviajesearches.services.pipeline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+import masera.deviajesearches.configs.IngestionConfig;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Pipeline genérico de ingesta de contenido de referencia: obtener, mapear y
+ * guardar por lotes. Cada lote se escribe en una única transacción, precargando
+ * las filas existentes con una sola consulta para que Hibernate agrupe los
+ * INSERT y UPDATE en lotes JDBC en lugar de consultar y guardar fila a fila.
+ */
+@Component
+@Slf4j
+public class ReferenceDataPipeline {
+
+  private static final String ROWS_METRIC = "hotelbeds.content.rows";
+
+  private static final String BATCH_METRIC = "hotelbeds.content.batch";
+
+  private final TransactionTemplate transactionTemplate;
+
+  private final IngestionConfig ingestionConfig;
+
+  private final MeterRegistry meterRegistry;
+
+  private final ApplicationEventPublisher eventPublisher;
+
+  @PersistenceContext
+  private EntityManager entityManager;
+
+  /**
+   * Constructor del pipeline.
+   *
+   * @param transactionManager gestor de transacciones
+   * @param ingestionConfig configuración de la ingesta
+   * @param meterRegistry registro de métricas
+   * @param eventPublisher publicador de eventos de la aplicación
+   */
+  public ReferenceDataPipeline(PlatformTransactionManager transactionManager,
+                               IngestionConfig ingestionConfig,
+                               MeterRegistry meterRegistry,
+                               ApplicationEventPublisher eventPublisher) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.ingestionConfig = ingestionConfig;
+    this.meterRegistry = meterRegistry;
+    this.eventPublisher = eventPublisher;
+  }
+
+  /**
+   * Obtiene una página de contenido y la guarda por lotes.
+   *
+   * @param stage etapa que describe el tipo de contenido
+   * @param from índice inicial
+   * @param to índice final
+   * @param language idioma
+   * @param lastUpdateTime (Opcional) fecha de última actualización
+   * @param <R> tipo de la respuesta de la API
+   * @param <D> tipo de cada elemento de la respuesta
+   * @param <E> tipo de la entidad a guardar
+   * @param <I> tipo del identificador de la entidad
+   * @return registros recibidos, guardados y descartados
+   */
+  public <R, D, E, I> PageLoadResult run(ReferenceDataStage<R, D, E, I> stage,
+                              int from, int to, String language, String lastUpdateTime) {
+    R response = stage.getFetcher().fetch(from, to, language, lastUpdateTime).block();
+    List<D> items = response != null ? stage.getExtractor().apply(response) : null;
+    return write(stage, items != null ? items : List.of());
+  }
+
+  /**
+   * Mapea y guarda los elementos por lotes, una transacción por lote.
+   *
+   * @param stage etapa que describe el tipo de contenido
+   * @param items elementos obtenidos de la API
+   * @param <R> tipo de la respuesta de la API
+   * @param <D> tipo de cada elemento de la respuesta
+   * @param <E> tipo de la entidad a guardar
+   * @param <I> tipo del identificador de la entidad
+   * @return registros recibidos, guardados y descartados
+   */
+  public <R, D, E, I> PageLoadResult write(ReferenceDataStage<R, D, E, I> stage, List<D> items) {
+    String type = stage.getContentType().name();
+    Timer batchTimer = Timer.builder(BATCH_METRIC)
+            .description("Duración de la escritura de un lote de contenido de referencia")
+            .tag("type", type)
+            .register(meterRegistry);
+    Counter savedCounter = rowsCounter(type, "saved");
+    Counter rejectedCounter = rowsCounter(type, "rejected");
+
+    int batchSize = Math.max(1, ingestionConfig.getBatchSize());
+    int saved = 0;
+    int rejected = 0;
+
+    for (int start = 0; start < items.size(); start += batchSize) {
+      List<D> chunk = items.subList(start, Math.min(start + batchSize, items.size()));
+      Integer chunkSaved = batchTimer.record(() ->
+              transactionTemplate.execute(status -> writeChunk(stage, chunk)));
+      int count = chunkSaved != null ? chunkSaved : 0;
+      saved += count;
+      rejected += chunk.size() - count;
+    }
+
+    savedCounter.increment(saved);
+    rejectedCounter.increment(rejected);
+    if (rejected > 0) {
+      log.warn("Descartados {} registros de {} sin datos obligatorios", rejected, type);
+    }
+    log.info("Procesados {} registros de {}", saved, type);
+    if (saved > 0) {
+      eventPublisher.publishEvent(new ReferenceDataChangedEvent(stage.getContentType(), saved));
+    }
+    return new PageLoadResult(items.size(), saved, rejected);
+  }
+
+  private <R, D, E, I> int writeChunk(ReferenceDataStage<R, D, E, I> stage, List<D> chunk) {
+    Function<D, E> mapper = stage.getMapperFactory().apply(chunk);
+    List<E> entities = new ArrayList<>(chunk.size());
+    for (D item : chunk) {
+      E entity = mapper.apply(item);
+      if (entity != null) {
+        entities.add(entity);
+      }
+    }
+
+    Set<I> ids = new HashSet<>();
+    for (E entity : entities) {
+      ids.add(stage.getIdExtractor().apply(entity));
+    }
+
+    // Las filas existentes quedan en el contexto de persistencia con una sola consulta
+    Set<I> existing = new HashSet<>();
+    for (E entity : stage.getRepository().findAllById(ids)) {
+      existing.add(stage.getIdExtractor().apply(entity));
+    }
+
+    for (E entity : entities) {
+      I id = stage.getIdExtractor().apply(entity);
+      if (existing.contains(id)) {
+        entityManager.merge(entity);
+      } else {
+        entityManager.persist(entity);
+        existing.add(id);
+      }
+    }
+    entityManager.flush();
+    entityManager.clear();
+    return entities.size();
+  }
+
+  private Counter rowsCounter(String type, String outcome) {
+    return Counter.builder(ROWS_METRIC)
+            .description("Registros de contenido de referencia procesados")
+            .tag("type", type)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+  }
+}
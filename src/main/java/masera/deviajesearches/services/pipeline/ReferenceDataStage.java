@@ -0,0 +1,40 @@
+package masera.deviajesearches.services.pipeline;
+
+import java.util.List;
+import java.util.function.Function;
+import lombok.Builder;
+import lombok.Getter;
+import masera.deviajesearches.enums.ContentType;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Describe cómo obtener, mapear y guardar un tipo de contenido de referencia.
+ * Para agregar un nuevo tipo de contenido basta con definir una nueva etapa.
+ *
+ * @param <R> tipo de la respuesta de la API
+ * @param <D> tipo de cada elemento de la respuesta
+ * @param <E> tipo de la entidad a guardar
+ * @param <I> tipo del identificador de la entidad
+ */
+@Getter
+@Builder
+public class ReferenceDataStage<R, D, E, I> {
+
+  private final ContentType contentType;
+
+  private final PageFetcher<R> fetcher;
+
+  // Extrae de la respuesta la lista de elementos a guardar
+  private final Function<R, List<D>> extractor;
+
+  /**
+   * Recibe cada lote de elementos y devuelve el mapper a aplicar sobre ellos.
+   * Permite resolver claves foráneas una sola vez por lote. El mapper devuelve
+   * null para los elementos que deben descartarse.
+   */
+  private final Function<List<D>, Function<D, E>> mapperFactory;
+
+  private final Function<E, I> idExtractor;
+
+  private final JpaRepository<E, I> repository;
+}
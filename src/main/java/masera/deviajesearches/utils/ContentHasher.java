@@ -0,0 +1,61 @@
+package masera.deviajesearches.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.apache.commons.codec.digest.MurmurHash3;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Calcula una huella de 64 bits del contenido de un objeto.
+ * El objeto se serializa en forma canónica (propiedades y claves de mapas ordenadas)
+ * para que dos contenidos iguales produzcan siempre la misma huella.
+ */
+@Component
+public class ContentHasher {
+
+  private final ObjectMapper canonicalMapper;
+
+  /**
+   * Constructor del calculador de huellas.
+   *
+   * @param objectMapper ObjectMapper de la aplicación
+   */
+  public ContentHasher(ObjectMapper objectMapper) {
+    this.canonicalMapper = JsonMapper.builder()
+            .configure(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY, true)
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true)
+            .build()
+            .setDefaultPropertyInclusion(
+                    objectMapper.getSerializationConfig().getDefaultPropertyInclusion());
+  }
+
+  /**
+   * Calcula la huella del contenido de un objeto.
+   *
+   * @param value objeto a procesar
+   * @return huella de 64 bits
+   */
+  public long hash(Object value) {
+    try {
+      return hashBytes(canonicalMapper.writeValueAsBytes(value));
+    } catch (JsonProcessingException e) {
+      throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+              "Error al calcular la huella del contenido: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * Calcula la huella de un contenido ya serializado.
+   *
+   * @param bytes contenido serializado
+   * @return huella de 64 bits
+   */
+  public long hashBytes(byte[] bytes) {
+    return MurmurHash3.hash128x64(bytes)[0];
+  }
+}
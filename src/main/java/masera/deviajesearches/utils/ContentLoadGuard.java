@@ -0,0 +1,59 @@
+package masera.deviajesearches.utils;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Evita que se ejecuten a la vez dos cargas masivas del contenido de referencia,
+ * como la carga inicial, la ingesta del catálogo de hoteles y la sincronización
+ * incremental, que escriben las mismas tablas y avanzan las mismas marcas de
+ * sincronización.
+ */
+@Component
+public class ContentLoadGuard {
+
+  /**
+   * Nombre con el que la ingesta del catálogo de hoteles toma el lugar.
+   */
+  public static final String HOTEL_INGESTION = "ingesta de hoteles";
+
+  private final AtomicReference<String> running = new AtomicReference<>();
+
+  /**
+   * Toma el lugar de la carga en ejecución. Una carga a la que ya se le cedió el
+   * lugar puede tomarlo con el mismo nombre.
+   *
+   * @param operation nombre de la carga, informado a quien encuentre el lugar ocupado
+   * @throws ResponseStatusException 409 si ya hay otra carga en ejecución
+   */
+  public void acquire(String operation) {
+    if (!running.compareAndSet(null, operation) && !operation.equals(running.get())) {
+      throw new ResponseStatusException(HttpStatus.CONFLICT,
+              "Ya existe una carga de contenido en ejecución: " + running.get());
+    }
+  }
+
+  /**
+   * Libera el lugar tomado al terminar la carga. Si el lugar ya se cedió a otra
+   * carga no se modifica.
+   *
+   * @param operation nombre con el que se tomó el lugar
+   */
+  public void release(String operation) {
+    running.compareAndSet(operation, null);
+  }
+
+  /**
+   * Cede el lugar a otra carga sin liberarlo, de modo que ninguna tercera pueda
+   * tomarlo en el medio.
+   *
+   * @param operation nombre con el que se tomó el lugar
+   * @param next nombre de la carga que lo recibe
+   * @return true si el lugar se cedió, false si no estaba tomado con ese nombre
+   */
+  public boolean handOver(String operation, String next) {
+    return running.compareAndSet(operation, next);
+  }
+}
@@ -0,0 +1,229 @@
+package masera.deviajesearches.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+import masera.deviajesearches.configs.ContentEncodingConfig;
+import masera.deviajesearches.entities.Hotel;
+import org.springframework.stereotype.Component;
+
+/**
+ * Empaqueta las columnas JSON de un hotel en un único contenido binario y lo desempaqueta.
+ * El contenido es un objeto Smile con una propiedad por columna, opcionalmente comprimido
+ * con Deflate. El primer byte indica el formato, de modo que la lectura no depende de la
+ * configuración con la que se escribió.
+ * Las imágenes y los teléfonos quedan fuera del contenido empaquetado: son los campos que
+ * más se piden solos en las proyecciones de detalle y, como texto, se leen sin cargar ni
+ * descomprimir el resto del contenido.
+ */
+@Component
+public class HotelContentCodec {
+
+  private static final byte SMILE = 1;
+
+  private static final byte SMILE_DEFLATE = 2;
+
+  private static final List<PackedColumn> COLUMNS = List.of(
+          new PackedColumn("board_codes", Hotel::getBoardCodes, Hotel::setBoardCodes),
+          new PackedColumn("segment_codes", Hotel::getSegmentCodes, Hotel::setSegmentCodes),
+          new PackedColumn("rooms", Hotel::getRooms, Hotel::setRooms),
+          new PackedColumn("facilities", Hotel::getFacilities, Hotel::setFacilities),
+          new PackedColumn("terminals", Hotel::getTerminals, Hotel::setTerminals),
+          new PackedColumn("interest_points", Hotel::getInterestPoints,
+                  Hotel::setInterestPoints),
+          new PackedColumn("wildcards", Hotel::getWildcards, Hotel::setWildcards),
+          new PackedColumn("issues", Hotel::getIssues, Hotel::setIssues));
+
+  // Columnas que se guardan como texto pero pueden estar en contenidos empaquetados antes
+  private static final List<PackedColumn> TEXT_COLUMNS = List.of(
+          new PackedColumn("phones", Hotel::getPhones, Hotel::setPhones),
+          new PackedColumn("images", Hotel::getImages, Hotel::setImages));
+
+  private final ContentEncodingConfig config;
+
+  private final ObjectMapper objectMapper;
+
+  private final SmileMapper smileMapper;
+
+  /**
+   * Constructor del codificador.
+   *
+   * @param config configuración de la codificación
+   * @param objectMapper ObjectMapper de la aplicación
+   */
+  public HotelContentCodec(ContentEncodingConfig config, ObjectMapper objectMapper) {
+    this.config = config;
+    this.objectMapper = objectMapper;
+    // Los códigos se repiten mucho dentro de un hotel, se referencian en lugar de repetirse
+    this.smileMapper = SmileMapper.builder()
+            .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+            .build();
+  }
+
+  /**
+   * Indica si los hoteles se guardan con las columnas JSON empaquetadas.
+   *
+   * @return true si el empaquetado está activo
+   */
+  public boolean isPackingEnabled() {
+    return config.isPacked();
+  }
+
+  /**
+   * Nombres de las columnas JSON que se guardan empaquetadas.
+   *
+   * @return nombres de las columnas
+   */
+  public List<String> getColumns() {
+    return COLUMNS.stream().map(PackedColumn::name).toList();
+  }
+
+  /**
+   * Nombres de las columnas JSON que se guardan como texto aun con el empaquetado activo,
+   * pero que los contenidos empaquetados antes pueden incluir.
+   *
+   * @return nombres de las columnas
+   */
+  public List<String> getTextColumns() {
+    return TEXT_COLUMNS.stream().map(PackedColumn::name).toList();
+  }
+
+  /**
+   * Indica si al hotel le falta alguna de sus columnas JSON, cuyo valor guardado
+   * puede estar en el contenido empaquetado.
+   *
+   * @param hotel hotel con las columnas JSON como texto
+   * @return true si alguna columna es nula
+   */
+  public boolean hasMissingColumns(Hotel hotel) {
+    return Stream.concat(COLUMNS.stream(), TEXT_COLUMNS.stream())
+            .anyMatch(column -> column.getter().apply(hotel) == null);
+  }
+
+  /**
+   * Empaqueta las columnas JSON de un hotel.
+   *
+   * @param hotel hotel con las columnas JSON como texto
+   * @return contenido empaquetado
+   */
+  public byte[] pack(Hotel hotel) {
+    return pack(hotel, null);
+  }
+
+  /**
+   * Empaqueta las columnas JSON de un hotel conservando las de su versión guardada
+   * cuando las nuevas son nulas, igual que el upsert de las columnas como texto.
+   *
+   * @param hotel hotel con las columnas JSON como texto
+   * @param previous versión guardada del hotel con las columnas como texto, o null
+   * @return contenido empaquetado
+   */
+  public byte[] pack(Hotel hotel, Hotel previous) {
+    try {
+      ObjectNode content = smileMapper.createObjectNode();
+      for (PackedColumn column : COLUMNS) {
+        String json = column.getter().apply(hotel);
+        if (json == null && previous != null) {
+          json = column.getter().apply(previous);
+        }
+        if (json != null) {
+          content.set(column.name(), objectMapper.readTree(json));
+        }
+      }
+
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      bytes.write(config.isCompressed() ? SMILE_DEFLATE : SMILE);
+      try (OutputStream out = config.isCompressed() ? new DeflaterOutputStream(bytes) : bytes) {
+        smileMapper.writeValue(out, content);
+      }
+      return bytes.toByteArray();
+    } catch (IOException e) {
+      throw new IllegalStateException(
+              "Error al empaquetar el contenido del hotel " + hotel.getCode(), e);
+    }
+  }
+
+  /**
+   * Reemplaza el contenido empaquetado de un hotel por sus columnas JSON como texto.
+   * Las columnas que se guardan como texto solo se toman del contenido empaquetado si
+   * el hotel no las tiene. Los hoteles guardados como texto no se modifican.
+   *
+   * @param hotel hotel leído de la base de datos
+   */
+  public void unpack(Hotel hotel) {
+    if (hotel.getPackedContent() == null) {
+      return;
+    }
+    Map<String, String> values = unpack(hotel.getPackedContent(),
+            Stream.concat(getColumns().stream(), getTextColumns().stream()).toList());
+    for (PackedColumn column : COLUMNS) {
+      column.setter().accept(hotel, values.get(column.name()));
+    }
+    for (PackedColumn column : TEXT_COLUMNS) {
+      if (column.getter().apply(hotel) == null) {
+        column.setter().accept(hotel, values.get(column.name()));
+      }
+    }
+    hotel.setPackedContent(null);
+  }
+
+  /**
+   * Obtiene como texto JSON solo las columnas pedidas de un contenido empaquetado.
+   *
+   * @param packed contenido empaquetado
+   * @param columns nombres de las columnas a obtener
+   * @return texto JSON por nombre de columna, sin las columnas ausentes
+   */
+  public Map<String, String> unpack(byte[] packed, Collection<String> columns) {
+    try {
+      JsonNode content;
+      try (InputStream in = open(packed)) {
+        content = smileMapper.readTree(in);
+      }
+
+      Map<String, String> values = new HashMap<>();
+      for (String column : columns) {
+        JsonNode value = content.get(column);
+        if (value != null) {
+          values.put(column, objectMapper.writeValueAsString(value));
+        }
+      }
+      return values;
+    } catch (IOException e) {
+      throw new IllegalStateException("Error al desempaquetar el contenido del hotel", e);
+    }
+  }
+
+  private InputStream open(byte[] packed) throws IOException {
+    InputStream in = new ByteArrayInputStream(packed, 1, packed.length - 1);
+    return switch (packed[0]) {
+      case SMILE -> in;
+      case SMILE_DEFLATE -> new InflaterInputStream(in);
+      default -> throw new IOException("Formato de contenido desconocido: " + packed[0]);
+    };
+  }
+
+  /**
+   * Columna JSON de la tabla hotels con su acceso en la entidad.
+   */
+  private record PackedColumn(String name,
+                              Function<Hotel, String> getter,
+                              BiConsumer<Hotel, String> setter) {
+  }
+}
@@ -0,0 +1,178 @@
+package masera.deviajesearches.utils;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * Parser incremental de respuestas JSON.
+ * Permite emitir uno a uno los objetos de un arreglo anidado a medida que llegan
+ * los bytes de la respuesta, sin necesidad de almacenar el cuerpo completo en memoria.
+ */
+@Component
+@RequiredArgsConstructor
+public class JsonStreamParser {
+
+  private final ObjectMapper objectMapper;
+
+  /**
+   * Emite los objetos del arreglo ubicado en la ruta indicada.
+   * Por ejemplo, la ruta ["hotels"] emite cada elemento de {"hotels": [...]}
+   * y la ruta ["hotels", "hotels"] cada elemento de {"hotels": {"hotels": [...]}}.
+   *
+   * @param body cuerpo de la respuesta como flujo de buffers
+   * @param path nombres de los campos que llevan hasta el arreglo
+   * @param type tipo de los elementos del arreglo
+   * @param <T> tipo de los elementos del arreglo
+   * @return Flux con los elementos deserializados en orden
+   */
+  public <T> Flux<T> parseArray(Flux<DataBuffer> body, List<String> path, Class<T> type) {
+    ObjectReader reader = objectMapper.readerFor(type)
+            .without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    return Flux.defer(() -> {
+      ArrayTokenizer<T> tokenizer = new ArrayTokenizer<>(path, reader);
+      return body
+              .concatMapIterable(tokenizer::feed)
+              .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.endOfInput())))
+              .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    });
+  }
+
+  /**
+   * Estado del parseo incremental de una respuesta.
+   *
+   * @param <T> tipo de los elementos del arreglo
+   */
+  private class ArrayTokenizer<T> {
+
+    private final List<String> path;
+
+    private final ObjectReader reader;
+
+    private final JsonParser parser;
+
+    private final ByteArrayFeeder feeder;
+
+    private int depth;
+
+    // Cantidad de segmentos de la ruta en los que ya se ingresó
+    private int matched;
+
+    private boolean pendingMatch;
+
+    private int arrayDepth = -1;
+
+    private TokenBuffer element;
+
+    private int elementDepth;
+
+    ArrayTokenizer(List<String> path, ObjectReader reader) {
+      this.path = path;
+      this.reader = reader;
+      try {
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    List<T> feed(DataBuffer buffer) {
+      try {
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        feeder.feedInput(bytes, 0, bytes.length);
+        return drain();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      } finally {
+        DataBufferUtils.release(buffer);
+      }
+    }
+
+    List<T> endOfInput() {
+      feeder.endOfInput();
+      try {
+        return drain();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    private List<T> drain() throws IOException {
+      List<T> result = new ArrayList<>();
+      JsonToken token;
+
+      while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+        if (element != null) {
+          element.copyCurrentEvent(parser);
+          if (token.isStructStart()) {
+            elementDepth++;
+          } else if (token.isStructEnd()) {
+            elementDepth--;
+          }
+          if (elementDepth == 0) {
+            result.add(reader.readValue(element.asParser(objectMapper)));
+            element = null;
+          }
+          continue;
+        }
+
+        switch (token) {
+          case FIELD_NAME -> pendingMatch = depth == matched + 1
+                  && matched < path.size()
+                  && path.get(matched).equals(parser.currentName());
+          case START_OBJECT -> {
+            if (depth == arrayDepth) {
+              // Cada elemento se acumula completo y se emite al cerrarse
+              element = new TokenBuffer(parser);
+              element.copyCurrentEvent(parser);
+              elementDepth = 1;
+            } else {
+              depth++;
+              if (pendingMatch && matched < path.size() - 1) {
+                matched++;
+              }
+            }
+            pendingMatch = false;
+          }
+          case START_ARRAY -> {
+            depth++;
+            if (pendingMatch && matched == path.size() - 1) {
+              arrayDepth = depth;
+            }
+            pendingMatch = false;
+          }
+          case END_ARRAY -> {
+            if (depth == arrayDepth) {
+              arrayDepth = -1;
+            }
+            depth--;
+          }
+          case END_OBJECT -> {
+            if (matched > 0 && depth == matched + 1) {
+              matched--;
+            }
+            depth--;
+          }
+          default -> pendingMatch = false;
+        }
+      }
+      return result;
+    }
+  }
+}
@@ -0,0 +1,135 @@
+package masera.deviajesearches.utils;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Mapa inmutable con claves primitivas long.
+ * Guarda las claves ordenadas en un arreglo y busca por búsqueda binaria, sin
+ * objetos Long ni entradas por cada elemento.
+ *
+ * @param <V> tipo de los valores
+ */
+public final class LongKeyMap<V> {
+
+  private static final LongKeyMap<?> EMPTY = new LongKeyMap<>(new long[0], new Object[0]);
+
+  private final long[] keys;
+
+  private final Object[] values;
+
+  private LongKeyMap(long[] keys, Object[] values) {
+    this.keys = keys;
+    this.values = values;
+  }
+
+  /**
+   * Obtiene un mapa vacío.
+   *
+   * @param <V> tipo de los valores
+   * @return mapa vacío
+   */
+  @SuppressWarnings("unchecked")
+  public static <V> LongKeyMap<V> empty() {
+    return (LongKeyMap<V>) EMPTY;
+  }
+
+  /**
+   * Construye un mapa a partir de una colección de elementos.
+   * Si dos elementos comparten clave se conserva el primero.
+   *
+   * @param items elementos de origen
+   * @param keyExtractor clave de cada elemento
+   * @param valueExtractor valor de cada elemento
+   * @param <E> tipo de los elementos
+   * @param <V> tipo de los valores
+   * @return mapa inmutable
+   */
+  public static <E, V> LongKeyMap<V> of(Collection<E> items,
+                                        ToLongFunction<E> keyExtractor,
+                                        Function<E, V> valueExtractor) {
+    Object[] source = items.toArray();
+    long[] sourceKeys = new long[source.length];
+    for (int i = 0; i < source.length; i++) {
+      @SuppressWarnings("unchecked")
+      E item = (E) source[i];
+      sourceKeys[i] = keyExtractor.applyAsLong(item);
+    }
+
+    int[] order = IntStream.range(0, source.length)
+            .boxed()
+            .sorted(Comparator.comparingLong(i -> sourceKeys[i]))
+            .mapToInt(Integer::intValue)
+            .toArray();
+
+    long[] keys = new long[source.length];
+    Object[] values = new Object[source.length];
+    int size = 0;
+    for (int index : order) {
+      if (size > 0 && keys[size - 1] == sourceKeys[index]) {
+        continue;
+      }
+      @SuppressWarnings("unchecked")
+      E item = (E) source[index];
+      keys[size] = sourceKeys[index];
+      values[size] = valueExtractor.apply(item);
+      size++;
+    }
+    return new LongKeyMap<>(Arrays.copyOf(keys, size), Arrays.copyOf(values, size));
+  }
+
+  /**
+   * Obtiene el valor asociado a una clave.
+   *
+   * @param key clave buscada
+   * @return valor asociado o null si la clave no existe
+   */
+  @SuppressWarnings("unchecked")
+  public V get(long key) {
+    int index = Arrays.binarySearch(keys, key);
+    return index >= 0 ? (V) values[index] : null;
+  }
+
+  /**
+   * Cantidad de claves del mapa.
+   *
+   * @return cantidad de claves
+   */
+  public int size() {
+    return keys.length;
+  }
+
+  /**
+   * Obtiene las claves que difieren respecto de otro mapa: las que solo están en uno
+   * de los dos y las que están en ambos con distinto valor.
+   * Recorre las dos listas ordenadas de claves a la vez, sin buscar clave por clave.
+   *
+   * @param other mapa con el que comparar
+   * @return claves distintas, en orden ascendente
+   */
+  public long[] changedKeys(LongKeyMap<V> other) {
+    long[] changed = new long[keys.length + other.keys.length];
+    int size = 0;
+    int i = 0;
+    int j = 0;
+    while (i < keys.length || j < other.keys.length) {
+      if (j == other.keys.length || (i < keys.length && keys[i] < other.keys[j])) {
+        changed[size++] = keys[i++];
+      } else if (i == keys.length || other.keys[j] < keys[i]) {
+        changed[size++] = other.keys[j++];
+      } else {
+        if (!Objects.equals(values[i], other.values[j])) {
+          changed[size++] = keys[i];
+        }
+        i++;
+        j++;
+      }
+    }
+    return Arrays.copyOf(changed, size);
+  }
+}
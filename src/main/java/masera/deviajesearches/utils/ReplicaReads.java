@@ -0,0 +1,56 @@
+package masera.deviajesearches.utils;
+
+import java.util.function.Supplier;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ejecuta consultas de solo lectura que pueden responderse desde la réplica.
+ * Solo las transacciones abiertas por esta clase se envían a la réplica: las
+ * lecturas propias de Spring Data también son de solo lectura, pero muchas
+ * preceden a una escritura y deben ver los últimos datos del primario.
+ * Sin réplica configurada las consultas se ejecutan en el primario.
+ */
+@Component
+public class ReplicaReads {
+
+  private static final String TRANSACTION_NAME = "replica-read";
+
+  private final TransactionTemplate transactionTemplate;
+
+  /**
+   * Constructor del ejecutor de lecturas.
+   *
+   * @param transactionManager gestor de transacciones
+   */
+  public ReplicaReads(PlatformTransactionManager transactionManager) {
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.transactionTemplate.setName(TRANSACTION_NAME);
+  }
+
+  /**
+   * Ejecuta una consulta en una transacción de solo lectura dirigida a la réplica.
+   * Si ya hay una transacción en curso, la consulta se une a ella y usa su conexión.
+   *
+   * @param query consulta a ejecutar
+   * @param <T> tipo del resultado
+   * @return resultado de la consulta
+   */
+  public <T> T read(Supplier<T> query) {
+    return transactionTemplate.execute(status -> query.get());
+  }
+
+  /**
+   * Indica si la transacción en curso fue abierta para leer desde la réplica.
+   *
+   * @return true si la conexión debe obtenerse de la réplica
+   */
+  public static boolean isReplicaTransaction() {
+    return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            && TRANSACTION_NAME.equals(
+                    TransactionSynchronizationManager.getCurrentTransactionName());
+  }
+}
@@ -0,0 +1,66 @@
+package masera.deviajesearches.utils.dtos;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de una escritura masiva de filas.
+ */
+@Data
+@NoArgsConstructor
+public class BatchWriteResult {
+
+  private int inserted;
+
+  private int updated;
+
+  private int skipped;
+
+  // Códigos de hotel de las filas que se escribieron, sin las omitidas
+  private Set<String> writtenCodes = new LinkedHashSet<>();
+
+  /**
+   * Constructor con las cantidades de filas.
+   *
+   * @param inserted filas insertadas
+   * @param updated filas actualizadas
+   * @param skipped filas omitidas sin cambios
+   */
+  public BatchWriteResult(int inserted, int updated, int skipped) {
+    this.inserted = inserted;
+    this.updated = updated;
+    this.skipped = skipped;
+  }
+
+  /**
+   * Acumula el resultado de otra escritura en este resultado.
+   *
+   * @param other resultado a sumar
+   */
+  public void add(BatchWriteResult other) {
+    inserted += other.inserted;
+    updated += other.updated;
+    skipped += other.skipped;
+    writtenCodes.addAll(other.writtenCodes);
+  }
+
+  /**
+   * Cantidad total de filas escritas.
+   *
+   * @return filas insertadas más filas actualizadas
+   */
+  public int getTotal() {
+    return inserted + updated;
+  }
+
+  /**
+   * Cantidad total de filas procesadas, incluidas las omitidas por no tener cambios.
+   *
+   * @return filas escritas más filas omitidas
+   */
+  public int getProcessed() {
+    return getTotal() + skipped;
+  }
+}
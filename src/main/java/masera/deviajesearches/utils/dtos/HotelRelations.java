@@ -0,0 +1,57 @@
+package masera.deviajesearches.utils.dtos;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.FacilityDto;
+import masera.deviajesearches.entities.FacilityId;
+
+/**
+ * DTO con los regímenes, segmentos y facilities de un hotel que se guardan
+ * en las tablas de relación para poder filtrar hoteles por ellos.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HotelRelations {
+
+  private String hotelCode;
+
+  private Set<String> boardCodes;
+
+  private Set<Integer> segmentCodes;
+
+  private Set<FacilityId> facilities;
+
+  /**
+   * Arma las relaciones de un hotel a partir de su contenido, sin repetidos ni nulos.
+   *
+   * @param hotelCode código del hotel
+   * @param boardCodes (Opcional) códigos de regímenes de alimentos
+   * @param segmentCodes (Opcional) códigos de segmentos
+   * @param facilities (Opcional) facilities del hotel
+   * @return relaciones del hotel
+   */
+  public static HotelRelations of(String hotelCode, List<String> boardCodes,
+                                  List<Integer> segmentCodes, List<FacilityDto> facilities) {
+    Set<FacilityId> facilityIds = new LinkedHashSet<>();
+    for (FacilityDto facility : facilities != null ? facilities : List.<FacilityDto>of()) {
+      if (facility.getFacilityCode() != null && facility.getFacilityGroupCode() != null) {
+        facilityIds.add(new FacilityId(facility.getFacilityCode(),
+                facility.getFacilityGroupCode()));
+      }
+    }
+    return new HotelRelations(hotelCode, withoutNulls(boardCodes),
+            withoutNulls(segmentCodes), facilityIds);
+  }
+
+  private static <T> Set<T> withoutNulls(List<T> values) {
+    Set<T> result = new LinkedHashSet<>(values != null ? values : List.<T>of());
+    result.removeIf(Objects::isNull);
+    return result;
+  }
+}
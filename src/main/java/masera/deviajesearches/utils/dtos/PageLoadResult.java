@@ -0,0 +1,33 @@
+package masera.deviajesearches.utils.dtos;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO con el resultado de la carga de una o varias páginas de contenido.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PageLoadResult {
+
+  // Registros recibidos de la API, incluidos los descartados
+  private int fetched;
+
+  private int saved;
+
+  // Registros descartados por no tener los datos obligatorios
+  private int rejected;
+
+  /**
+   * Acumula el resultado de otra carga en este resultado.
+   *
+   * @param other resultado a sumar
+   */
+  public void add(PageLoadResult other) {
+    fetched += other.fetched;
+    saved += other.saved;
+    rejected += other.rejected;
+  }
+}
@@ -0,0 +1,157 @@
+package masera.deviajesearches.clients;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import masera.deviajesearches.configs.RateLimitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotelbedsRateLimiterTest {
+
+  private RateLimitConfig config;
+
+  private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void setUp() {
+    config = new RateLimitConfig();
+    ReflectionTestUtils.setField(config, "requestsPerSecond", 1000.0);
+    ReflectionTestUtils.setField(config, "burst", 1000);
+    ReflectionTestUtils.setField(config, "initialConcurrency", 4);
+    ReflectionTestUtils.setField(config, "minConcurrency", 1);
+    ReflectionTestUtils.setField(config, "maxConcurrency", 16);
+    ReflectionTestUtils.setField(config, "decreaseFactor", 0.5);
+    ReflectionTestUtils.setField(config, "latencyThresholdMillis", 10_000L);
+    ReflectionTestUtils.setField(config, "defaultRetryAfterMillis", 1000L);
+    ReflectionTestUtils.setField(config, "maxRetries", 0);
+    meterRegistry = new SimpleMeterRegistry();
+  }
+
+  @Test
+  void fastResponseGrowsWindowAdditively() {
+    HotelbedsRateLimiter limiter = new HotelbedsRateLimiter(config, meterRegistry);
+
+    assertEquals("ok", limiter.limit(Mono.just("ok")).block());
+
+    assertEquals(4.25, window(), 1e-9);
+    assertEquals(0, inFlight());
+  }
+
+  @Test
+  void throttledResponseHalvesWindow() {
+    HotelbedsRateLimiter limiter = new HotelbedsRateLimiter(config, meterRegistry);
+
+    assertThrows(RuntimeException.class,
+            () -> limiter.limit(Mono.error(throttled("0"))).block());
+
+    assertEquals(2.0, window(), 1e-9);
+    assertEquals(1.0, meterRegistry.get("hotelbeds.client.throttled").counter().count());
+    assertEquals(0, inFlight());
+  }
+
+  @Test
+  void slowResponseShrinksWindowDownToMinimum() {
+    ReflectionTestUtils.setField(config, "latencyThresholdMillis", -1L);
+    HotelbedsRateLimiter limiter = new HotelbedsRateLimiter(config, meterRegistry);
+
+    for (int i = 0; i < 5; i++) {
+      limiter.limit(Mono.just("slow")).block();
+    }
+
+    assertEquals(1.0, window(), 1e-9);
+  }
+
+  @Test
+  void streamingCallReleasesPermitOnFirstElement() {
+    HotelbedsRateLimiter limiter = new HotelbedsRateLimiter(config, meterRegistry);
+    List<Integer> received = new ArrayList<>();
+
+    Disposable subscription = limiter.limit(Flux.concat(Flux.just(1), Flux.never()))
+            .subscribe(received::add);
+    try {
+      assertEquals(List.of(1), received);
+      assertEquals(0, inFlight());
+      assertEquals(4.25, window(), 1e-9);
+    } finally {
+      subscription.dispose();
+    }
+  }
+
+  @Test
+  void retryAfterAcceptsSeconds() {
+    HotelbedsRateLimiter limiter = new HotelbedsRateLimiter(config, meterRegistry);
+
+    assertEquals(TimeUnit.SECONDS.toNanos(3), retryAfterNanos(limiter, throttled("3")));
+    assertEquals(TimeUnit.SECONDS.toNanos(3), retryAfterNanos(limiter, throttled(" 3 ")));
+  }
+
+  @Test
+  void retryAfterAcceptsHttpDate() {
+    HotelbedsRateLimiter limiter = new HotelbedsRateLimiter(config, meterRegistry);
+    String date = ZonedDateTime.now().plusSeconds(30)
+            .format(DateTimeFormatter.RFC_1123_DATE_TIME);
+
+    long nanos = retryAfterNanos(limiter, throttled(date));
+
+    assertTrue(nanos > TimeUnit.SECONDS.toNanos(25), "Pausa: " + nanos);
+    assertTrue(nanos <= TimeUnit.SECONDS.toNanos(30), "Pausa: " + nanos);
+  }
+
+  @Test
+  void retryAfterInThePastDoesNotPause() {
+    HotelbedsRateLimiter limiter = new HotelbedsRateLimiter(config, meterRegistry);
+    String date = ZonedDateTime.now().minusMinutes(5)
+            .format(DateTimeFormatter.RFC_1123_DATE_TIME);
+
+    assertEquals(0, retryAfterNanos(limiter, throttled(date)));
+  }
+
+  @Test
+  void retryAfterFallsBackToDefault() {
+    HotelbedsRateLimiter limiter = new HotelbedsRateLimiter(config, meterRegistry);
+    long defaultNanos = TimeUnit.MILLISECONDS.toNanos(1000);
+
+    assertEquals(defaultNanos, retryAfterNanos(limiter, throttled(null)));
+    assertEquals(defaultNanos, retryAfterNanos(limiter, throttled("pronto")));
+    assertEquals(defaultNanos,
+            retryAfterNanos(limiter, new IllegalStateException("sin respuesta")));
+  }
+
+  private WebClientResponseException throttled(String retryAfter) {
+    HttpHeaders headers = new HttpHeaders();
+    if (retryAfter != null) {
+      headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
+    }
+    return WebClientResponseException.create(HttpStatus.TOO_MANY_REQUESTS,
+            "Too Many Requests", headers, new byte[0], null, null);
+  }
+
+  private long retryAfterNanos(HotelbedsRateLimiter limiter, Throwable error) {
+    Long nanos = ReflectionTestUtils.invokeMethod(limiter, "retryAfterNanos", error);
+    assertNotNull(nanos);
+    return nanos;
+  }
+
+  private double window() {
+    return meterRegistry.get("hotelbeds.client.concurrency.limit").gauge().value();
+  }
+
+  private double inFlight() {
+    return meterRegistry.get("hotelbeds.client.inflight").gauge().value();
+  }
+}
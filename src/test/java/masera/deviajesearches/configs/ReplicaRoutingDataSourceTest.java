@@ -0,0 +1,78 @@
+package masera.deviajesearches.configs;
+
+import masera.deviajesearches.utils.ReplicaReads;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReplicaRoutingDataSourceTest {
+
+  private final PlatformTransactionManager transactionManager = new NoOpTransactionManager();
+
+  private final ReplicaReads replicaReads = new ReplicaReads(transactionManager);
+
+  private final ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource();
+
+  @Test
+  void replicaReadsUseReplica() {
+    assertEquals(ReplicaRoutingDataSource.REPLICA,
+            replicaReads.read(routing::determineCurrentLookupKey));
+    assertTrue(replicaReads.read(ReplicaReads::isReplicaTransaction));
+  }
+
+  @Test
+  void outsideTransactionUsesPrimary() {
+    assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+    assertFalse(ReplicaReads.isReplicaTransaction());
+  }
+
+  @Test
+  void otherReadOnlyTransactionsUsePrimary() {
+    TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+    readOnly.setReadOnly(true);
+
+    assertEquals(ReplicaRoutingDataSource.PRIMARY,
+            readOnly.execute(status -> routing.determineCurrentLookupKey()));
+  }
+
+  @Test
+  void writeTransactionUsesPrimary() {
+    TransactionTemplate write = new TransactionTemplate(transactionManager);
+
+    assertEquals(ReplicaRoutingDataSource.PRIMARY,
+            write.execute(status -> routing.determineCurrentLookupKey()));
+  }
+
+  @Test
+  void routingReturnsToPrimaryAfterReplicaRead() {
+    replicaReads.read(routing::determineCurrentLookupKey);
+
+    assertEquals(ReplicaRoutingDataSource.PRIMARY, routing.determineCurrentLookupKey());
+  }
+
+  // Abre transacciones sin conexión, solo para registrar sus atributos en el hilo
+  private static class NoOpTransactionManager extends AbstractPlatformTransactionManager {
+
+    @Override
+    protected Object doGetTransaction() {
+      return new Object();
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+    }
+
+    @Override
+    protected void doRollback(DefaultTransactionStatus status) {
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package masera.deviajesearches.dtos.amadeus.response;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import masera.deviajesearches.configs.MappersConfig;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotelDetailViewTest {
+
+  private static final String IMAGES = "[{\"path\":\"01/000001/a.jpg\",\"order\":1}]";
+
+  private final ObjectMapper objectMapper = new MappersConfig().objectMapper();
+
+  @Test
+  void rawFieldsAreCopiedVerbatim() throws Exception {
+    HotelDetailView view = HotelDetailView.builder()
+            .detail(HotelResponseDto.builder().code("1").name("Hotel Playa").build())
+            .images(IMAGES)
+            .phones("[ ]")
+            .build();
+
+    String json = objectMapper.writeValueAsString(view);
+
+    assertTrue(json.contains("\"images\":" + IMAGES), json);
+    assertTrue(json.contains("\"phones\":[ ]"), json);
+    JsonNode detail = objectMapper.readTree(json);
+    assertEquals("1", detail.path("code").asText());
+    assertEquals("Hotel Playa", detail.path("name").asText());
+    assertFalse(detail.has("detail"));
+  }
+
+  @Test
+  void missingRawFieldsAreOmitted() throws Exception {
+    HotelDetailView view = HotelDetailView.builder()
+            .detail(HotelResponseDto.builder().code("1").build())
+            .build();
+
+    JsonNode detail = objectMapper.readTree(objectMapper.writeValueAsString(view));
+
+    assertFalse(detail.has("images"));
+    assertFalse(detail.has("wildcards"));
+    assertFalse(detail.has("issues"));
+  }
+}
@@ -0,0 +1,48 @@
+package masera.deviajesearches.enums;
+
+import masera.deviajesearches.dtos.amadeus.response.HotelResponseDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotelDetailFieldTest {
+
+  @Test
+  void fromParametersTrimsAndIgnoresCase() {
+    assertEquals(EnumSet.of(HotelDetailField.IMAGES, HotelDetailField.INTEREST_POINTS),
+            HotelDetailField.fromParameters(List.of(" Images ", "interestpoints", "images")));
+  }
+
+  @Test
+  void blankParametersAreSkipped() {
+    assertEquals(EnumSet.of(HotelDetailField.ROOMS),
+            HotelDetailField.fromParameters(List.of("", "  ", "rooms")));
+    assertTrue(HotelDetailField.fromParameters(List.of()).isEmpty());
+  }
+
+  @Test
+  void unknownParameterIsBadRequest() {
+    ResponseStatusException error = assertThrows(ResponseStatusException.class,
+            () -> HotelDetailField.fromParameters(List.of("images", "pool")));
+
+    assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+  }
+
+  @Test
+  void removeFromClearsOnlyItsField() {
+    HotelResponseDto dto = HotelResponseDto.builder()
+            .images(List.of())
+            .facilities(List.of())
+            .build();
+
+    HotelDetailField.IMAGES.removeFrom(dto);
+
+    assertNull(dto.getImages());
+    assertNotNull(dto.getFacilities());
+  }
+}
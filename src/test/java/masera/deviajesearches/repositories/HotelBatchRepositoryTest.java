@@ -0,0 +1,59 @@
+package masera.deviajesearches.repositories;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotelBatchRepositoryTest {
+
+  private static final List<String> KEYS = List.of("hotel_code", "language");
+
+  @Test
+  void buildMySqlSqlUpdatesOnlyNonKeyColumns() {
+    String sql = HotelBatchRepository.buildMySqlSql("hotel_translations", columns(), KEYS);
+
+    assertEquals("INSERT INTO hotel_translations (hotel_code, language, name, description)"
+            + " VALUES (?, ?, ?, ?) AS new"
+            + " ON DUPLICATE KEY UPDATE name = new.name,"
+            + " description = COALESCE(new.description, description)", sql);
+  }
+
+  @Test
+  void buildMergeSqlMatchesOnKeysAndKeepsPreviousValues() {
+    String sql = HotelBatchRepository.buildMergeSql("hotel_translations", columns(), KEYS);
+
+    assertEquals("MERGE INTO hotel_translations t USING (VALUES (?, ?, ?, ?))"
+            + " AS s(hotel_code, language, name, description)"
+            + " ON t.hotel_code = s.hotel_code AND t.language = s.language"
+            + " WHEN MATCHED THEN UPDATE SET name = s.name,"
+            + " description = COALESCE(s.description, t.description)"
+            + " WHEN NOT MATCHED THEN INSERT (hotel_code, language, name, description)"
+            + " VALUES (s.hotel_code, s.language, s.name, s.description)", sql);
+  }
+
+  @Test
+  void buildersUseOnePlaceholderPerColumn() {
+    Map<String, Boolean> columns = columns();
+    columns.put("content_hash", false);
+
+    for (String sql : List.of(
+            HotelBatchRepository.buildMySqlSql("hotels", columns, List.of("hotel_code")),
+            HotelBatchRepository.buildMergeSql("hotels", columns, List.of("hotel_code")))) {
+      long placeholders = sql.chars().filter(c -> c == '?').count();
+      assertEquals(columns.size(), placeholders, sql);
+    }
+  }
+
+  private Map<String, Boolean> columns() {
+    Map<String, Boolean> columns = new LinkedHashMap<>();
+    columns.put("hotel_code", false);
+    columns.put("language", false);
+    columns.put("name", false);
+    columns.put("description", true);
+    return columns;
+  }
+}
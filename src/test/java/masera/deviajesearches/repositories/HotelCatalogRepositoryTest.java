@@ -0,0 +1,66 @@
+package masera.deviajesearches.repositories;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class HotelCatalogRepositoryTest {
+
+  private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+  private HotelCatalogRepository repository;
+
+  @BeforeEach
+  void setUp() {
+    namedParameterJdbcTemplate = mock(NamedParameterJdbcTemplate.class);
+    repository = new HotelCatalogRepository(namedParameterJdbcTemplate);
+  }
+
+  @Test
+  void firstPageHasNoKeysetCondition() {
+    repository.findPage(null, null, null, null, null, 100);
+
+    String sql = capturedSql();
+    assertFalse(sql.contains("WHERE"), sql);
+    assertTrue(sql.endsWith(" FROM hotels ORDER BY code LIMIT :limit"), sql);
+    assertEquals(100, capturedParams().getValue("limit"));
+  }
+
+  @Test
+  void filtersAndCursorAreCombined() {
+    repository.findPage("PMI", " ", null, "4EST", "120", 50);
+
+    String sql = capturedSql();
+    assertTrue(sql.endsWith(" FROM hotels WHERE destination_code = :destination_code"
+            + " AND category_code = :category_code AND code > :after"
+            + " ORDER BY code LIMIT :limit"), sql);
+    SqlParameterSource params = capturedParams();
+    assertEquals("PMI", params.getValue("destination_code"));
+    assertEquals("4EST", params.getValue("category_code"));
+    assertEquals("120", params.getValue("after"));
+    assertFalse(params.hasValue("country_code"));
+  }
+
+  @SuppressWarnings("unchecked")
+  private String capturedSql() {
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(namedParameterJdbcTemplate).query(sql.capture(), any(SqlParameterSource.class),
+            any(RowMapper.class));
+    return sql.getValue();
+  }
+
+  @SuppressWarnings("unchecked")
+  private SqlParameterSource capturedParams() {
+    ArgumentCaptor<SqlParameterSource> params = ArgumentCaptor.forClass(SqlParameterSource.class);
+    verify(namedParameterJdbcTemplate).query(anyString(), params.capture(),
+            any(RowMapper.class));
+    return params.getValue();
+  }
+}
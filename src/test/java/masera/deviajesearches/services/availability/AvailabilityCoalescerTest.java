@@ -0,0 +1,159 @@
+package masera.deviajesearches.services.availability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Destination;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Occupancy;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Stay;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvailabilityCoalescerTest {
+
+  private MeterRegistry meterRegistry;
+
+  private AvailabilityCoalescer coalescer;
+
+  private Sinks.One<HotelSearchResponse> upstream;
+
+  private AtomicInteger calls;
+
+  private AtomicBoolean cancelled;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    coalescer = new AvailabilityCoalescer(meterRegistry);
+    upstream = Sinks.one();
+    calls = new AtomicInteger();
+    cancelled = new AtomicBoolean();
+  }
+
+  @Test
+  void concurrentJoinersShareOneCall() throws Exception {
+    int requests = 8;
+    List<HotelSearchResponse> responses = new CopyOnWriteArrayList<>();
+    CountDownLatch start = new CountDownLatch(1);
+    CountDownLatch subscribed = new CountDownLatch(requests);
+    ExecutorService executor = Executors.newFixedThreadPool(requests);
+    try {
+      for (int i = 0; i < requests; i++) {
+        executor.execute(() -> {
+          try {
+            start.await();
+            coalescer.search(key("PMI"), call()).subscribe(responses::add);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          } finally {
+            subscribed.countDown();
+          }
+        });
+      }
+      start.countDown();
+      assertTrue(subscribed.await(5, TimeUnit.SECONDS));
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(1, calls.get());
+    assertEquals(1.0, inFlight());
+    assertEquals(requests - 1, meterRegistry.get("hotelbeds.availability.coalesced")
+            .counter().count());
+
+    HotelSearchResponse response = new HotelSearchResponse();
+    upstream.tryEmitValue(response);
+
+    assertEquals(requests, responses.size());
+    responses.forEach(received -> assertSame(response, received));
+    assertEquals(requests, meterRegistry.get("hotelbeds.availability.waiters")
+            .summary().totalAmount());
+  }
+
+  @Test
+  void differentSearchesDoNotShareCall() {
+    coalescer.search(key("PMI"), call()).subscribe();
+    coalescer.search(key("BCN"), () -> Mono.never()).subscribe();
+
+    assertEquals(1, calls.get());
+    assertEquals(2.0, inFlight());
+  }
+
+  @Test
+  void cancelledWaiterDoesNotCancelUpstream() {
+    List<HotelSearchResponse> responses = new CopyOnWriteArrayList<>();
+    Disposable first = coalescer.search(key("PMI"), call()).subscribe();
+    coalescer.search(key("PMI"), call()).subscribe(responses::add);
+
+    first.dispose();
+    upstream.tryEmitValue(new HotelSearchResponse());
+
+    assertFalse(cancelled.get());
+    assertEquals(1, calls.get());
+    assertEquals(1, responses.size());
+  }
+
+  @Test
+  void searchIsNoLongerSharedAfterCompletion() {
+    coalescer.search(key("PMI"), call()).subscribe();
+    upstream.tryEmitValue(new HotelSearchResponse());
+
+    assertEquals(0.0, inFlight());
+    upstream = Sinks.one();
+    coalescer.search(key("PMI"), call()).subscribe();
+
+    assertEquals(2, calls.get());
+  }
+
+  @Test
+  void searchIsNoLongerSharedAfterError() {
+    List<Throwable> errors = new CopyOnWriteArrayList<>();
+    coalescer.search(key("PMI"), call()).subscribe(response -> { }, errors::add);
+    coalescer.search(key("PMI"), call()).subscribe(response -> { }, errors::add);
+    upstream.tryEmitError(new IllegalStateException("Hotelbeds no responde"));
+
+    assertEquals(2, errors.size());
+    assertEquals(0.0, inFlight());
+    upstream = Sinks.one();
+    coalescer.search(key("PMI"), call()).subscribe();
+
+    assertEquals(2, calls.get());
+  }
+
+  private Supplier<Mono<HotelSearchResponse>> call() {
+    return () -> {
+      calls.incrementAndGet();
+      return upstream.asMono().doOnCancel(() -> cancelled.set(true));
+    };
+  }
+
+  private AvailabilityKey key(String destination) {
+    return AvailabilityKey.of(HotelSearchRequest.builder()
+            .stay(new Stay(LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 5)))
+            .occupancies(List.of(new Occupancy(1, 2, 0, null)))
+            .destination(new Destination(destination, null))
+            .language("CAS")
+            .build());
+  }
+
+  private double inFlight() {
+    return meterRegistry.get("hotelbeds.availability.inflight").gauge().value();
+  }
+}
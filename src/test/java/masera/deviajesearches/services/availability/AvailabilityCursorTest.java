@@ -0,0 +1,70 @@
+package masera.deviajesearches.services.availability;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvailabilityCursorTest {
+
+  @Test
+  void encodeAndDecodeRoundTrip() {
+    AvailabilityCursor cursor = new AvailabilityCursor("4f1c-9a", 40, 20);
+
+    String encoded = cursor.encode();
+
+    assertTrue(encoded.matches("[A-Za-z0-9_-]+"), encoded);
+    assertEquals(cursor, AvailabilityCursor.decode(encoded));
+  }
+
+  @Test
+  void nextAdvancesOnePage() {
+    AvailabilityCursor next = new AvailabilityCursor("r", 40, 20).next();
+
+    assertEquals(new AvailabilityCursor("r", 60, 20), next);
+  }
+
+  @Test
+  void nextFailsInsteadOfOverflowing() {
+    AvailabilityCursor cursor = new AvailabilityCursor("r", Integer.MAX_VALUE - 10, 20);
+
+    assertThrows(ArithmeticException.class, cursor::next);
+  }
+
+  @Test
+  void decodeAcceptsPageSizeLimits() {
+    assertEquals(1, AvailabilityCursor.decode(encode("r|0|1")).pageSize());
+    assertEquals(AvailabilityCursor.MAX_PAGE_SIZE,
+            AvailabilityCursor.decode(encode("r|0|" + AvailabilityCursor.MAX_PAGE_SIZE))
+                    .pageSize());
+  }
+
+  @Test
+  void decodeRejectsInvalidCursors() {
+    List<String> invalid = List.of(
+            "no es base64!",
+            encode("r|0"),
+            encode("r|0|20|PRICE"),
+            encode("r|x|20"),
+            encode("r|-1|20"),
+            encode("r|0|0"),
+            encode("r|0|" + (AvailabilityCursor.MAX_PAGE_SIZE + 1)),
+            encode("r|0|99999999999"));
+
+    for (String cursor : invalid) {
+      ResponseStatusException error = assertThrows(ResponseStatusException.class,
+              () -> AvailabilityCursor.decode(cursor), cursor);
+      assertEquals(HttpStatus.BAD_REQUEST, error.getStatusCode());
+    }
+  }
+
+  private String encode(String value) {
+    return Base64.getUrlEncoder().withoutPadding()
+            .encodeToString(value.getBytes(StandardCharsets.UTF_8));
+  }
+}
@@ -0,0 +1,97 @@
+package masera.deviajesearches.services.availability;
+
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Destination;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Filter;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Occupancy;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Pax;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Stay;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AvailabilityKeyTest {
+
+  @Test
+  void ofDescribesOccupancyCanonically() {
+    AvailabilityKey key = AvailabilityKey.of(request(List.of(
+            occupancy(1, 2, 1, pax("CH", 8), pax("AD", 30), pax("AD", 35)))));
+
+    assertEquals(List.of("1x2+1[AD30,AD35,CH8]"), key.occupancies());
+  }
+
+  @Test
+  void ofIgnoresOrderOfOccupanciesAndPaxes() {
+    AvailabilityKey first = AvailabilityKey.of(request(List.of(
+            occupancy(1, 2, 0, pax("AD", null), pax("AD", null)),
+            occupancy(1, 1, 1, pax("CH", 5), pax("AD", null)))));
+    AvailabilityKey second = AvailabilityKey.of(request(List.of(
+            occupancy(1, 1, 1, pax("AD", null), pax("CH", 5)),
+            occupancy(1, 2, 0, pax("AD", null), pax("AD", null)))));
+
+    assertEquals(first, second);
+    assertEquals(first.hashCode(), second.hashCode());
+  }
+
+  @Test
+  void ofNormalisesCodesCaseAndBlanks() {
+    HotelSearchRequest request = request(List.of(occupancy(1, 1, 0, pax(" ad ", null))));
+    request.setDestination(new Destination(" pmi ", " "));
+    request.setLanguage("cas");
+    request.setCurrency(" eur");
+
+    AvailabilityKey key = AvailabilityKey.of(request);
+
+    assertEquals("PMI", key.destinationCode());
+    assertNull(key.zoneCode());
+    assertEquals("CAS", key.language());
+    assertEquals("EUR", key.currency());
+    assertEquals(List.of("1x1+0[AD]"), key.occupancies());
+  }
+
+  @Test
+  void ofDistinguishesDifferentSearches() {
+    AvailabilityKey base = AvailabilityKey.of(request(List.of(occupancy(1, 2, 0))));
+
+    HotelSearchRequest otherDates = request(List.of(occupancy(1, 2, 0)));
+    otherDates.getStay().setCheckOut(LocalDate.of(2026, 12, 6));
+    HotelSearchRequest otherFilter = request(List.of(occupancy(1, 2, 0)));
+    otherFilter.setFilter(Filter.builder().minCategory(4).build());
+    HotelSearchRequest dailyRate = request(List.of(occupancy(1, 2, 0)));
+    dailyRate.setDailyRate(true);
+
+    assertNotEquals(base, AvailabilityKey.of(request(List.of(occupancy(1, 3, 0)))));
+    assertNotEquals(base, AvailabilityKey.of(otherDates));
+    assertNotEquals(base, AvailabilityKey.of(otherFilter));
+    assertNotEquals(base, AvailabilityKey.of(dailyRate));
+  }
+
+  @Test
+  void ofTreatsMissingDailyRateAsFalse() {
+    HotelSearchRequest explicit = request(List.of(occupancy(1, 2, 0)));
+    explicit.setDailyRate(false);
+
+    assertEquals(AvailabilityKey.of(request(List.of(occupancy(1, 2, 0)))),
+            AvailabilityKey.of(explicit));
+  }
+
+  private HotelSearchRequest request(List<Occupancy> occupancies) {
+    return HotelSearchRequest.builder()
+            .stay(new Stay(LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 5)))
+            .occupancies(occupancies)
+            .destination(new Destination("PMI", null))
+            .language("CAS")
+            .build();
+  }
+
+  private Occupancy occupancy(int rooms, int adults, int children, Pax... paxes) {
+    return new Occupancy(rooms, adults, children, paxes.length == 0 ? null : List.of(paxes));
+  }
+
+  private Pax pax(String type, Integer age) {
+    return new Pax(type, age);
+  }
+}
@@ -0,0 +1,147 @@
+package masera.deviajesearches.services.impl;
+
+import masera.deviajesearches.dtos.amadeus.response.BootstrapStepDto;
+import masera.deviajesearches.dtos.amadeus.response.ContentBootstrapDto;
+import masera.deviajesearches.dtos.amadeus.response.IngestionJobDto;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.enums.IngestionJobStatus;
+import masera.deviajesearches.services.interfaces.ContentSyncService;
+import masera.deviajesearches.services.interfaces.HotelIngestionService;
+import masera.deviajesearches.utils.ContentLoadGuard;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ContentBootstrapServiceImplTest {
+
+  private ContentSyncService contentSyncService;
+
+  private HotelIngestionService hotelIngestionService;
+
+  private ContentLoadGuard contentLoadGuard;
+
+  private ContentBootstrapServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    contentSyncService = mock(ContentSyncService.class);
+    hotelIngestionService = mock(HotelIngestionService.class);
+    contentLoadGuard = new ContentLoadGuard();
+    when(contentSyncService.loadAll(any(), any(), any())).thenReturn(new PageLoadResult(5, 4, 1));
+
+    // Los pasos corren en el mismo hilo, así la carga termina antes de devolver su estado
+    service = new ContentBootstrapServiceImpl(contentSyncService, hotelIngestionService,
+            contentLoadGuard, Runnable::run);
+  }
+
+  @Test
+  void dependenciesAreDeclaredBeforeTheirDependents() {
+    for (ContentType contentType : ContentType.values()) {
+      for (ContentType dependency : contentType.getDependencies()) {
+        assertTrue(dependency.ordinal() < contentType.ordinal(),
+                contentType + " depende de " + dependency);
+      }
+    }
+    assertTrue(ContentType.HOTELS.getDependencies().containsAll(
+            EnumSet.complementOf(EnumSet.of(ContentType.COUNTRIES, ContentType.HOTELS))));
+  }
+
+  @Test
+  void bootstrapLoadsEachTypeAfterItsDependencies() {
+    ContentBootstrapDto bootstrap = service.bootstrap("CAS", false);
+
+    InOrder order = inOrder(contentSyncService);
+    order.verify(contentSyncService).loadAll(ContentType.COUNTRIES, "CAS", null);
+    order.verify(contentSyncService).loadAll(ContentType.DESTINATIONS, "CAS", null);
+    verify(contentSyncService, times(ContentType.values().length - 1))
+            .advanceWatermark(any(), anyString(), any());
+    verify(hotelIngestionService, never()).startHotelIngestion(any(), any());
+    assertEquals(IngestionJobStatus.COMPLETED, bootstrap.getStatus());
+    assertNotNull(bootstrap.getFinishedAt());
+    assertDoesNotThrow(() -> contentLoadGuard.acquire("otra carga"));
+  }
+
+  @Test
+  void failedDependencySkipsItsDependents() {
+    when(contentSyncService.loadAll(eq(ContentType.COUNTRIES), any(), any()))
+            .thenThrow(new IllegalStateException("Hotelbeds no disponible"));
+
+    ContentBootstrapDto bootstrap = service.bootstrap("CAS", true);
+
+    Map<ContentType, IngestionJobStatus> steps = statuses(bootstrap);
+    assertEquals(IngestionJobStatus.FAILED, steps.get(ContentType.COUNTRIES));
+    assertEquals(IngestionJobStatus.SKIPPED, steps.get(ContentType.DESTINATIONS));
+    assertEquals(IngestionJobStatus.SKIPPED, steps.get(ContentType.HOTELS));
+    assertEquals(IngestionJobStatus.COMPLETED, steps.get(ContentType.CHAINS));
+    assertEquals(IngestionJobStatus.FAILED, bootstrap.getStatus());
+    verify(hotelIngestionService, never()).startHotelIngestion(any(), any());
+    assertDoesNotThrow(() -> contentLoadGuard.acquire("otra carga"));
+  }
+
+  @Test
+  void bootstrapRunsUntilHotelIngestionEnds() {
+    LocalDateTime startedAt = LocalDateTime.now();
+    when(hotelIngestionService.startHotelIngestion(null, null)).thenReturn(job(
+            IngestionJobStatus.RUNNING, startedAt, null));
+    when(hotelIngestionService.getJob("job-1"))
+            .thenReturn(job(IngestionJobStatus.RUNNING, startedAt, null));
+
+    ContentBootstrapDto running = service.bootstrap("CAS", true);
+
+    BootstrapStepDto hotels = running.getSteps().stream()
+            .filter(step -> step.getContentType() == ContentType.HOTELS)
+            .findFirst()
+            .orElseThrow();
+    assertEquals(IngestionJobStatus.RUNNING, running.getStatus());
+    assertNull(running.getFinishedAt());
+    assertEquals(IngestionJobStatus.RUNNING, hotels.getStatus());
+    assertEquals("job-1", hotels.getIngestionJobId());
+    // El lugar de carga quedó cedido a la ingesta de hoteles
+    assertThrows(ResponseStatusException.class, () -> contentLoadGuard.acquire("otra carga"));
+
+    LocalDateTime finishedAt = startedAt.plusMinutes(5);
+    when(hotelIngestionService.getJob("job-1"))
+            .thenReturn(job(IngestionJobStatus.COMPLETED, startedAt, finishedAt));
+    ContentBootstrapDto finished = service.getBootstrap();
+
+    assertEquals(IngestionJobStatus.COMPLETED, finished.getStatus());
+    assertEquals(finishedAt, finished.getFinishedAt());
+    assertEquals(IngestionJobStatus.COMPLETED, statuses(finished).get(ContentType.HOTELS));
+  }
+
+  @Test
+  void bootstrapIsRejectedWhileAnotherLoadRuns() {
+    contentLoadGuard.acquire("sincronización");
+
+    assertThrows(ResponseStatusException.class, () -> service.bootstrap("CAS", true));
+    verify(contentSyncService, never()).loadAll(any(), any(), any());
+  }
+
+  private Map<ContentType, IngestionJobStatus> statuses(ContentBootstrapDto bootstrap) {
+    return bootstrap.getSteps().stream()
+            .collect(Collectors.toMap(BootstrapStepDto::getContentType,
+                    BootstrapStepDto::getStatus));
+  }
+
+  private IngestionJobDto job(IngestionJobStatus status, LocalDateTime startedAt,
+                              LocalDateTime finishedAt) {
+    return IngestionJobDto.builder()
+            .jobId("job-1")
+            .status(status)
+            .hotelsSaved(100)
+            .startedAt(startedAt)
+            .finishedAt(finishedAt)
+            .build();
+  }
+}
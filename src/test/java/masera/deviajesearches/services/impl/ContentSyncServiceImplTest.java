@@ -0,0 +1,128 @@
+package masera.deviajesearches.services.impl;
+
+import masera.deviajesearches.configs.IngestionConfig;
+import masera.deviajesearches.entities.SyncWatermark;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.repositories.SyncWatermarkRepository;
+import masera.deviajesearches.services.interfaces.HotelContentService;
+import masera.deviajesearches.utils.ContentLoadGuard;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class ContentSyncServiceImplTest {
+
+  private HotelContentService hotelContentService;
+
+  private SyncWatermarkRepository syncWatermarkRepository;
+
+  private ContentLoadGuard contentLoadGuard;
+
+  private ContentSyncServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    IngestionConfig config = new IngestionConfig();
+    ReflectionTestUtils.setField(config, "pageSize", 10);
+
+    hotelContentService = mock(HotelContentService.class);
+    syncWatermarkRepository = mock(SyncWatermarkRepository.class);
+    contentLoadGuard = new ContentLoadGuard();
+    when(syncWatermarkRepository.findById(any())).thenReturn(Optional.empty());
+    when(hotelContentService.loadContentPage(any(), anyInt(), anyInt(), any(), any()))
+            .thenReturn(new PageLoadResult(3, 2, 1));
+
+    service = new ContentSyncServiceImpl(hotelContentService, syncWatermarkRepository,
+            config, contentLoadGuard);
+    ReflectionTestUtils.setField(service, "syncLanguage", "CAS");
+  }
+
+  @Test
+  void syncAllRequestsChangesSinceEachWatermark() {
+    when(syncWatermarkRepository.findById(ContentType.HOTELS))
+            .thenReturn(Optional.of(watermark(ContentType.HOTELS, "2026-01-01")));
+
+    Map<ContentType, PageLoadResult> results = service.syncAll();
+
+    verify(hotelContentService).loadContentPage(ContentType.HOTELS, 1, 10, "CAS", "2026-01-01");
+    verify(hotelContentService).loadContentPage(ContentType.COUNTRIES, 1, 10, "CAS", null);
+    assertEquals(ContentType.values().length, results.size());
+    ArgumentCaptor<SyncWatermark> saved = ArgumentCaptor.forClass(SyncWatermark.class);
+    verify(syncWatermarkRepository, times(ContentType.values().length)).save(saved.capture());
+    String today = LocalDate.now().format(DateTimeFormatter.ISO_LOCAL_DATE);
+    for (SyncWatermark watermark : saved.getAllValues()) {
+      assertEquals(today, watermark.getLastUpdateTime());
+      assertEquals(2, watermark.getLastSyncCount());
+      assertEquals(1, watermark.getLastSyncRejected());
+    }
+  }
+
+  @Test
+  void failedTypeKeepsItsWatermark() {
+    when(hotelContentService.loadContentPage(eq(ContentType.CHAINS), anyInt(), anyInt(), any(),
+            any())).thenThrow(new IllegalStateException("Hotelbeds no disponible"));
+
+    Map<ContentType, PageLoadResult> results = service.syncAll();
+
+    assertFalse(results.containsKey(ContentType.CHAINS));
+    assertTrue(results.containsKey(ContentType.HOTELS));
+    ArgumentCaptor<SyncWatermark> saved = ArgumentCaptor.forClass(SyncWatermark.class);
+    verify(syncWatermarkRepository, atLeastOnce()).save(saved.capture());
+    assertTrue(saved.getAllValues().stream()
+            .noneMatch(watermark -> watermark.getContentType() == ContentType.CHAINS));
+    assertDoesNotThrow(() -> contentLoadGuard.acquire("otra carga"));
+  }
+
+  @Test
+  void syncAllIsRejectedWhileAnotherLoadRuns() {
+    contentLoadGuard.acquire(ContentLoadGuard.HOTEL_INGESTION);
+
+    assertThrows(ResponseStatusException.class, () -> service.syncAll());
+    verify(hotelContentService, never()).loadContentPage(any(), anyInt(), anyInt(), any(), any());
+  }
+
+  @Test
+  void loadAllWalksPagesUntilOneIsShort() {
+    when(hotelContentService.loadContentPage(any(), anyInt(), anyInt(), any(), any()))
+            .thenReturn(new PageLoadResult(10, 8, 2), new PageLoadResult(10, 10, 0),
+                    new PageLoadResult(4, 4, 0));
+
+    PageLoadResult total = service.loadAll(ContentType.HOTELS, "CAS", "2026-01-01");
+
+    verify(hotelContentService).loadContentPage(ContentType.HOTELS, 21, 30, "CAS", "2026-01-01");
+    verify(hotelContentService, times(3))
+            .loadContentPage(any(), anyInt(), anyInt(), any(), any());
+    assertEquals(new PageLoadResult(24, 22, 2), total);
+  }
+
+  @Test
+  void advanceWatermarkNeverMovesBack() {
+    when(syncWatermarkRepository.findById(ContentType.HOTELS))
+            .thenReturn(Optional.of(watermark(ContentType.HOTELS, "2026-05-01")));
+
+    service.advanceWatermark(ContentType.HOTELS, "2026-04-01", new PageLoadResult());
+    verify(syncWatermarkRepository, never()).save(any());
+
+    service.advanceWatermark(ContentType.HOTELS, "2026-05-02", new PageLoadResult());
+    verify(syncWatermarkRepository).save(any());
+  }
+
+  private SyncWatermark watermark(ContentType contentType, String lastUpdateTime) {
+    return SyncWatermark.builder()
+            .contentType(contentType)
+            .lastUpdateTime(lastUpdateTime)
+            .build();
+  }
+}
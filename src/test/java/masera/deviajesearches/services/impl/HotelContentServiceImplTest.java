@@ -0,0 +1,71 @@
+package masera.deviajesearches.services.impl;
+
+import masera.deviajesearches.dtos.amadeus.response.HotelCatalogPageDto;
+import masera.deviajesearches.dtos.amadeus.response.HotelSummaryDto;
+import masera.deviajesearches.repositories.HotelCatalogRepository;
+import masera.deviajesearches.utils.ReplicaReads;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class HotelContentServiceImplTest {
+
+  private HotelCatalogRepository hotelCatalogRepository;
+
+  private HotelContentServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    hotelCatalogRepository = mock(HotelCatalogRepository.class);
+    when(hotelCatalogRepository.findPage(any(), any(), any(), any(), any(), anyInt()))
+            .thenAnswer(invocation -> hotels(invocation.getArgument(5)));
+
+    service = new HotelContentServiceImpl(null, null, null, null,
+            new ReplicaReads(mock(PlatformTransactionManager.class)), null, null,
+            hotelCatalogRepository, null, null, null, null, null, null, null, null, null, null);
+  }
+
+  @Test
+  void fullPageReturnsLastCodeAsCursor() {
+    HotelCatalogPageDto page = service.getHotelCatalog("PMI", null, null, null, "100", 3);
+
+    verify(hotelCatalogRepository).findPage("PMI", null, null, null, "100", 3);
+    assertEquals(3, page.getHotels().size());
+    assertEquals("3", page.getNextCursor());
+  }
+
+  @Test
+  void shortPageIsTheLast() {
+    when(hotelCatalogRepository.findPage(any(), any(), any(), any(), any(), anyInt()))
+            .thenReturn(hotels(2));
+
+    HotelCatalogPageDto page = service.getHotelCatalog(null, null, null, null, null, 3);
+
+    assertEquals(2, page.getHotels().size());
+    assertNull(page.getNextCursor());
+  }
+
+  @Test
+  void limitIsClampedToAllowedRange() {
+    service.getHotelCatalog(null, null, null, null, null, null);
+    service.getHotelCatalog(null, null, null, null, null, 0);
+    service.getHotelCatalog(null, null, null, null, null, 50_000);
+
+    verify(hotelCatalogRepository).findPage(null, null, null, null, null, 100);
+    verify(hotelCatalogRepository).findPage(null, null, null, null, null, 1);
+    verify(hotelCatalogRepository).findPage(null, null, null, null, null, 1000);
+  }
+
+  private List<HotelSummaryDto> hotels(int count) {
+    return IntStream.rangeClosed(1, count)
+            .mapToObj(code -> HotelSummaryDto.builder().code(String.valueOf(code)).build())
+            .toList();
+  }
+}
@@ -0,0 +1,369 @@
+package masera.deviajesearches.services.impl;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import masera.deviajesearches.configs.CacheConfig;
+import masera.deviajesearches.configs.ContentEncodingConfig;
+import masera.deviajesearches.configs.IngestionConfig;
+import masera.deviajesearches.configs.MappersConfig;
+import masera.deviajesearches.entities.Hotel;
+import masera.deviajesearches.entities.HotelDetailDocument;
+import masera.deviajesearches.entities.HotelDetailDocumentId;
+import masera.deviajesearches.entities.HotelTranslation;
+import masera.deviajesearches.enums.HotelDetailField;
+import masera.deviajesearches.repositories.HotelBatchRepository;
+import masera.deviajesearches.repositories.HotelDetailDocumentRepository;
+import masera.deviajesearches.repositories.HotelQueryRepository;
+import masera.deviajesearches.repositories.HotelRepository;
+import masera.deviajesearches.repositories.HotelTranslationRepository;
+import masera.deviajesearches.services.dictionary.ReferenceDictionary;
+import masera.deviajesearches.services.dictionary.ReferenceDictionary.CountryEntry;
+import masera.deviajesearches.services.interfaces.ReferenceDictionaryService;
+import masera.deviajesearches.utils.ContentHasher;
+import masera.deviajesearches.utils.HotelContentCodec;
+import masera.deviajesearches.utils.LongKeyMap;
+import masera.deviajesearches.utils.ReplicaReads;
+import masera.deviajesearches.utils.dtos.BatchWriteResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class HotelDetailServiceImplTest {
+
+  private static final String IMAGES = "[{\"path\":\"01/000001/000001a_hb_a_001.jpg\"}]";
+
+  private static final String DETAIL = "{\"code\":\"1\",\"name\":\"Hotel Playa\"}";
+
+  private final ObjectMapper objectMapper = new MappersConfig().objectMapper();
+
+  // Detalles guardados, por código de hotel e idioma
+  private final Map<String, HotelDetailDocument> stored = new HashMap<>();
+
+  private HotelRepository hotelRepository;
+
+  private HotelTranslationRepository hotelTranslationRepository;
+
+  private HotelQueryRepository hotelQueryRepository;
+
+  private HotelDetailDocumentRepository hotelDetailDocumentRepository;
+
+  private HotelBatchRepository hotelBatchRepository;
+
+  private HotelDetailServiceImpl service;
+
+  @BeforeEach
+  @SuppressWarnings("unchecked")
+  void setUp() {
+    IngestionConfig ingestionConfig = new IngestionConfig();
+    ReflectionTestUtils.setField(ingestionConfig, "languages", List.of("CAS", "ENG"));
+    ReflectionTestUtils.setField(ingestionConfig, "batchSize", 100);
+    CacheConfig cacheConfig = new CacheConfig();
+    ReflectionTestUtils.setField(cacheConfig, "detailCacheMaxBytes", 1_000_000L);
+    ReflectionTestUtils.setField(cacheConfig, "detailCacheTtlSeconds", 3600L);
+    ContentEncodingConfig encodingConfig = new ContentEncodingConfig();
+
+    hotelRepository = mock(HotelRepository.class);
+    hotelTranslationRepository = mock(HotelTranslationRepository.class);
+    hotelQueryRepository = mock(HotelQueryRepository.class);
+    hotelDetailDocumentRepository = mock(HotelDetailDocumentRepository.class);
+    hotelBatchRepository = mock(HotelBatchRepository.class);
+    ReferenceDictionaryService referenceDictionaryService = mock(ReferenceDictionaryService.class);
+    when(referenceDictionaryService.getDictionary()).thenReturn(dictionary());
+    when(hotelDetailDocumentRepository.findAllById(any())).thenAnswer(invocation -> {
+      List<HotelDetailDocument> found = new ArrayList<>();
+      for (HotelDetailDocumentId id : (Iterable<HotelDetailDocumentId>) invocation.getArgument(0)) {
+        HotelDetailDocument document = stored.get(id.getHotelCode() + "|" + id.getLanguage());
+        if (document != null) {
+          found.add(document);
+        }
+      }
+      return found;
+    });
+    // Los detalles escritos quedan guardados y se informan como cambiados
+    when(hotelBatchRepository.upsertDocuments(anyList(), any())).thenAnswer(invocation -> {
+      List<HotelDetailDocument> documents = invocation.getArgument(0);
+      Consumer<HotelDetailDocument> onWritten = invocation.getArgument(1);
+      documents.forEach(this::store);
+      documents.forEach(onWritten);
+      return new BatchWriteResult(documents.size(), 0, 0);
+    });
+    when(hotelBatchRepository.upsertDocuments(anyList())).thenAnswer(invocation -> {
+      List<HotelDetailDocument> documents = invocation.getArgument(0);
+      documents.forEach(this::store);
+      return new BatchWriteResult(documents.size(), 0, 0);
+    });
+
+    service = new HotelDetailServiceImpl(hotelRepository, hotelTranslationRepository,
+            hotelQueryRepository, hotelDetailDocumentRepository, hotelBatchRepository,
+            referenceDictionaryService, ingestionConfig, objectMapper,
+            new ContentHasher(objectMapper), new HotelContentCodec(encodingConfig, objectMapper),
+            new ReplicaReads(mock(PlatformTransactionManager.class)), Runnable::run,
+            cacheConfig, new SimpleMeterRegistry());
+  }
+
+  @Test
+  void rebuildDocumentsResolvesDictionariesInEveryLanguage() throws Exception {
+    when(hotelRepository.findAllById(List.of("1"))).thenReturn(List.of(hotel()));
+    when(hotelTranslationRepository.findByHotelCodeIn(any())).thenReturn(List.of(translation()));
+
+    int written = service.rebuildDocuments(List.of("1"), null);
+
+    assertEquals(2, written);
+    JsonNode primary = objectMapper.readTree(stored.get("1|CAS").getDocument());
+    assertEquals("Hotel Playa", primary.path("name").asText());
+    assertEquals("España", primary.path("country").path("name").asText());
+    assertEquals("Palma", primary.path("destination").asText());
+    JsonNode facility = primary.path("facilities").get(0);
+    assertEquals("Recepción 24 horas", facility.path("description").path("content").asText());
+    assertEquals("Servicios", facility.path("facilityGroupName").asText());
+    assertEquals("Playa", primary.path("segments").get(0).path("content").asText());
+    assertEquals(objectMapper.readTree(IMAGES), primary.path("images"));
+    JsonNode translated = objectMapper.readTree(stored.get("1|ENG").getDocument());
+    assertEquals("Beach Hotel", translated.path("name").asText());
+    assertEquals("Palma", translated.path("destination").asText());
+  }
+
+  @Test
+  void storedDocumentIsReturnedVerbatim() {
+    String json = "{ \"code\": \"1\",\n  \"images\": " + IMAGES + " }";
+    store(document("1", "CAS", json));
+
+    assertEquals(json, text(service.getHotelDetails("1", "CAS")));
+  }
+
+  @Test
+  void rebuiltDocumentCopiesRawColumnsUnchanged() {
+    when(hotelRepository.findAllById(List.of("1"))).thenReturn(List.of(hotel()));
+
+    service.rebuildDocuments(List.of("1"), "CAS");
+
+    assertTrue(stored.get("1|CAS").getDocument().contains("\"images\":" + IMAGES));
+  }
+
+  @Test
+  void getHotelDetailsFallsBackToPrimaryLanguage() {
+    store(document("1", "CAS", DETAIL));
+
+    assertEquals(DETAIL, text(service.getHotelDetails("1", "ENG")));
+    assertEquals(DETAIL, text(service.getHotelDetails("1", "FRA")));
+    verify(hotelRepository, never()).findAllById(any());
+  }
+
+  @Test
+  void missingDocumentIsBuiltOnDemand() throws Exception {
+    when(hotelRepository.findAllById(List.of("1"))).thenReturn(List.of(hotel()));
+
+    JsonNode detail = objectMapper.readTree(service.getHotelDetails("1", "CAS"));
+
+    assertEquals("Hotel Playa", detail.path("name").asText());
+    assertEquals("Palma", detail.path("destination").asText());
+    verify(hotelBatchRepository).upsertDocuments(anyList());
+    assertNotNull(stored.get("1|CAS"));
+  }
+
+  @Test
+  void unknownHotelIsNotFound() {
+    assertThrows(EntityNotFoundException.class, () -> service.getHotelDetails("9", "CAS"));
+  }
+
+  @Test
+  void repeatedReadIsServedFromCache() {
+    store(document("1", "CAS", DETAIL));
+
+    service.getHotelDetails("1", "CAS");
+    service.getHotelDetails("1", "CAS");
+
+    verify(hotelDetailDocumentRepository, times(1)).findAllById(any());
+  }
+
+  @Test
+  void primaryDocumentRebuildEvictsEveryLanguage() {
+    store(document("1", "CAS", DETAIL));
+    assertEquals(DETAIL, text(service.getHotelDetails("1", "CAS")));
+    assertEquals(DETAIL, text(service.getHotelDetails("1", "ENG")));
+    when(hotelRepository.findAllById(List.of("1"))).thenReturn(List.of(hotel()));
+
+    service.rebuildDocuments(List.of("1"), "CAS");
+
+    String rebuilt = stored.get("1|CAS").getDocument();
+    assertNotEquals(DETAIL, rebuilt);
+    assertEquals(rebuilt, text(service.getHotelDetails("1", "CAS")));
+    // El idioma sin traducción se servía con el detalle del idioma principal
+    assertEquals(rebuilt, text(service.getHotelDetails("1", "ENG")));
+  }
+
+  @Test
+  void translatedDocumentRebuildEvictsOnlyItsLanguage() {
+    store(document("1", "CAS", DETAIL));
+    store(document("1", "ENG", DETAIL));
+    service.getHotelDetails("1", "CAS");
+    service.getHotelDetails("1", "ENG");
+    when(hotelRepository.findAllById(List.of("1"))).thenReturn(List.of(hotel()));
+    when(hotelTranslationRepository.findByHotelCodeIn(any())).thenReturn(List.of(translation()));
+
+    service.rebuildDocuments(List.of("1"), "ENG");
+
+    assertEquals(DETAIL, text(service.getHotelDetails("1", "CAS")));
+    assertEquals(stored.get("1|ENG").getDocument(), text(service.getHotelDetails("1", "ENG")));
+    verify(hotelDetailDocumentRepository, times(3)).findAllById(any());
+  }
+
+  @Test
+  void batchKeepsRequestOrderAndOmitsUnknownHotels() {
+    store(document("1", "CAS", "{\"code\":\"1\"}"));
+    store(document("2", "CAS", "{\"code\":\"2\"}"));
+
+    Map<String, byte[]> details = service.getHotelDetails(List.of("2", "9", "1", "2"), "CAS");
+
+    assertEquals(List.of("2", "1"), List.copyOf(details.keySet()));
+    assertEquals("{\"code\":\"2\"}", text(details.get("2")));
+    // Todos los hoteles se leen en una sola consulta
+    verify(hotelDetailDocumentRepository, times(1)).findAllById(any());
+    verify(hotelRepository).findAllById(List.of("9"));
+  }
+
+  @Test
+  void batchReadsOnlyHotelsMissingFromCache() {
+    store(document("1", "CAS", DETAIL));
+    store(document("2", "CAS", DETAIL));
+    service.getHotelDetails("1", "CAS");
+
+    Map<String, byte[]> details = service.getHotelDetails(List.of("1", "2"), "CAS");
+
+    assertEquals(2, details.size());
+    verify(hotelDetailDocumentRepository).findAllById(
+            List.of(new HotelDetailDocumentId("2", "CAS")));
+    verify(hotelDetailDocumentRepository, times(2)).findAllById(any());
+  }
+
+  @Test
+  void cachedDetailIsTrimmedToRequestedFields() throws Exception {
+    store(document("1", "CAS", "{\"code\":\"1\",\"images\":" + IMAGES
+            + ",\"facilities\":[],\"phones\":[]}"));
+    service.getHotelDetails("1", "CAS");
+
+    JsonNode detail = objectMapper.readTree(service.getHotelDetails("1", "CAS",
+            EnumSet.of(HotelDetailField.IMAGES)));
+
+    assertEquals("1", detail.path("code").asText());
+    assertEquals(objectMapper.readTree(IMAGES), detail.path("images"));
+    assertFalse(detail.has("facilities"));
+    assertFalse(detail.has("phones"));
+    verifyNoInteractions(hotelQueryRepository);
+  }
+
+  @Test
+  void uncachedDetailReadsOnlyRequestedColumns() throws Exception {
+    Set<HotelDetailField> fields = EnumSet.of(HotelDetailField.IMAGES);
+    Hotel hotel = Hotel.builder()
+            .code("1")
+            .name("Hotel Playa")
+            .countryCode("ES")
+            .destinationCode("PMI")
+            .images(IMAGES)
+            .build();
+    when(hotelQueryRepository.findByCode("1", fields)).thenReturn(Optional.of(hotel));
+    when(hotelQueryRepository.findTranslation("1", "ENG", fields))
+            .thenReturn(Optional.of(translation()));
+
+    JsonNode detail = objectMapper.readTree(service.getHotelDetails("1", "ENG", fields));
+
+    assertEquals("Beach Hotel", detail.path("name").asText());
+    assertEquals("Palma", detail.path("destination").asText());
+    assertEquals(objectMapper.readTree(IMAGES), detail.path("images"));
+    assertFalse(detail.has("facilities"));
+    assertFalse(detail.has("phones"));
+    verify(hotelDetailDocumentRepository, never()).findAllById(any());
+  }
+
+  @Test
+  void requestingEveryFieldReturnsTheFullDetail() {
+    store(document("1", "CAS", DETAIL));
+
+    byte[] detail = service.getHotelDetails("1", "CAS", EnumSet.allOf(HotelDetailField.class));
+
+    assertEquals(DETAIL, text(detail));
+    verifyNoInteractions(hotelQueryRepository);
+  }
+
+  @Test
+  void unknownHotelProjectionIsNotFound() {
+    assertThrows(EntityNotFoundException.class, () -> service.getHotelDetails("9", "CAS",
+            EnumSet.of(HotelDetailField.IMAGES)));
+  }
+
+  private void store(HotelDetailDocument document) {
+    stored.put(document.getHotelCode() + "|" + document.getLanguage(), document);
+  }
+
+  private String text(byte[] json) {
+    return new String(json, StandardCharsets.UTF_8);
+  }
+
+  private HotelDetailDocument document(String hotelCode, String language, String json) {
+    return HotelDetailDocument.builder()
+            .hotelCode(hotelCode)
+            .language(language)
+            .document(json)
+            .builtAt(LocalDateTime.now())
+            .build();
+  }
+
+  private Hotel hotel() {
+    return Hotel.builder()
+            .code("1")
+            .name("Hotel Playa")
+            .countryCode("ES")
+            .destinationCode("PMI")
+            .facilities("[{\"facilityCode\":70,\"facilityGroupCode\":70}]")
+            .segmentCodes("[1]")
+            .images(IMAGES)
+            .build();
+  }
+
+  private HotelTranslation translation() {
+    return HotelTranslation.builder()
+            .hotelCode("1")
+            .language("ENG")
+            .name("Beach Hotel")
+            .build();
+  }
+
+  private ReferenceDictionary dictionary() {
+    return ReferenceDictionary.builder()
+            .countries(Map.of("ES", new CountryEntry("ES", "España", "ES")))
+            .destinations(Map.of("PMI", "Palma"))
+            .categories(Map.of())
+            .chains(Map.of())
+            .accommodations(Map.of())
+            .terminals(Map.of())
+            .facilities(longKeyMap(Map.of(ReferenceDictionary.facilityKey(70, 70),
+                    "Recepción 24 horas")))
+            .facilityGroups(longKeyMap(Map.of(70L, "Servicios")))
+            .segments(longKeyMap(Map.of(1L, "Playa")))
+            .loadedAt(LocalDateTime.now())
+            .build();
+  }
+
+  private LongKeyMap<String> longKeyMap(Map<Long, String> values) {
+    return LongKeyMap.of(values.entrySet(), Map.Entry::getKey, Map.Entry::getValue);
+  }
+}
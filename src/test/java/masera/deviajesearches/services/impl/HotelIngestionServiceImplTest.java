@@ -0,0 +1,201 @@
+package masera.deviajesearches.services.impl;
+
+import masera.deviajesearches.clients.HotelClient;
+import masera.deviajesearches.configs.IngestionConfig;
+import masera.deviajesearches.dtos.amadeus.response.IngestionJobDto;
+import masera.deviajesearches.dtos.amadeus.response.hotelbeds.HotelContentResponse;
+import masera.deviajesearches.entities.IngestionJob;
+import masera.deviajesearches.entities.IngestionJobPage;
+import masera.deviajesearches.enums.ContentType;
+import masera.deviajesearches.enums.IngestionJobStatus;
+import masera.deviajesearches.repositories.IngestionJobPageRepository;
+import masera.deviajesearches.repositories.IngestionJobRepository;
+import masera.deviajesearches.services.interfaces.ContentSyncService;
+import masera.deviajesearches.services.interfaces.HotelContentService;
+import masera.deviajesearches.utils.ContentLoadGuard;
+import masera.deviajesearches.utils.dtos.PageLoadResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class HotelIngestionServiceImplTest {
+
+  private static final String JOB_ID = "job-1";
+
+  private HotelClient hotelClient;
+
+  private HotelContentService hotelContentService;
+
+  private ContentSyncService contentSyncService;
+
+  private IngestionJobRepository ingestionJobRepository;
+
+  private IngestionJobPageRepository ingestionJobPageRepository;
+
+  private ContentLoadGuard contentLoadGuard;
+
+  private HotelIngestionServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    IngestionConfig config = new IngestionConfig();
+    ReflectionTestUtils.setField(config, "pageSize", 10);
+    ReflectionTestUtils.setField(config, "concurrency", 2);
+    ReflectionTestUtils.setField(config, "instanceId", "local");
+    ReflectionTestUtils.setField(config, "leaseSeconds", 120L);
+    ReflectionTestUtils.setField(config, "languages", List.of("CAS"));
+
+    hotelClient = mock(HotelClient.class);
+    hotelContentService = mock(HotelContentService.class);
+    contentSyncService = mock(ContentSyncService.class);
+    ingestionJobRepository = mock(IngestionJobRepository.class);
+    ingestionJobPageRepository = mock(IngestionJobPageRepository.class);
+    contentLoadGuard = new ContentLoadGuard();
+    when(ingestionJobRepository.claim(eq(JOB_ID), eq("local"), any(), any(), any(), any()))
+            .thenReturn(1);
+
+    service = new HotelIngestionServiceImpl(hotelClient, hotelContentService,
+            contentSyncService, config, ingestionJobRepository,
+            ingestionJobPageRepository,
+            new TransactionTemplate(mock(PlatformTransactionManager.class)), contentLoadGuard);
+  }
+
+  @Test
+  void startWalksEveryPageWithBoundedConcurrency() {
+    HotelContentResponse probe = new HotelContentResponse();
+    probe.setTotal(45);
+    when(hotelClient.getHotelContent(1, 1, "CAS", null)).thenReturn(Mono.just(probe));
+    AtomicInteger inFlight = new AtomicInteger();
+    AtomicInteger maxInFlight = new AtomicInteger();
+    when(hotelContentService.ingestHotels(anyInt(), anyInt(), anyList(), any()))
+            .thenAnswer(invocation -> Mono.delay(Duration.ofMillis(20))
+                    .map(ignored -> new PageLoadResult(10, 10, 0))
+                    .doOnSubscribe(subscription ->
+                            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                    .doFinally(signal -> inFlight.decrementAndGet()));
+
+    IngestionJobDto job = service.startHotelIngestion(null, null);
+
+    assertEquals(IngestionJobStatus.RUNNING, job.getStatus());
+    verify(contentSyncService, timeout(5000)).advanceWatermark(
+            eq(ContentType.HOTELS), anyString(), any());
+    for (int page = 0; page < 5; page++) {
+      verify(hotelContentService).ingestHotels(page * 10 + 1, page * 10 + 10,
+              List.of("CAS"), null);
+    }
+    verify(ingestionJobPageRepository, times(5)).save(any());
+    assertTrue(maxInFlight.get() <= 2, "Páginas en paralelo: " + maxInFlight.get());
+  }
+
+  @Test
+  void startIsRejectedWhileAnotherLoadRuns() {
+    contentLoadGuard.acquire("sincronización");
+
+    assertThrows(ResponseStatusException.class, () -> service.startHotelIngestion(null, null));
+    verify(ingestionJobRepository, never()).save(any());
+  }
+
+  @Test
+  void resumeLoadsOnlyPagesWithoutCheckpoint() {
+    IngestionJob entity = interruptedJob();
+    when(ingestionJobRepository.findById(JOB_ID)).thenReturn(Optional.of(entity));
+    when(ingestionJobPageRepository.findPagesByJobId(JOB_ID)).thenReturn(List.of(1, 3));
+    when(hotelContentService.ingestHotels(anyInt(), anyInt(), anyList(), any()))
+            .thenReturn(Mono.just(new PageLoadResult(10, 10, 0)));
+
+    IngestionJobDto job = service.resumeHotelIngestion(JOB_ID);
+
+    verify(hotelContentService).ingestHotels(11, 20, List.of("CAS"), null);
+    verify(hotelContentService, times(1)).ingestHotels(anyInt(), anyInt(), anyList(), any());
+    verify(hotelClient, never()).getHotelContent(anyInt(), anyInt(), any(), any());
+    ArgumentCaptor<IngestionJobPage> checkpoint = ArgumentCaptor.forClass(IngestionJobPage.class);
+    verify(ingestionJobPageRepository).save(checkpoint.capture());
+    assertEquals(2, checkpoint.getValue().getPage());
+    assertEquals(IngestionJobStatus.COMPLETED, job.getStatus());
+    assertEquals(3, job.getPagesDone());
+    assertEquals(30, job.getHotelsSaved());
+    assertDoesNotThrow(() -> contentLoadGuard.acquire("otra carga"));
+  }
+
+  @Test
+  void resumeOfCompletedJobIsRejected() {
+    IngestionJob entity = interruptedJob();
+    entity.setStatus(IngestionJobStatus.COMPLETED);
+    when(ingestionJobRepository.findById(JOB_ID)).thenReturn(Optional.of(entity));
+
+    assertThrows(ResponseStatusException.class, () -> service.resumeHotelIngestion(JOB_ID));
+    verify(hotelContentService, never()).ingestHotels(anyInt(), anyInt(), anyList(), any());
+    assertDoesNotThrow(() -> contentLoadGuard.acquire("otra carga"));
+  }
+
+  @Test
+  void heartbeatKeepsJobWhileLeaseIsHeld() {
+    AtomicBoolean cancelled = runningJob();
+    when(ingestionJobRepository.heartbeat(eq(JOB_ID), eq("local"), any())).thenReturn(1);
+
+    service.heartbeat();
+
+    assertFalse(cancelled.get());
+    assertThrows(ResponseStatusException.class, () -> contentLoadGuard.acquire("otra carga"));
+    assertThrows(ResponseStatusException.class, () -> service.startHotelIngestion(null, null));
+  }
+
+  @Test
+  void heartbeatStopsJobWhenLeaseIsLost() {
+    AtomicBoolean cancelled = runningJob();
+    IngestionJob entity = ingestionJobRepository.findById(JOB_ID).orElseThrow();
+    when(ingestionJobRepository.heartbeat(eq(JOB_ID), eq("local"), any())).thenReturn(0);
+
+    service.heartbeat();
+    service.heartbeat();
+
+    assertTrue(cancelled.get());
+    // El trabajo sigue a nombre de la instancia que lo tomó
+    assertEquals(IngestionJobStatus.RUNNING, entity.getStatus());
+    verify(ingestionJobRepository, times(1)).heartbeat(any(), any(), any());
+    assertDoesNotThrow(() -> contentLoadGuard.acquire("otra carga"));
+  }
+
+  private AtomicBoolean runningJob() {
+    AtomicBoolean cancelled = new AtomicBoolean();
+    when(ingestionJobRepository.findById(JOB_ID)).thenReturn(Optional.of(interruptedJob()));
+    when(ingestionJobPageRepository.findPagesByJobId(JOB_ID)).thenReturn(List.of());
+    when(hotelContentService.ingestHotels(anyInt(), anyInt(), anyList(), any()))
+            .thenReturn(Mono.<PageLoadResult>never().doOnCancel(() -> cancelled.set(true)));
+
+    IngestionJobDto job = service.resumeHotelIngestion(JOB_ID);
+
+    assertEquals(IngestionJobStatus.RUNNING, job.getStatus());
+    return cancelled;
+  }
+
+  private IngestionJob interruptedJob() {
+    return IngestionJob.builder()
+            .jobId(JOB_ID)
+            .status(IngestionJobStatus.FAILED)
+            .languages("CAS")
+            .pageSize(10)
+            .totalHotels(30)
+            .totalPages(3)
+            .pagesDone(2)
+            .hotelsSaved(20)
+            .startedAt(LocalDateTime.now().minusHours(1))
+            .build();
+  }
+}
@@ -0,0 +1,180 @@
+package masera.deviajesearches.services.impl;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import masera.deviajesearches.clients.HotelClient;
+import masera.deviajesearches.configs.AvailabilityFanOutConfig;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Destination;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Occupancy;
+import masera.deviajesearches.dtos.amadeus.request.HotelSearchRequest.Stay;
+import masera.deviajesearches.dtos.amadeus.request.MultiDestinationSearchRequest;
+import masera.deviajesearches.dtos.amadeus.response.HotelSearchResponse;
+import masera.deviajesearches.dtos.amadeus.response.MultiDestinationSearchResponse;
+import masera.deviajesearches.enums.SearchLegStatus;
+import masera.deviajesearches.services.availability.AvailabilityCache;
+import masera.deviajesearches.services.availability.AvailabilityCoalescer;
+import masera.deviajesearches.services.availability.AvailabilityKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+public class HotelSearchServiceImplTest {
+
+  private final Map<String, Mono<HotelSearchResponse>> responses = new HashMap<>();
+
+  private HotelClient hotelClient;
+
+  private AvailabilityCache availabilityCache;
+
+  private HotelSearchServiceImpl service;
+
+  @BeforeEach
+  void setUp() {
+    AvailabilityFanOutConfig fanOutConfig = new AvailabilityFanOutConfig();
+    ReflectionTestUtils.setField(fanOutConfig, "maxConcurrency", 4);
+    ReflectionTestUtils.setField(fanOutConfig, "legTimeoutMillis", 200L);
+
+    hotelClient = mock(HotelClient.class);
+    availabilityCache = mock(AvailabilityCache.class);
+    when(hotelClient.searchHotels(any())).thenAnswer(invocation -> {
+      HotelSearchRequest request = invocation.getArgument(0);
+      return responses.get(request.getDestination().getCode().trim().toUpperCase());
+    });
+
+    service = new HotelSearchServiceImpl(hotelClient, null, null,
+            availabilityCache, new AvailabilityCoalescer(new SimpleMeterRegistry()),
+            null, fanOutConfig, null, null);
+  }
+
+  @Test
+  void mergeKeepsEachHotelOnceAcrossDestinations() {
+    responses.put("PMI", Mono.just(response("1", "2")));
+    responses.put("ALC", Mono.just(response("2", "3")));
+
+    MultiDestinationSearchResponse result =
+            service.searchHotels(request(" pmi ", "ALC", "PMI"));
+
+    verify(hotelClient, times(2)).searchHotels(any());
+    assertEquals(List.of("1", "2", "3"), result.getHotels().getHotels().stream()
+            .map(HotelSearchResponse.Hotel::getCode)
+            .toList());
+    assertEquals(3, result.getHotels().getTotal());
+    assertEquals("2026-12-01", result.getHotels().getCheckIn());
+    assertFalse(result.isPartial());
+    assertEquals(List.of(2, 2), result.getDestinations().stream()
+            .map(MultiDestinationSearchResponse.Leg::getHotels)
+            .toList());
+  }
+
+  @Test
+  void destinationThatTimesOutMakesResultPartial() {
+    responses.put("PMI", Mono.just(response("1")));
+    responses.put("ALC", Mono.never());
+
+    MultiDestinationSearchResponse result = service.searchHotels(request("PMI", "ALC"));
+
+    assertTrue(result.isPartial());
+    assertEquals(1, result.getHotels().getTotal());
+    assertEquals(List.of(SearchLegStatus.COMPLETED, SearchLegStatus.TIMEOUT),
+            result.getDestinations().stream()
+                    .map(MultiDestinationSearchResponse.Leg::getStatus)
+                    .toList());
+  }
+
+  @Test
+  void allDestinationsTimingOutIsGatewayTimeout() {
+    responses.put("PMI", Mono.never());
+    responses.put("ALC", Mono.never());
+
+    ResponseStatusException error = assertThrows(ResponseStatusException.class,
+            () -> service.searchHotels(request("PMI", "ALC")));
+
+    assertEquals(HttpStatus.GATEWAY_TIMEOUT, error.getStatusCode());
+  }
+
+  @Test
+  void allDestinationsFailingRethrowsFirstError() {
+    IllegalStateException failure = new IllegalStateException("Hotelbeds no disponible");
+    responses.put("PMI", Mono.error(failure));
+    responses.put("ALC", Mono.error(new IllegalStateException("Otro error")));
+
+    IllegalStateException error = assertThrows(IllegalStateException.class,
+            () -> service.searchHotels(request("PMI", "ALC")));
+
+    assertSame(failure, error);
+  }
+
+  @Test
+  void streamServesCachedAvailability() {
+    HotelSearchRequest request = searchRequest();
+    when(availabilityCache.get(AvailabilityKey.of(request))).thenReturn(response("1", "2"));
+
+    List<HotelSearchResponse.Hotel> hotels = service.streamHotels(request).collectList().block();
+
+    assertEquals(List.of("1", "2"), hotels.stream()
+            .map(HotelSearchResponse.Hotel::getCode)
+            .toList());
+    verify(hotelClient, never()).streamHotels(any());
+  }
+
+  @Test
+  void streamWithoutCachedAvailabilityIsRelayedFromClient() {
+    HotelSearchRequest request = searchRequest();
+    when(hotelClient.streamHotels(request))
+            .thenReturn(Flux.fromIterable(response("3").getHotels().getHotels()));
+
+    List<HotelSearchResponse.Hotel> hotels = service.streamHotels(request).collectList().block();
+
+    assertEquals(List.of("3"), hotels.stream()
+            .map(HotelSearchResponse.Hotel::getCode)
+            .toList());
+    // La respuesta en streaming no se guarda en la caché
+    verify(availabilityCache, never()).put(any(), any());
+  }
+
+  private HotelSearchRequest searchRequest() {
+    return HotelSearchRequest.builder()
+            .stay(new Stay(LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 5)))
+            .occupancies(List.of(new Occupancy(1, 2, 0, null)))
+            .destination(new Destination("PMI", null))
+            .language("CAS")
+            .build();
+  }
+
+  private MultiDestinationSearchRequest request(String... destinations) {
+    return MultiDestinationSearchRequest.builder()
+            .stay(new Stay(LocalDate.of(2026, 12, 1), LocalDate.of(2026, 12, 5)))
+            .occupancies(List.of(new Occupancy(1, 2, 0, null)))
+            .destinations(Arrays.stream(destinations)
+                    .map(code -> new Destination(code, null))
+                    .toList())
+            .language("CAS")
+            .build();
+  }
+
+  private HotelSearchResponse response(String... codes) {
+    List<HotelSearchResponse.Hotel> hotels = Arrays.stream(codes)
+            .map(code -> {
+              HotelSearchResponse.Hotel hotel = new HotelSearchResponse.Hotel();
+              hotel.setCode(code);
+              return hotel;
+            })
+            .toList();
+    return new HotelSearchResponse(new HotelSearchResponse.HotelsResponse(
+            hotels, "2026-12-01", "2026-12-05", hotels.size()));
+  }
+}
@@ -0,0 +1,61 @@
+package masera.deviajesearches.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ContentHasherTest {
+
+  private final ContentHasher hasher = new ContentHasher(new ObjectMapper());
+
+  @Test
+  void hashIgnoresMapEntryOrder() {
+    Map<String, Object> first = new LinkedHashMap<>();
+    first.put("name", "Hotel");
+    first.put("code", 1);
+    Map<String, Object> second = new LinkedHashMap<>();
+    second.put("code", 1);
+    second.put("name", "Hotel");
+
+    assertEquals(hasher.hash(first), hasher.hash(second));
+  }
+
+  @Test
+  void hashIgnoresPropertyDeclarationOrder() {
+    HotelContent hotel = new HotelContent();
+    hotel.name = "Hotel";
+    hotel.code = 1;
+
+    assertEquals(hasher.hash(Map.of("code", 1, "name", "Hotel")), hasher.hash(hotel));
+  }
+
+  @Test
+  void hashChangesWithContent() {
+    assertNotEquals(hasher.hash(Map.of("code", 1, "name", "Hotel")),
+            hasher.hash(Map.of("code", 1, "name", "Hotel ")));
+    assertNotEquals(hasher.hash(List.of(1, 2)), hasher.hash(List.of(2, 1)));
+  }
+
+  @Test
+  void hashIsStableAcrossRuns() {
+    // Las huellas se guardan en la base: cambiar la forma canónica reescribiría todo
+    long expected = -7819830768328599266L;
+
+    assertEquals(expected, hasher.hash(Map.of("name", "Hotel", "code", 1)));
+    assertEquals(expected,
+            hasher.hashBytes("{\"code\":1,\"name\":\"Hotel\"}".getBytes(StandardCharsets.UTF_8)));
+  }
+
+  public static class HotelContent {
+
+    public String name;
+
+    public Integer code;
+  }
+}
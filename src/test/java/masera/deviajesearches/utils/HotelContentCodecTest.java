@@ -0,0 +1,177 @@
+package masera.deviajesearches.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import masera.deviajesearches.configs.ContentEncodingConfig;
+import masera.deviajesearches.entities.Hotel;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotelContentCodecTest {
+
+  private static final String ROOMS = "[{\"roomCode\":\"DBL.ST\",\"isParentRoom\":false,"
+          + "\"minPax\":1,\"maxPax\":2,\"roomFacilities\":[{\"facilityCode\":261,"
+          + "\"facilityGroupCode\":60,\"indLogic\":true}]}]";
+
+  private static final String FACILITIES = "[{\"facilityCode\":70,\"facilityGroupCode\":70,"
+          + "\"order\":1,\"indYesOrNo\":true},{\"facilityCode\":70,\"facilityGroupCode\":71,"
+          + "\"order\":2,\"indYesOrNo\":false}]";
+
+  private static final String BOARD_CODES = "[\"BB\",\"HB\",\"RO\"]";
+
+  private static final String IMAGES = "[{\"path\":\"01/000001/000001a_hb_a_001.jpg\"}]";
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  @Test
+  void packAndUnpackRoundTripsColumns() {
+    for (boolean compressed : List.of(true, false)) {
+      HotelContentCodec codec = codec(compressed);
+      Hotel packed = new Hotel();
+      packed.setCode("1");
+      packed.setPackedContent(codec.pack(hotel()));
+
+      codec.unpack(packed);
+
+      assertNull(packed.getPackedContent());
+      assertEquals(ROOMS, packed.getRooms());
+      assertEquals(FACILITIES, packed.getFacilities());
+      assertEquals(BOARD_CODES, packed.getBoardCodes());
+      assertNull(packed.getPhones());
+      assertNull(packed.getImages());
+    }
+  }
+
+  @Test
+  void packKeepsPreviousColumnsMissingFromNewContent() {
+    HotelContentCodec codec = codec(true);
+    Hotel previous = hotel();
+    previous.setWildcards("[{\"roomType\":\"DBL.ST\"}]");
+    Hotel delta = new Hotel();
+    delta.setCode("1");
+    delta.setBoardCodes("[\"RO\"]");
+
+    Map<String, String> values = codec.unpack(codec.pack(delta, previous),
+            List.of("board_codes", "rooms", "wildcards", "issues"));
+
+    assertEquals(Map.of(
+            "board_codes", "[\"RO\"]",
+            "rooms", ROOMS,
+            "wildcards", "[{\"roomType\":\"DBL.ST\"}]"), values);
+  }
+
+  @Test
+  void packLeavesImagesAndPhonesAsText() {
+    HotelContentCodec codec = codec(true);
+    Hotel hotel = hotel();
+    hotel.setImages(IMAGES);
+    hotel.setPhones("[{\"phoneNumber\":\"+34971000000\"}]");
+
+    Map<String, String> values = codec.unpack(codec.pack(hotel), List.of("images", "phones"));
+
+    assertTrue(values.isEmpty());
+    assertFalse(codec.getColumns().contains("images"));
+    assertEquals(List.of("phones", "images"), codec.getTextColumns());
+  }
+
+  @Test
+  void unpackTakesTextColumnsFromOlderContentOnlyWhenMissing() throws Exception {
+    // Contenido empaquetado cuando las imágenes todavía formaban parte de él
+    byte[] smile = new SmileMapper().writeValueAsBytes(Map.of(
+            "rooms", objectMapper.readTree(ROOMS),
+            "images", objectMapper.readTree(IMAGES)));
+    byte[] legacy = new byte[smile.length + 1];
+    legacy[0] = 1;
+    System.arraycopy(smile, 0, legacy, 1, smile.length);
+
+    Hotel withoutText = new Hotel();
+    withoutText.setPackedContent(legacy);
+    codec(true).unpack(withoutText);
+    Hotel withText = new Hotel();
+    withText.setImages("[]");
+    withText.setPackedContent(legacy);
+    codec(true).unpack(withText);
+
+    assertEquals(ROOMS, withoutText.getRooms());
+    assertEquals(IMAGES, withoutText.getImages());
+    assertEquals("[]", withText.getImages());
+  }
+
+  @Test
+  void hasMissingColumnsDetectsAnyNullColumn() {
+    HotelContentCodec codec = codec(true);
+    Hotel complete = hotel();
+    complete.setSegmentCodes("[]");
+    complete.setPhones("[]");
+    complete.setTerminals("[]");
+    complete.setInterestPoints("[]");
+    complete.setImages("[]");
+    complete.setWildcards("[]");
+    complete.setIssues("[]");
+
+    assertFalse(codec.hasMissingColumns(complete));
+    complete.setImages(null);
+    assertTrue(codec.hasMissingColumns(complete));
+  }
+
+  @Test
+  void unpackReadsFormatFromContentRatherThanConfig() {
+    byte[] compressed = codec(true).pack(hotel());
+    byte[] plain = codec(false).pack(hotel());
+
+    assertEquals(2, compressed[0]);
+    assertEquals(1, plain[0]);
+    assertEquals(codec(true).unpack(plain, List.of("rooms")),
+            codec(false).unpack(compressed, List.of("rooms")));
+  }
+
+  @Test
+  void unpackReturnsOnlyRequestedPresentColumns() {
+    HotelContentCodec codec = codec(true);
+
+    Map<String, String> values = codec.unpack(codec.pack(hotel()),
+            List.of("facilities", "phones"));
+
+    assertEquals(Map.of("facilities", FACILITIES), values);
+  }
+
+  @Test
+  void unpackLeavesTextHotelsUntouched() {
+    Hotel hotel = hotel();
+
+    codec(true).unpack(hotel);
+
+    assertEquals(ROOMS, hotel.getRooms());
+    assertNull(hotel.getPackedContent());
+  }
+
+  @Test
+  void unpackRejectsUnknownFormat() {
+    byte[] packed = codec(false).pack(hotel());
+    packed[0] = 9;
+
+    assertThrows(IllegalStateException.class,
+            () -> codec(false).unpack(packed, List.of("rooms")));
+  }
+
+  private HotelContentCodec codec(boolean compressed) {
+    ContentEncodingConfig config = new ContentEncodingConfig();
+    ReflectionTestUtils.setField(config, "packed", true);
+    ReflectionTestUtils.setField(config, "compressed", compressed);
+    return new HotelContentCodec(config, objectMapper);
+  }
+
+  private Hotel hotel() {
+    Hotel hotel = new Hotel();
+    hotel.setCode("1");
+    hotel.setRooms(ROOMS);
+    hotel.setFacilities(FACILITIES);
+    hotel.setBoardCodes(BOARD_CODES);
+    return hotel;
+  }
+}
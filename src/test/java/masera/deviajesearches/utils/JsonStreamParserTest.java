@@ -0,0 +1,86 @@
+package masera.deviajesearches.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonStreamParserTest {
+
+  private final JsonStreamParser parser = new JsonStreamParser(new ObjectMapper());
+
+  @Test
+  void parseArrayEmitsElementsOfTopLevelArray() {
+    String json = "{\"total\":2,\"hotels\":[{\"code\":1},{\"code\":2}]}";
+
+    List<Map> hotels = parse(json, json.length(), List.of("hotels"));
+
+    assertEquals(2, hotels.size());
+    assertEquals(1, hotels.get(0).get("code"));
+    assertEquals(2, hotels.get(1).get("code"));
+  }
+
+  @Test
+  void parseArrayFollowsNestedPathOnly() {
+    String json = "{\"auditData\":{\"hotels\":[{\"code\":99}]},"
+            + "\"hotels\":{\"total\":2,\"other\":{\"hotels\":[{\"code\":98}]},"
+            + "\"hotels\":[{\"code\":1},{\"code\":2}]}}";
+
+    List<Map> hotels = parse(json, json.length(), List.of("hotels", "hotels"));
+
+    assertEquals(List.of(1, 2), hotels.stream().map(hotel -> hotel.get("code")).toList());
+  }
+
+  @Test
+  void parseArrayKeepsNestedContentOfElements() {
+    String json = "{\"hotels\":[{\"code\":1,\"rooms\":[{\"code\":\"DBL\"}],"
+            + "\"address\":{\"content\":\"Calle 1\"}}]}";
+
+    List<Map> hotels = parse(json, json.length(), List.of("hotels"));
+
+    assertEquals(1, hotels.size());
+    assertEquals(List.of(Map.of("code", "DBL")), hotels.get(0).get("rooms"));
+    assertEquals(Map.of("content", "Calle 1"), hotels.get(0).get("address"));
+  }
+
+  @Test
+  void parseArrayHandlesElementsSplitAcrossBuffers() {
+    String json = "{\"hotels\":{\"hotels\":[{\"code\":1,\"name\":\"Hotel á\"},"
+            + "{\"code\":2,\"name\":\"Hotel é\"}]}}";
+
+    List<Map> hotels = parse(json, 1, List.of("hotels", "hotels"));
+
+    assertEquals(2, hotels.size());
+    assertEquals("Hotel á", hotels.get(0).get("name"));
+    assertEquals("Hotel é", hotels.get(1).get("name"));
+  }
+
+  @Test
+  void parseArrayEmitsNothingWhenPathIsMissing() {
+    String json = "{\"total\":0,\"destinations\":[{\"code\":\"MAD\"}]}";
+
+    assertTrue(parse(json, json.length(), List.of("hotels")).isEmpty());
+  }
+
+  private List<Map> parse(String json, int chunkSize, List<String> path) {
+    byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    List<DataBuffer> buffers = new ArrayList<>();
+    for (int start = 0; start < bytes.length; start += chunkSize) {
+      int end = Math.min(start + chunkSize, bytes.length);
+      byte[] chunk = new byte[end - start];
+      System.arraycopy(bytes, start, chunk, 0, chunk.length);
+      buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+    }
+    return parser.parseArray(Flux.fromIterable(buffers), path, Map.class)
+            .collectList()
+            .block();
+  }
+}
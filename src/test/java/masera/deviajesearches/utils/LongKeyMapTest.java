@@ -0,0 +1,66 @@
+package masera.deviajesearches.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LongKeyMapTest {
+
+  @Test
+  void ofSortsKeysAndFindsValues() {
+    LongKeyMap<String> map = map(Map.entry(30L, "c"), Map.entry(-5L, "a"), Map.entry(10L, "b"));
+
+    assertEquals(3, map.size());
+    assertEquals("a", map.get(-5L));
+    assertEquals("b", map.get(10L));
+    assertEquals("c", map.get(30L));
+    assertNull(map.get(20L));
+    assertNull(map.get(Long.MAX_VALUE));
+  }
+
+  @Test
+  void ofKeepsFirstValueOnDuplicateKeys() {
+    LongKeyMap<String> map = map(Map.entry(1L, "primero"), Map.entry(2L, "b"),
+            Map.entry(1L, "segundo"));
+
+    assertEquals(2, map.size());
+    assertEquals("primero", map.get(1L));
+  }
+
+  @Test
+  void emptyMapHasNoKeys() {
+    LongKeyMap<String> map = LongKeyMap.empty();
+
+    assertEquals(0, map.size());
+    assertNull(map.get(0L));
+    assertEquals(0, LongKeyMap.<String>of(List.of(), item -> 0L, item -> "x").size());
+  }
+
+  @Test
+  void changedKeysReportsAddedRemovedAndModifiedKeys() {
+    LongKeyMap<String> previous = map(Map.entry(1L, "a"), Map.entry(2L, "b"),
+            Map.entry(3L, "c"), Map.entry(5L, "e"));
+    LongKeyMap<String> current = map(Map.entry(2L, "b"), Map.entry(3L, "C"),
+            Map.entry(4L, "d"), Map.entry(5L, "e"), Map.entry(9L, "i"));
+
+    assertArrayEquals(new long[] {1L, 3L, 4L, 9L}, previous.changedKeys(current));
+    assertArrayEquals(new long[] {1L, 3L, 4L, 9L}, current.changedKeys(previous));
+  }
+
+  @Test
+  void changedKeysAgainstEmptyReturnsAllKeys() {
+    LongKeyMap<String> map = map(Map.entry(7L, "a"), Map.entry(3L, "b"));
+
+    assertArrayEquals(new long[] {3L, 7L}, map.changedKeys(LongKeyMap.empty()));
+    assertArrayEquals(new long[] {3L, 7L}, LongKeyMap.<String>empty().changedKeys(map));
+    assertArrayEquals(new long[0], map.changedKeys(map));
+  }
+
+  @SafeVarargs
+  private static LongKeyMap<String> map(Map.Entry<Long, String>... entries) {
+    return LongKeyMap.of(List.of(entries), Map.Entry::getKey, Map.Entry::getValue);
+  }
+}